@@ -1,15 +1,27 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.BulkItemResultDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskClaimRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusChangeDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusUpdateDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
 import com.techchallenge.fiap.cargarage.execution_service.application.presenter.ExecutionTaskPresenter;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ClaimExecutionTasksUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ExportExecutionTasksUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FindExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.UpdateExecutionTaskStatusUseCase;
@@ -25,6 +37,8 @@ public class ExecutionTaskCleanArchController {
     private final CreateExecutionTaskUseCase createUseCase;
     private final UpdateExecutionTaskStatusUseCase updateStatusUseCase;
     private final FailExecutionTaskUseCase failUseCase;
+    private final ClaimExecutionTasksUseCase claimUseCase;
+    private final ExportExecutionTasksUseCase exportUseCase;
 
     public ExecutionTaskDto findById(Long id) {
         return ExecutionTaskPresenter.toResponseDto(findUseCase.findById(id));
@@ -37,37 +51,69 @@ public class ExecutionTaskCleanArchController {
 
     public PageDto<ExecutionTaskDto> findAll(int page, int size) {
         PageRequestDto pageRequest = new PageRequestDto(page, size);
-        PageDto<ExecutionTask> modelPage = findUseCase.findAll(pageRequest);
-        return new PageDto<>(
-                modelPage.content().stream()
-                        .map(ExecutionTaskPresenter::toResponseDto).toList(),
-                modelPage.totalElements(),
-                modelPage.pageNumber(),
-                modelPage.pageSize());
+        return findUseCase.findAll(pageRequest);
     }
 
     public PageDto<ExecutionTaskDto> findByStatus(String status, int page, int size) {
         PageRequestDto pageRequest = new PageRequestDto(page, size);
-        PageDto<ExecutionTask> modelPage = findUseCase.findByStatus(
-                status, pageRequest);
-        return new PageDto<>(
-                modelPage.content().stream()
-                        .map(ExecutionTaskPresenter::toResponseDto).toList(),
-                modelPage.totalElements(),
-                modelPage.pageNumber(),
-                modelPage.pageSize());
+        return findUseCase.findByStatus(status, pageRequest);
+    }
+
+    public PageDto<ExecutionTaskDto> findAllByCursor(
+            String sort, String after, int size) {
+        return findUseCase.findAllByCursor(sort, after, size);
+    }
+
+    public PageDto<ExecutionTaskDto> findAllByCursor(
+            String sort, String after, int size,
+            LocalDateTime createdFrom, LocalDateTime createdTo) {
+        return findUseCase.findAllByCursor(
+                sort, after, size, createdFrom, createdTo);
+    }
+
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, String sort, String after, int size) {
+        return findUseCase.findByStatusByCursor(
+                status, sort, after, size);
+    }
+
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, String sort, String after, int size,
+            LocalDateTime createdFrom, LocalDateTime createdTo) {
+        return findUseCase.findByStatusByCursor(
+                status, sort, after, size, createdFrom, createdTo);
+    }
+
+    public long export(ExecutionTaskExportFilterDto filter,
+            ExecutionTaskExportFormatEnum format, OutputStream out) throws IOException {
+        return exportUseCase.execute(filter, format, out);
     }
 
     public ExecutionTaskDto create(ExecutionTaskRequestDto requestDto) {
         return ExecutionTaskPresenter.toResponseDto(createUseCase.execute(requestDto));
     }
 
+    public List<BulkItemResultDto> createAll(List<ExecutionTaskRequestDto> requestDtos) {
+        return createUseCase.executeAll(requestDtos).stream()
+                .map(ExecutionTaskPresenter::toBulkItemResultDto).toList();
+    }
+
     public ExecutionTaskDto updateStatus(
             Long id, ExecutionTaskStatusUpdateDto statusDto) {
         return ExecutionTaskPresenter.toResponseDto(
                 updateStatusUseCase.execute(id, statusDto));
     }
 
+    public List<BulkItemResultDto> updateStatuses(List<ExecutionTaskStatusChangeDto> changes) {
+        return updateStatusUseCase.executeAll(changes).stream()
+                .map(ExecutionTaskPresenter::toBulkItemResultDto).toList();
+    }
+
+    public List<ExecutionTaskDto> claim(ExecutionTaskClaimRequestDto requestDto) {
+        return claimUseCase.execute(requestDto).stream()
+                .map(ExecutionTaskPresenter::toResponseDto).toList();
+    }
+
     public ExecutionTaskStatusDto getStatus(Long id) {
         ExecutionTask task = findUseCase.findById(id);
         return ExecutionTaskPresenter.toStatusDto(task);
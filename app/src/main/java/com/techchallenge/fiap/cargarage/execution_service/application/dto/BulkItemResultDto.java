@@ -0,0 +1,19 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.dto;
+
+import lombok.Builder;
+
+/**
+ * Response DTO for one item of a bulk request.
+ *
+ * @param index   position of the item in the request
+ * @param outcome what happened to the item (e.g. CREATED, DUPLICATE, INVALID)
+ * @param task    the resulting task, or null if the item was not applied
+ * @param error   why the item was not applied, or null
+ */
+@Builder
+public record BulkItemResultDto(
+        int index,
+        String outcome,
+        ExecutionTaskDto task,
+        String error) {
+}
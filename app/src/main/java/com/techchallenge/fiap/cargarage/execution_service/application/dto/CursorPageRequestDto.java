@@ -0,0 +1,27 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.dto;
+
+import java.time.LocalDateTime;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskSortEnum;
+
+/**
+ * DTO for cursor (keyset) page request parameters.
+ *
+ * @param after       opaque cursor returned as {@code nextCursor} by the
+ *                    previous page, or null for the first page
+ * @param size        maximum number of tasks to return
+ * @param sort        keyset ordering the cursor was issued for
+ * @param createdFrom only tasks created at or after this time, or null
+ * @param createdTo   only tasks created before this time, or null
+ */
+public record CursorPageRequestDto(
+        String after,
+        int size,
+        ExecutionTaskSortEnum sort,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo) {
+
+    public CursorPageRequestDto(String after, int size, ExecutionTaskSortEnum sort) {
+        this(after, size, sort, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Builder;
+
+/**
+ * DTO for claiming the next queued execution tasks.
+ */
+@Builder
+public record ExecutionTaskClaimRequestDto(
+        @NotBlank(message = "technician is required") String technician,
+        Integer limit) {
+}
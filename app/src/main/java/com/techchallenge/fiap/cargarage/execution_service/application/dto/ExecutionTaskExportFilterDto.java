@@ -0,0 +1,24 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.dto;
+
+import java.time.LocalDateTime;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+
+/**
+ * Which tasks an export covers; null criteria match any task.
+ *
+ * @param status      status value, e.g. {@code COMPLETED}
+ * @param createdFrom only tasks created at or after
+ * @param createdTo   only tasks created before
+ */
+public record ExecutionTaskExportFilterDto(
+        String status,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo) {
+
+    public ExecutionTaskExportFilterDto {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new InvalidDataException("createdFrom must be before createdTo");
+        }
+    }
+}
@@ -23,5 +23,7 @@ public record ExecutionTaskPersistenceDto(
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
         LocalDateTime startedAt,
-        LocalDateTime completedAt) {
+        LocalDateTime completedAt,
+        LocalDateTime sagaStartedAt,
+        Long version) {
 }
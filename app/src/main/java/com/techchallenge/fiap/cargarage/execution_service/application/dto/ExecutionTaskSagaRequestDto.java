@@ -0,0 +1,20 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+
+/**
+ * Execution task creation requested by a Saga event.
+ *
+ * @param eventId       the event ID (or SQS message ID); null skips the inbox
+ * @param request       the execution task request data
+ * @param sagaStartedAt when the event that started the Saga was emitted,
+ *                      or null if unknown
+ */
+@Builder
+public record ExecutionTaskSagaRequestDto(
+        String eventId,
+        ExecutionTaskRequestDto request,
+        LocalDateTime sagaStartedAt) {
+}
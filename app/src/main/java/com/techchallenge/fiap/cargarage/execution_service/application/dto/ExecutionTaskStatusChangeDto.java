@@ -0,0 +1,12 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.dto;
+
+import lombok.Builder;
+
+/**
+ * DTO for one item of a bulk status update: the task and its new status.
+ */
+@Builder
+public record ExecutionTaskStatusChangeDto(
+        Long id,
+        String status) {
+}
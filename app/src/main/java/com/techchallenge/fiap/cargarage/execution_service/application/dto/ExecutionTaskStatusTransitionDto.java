@@ -0,0 +1,22 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+
+/**
+ * DTO describing a conditional (compare-and-set) status change.
+ * The change is applied only while the task is in one of
+ * {@code expectedStatuses}; timestamps and failure reason are only filled
+ * in when they are still null.
+ */
+@Builder
+public record ExecutionTaskStatusTransitionDto(
+        List<String> expectedStatuses,
+        String status,
+        String failureReason,
+        LocalDateTime updatedAt,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt) {
+}
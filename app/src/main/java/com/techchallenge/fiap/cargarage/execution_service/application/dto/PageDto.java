@@ -4,10 +4,23 @@ import java.util.List;
 
 /**
  * Generic page DTO for paginated results.
+ *
+ * In cursor (keyset) mode {@code totalElements} is not computed and is
+ * reported as -1; {@code nextCursor} is the opaque token for the following
+ * page, or null when there are no more results. Offset pages never carry a
+ * cursor.
  */
 public record PageDto<T>(
         List<T> content,
         long totalElements,
         int pageNumber,
-        int pageSize) {
+        int pageSize,
+        String nextCursor) {
+
+    /** Marker for {@code totalElements} when the total was not counted. */
+    public static final long UNKNOWN_TOTAL = -1;
+
+    public PageDto(List<T> content, long totalElements, int pageNumber, int pageSize) {
+        this(content, totalElements, pageNumber, pageSize, null);
+    }
 }
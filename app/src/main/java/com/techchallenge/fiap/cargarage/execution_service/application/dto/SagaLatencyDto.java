@@ -0,0 +1,26 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.dto;
+
+import java.util.Map;
+
+import lombok.Builder;
+
+/**
+ * Rolling Saga latency percentiles for one task priority, per stage
+ * ({@code queueWait}, {@code execution}, {@code total}).
+ */
+@Builder
+public record SagaLatencyDto(
+        Integer priority,
+        Map<String, StageLatency> stages) {
+
+    /**
+     * Latency of one Saga stage over the rolling window, in seconds.
+     */
+    @Builder
+    public record StageLatency(
+            long count,
+            double meanSeconds,
+            double maxSeconds,
+            Map<String, Double> percentilesSeconds) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.entity;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.BulkItemOutcomeEnum;
+
+/**
+ * Result of one item of a bulk request, by its position in the request.
+ *
+ * @param task  the resulting task, or null if the item was not applied
+ * @param error why the item was not applied, or null
+ */
+public record BulkItemResult(
+        int index,
+        BulkItemOutcomeEnum outcome,
+        ExecutionTask task,
+        String error) {
+
+    public static BulkItemResult of(int index, BulkItemOutcomeEnum outcome, ExecutionTask task) {
+        return new BulkItemResult(index, outcome, task, null);
+    }
+
+    public static BulkItemResult rejected(
+            int index, BulkItemOutcomeEnum outcome, String error) {
+        return new BulkItemResult(index, outcome, null, error);
+    }
+}
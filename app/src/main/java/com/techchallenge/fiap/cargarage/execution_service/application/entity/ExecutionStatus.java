@@ -1,6 +1,11 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.entity;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionStatusEnum;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
@@ -8,14 +13,52 @@ import lombok.EqualsAndHashCode;
 
 /**
  * Value object that represents execution task status as a canonical String.
+ *
+ * There is one shared instance per {@link ExecutionStatusEnum} constant:
+ * parsing, the factories and the transition checks do not allocate.
+ * Equality is still based on the status value.
  */
 @EqualsAndHashCode
 public final class ExecutionStatus {
 
+    private static final Map<ExecutionStatusEnum, ExecutionStatus> INSTANCES =
+            new EnumMap<>(ExecutionStatusEnum.class);
+
+    private static final Map<ExecutionStatusEnum, Set<ExecutionStatusEnum>> TRANSITIONS =
+            new EnumMap<>(ExecutionStatusEnum.class);
+
+    private static final Map<ExecutionStatusEnum, List<ExecutionStatus>> PREDECESSORS =
+            new EnumMap<>(ExecutionStatusEnum.class);
+
+    static {
+        for (ExecutionStatusEnum status : ExecutionStatusEnum.values()) {
+            INSTANCES.put(status, new ExecutionStatus(status));
+        }
+        TRANSITIONS.put(ExecutionStatusEnum.QUEUED,
+                EnumSet.of(ExecutionStatusEnum.IN_PROGRESS, ExecutionStatusEnum.FAILED));
+        TRANSITIONS.put(ExecutionStatusEnum.IN_PROGRESS,
+                EnumSet.of(ExecutionStatusEnum.COMPLETED, ExecutionStatusEnum.FAILED));
+        TRANSITIONS.put(ExecutionStatusEnum.COMPLETED, EnumSet.noneOf(ExecutionStatusEnum.class));
+        TRANSITIONS.put(ExecutionStatusEnum.FAILED, EnumSet.noneOf(ExecutionStatusEnum.class));
+        for (ExecutionStatusEnum target : ExecutionStatusEnum.values()) {
+            List<ExecutionStatus> predecessors = new ArrayList<>();
+            for (ExecutionStatusEnum from : ExecutionStatusEnum.values()) {
+                if (TRANSITIONS.get(from).contains(target)) {
+                    predecessors.add(INSTANCES.get(from));
+                }
+            }
+            PREDECESSORS.put(target, List.copyOf(predecessors));
+        }
+    }
+
     private final String status;
 
-    private ExecutionStatus(String status) {
-        this.status = Objects.requireNonNull(status, "status must not be null");
+    @EqualsAndHashCode.Exclude
+    private final ExecutionStatusEnum value;
+
+    private ExecutionStatus(ExecutionStatusEnum value) {
+        this.status = value.name();
+        this.value = value;
     }
 
     /**
@@ -25,44 +68,46 @@ public final class ExecutionStatus {
         if (status == null || status.isBlank()) {
             throw new IllegalArgumentException("status must not be null or blank");
         }
-        String normalized = status.trim().toUpperCase();
-        ExecutionStatusEnum enumVal = ExecutionStatusEnum.fromString(normalized);
+        ExecutionStatusEnum enumVal = ExecutionStatusEnum.fromString(status);
+        if (enumVal == null) {
+            enumVal = ExecutionStatusEnum.fromString(status.trim());
+        }
         if (enumVal == null) {
             throw new InvalidDataException("Invalid execution status: " + status);
         }
-        return new ExecutionStatus(enumVal.name());
+        return INSTANCES.get(enumVal);
     }
 
     public static ExecutionStatus queued() {
-        return new ExecutionStatus(ExecutionStatusEnum.QUEUED.name());
+        return INSTANCES.get(ExecutionStatusEnum.QUEUED);
     }
 
     public static ExecutionStatus inProgress() {
-        return new ExecutionStatus(ExecutionStatusEnum.IN_PROGRESS.name());
+        return INSTANCES.get(ExecutionStatusEnum.IN_PROGRESS);
     }
 
     public static ExecutionStatus completed() {
-        return new ExecutionStatus(ExecutionStatusEnum.COMPLETED.name());
+        return INSTANCES.get(ExecutionStatusEnum.COMPLETED);
     }
 
     public static ExecutionStatus failed() {
-        return new ExecutionStatus(ExecutionStatusEnum.FAILED.name());
+        return INSTANCES.get(ExecutionStatusEnum.FAILED);
     }
 
     public boolean isQueued() {
-        return ExecutionStatusEnum.QUEUED.name().equals(this.status);
+        return value == ExecutionStatusEnum.QUEUED;
     }
 
     public boolean isInProgress() {
-        return ExecutionStatusEnum.IN_PROGRESS.name().equals(this.status);
+        return value == ExecutionStatusEnum.IN_PROGRESS;
     }
 
     public boolean isCompleted() {
-        return ExecutionStatusEnum.COMPLETED.name().equals(this.status);
+        return value == ExecutionStatusEnum.COMPLETED;
     }
 
     public boolean isFailed() {
-        return ExecutionStatusEnum.FAILED.name().equals(this.status);
+        return value == ExecutionStatusEnum.FAILED;
     }
 
     public String value() {
@@ -73,28 +118,15 @@ public final class ExecutionStatus {
      * Returns true if a transition from this status to the target is allowed.
      */
     public boolean canTransitionTo(ExecutionStatus target) {
-        if (target == null) {
-            return false;
-        }
-        ExecutionStatusEnum currentEnum = ExecutionStatusEnum.fromString(this.status);
-        ExecutionStatusEnum targetEnum = ExecutionStatusEnum.fromString(target.status);
-        if (currentEnum == null || targetEnum == null) {
-            return false;
-        }
-        switch (currentEnum) {
-            case QUEUED:
-                return targetEnum == ExecutionStatusEnum.IN_PROGRESS
-                        || targetEnum == ExecutionStatusEnum.FAILED;
-            case IN_PROGRESS:
-                return targetEnum == ExecutionStatusEnum.COMPLETED
-                        || targetEnum == ExecutionStatusEnum.FAILED;
-            case COMPLETED:
-                return false;
-            case FAILED:
-                return false;
-            default:
-                return false;
-        }
+        return target != null && TRANSITIONS.get(value).contains(target.value);
+    }
+
+    /**
+     * Returns the statuses from which a transition to this status is allowed,
+     * derived from {@link #canTransitionTo(ExecutionStatus)}.
+     */
+    public List<ExecutionStatus> allowedPredecessors() {
+        return PREDECESSORS.get(value);
     }
 
     @Override
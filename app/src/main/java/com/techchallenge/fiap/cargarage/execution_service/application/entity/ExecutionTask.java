@@ -10,6 +10,12 @@ import lombok.Builder;
  * Domain entity representing an Execution Task.
  * Each execution task corresponds to a service order that has been approved
  * and paid for, ready for execution in the workshop.
+ *
+ * {@code sagaStartedAt} is when the PaymentProcessed event that started the
+ * Saga was emitted; null for tasks created through the REST API.
+ *
+ * {@code version} is the optimistic lock version the task was read with;
+ * null for tasks not yet persisted.
  */
 public record ExecutionTask(
         Long id,
@@ -26,7 +32,9 @@ public record ExecutionTask(
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
         LocalDateTime startedAt,
-        LocalDateTime completedAt) {
+        LocalDateTime completedAt,
+        LocalDateTime sagaStartedAt,
+        Long version) {
 
     public ExecutionTask {
         if (Objects.isNull(serviceOrderId)) {
@@ -51,12 +59,15 @@ public record ExecutionTask(
             LocalDateTime createdAt,
             LocalDateTime updatedAt,
             LocalDateTime startedAt,
-            LocalDateTime completedAt) {
+            LocalDateTime completedAt,
+            LocalDateTime sagaStartedAt,
+            Long version) {
         return new ExecutionTask(
                 id, serviceOrderId, customerId, vehicleId,
                 vehicleLicensePlate, description, status,
                 assignedTechnician, notes, failureReason,
-                priority, createdAt, updatedAt, startedAt, completedAt);
+                priority, createdAt, updatedAt, startedAt, completedAt,
+                sagaStartedAt, version);
     }
 
     public ExecutionTask withId(Long id) {
@@ -65,7 +76,8 @@ public record ExecutionTask(
                 this.vehicleLicensePlate, this.description, this.status,
                 this.assignedTechnician, this.notes, this.failureReason,
                 this.priority, this.createdAt, this.updatedAt,
-                this.startedAt, this.completedAt);
+                this.startedAt, this.completedAt, this.sagaStartedAt,
+                this.version);
     }
 
     /**
@@ -90,7 +102,8 @@ public record ExecutionTask(
                 this.id, this.serviceOrderId, this.customerId, this.vehicleId,
                 this.vehicleLicensePlate, this.description, newStatus,
                 this.assignedTechnician, this.notes, this.failureReason,
-                this.priority, this.createdAt, now, started, completed);
+                this.priority, this.createdAt, now, started, completed,
+                this.sagaStartedAt, this.version);
     }
 
     /**
@@ -101,6 +114,7 @@ public record ExecutionTask(
                 this.id, this.serviceOrderId, this.customerId, this.vehicleId,
                 this.vehicleLicensePlate, this.description, ExecutionStatus.failed(),
                 this.assignedTechnician, this.notes, reason,
-                this.priority, this.createdAt, now, this.startedAt, now);
+                this.priority, this.createdAt, now, this.startedAt, now,
+                this.sagaStartedAt, this.version);
     }
 }
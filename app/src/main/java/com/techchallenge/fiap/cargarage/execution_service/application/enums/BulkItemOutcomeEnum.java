@@ -0,0 +1,19 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.enums;
+
+/**
+ * Outcome of one item of a bulk Execution Task request.
+ */
+public enum BulkItemOutcomeEnum {
+    /** The task was created. */
+    CREATED,
+    /** The task status was changed. */
+    UPDATED,
+    /** Skipped: the service order already has an active task. */
+    DUPLICATE,
+    /** Rejected: the task does not exist. */
+    NOT_FOUND,
+    /** Rejected: the task changed concurrently and the item can be retried. */
+    CONFLICT,
+    /** Rejected: the item is not valid. */
+    INVALID
+}
@@ -1,5 +1,8 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.enums;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Enum representing the possible statuses of an Execution Task.
  * Workflow: QUEUED -> IN_PROGRESS -> COMPLETED
@@ -15,14 +18,34 @@ public enum ExecutionStatusEnum {
     /** Task has failed (Saga compensation). */
     FAILED;
 
+    private static final ExecutionStatusEnum[] VALUES = values();
+
+    private static final Map<String, ExecutionStatusEnum> BY_NAME = new HashMap<>();
+
+    static {
+        for (ExecutionStatusEnum s : VALUES) {
+            BY_NAME.put(s.name(), s);
+        }
+    }
+
     /**
      * Parses a string to an ExecutionStatusEnum.
      *
+     * Canonical names (as stored in the database) are resolved with a single
+     * map lookup; other spellings fall back to a case-insensitive scan.
+     *
      * @param status the string representation of the status
      * @return the corresponding enum value, or null if not found
      */
     public static ExecutionStatusEnum fromString(String status) {
-        for (ExecutionStatusEnum s : ExecutionStatusEnum.values()) {
+        if (status == null) {
+            return null;
+        }
+        ExecutionStatusEnum canonical = BY_NAME.get(status);
+        if (canonical != null) {
+            return canonical;
+        }
+        for (ExecutionStatusEnum s : VALUES) {
             if (s.name().equalsIgnoreCase(status)) {
                 return s;
             }
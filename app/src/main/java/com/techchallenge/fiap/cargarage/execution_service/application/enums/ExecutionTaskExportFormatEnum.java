@@ -0,0 +1,39 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.enums;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+
+/**
+ * Output format of the execution task export.
+ */
+public enum ExecutionTaskExportFormatEnum {
+    /** One JSON object per line, with the field names of ExecutionTaskDto. */
+    NDJSON("application/x-ndjson"),
+    /** RFC 4180 CSV with a header row of column names. */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    ExecutionTaskExportFormatEnum(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String fileName() {
+        return "execution-tasks." + name().toLowerCase();
+    }
+
+    /**
+     * Parses a format name, ignoring case.
+     */
+    public static ExecutionTaskExportFormatEnum of(String format) {
+        for (ExecutionTaskExportFormatEnum value : values()) {
+            if (format != null && value.name().equalsIgnoreCase(format.trim())) {
+                return value;
+            }
+        }
+        throw new InvalidDataException("Invalid export format: " + format);
+    }
+}
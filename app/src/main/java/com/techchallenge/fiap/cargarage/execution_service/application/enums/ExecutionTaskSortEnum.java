@@ -0,0 +1,37 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.enums;
+
+/**
+ * Orderings supported by cursor (keyset) pagination of Execution Tasks.
+ * Both use the task id as tie-breaker so the order is total.
+ */
+public enum ExecutionTaskSortEnum {
+    /** Oldest first: (created_at ASC, id ASC). */
+    CREATED_AT("createdAt"),
+    /** Highest priority first: (priority DESC, id ASC). */
+    PRIORITY("priority");
+
+    private final String param;
+
+    ExecutionTaskSortEnum(String param) {
+        this.param = param;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    /**
+     * Parses a request parameter to an ExecutionTaskSortEnum.
+     *
+     * @param sort the parameter value (e.g. "createdAt", "priority")
+     * @return the corresponding enum value, or null if not found
+     */
+    public static ExecutionTaskSortEnum fromString(String sort) {
+        for (ExecutionTaskSortEnum s : ExecutionTaskSortEnum.values()) {
+            if (s.param.equalsIgnoreCase(sort) || s.name().equalsIgnoreCase(sort)) {
+                return s;
+            }
+        }
+        return null;
+    }
+}
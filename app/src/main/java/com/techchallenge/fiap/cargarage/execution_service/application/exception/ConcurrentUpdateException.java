@@ -0,0 +1,11 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.exception;
+
+/**
+ * Exception thrown when a task was changed by another writer between being
+ * read and being written. Retrying with a fresh read may succeed.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.gateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskExportDataSource;
+
+/**
+ * Gateway for the Execution Task export.
+ * Adapter between the application layer and the export data source; the
+ * rows are written as they are read, never mapped to the domain model.
+ */
+@RequiredArgsConstructor
+public class ExecutionTaskExportGateway {
+
+    private final ExecutionTaskExportDataSource dataSource;
+
+    public long export(ExecutionTaskExportFilterDto filter, ExecutionTaskExportFormatEnum format,
+            OutputStream out) throws IOException {
+        return dataSource.export(filter, format, out);
+    }
+}
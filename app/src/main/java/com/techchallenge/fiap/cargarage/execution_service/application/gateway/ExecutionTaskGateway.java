@@ -1,25 +1,45 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.gateway;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskArchive;
 import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
 
 /**
  * Gateway for Execution Task operations.
  * Adapter between the application layer and the data source.
+ *
+ * Tasks exported to cold storage are only reachable through the explicit
+ * archive lookups ({@link #findArchivedById}, {@link #findArchivedByServiceOrderId}),
+ * meant for read-only queries: {@link #findById} and {@link #findByServiceOrderId}
+ * also serve the write paths, which must not act on an archived copy. Lists
+ * and pages only cover the data source.
+ *
+ * Pages are a read model: the rows come from the data source already shaped
+ * as {@link ExecutionTaskDto} and are returned as they are, without a domain
+ * model per row. Writes and single-task reads go through {@link ExecutionTask}.
  */
 @RequiredArgsConstructor
 public class ExecutionTaskGateway {
 
     private final ExecutionTaskDataSource dataSource;
+    private final ExecutionTaskArchive archive;
+
+    public ExecutionTaskGateway(ExecutionTaskDataSource dataSource) {
+        this(dataSource, ExecutionTaskArchive.empty());
+    }
 
     public Optional<ExecutionTask> findById(Long id) {
         return dataSource.findById(id).map(this::toModel);
@@ -29,22 +49,36 @@ public class ExecutionTaskGateway {
         return dataSource.findByServiceOrderId(serviceOrderId).map(this::toModel);
     }
 
-    public PageDto<ExecutionTask> findAll(PageRequestDto pageRequest) {
-        PageDto<ExecutionTaskDto> dtoPage = dataSource.findAll(pageRequest);
-        List<ExecutionTask> content = dtoPage.content().stream()
-                .map(this::toModel).toList();
-        return new PageDto<>(content, dtoPage.totalElements(),
-                dtoPage.pageNumber(), dtoPage.pageSize());
+    /**
+     * Looks the task up in cold storage only.
+     */
+    public Optional<ExecutionTask> findArchivedById(Long id) {
+        return archive.findById(id).map(this::toModel);
+    }
+
+    /**
+     * Looks the latest task of the service order up in cold storage only.
+     */
+    public Optional<ExecutionTask> findArchivedByServiceOrderId(Long serviceOrderId) {
+        return archive.findByServiceOrderId(serviceOrderId).map(this::toModel);
+    }
+
+    public PageDto<ExecutionTaskDto> findAll(PageRequestDto pageRequest) {
+        return dataSource.findAll(pageRequest);
     }
 
-    public PageDto<ExecutionTask> findByStatus(
+    public PageDto<ExecutionTaskDto> findByStatus(
             ExecutionStatus status, PageRequestDto pageRequest) {
-        PageDto<ExecutionTaskDto> dtoPage = dataSource.findByStatus(
-                status.value(), pageRequest);
-        List<ExecutionTask> content = dtoPage.content().stream()
-                .map(this::toModel).toList();
-        return new PageDto<>(content, dtoPage.totalElements(),
-                dtoPage.pageNumber(), dtoPage.pageSize());
+        return dataSource.findByStatus(status.value(), pageRequest);
+    }
+
+    public PageDto<ExecutionTaskDto> findAllByCursor(CursorPageRequestDto pageRequest) {
+        return dataSource.findAllByCursor(pageRequest);
+    }
+
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            ExecutionStatus status, CursorPageRequestDto pageRequest) {
+        return dataSource.findByStatusByCursor(status.value(), pageRequest);
     }
 
     public ExecutionTask insert(ExecutionTask task) {
@@ -53,12 +87,86 @@ public class ExecutionTaskGateway {
         return toModel(saved);
     }
 
+    /**
+     * Inserts the task unless its service order already has an active
+     * (non-FAILED) task.
+     *
+     * @return the inserted task, or empty if an active task already exists
+     */
+    public Optional<ExecutionTask> insertIfAbsent(ExecutionTask task) {
+        return dataSource.insertIfAbsent(toPersistenceDto(task)).map(this::toModel);
+    }
+
+    /**
+     * Inserts the tasks in batches, skipping each one whose service order
+     * already has an active task.
+     *
+     * @return for each task, in order, the inserted task or empty if skipped
+     * @see ExecutionTaskDataSource#insertAllIfAbsent
+     */
+    public List<Optional<ExecutionTask>> insertAllIfAbsent(List<ExecutionTask> tasks) {
+        return dataSource.insertAllIfAbsent(tasks.stream().map(this::toPersistenceDto).toList())
+                .stream().map(saved -> saved.map(this::toModel)).toList();
+    }
+
     public ExecutionTask update(ExecutionTask task) {
         ExecutionTaskPersistenceDto dto = toPersistenceDto(task);
         ExecutionTaskDto saved = dataSource.update(task.id(), dto);
         return toModel(saved);
     }
 
+    /**
+     * Moves the task to {@code newStatus} in one conditional update, only if
+     * its current status is an allowed predecessor of {@code newStatus}.
+     * Timestamps follow {@link ExecutionTask#withStatusUpdated}.
+     *
+     * @param failureReason reason to record, or null to keep the current one
+     * @return the updated task, or empty if it does not exist or the
+     *         transition is not allowed from its current status
+     */
+    public Optional<ExecutionTask> transitionStatus(
+            Long id, ExecutionStatus newStatus, String failureReason, LocalDateTime now) {
+        return dataSource.transitionStatus(id, transition(newStatus, failureReason, now))
+                .map(this::toModel);
+    }
+
+    /**
+     * Moves every task among {@code ids} whose current status is an allowed
+     * predecessor of {@code newStatus} in one conditional update, keeping
+     * each task's failure reason.
+     *
+     * @return the updated tasks, in id order
+     * @see ExecutionTaskDataSource#transitionStatusAll
+     */
+    public List<ExecutionTask> transitionStatusAll(
+            Collection<Long> ids, ExecutionStatus newStatus, LocalDateTime now) {
+        return dataSource.transitionStatusAll(ids, transition(newStatus, null, now)).stream()
+                .map(this::toModel).toList();
+    }
+
+    private ExecutionTaskStatusTransitionDto transition(
+            ExecutionStatus newStatus, String failureReason, LocalDateTime now) {
+        return ExecutionTaskStatusTransitionDto.builder()
+                .expectedStatuses(newStatus.allowedPredecessors().stream()
+                        .map(ExecutionStatus::value).toList())
+                .status(newStatus.value())
+                .failureReason(failureReason)
+                .updatedAt(now)
+                .startedAt(newStatus.isInProgress() ? now : null)
+                .completedAt(newStatus.isCompleted() || newStatus.isFailed() ? now : null)
+                .build();
+    }
+
+    /**
+     * Claims up to {@code limit} QUEUED tasks for the technician.
+     *
+     * @see ExecutionTaskDataSource#claimNext
+     */
+    public List<ExecutionTask> claimNext(String technician, int limit, LocalDateTime now) {
+        return dataSource.claimNext(technician, limit, now).stream()
+                .map(this::toModel).toList();
+    }
+
     public void deleteById(Long id) {
         dataSource.deleteById(id);
     }
@@ -80,6 +188,8 @@ public class ExecutionTaskGateway {
                 .updatedAt(model.updatedAt())
                 .startedAt(model.startedAt())
                 .completedAt(model.completedAt())
+                .sagaStartedAt(model.sagaStartedAt())
+                .version(model.version())
                 .build();
     }
 
@@ -100,6 +210,8 @@ public class ExecutionTaskGateway {
                 .updatedAt(dto.updatedAt())
                 .startedAt(dto.startedAt())
                 .completedAt(dto.completedAt())
+                .sagaStartedAt(dto.sagaStartedAt())
+                .version(dto.version())
                 .build();
     }
 }
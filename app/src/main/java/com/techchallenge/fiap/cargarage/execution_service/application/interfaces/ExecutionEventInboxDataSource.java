@@ -0,0 +1,24 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.interfaces;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface for the inbox of consumed Saga events.
+ * Records each event ID once so redeliveries can be recognised.
+ */
+public interface ExecutionEventInboxDataSource {
+
+    /**
+     * Records the event as received, unless it already was.
+     *
+     * @return true if the event is new, false if it was already recorded
+     */
+    boolean markReceived(String eventId, LocalDateTime receivedAt);
+
+    /**
+     * Deletes entries received before the cutoff.
+     *
+     * @return the number of entries deleted
+     */
+    int deleteReceivedBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,38 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.interfaces;
+
+import java.util.Optional;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+
+/**
+ * Interface for the cold storage of execution tasks.
+ * Read-only lookups of the terminal tasks exported out of the database once
+ * past the retention window.
+ */
+public interface ExecutionTaskArchive {
+
+    Optional<ExecutionTaskDto> findById(Long id);
+
+    /**
+     * Finds the latest archived task of the service order.
+     */
+    Optional<ExecutionTaskDto> findByServiceOrderId(Long serviceOrderId);
+
+    /**
+     * Archive without any task, for when cold storage is not used.
+     */
+    static ExecutionTaskArchive empty() {
+        return new ExecutionTaskArchive() {
+
+            @Override
+            public Optional<ExecutionTaskDto> findById(Long id) {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<ExecutionTaskDto> findByServiceOrderId(Long serviceOrderId) {
+                return Optional.empty();
+            }
+        };
+    }
+}
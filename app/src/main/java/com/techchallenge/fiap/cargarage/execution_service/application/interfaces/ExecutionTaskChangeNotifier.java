@@ -0,0 +1,14 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.interfaces;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+/**
+ * Interface for notifying subscribers of task changes (creation and status
+ * transitions). Called inside the use case's transaction; subscribers are
+ * only notified once it commits, so rolled-back changes are never seen.
+ */
+@FunctionalInterface
+public interface ExecutionTaskChangeNotifier {
+
+    void taskChanged(ExecutionTask task);
+}
@@ -1,11 +1,17 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.interfaces;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
 
 /**
  * Interface for Execution Task data source operations.
@@ -15,8 +21,62 @@ public interface ExecutionTaskDataSource {
 
     ExecutionTaskDto insert(ExecutionTaskPersistenceDto dto);
 
+    /**
+     * Inserts the task in a single statement unless its service order already
+     * has a task that is not FAILED.
+     *
+     * @return the inserted task, or empty if an active task already exists
+     */
+    Optional<ExecutionTaskDto> insertIfAbsent(ExecutionTaskPersistenceDto dto);
+
+    /**
+     * Inserts the tasks in JDBC batches, skipping each one whose service
+     * order already has a task that is not FAILED, including one inserted
+     * earlier in the same list. A concurrent insert for one of the service
+     * orders fails the whole call.
+     *
+     * @return for each task, in order, the inserted task or empty if skipped
+     */
+    List<Optional<ExecutionTaskDto>> insertAllIfAbsent(List<ExecutionTaskPersistenceDto> dtos);
+
+    /**
+     * Overwrites the task with {@code dto}. When {@code dto.version()} is set
+     * the write only succeeds if the task is still at that version.
+     *
+     * @throws ConcurrentUpdateException if the task was updated after
+     *         {@code dto} was read
+     */
     ExecutionTaskDto update(Long id, ExecutionTaskPersistenceDto dto);
 
+    /**
+     * Atomically applies a status change if the task is still in one of the
+     * expected statuses.
+     *
+     * @return the updated task, or empty if the task does not exist or its
+     *         current status does not allow the change
+     */
+    Optional<ExecutionTaskDto> transitionStatus(
+            Long id, ExecutionTaskStatusTransitionDto transition);
+
+    /**
+     * Applies the same status change to every task among {@code ids} that is
+     * still in one of the expected statuses, in one conditional update.
+     *
+     * @return the updated tasks, in id order; the other ids do not exist or
+     *         their current status does not allow the change
+     */
+    List<ExecutionTaskDto> transitionStatusAll(
+            Collection<Long> ids, ExecutionTaskStatusTransitionDto transition);
+
+    /**
+     * Atomically claims up to {@code limit} QUEUED tasks, highest priority and
+     * oldest first, moving them to IN_PROGRESS assigned to the technician.
+     * Rows locked by a concurrent claim are skipped, not waited for.
+     *
+     * @return the claimed tasks in claim order; empty if none are available
+     */
+    List<ExecutionTaskDto> claimNext(String technician, int limit, LocalDateTime claimedAt);
+
     Optional<ExecutionTaskDto> findById(Long id);
 
     Optional<ExecutionTaskDto> findByServiceOrderId(Long serviceOrderId);
@@ -25,5 +85,16 @@ public interface ExecutionTaskDataSource {
 
     PageDto<ExecutionTaskDto> findByStatus(String status, PageRequestDto pageRequest);
 
+    /**
+     * Keyset page over all tasks, without a count query.
+     */
+    PageDto<ExecutionTaskDto> findAllByCursor(CursorPageRequestDto pageRequest);
+
+    /**
+     * Keyset page over tasks in the given status, without a count query.
+     */
+    PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, CursorPageRequestDto pageRequest);
+
     void deleteById(Long id);
 }
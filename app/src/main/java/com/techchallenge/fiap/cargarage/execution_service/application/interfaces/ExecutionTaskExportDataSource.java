@@ -0,0 +1,24 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
+
+/**
+ * Interface for the bulk export of execution tasks.
+ * Streams the matching tasks straight to the output, without loading them
+ * as pages or domain models.
+ */
+public interface ExecutionTaskExportDataSource {
+
+    /**
+     * Writes every task matching the filter to {@code out}, oldest first.
+     * The stream is flushed, not closed.
+     *
+     * @return the number of tasks written
+     */
+    long export(ExecutionTaskExportFilterDto filter, ExecutionTaskExportFormatEnum format,
+            OutputStream out) throws IOException;
+}
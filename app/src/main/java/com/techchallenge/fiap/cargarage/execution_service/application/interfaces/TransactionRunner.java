@@ -0,0 +1,22 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.interfaces;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface for running a unit of work inside a single transaction.
+ * Abstracts the transaction management of the persistence layer.
+ */
+public interface TransactionRunner {
+
+    /**
+     * Runs the action in a transaction, joining an existing one if present.
+     * Business exceptions thrown by the action do not roll back the transaction.
+     */
+    <T> T execute(Supplier<T> action);
+
+    /**
+     * Whether the caller is already inside a transaction, which
+     * {@link #execute} would join instead of starting a new one.
+     */
+    boolean isTransactionActive();
+}
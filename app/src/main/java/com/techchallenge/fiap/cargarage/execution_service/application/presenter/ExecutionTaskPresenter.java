@@ -1,7 +1,9 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.presenter;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.BulkItemResultDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.BulkItemResult;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
 
 /**
@@ -35,6 +37,8 @@ public final class ExecutionTaskPresenter {
                 .updatedAt(model.updatedAt())
                 .startedAt(model.startedAt())
                 .completedAt(model.completedAt())
+                .sagaStartedAt(model.sagaStartedAt())
+                .version(model.version())
                 .build();
     }
 
@@ -49,4 +53,16 @@ public final class ExecutionTaskPresenter {
                 .status(model.status() != null ? model.status().value() : null)
                 .build();
     }
+
+    /**
+     * Converts the result of one bulk request item to a response DTO.
+     */
+    public static BulkItemResultDto toBulkItemResultDto(BulkItemResult result) {
+        return BulkItemResultDto.builder()
+                .index(result.index())
+                .outcome(result.outcome().name())
+                .task(toResponseDto(result.task()))
+                .error(result.error())
+                .build();
+    }
 }
@@ -0,0 +1,56 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskClaimRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
+
+/**
+ * Use case for a technician claiming the next queued execution tasks.
+ */
+@RequiredArgsConstructor
+public class ClaimExecutionTasksUseCase {
+
+    static final int MAX_CLAIM = 20;
+
+    private final ExecutionTaskGateway gateway;
+    private final ExecutionEventPublisher eventPublisher;
+    private final TransactionRunner transactionRunner;
+    private final ExecutionTaskChangeNotifier changeNotifier;
+
+    /**
+     * Claims up to {@code limit} (default 1) QUEUED tasks, highest priority
+     * and oldest first, moves them to IN_PROGRESS assigned to the technician
+     * and publishes ExecutionStarted for each, in one transaction. Tasks
+     * being claimed concurrently are skipped rather than waited for, so
+     * technicians never receive the same task.
+     *
+     * @param requestDto the technician and number of tasks to claim
+     * @return the claimed tasks; empty if nothing is queued
+     */
+    public List<ExecutionTask> execute(ExecutionTaskClaimRequestDto requestDto) {
+        String technician = requestDto.technician();
+        if (technician == null || technician.isBlank()) {
+            throw new InvalidDataException("technician is required");
+        }
+        int limit = requestDto.limit() != null ? requestDto.limit() : 1;
+        if (limit < 1 || limit > MAX_CLAIM) {
+            throw new InvalidDataException(
+                    "limit must be between 1 and " + MAX_CLAIM);
+        }
+        return transactionRunner.execute(() -> {
+            List<ExecutionTask> claimed = gateway.claimNext(
+                    technician.trim(), limit, LocalDateTime.now());
+            claimed.forEach(eventPublisher::publishExecutionStarted);
+            claimed.forEach(changeNotifier::taskChanged);
+            return claimed;
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+
+/**
+ * Bounded retry of a write that lost a race with another writer.
+ *
+ * A retry only helps if every attempt runs in a new transaction and reads
+ * the task again: the next attempt then applies the change on top of the
+ * winner's, or fails with the winner's outcome (e.g. a transition no longer
+ * allowed), and nothing is locked while backing off. Inside a transaction
+ * opened by the caller an attempt would keep the locks of the earlier
+ * statements through the backoff and never see a fresh start, so there the
+ * conflict is thrown at once and the boundary that opened the transaction
+ * retries it (see {@link #retry}). Events are only published by the attempt
+ * that succeeds.
+ */
+public final class ConcurrentUpdateRetry {
+
+    public static final int MAX_ATTEMPTS = 3;
+
+    private static final long BACKOFF_MILLIS = 10;
+
+    private ConcurrentUpdateRetry() {
+    }
+
+    /**
+     * Runs the action in a new transaction, up to {@value #MAX_ATTEMPTS}
+     * times while it throws {@link ConcurrentUpdateException}. If the caller
+     * is already in a transaction the action runs once in it.
+     *
+     * @throws ConcurrentUpdateException if the last attempt still conflicts
+     */
+    static <T> T execute(TransactionRunner transactionRunner, Supplier<T> action) {
+        if (transactionRunner.isTransactionActive()) {
+            return transactionRunner.execute(action);
+        }
+        return retry(() -> transactionRunner.execute(action));
+    }
+
+    /**
+     * Calls the attempt up to {@value #MAX_ATTEMPTS} times while it throws
+     * {@link ConcurrentUpdateException}. Each call must start and end its own
+     * transaction.
+     *
+     * @throws ConcurrentUpdateException if the last attempt still conflicts
+     */
+    public static <T> T retry(Supplier<T> attempt) {
+        for (int count = 1; ; count++) {
+            try {
+                return attempt.get();
+            } catch (ConcurrentUpdateException e) {
+                if (count == MAX_ATTEMPTS || !backOff(count)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sleeps a random delay of up to {@value #BACKOFF_MILLIS} ms per attempt
+     * so the losing writers do not collide again in lockstep.
+     *
+     * @return false if the thread was interrupted
+     */
+    private static boolean backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, BACKOFF_MILLIS * attempt + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
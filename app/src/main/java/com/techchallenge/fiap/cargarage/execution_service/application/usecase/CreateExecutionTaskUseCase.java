@@ -1,13 +1,24 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 import lombok.RequiredArgsConstructor;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskSagaRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.BulkItemResult;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.BulkItemOutcomeEnum;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.BusinessException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionEventInboxDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
 
 /**
  * Use case for creating a new Execution Task (adding to the execution queue).
@@ -15,27 +26,158 @@ import com.techchallenge.fiap.cargarage.execution_service.application.gateway.Ex
 @RequiredArgsConstructor
 public class CreateExecutionTaskUseCase {
 
+    static final int MAX_BULK = 500;
+
     private final ExecutionTaskGateway gateway;
+    private final ExecutionEventInboxDataSource inbox;
+    private final TransactionRunner transactionRunner;
+    private final ExecutionTaskChangeNotifier changeNotifier;
 
     /**
      * Executes the use case to create a new execution task.
      *
      * @param requestDto the execution task request data
      * @return the created execution task
+     * @throws BusinessException if the service order already has an active task
      */
     public ExecutionTask execute(ExecutionTaskRequestDto requestDto) {
-        // Check if an execution task already exists for this service order
-        gateway.findByServiceOrderId(requestDto.serviceOrderId())
-                .ifPresent(existing -> {
-                    if (!existing.status().isFailed()) {
-                        throw new BusinessException(
-                                "Execution task already exists for service order: "
-                                        + requestDto.serviceOrderId());
-                    }
-                });
+        ExecutionTask task = newTask(requestDto, null);
+        ExecutionTask created = ConcurrentUpdateRetry.execute(transactionRunner,
+                        () -> gateway.insertIfAbsent(task))
+                .orElseThrow(() -> new BusinessException(
+                        "Execution task already exists for service order: "
+                                + requestDto.serviceOrderId()));
+        changeNotifier.taskChanged(created);
+        return created;
+    }
+
+    /**
+     * Creates the execution task for a Saga event at most once. A redelivered
+     * event, or one for a service order that already has an active task, is
+     * settled without an exception. A create that lost a race with one for
+     * the same service order is retried in a new transaction
+     * ({@link ConcurrentUpdateRetry}), which then finds the winner's task.
+     *
+     * @param eventId       the event ID (or SQS message ID); null skips the inbox
+     * @param requestDto    the execution task request data
+     * @param sagaStartedAt when the event that started the Saga was emitted,
+     *                      or null if unknown
+     * @return the created execution task, or empty if the event is a duplicate
+     */
+    public Optional<ExecutionTask> executeOnce(
+            String eventId, ExecutionTaskRequestDto requestDto,
+            LocalDateTime sagaStartedAt) {
+        return ConcurrentUpdateRetry.execute(transactionRunner, () -> {
+            if (eventId != null && !inbox.markReceived(eventId, LocalDateTime.now())) {
+                return Optional.empty();
+            }
+            Optional<ExecutionTask> created =
+                    gateway.insertIfAbsent(newTask(requestDto, sagaStartedAt));
+            created.ifPresent(changeNotifier::taskChanged);
+            return created;
+        });
+    }
+
+    /**
+     * Creates up to {@value #MAX_BULK} execution tasks, inserted in batches.
+     * Each item gets its own result: CREATED, DUPLICATE if its service order
+     * already has an active task (or an earlier item created one), or INVALID.
+     * If the batch fails, e.g. on a concurrent create for one of the service
+     * orders, the items are created one by one instead.
+     *
+     * @param requests the execution task request data
+     * @return one result per request, in request order
+     * @throws InvalidDataException if there are no requests or too many
+     */
+    public List<BulkItemResult> executeAll(List<ExecutionTaskRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidDataException("at least one task is required");
+        }
+        if (requests.size() > MAX_BULK) {
+            throw new InvalidDataException(
+                    "at most " + MAX_BULK + " tasks can be created at once");
+        }
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<ExecutionTask> tasks = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            ExecutionTaskRequestDto request = requests.get(index);
+            if (request == null || request.serviceOrderId() == null) {
+                results[index] = BulkItemResult.rejected(index,
+                        BulkItemOutcomeEnum.INVALID, "serviceOrderId is required");
+            } else {
+                indexes.add(index);
+                tasks.add(newTask(request, null));
+            }
+        }
+        List<Optional<ExecutionTask>> created = insertAll(tasks);
+        for (int item = 0; item < tasks.size(); item++) {
+            int index = indexes.get(item);
+            Optional<ExecutionTask> task = created.get(item);
+            results[index] = task.isPresent()
+                    ? BulkItemResult.of(index, BulkItemOutcomeEnum.CREATED, task.get())
+                    : BulkItemResult.rejected(index, BulkItemOutcomeEnum.DUPLICATE,
+                            "Execution task already exists for service order: "
+                                    + tasks.get(item).serviceOrderId());
+            task.ifPresent(changeNotifier::taskChanged);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Creates the execution tasks for a batch of Saga events in one
+     * transaction, with the inserts sent in batches. Each event is settled as
+     * in {@link #executeOnce}: a redelivered event, or one for a service order
+     * that already has an active task, is skipped.
+     *
+     * @return for each request, in order, the created task or empty if skipped
+     */
+    public List<Optional<ExecutionTask>> executeAllOnce(
+            List<ExecutionTaskSagaRequestDto> requests) {
+        return transactionRunner.execute(() -> {
+            LocalDateTime receivedAt = LocalDateTime.now();
+            List<Optional<ExecutionTask>> results =
+                    new ArrayList<>(Collections.nCopies(requests.size(), Optional.empty()));
+            List<Integer> indexes = new ArrayList<>();
+            List<ExecutionTask> tasks = new ArrayList<>();
+            for (int index = 0; index < requests.size(); index++) {
+                ExecutionTaskSagaRequestDto request = requests.get(index);
+                if (request.eventId() == null
+                        || inbox.markReceived(request.eventId(), receivedAt)) {
+                    indexes.add(index);
+                    tasks.add(newTask(request.request(), request.sagaStartedAt()));
+                }
+            }
+            List<Optional<ExecutionTask>> created =
+                    tasks.isEmpty() ? List.of() : gateway.insertAllIfAbsent(tasks);
+            for (int item = 0; item < created.size(); item++) {
+                results.set(indexes.get(item), created.get(item));
+                created.get(item).ifPresent(changeNotifier::taskChanged);
+            }
+            return results;
+        });
+    }
 
+    private List<Optional<ExecutionTask>> insertAll(List<ExecutionTask> tasks) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return gateway.insertAllIfAbsent(tasks);
+        } catch (RuntimeException e) {
+            // The batch was rolled back as a whole; the single-row conditional
+            // insert settles concurrent creates without failing
+            return tasks.stream()
+                    .map(task -> ConcurrentUpdateRetry.execute(transactionRunner,
+                            () -> gateway.insertIfAbsent(task)))
+                    .toList();
+        }
+    }
+
+    private ExecutionTask newTask(
+            ExecutionTaskRequestDto requestDto, LocalDateTime sagaStartedAt) {
         LocalDateTime now = LocalDateTime.now();
-        ExecutionTask task = ExecutionTask.builder()
+        return ExecutionTask.builder()
                 .id(null)
                 .serviceOrderId(requestDto.serviceOrderId())
                 .customerId(requestDto.customerId())
@@ -51,8 +193,7 @@ public class CreateExecutionTaskUseCase {
                 .updatedAt(now)
                 .startedAt(null)
                 .completedAt(null)
+                .sagaStartedAt(sagaStartedAt)
                 .build();
-
-        return gateway.insert(task);
     }
 }
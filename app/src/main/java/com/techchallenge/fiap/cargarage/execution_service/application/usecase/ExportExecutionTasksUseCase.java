@@ -0,0 +1,31 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskExportGateway;
+
+/**
+ * Use case for exporting Execution Tasks as NDJSON or CSV.
+ *
+ * The filter and format are validated by the caller before anything is
+ * written, so an invalid request can still be answered with an error.
+ */
+@RequiredArgsConstructor
+public class ExportExecutionTasksUseCase {
+
+    private final ExecutionTaskExportGateway gateway;
+
+    /**
+     * Streams the tasks matching the filter to {@code out}, oldest first.
+     *
+     * @return the number of tasks written
+     */
+    public long execute(ExecutionTaskExportFilterDto filter,
+            ExecutionTaskExportFormatEnum format, OutputStream out) throws IOException {
+        return gateway.export(filter, format, out);
+    }
+}
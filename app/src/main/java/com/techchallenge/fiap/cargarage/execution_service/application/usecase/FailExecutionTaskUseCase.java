@@ -3,10 +3,14 @@ package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
 import java.time.LocalDateTime;
 
 import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
 import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
 
 /**
@@ -17,6 +21,8 @@ public class FailExecutionTaskUseCase {
 
     private final ExecutionTaskGateway gateway;
     private final ExecutionEventPublisher eventPublisher;
+    private final TransactionRunner transactionRunner;
+    private final ExecutionTaskChangeNotifier changeNotifier;
 
     /**
      * Marks an execution task as failed with a reason.
@@ -26,23 +32,7 @@ public class FailExecutionTaskUseCase {
      * @return the failed execution task
      */
     public ExecutionTask execute(Long id, String reason) {
-        ExecutionTask existing = gateway.findById(id)
-                .orElseThrow(() -> new NotFoundException(
-                        "Execution task not found with id: " + id));
-
-        if (existing.status().isCompleted() || existing.status().isFailed()) {
-            throw new InvalidDataException(
-                    "Cannot fail execution task in status: " + existing.status());
-        }
-
-        ExecutionTask failed = existing.withFailure(
-                reason != null ? reason : "Execution failed",
-                LocalDateTime.now());
-        ExecutionTask saved = gateway.update(failed);
-
-        eventPublisher.publishExecutionFailed(saved);
-
-        return saved;
+        return ConcurrentUpdateRetry.execute(transactionRunner, () -> fail(id, reason));
     }
 
     /**
@@ -53,22 +43,44 @@ public class FailExecutionTaskUseCase {
      * @return the failed execution task
      */
     public ExecutionTask executeByServiceOrderId(Long serviceOrderId, String reason) {
-        ExecutionTask existing = gateway.findByServiceOrderId(serviceOrderId)
-                .orElseThrow(() -> new NotFoundException(
-                        "Execution task not found for service order: " + serviceOrderId));
-
-        if (existing.status().isCompleted() || existing.status().isFailed()) {
-            throw new InvalidDataException(
-                    "Cannot fail execution task in status: " + existing.status());
-        }
+        return ConcurrentUpdateRetry.execute(transactionRunner, () -> {
+            ExecutionTask existing = gateway.findByServiceOrderId(serviceOrderId)
+                    .orElseThrow(() -> new NotFoundException(
+                            "Execution task not found for service order: " + serviceOrderId));
+            return fail(existing.id(), reason);
+        });
+    }
 
-        ExecutionTask failed = existing.withFailure(
+    /**
+     * Fails the task with a single conditional update and publishes the
+     * failure event in the caller's transaction. A failure that races with
+     * another transition (e.g. an order cancelled while the technician
+     * completes the task) either applies on top of it or is rejected by the
+     * status guard; it is retried ({@link ConcurrentUpdateRetry}) only when
+     * the task changed between the update and the check of why it missed,
+     * and only if this use case started the transaction.
+     */
+    private ExecutionTask fail(Long id, String reason) {
+        ExecutionTask saved = gateway.transitionStatus(id, ExecutionStatus.failed(),
                 reason != null ? reason : "Execution failed",
-                LocalDateTime.now());
-        ExecutionTask saved = gateway.update(failed);
+                LocalDateTime.now())
+                .orElseThrow(() -> rejectedFailure(id));
 
         eventPublisher.publishExecutionFailed(saved);
+        changeNotifier.taskChanged(saved);
 
         return saved;
     }
+
+    private RuntimeException rejectedFailure(Long id) {
+        return gateway.findById(id)
+                .<RuntimeException>map(current -> current.status()
+                        .canTransitionTo(ExecutionStatus.failed())
+                        ? new ConcurrentUpdateException(
+                                "Execution task changed concurrently: " + id)
+                        : new InvalidDataException(
+                                "Cannot fail execution task in status: " + current.status()))
+                .orElseGet(() -> new NotFoundException(
+                        "Execution task not found with id: " + id));
+    }
 }
@@ -1,15 +1,25 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
 
+import java.time.LocalDateTime;
+
 import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskSortEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
 
 /**
  * Use case for finding Execution Tasks.
+ *
+ * Pages are returned as the {@link ExecutionTaskDto} read model, projected by
+ * the data source; single-task lookups return the domain model and, when the
+ * task is no longer in the database, fall back to cold storage.
  */
 @RequiredArgsConstructor
 public class FindExecutionTaskUseCase {
@@ -18,23 +28,75 @@ public class FindExecutionTaskUseCase {
 
     public ExecutionTask findById(Long id) {
         return gateway.findById(id)
+                .or(() -> gateway.findArchivedById(id))
                 .orElseThrow(() -> new NotFoundException(
                         "Execution task not found with id: " + id));
     }
 
     public ExecutionTask findByServiceOrderId(Long serviceOrderId) {
         return gateway.findByServiceOrderId(serviceOrderId)
+                .or(() -> gateway.findArchivedByServiceOrderId(serviceOrderId))
                 .orElseThrow(() -> new NotFoundException(
                         "Execution task not found for service order: " + serviceOrderId));
     }
 
-    public PageDto<ExecutionTask> findAll(PageRequestDto pageRequest) {
+    public PageDto<ExecutionTaskDto> findAll(PageRequestDto pageRequest) {
         return gateway.findAll(pageRequest);
     }
 
-    public PageDto<ExecutionTask> findByStatus(
+    public PageDto<ExecutionTaskDto> findByStatus(
             String status, PageRequestDto pageRequest) {
         ExecutionStatus executionStatus = ExecutionStatus.of(status);
         return gateway.findByStatus(executionStatus, pageRequest);
     }
+
+    /**
+     * Keyset page over all tasks: no offset scan and no count query, so the
+     * cost of a page does not grow with how deep the client has paged.
+     */
+    public PageDto<ExecutionTaskDto> findAllByCursor(String sort, String after, int size) {
+        return findAllByCursor(sort, after, size, null, null);
+    }
+
+    /**
+     * Keyset page over the tasks created in {@code [createdFrom, createdTo)};
+     * either bound may be null. Only the monthly partitions overlapping the
+     * range are read.
+     */
+    public PageDto<ExecutionTaskDto> findAllByCursor(
+            String sort, String after, int size,
+            LocalDateTime createdFrom, LocalDateTime createdTo) {
+        return gateway.findAllByCursor(
+                toCursorRequest(sort, after, size, createdFrom, createdTo));
+    }
+
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, String sort, String after, int size) {
+        return findByStatusByCursor(status, sort, after, size, null, null);
+    }
+
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, String sort, String after, int size,
+            LocalDateTime createdFrom, LocalDateTime createdTo) {
+        ExecutionStatus executionStatus = ExecutionStatus.of(status);
+        return gateway.findByStatusByCursor(executionStatus,
+                toCursorRequest(sort, after, size, createdFrom, createdTo));
+    }
+
+    private CursorPageRequestDto toCursorRequest(
+            String sort, String after, int size,
+            LocalDateTime createdFrom, LocalDateTime createdTo) {
+        ExecutionTaskSortEnum sortEnum = ExecutionTaskSortEnum.fromString(sort);
+        if (sortEnum == null) {
+            throw new InvalidDataException("Invalid sort: " + sort);
+        }
+        if (size < 1) {
+            throw new InvalidDataException("Page size must be at least 1");
+        }
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new InvalidDataException("createdFrom must be before createdTo");
+        }
+        String cursor = after == null || after.isBlank() ? null : after;
+        return new CursorPageRequestDto(cursor, size, sortEnum, createdFrom, createdTo);
+    }
 }
@@ -1,14 +1,26 @@
 package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import lombok.RequiredArgsConstructor;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusChangeDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.BulkItemResult;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.BulkItemOutcomeEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
 import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
 
 /**
@@ -17,38 +29,151 @@ import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messagi
 @RequiredArgsConstructor
 public class UpdateExecutionTaskStatusUseCase {
 
+    static final int MAX_BULK = 500;
+
     private final ExecutionTaskGateway gateway;
     private final ExecutionEventPublisher eventPublisher;
+    private final TransactionRunner transactionRunner;
+    private final ExecutionTaskChangeNotifier changeNotifier;
 
     /**
      * Updates the status of an execution task and publishes corresponding events.
+     * The status change is a single conditional update guarded by the allowed
+     * predecessor statuses, so concurrent transitions cannot overwrite each
+     * other. The update and the event publication happen in the same
+     * transaction; stream subscribers are notified once it commits. If the
+     * task changed between the update and the check of why it did not apply,
+     * the update is retried in a new transaction ({@link ConcurrentUpdateRetry});
+     * when called inside a transaction the conflict is thrown at once.
      *
      * @param id        the execution task ID
      * @param statusDto the new status
      * @return the updated execution task
+     * @throws ConcurrentUpdateException if the task kept changing concurrently
      */
     public ExecutionTask execute(Long id, ExecutionTaskStatusUpdateDto statusDto) {
-        ExecutionTask existing = gateway.findById(id)
-                .orElseThrow(() -> new NotFoundException(
-                        "Execution task not found with id: " + id));
-
-        ExecutionStatus currentStatus = existing.status();
-        ExecutionStatus newStatus = ExecutionStatus.of(statusDto.status());
+        return ConcurrentUpdateRetry.execute(transactionRunner,
+                () -> updateStatus(id, statusDto));
+    }
 
-        if (!currentStatus.canTransitionTo(newStatus)) {
+    /**
+     * Updates the status of up to {@value #MAX_BULK} execution tasks in one
+     * transaction. The items are grouped by new status and each group is
+     * applied with one conditional update guarded by the allowed predecessor
+     * statuses ({@link ExecutionStatus#canTransitionTo}); the events of all
+     * updated tasks are then published together, in batches.
+     *
+     * Each item gets its own result: UPDATED, NOT_FOUND, INVALID (unknown
+     * status, repeated id or transition not allowed from the current status)
+     * or CONFLICT if the task changed concurrently.
+     *
+     * @param changes the task ids and their new statuses
+     * @return one result per change, in request order
+     * @throws InvalidDataException if there are no changes or too many
+     */
+    public List<BulkItemResult> executeAll(List<ExecutionTaskStatusChangeDto> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new InvalidDataException("at least one status change is required");
+        }
+        if (changes.size() > MAX_BULK) {
             throw new InvalidDataException(
-                    "Invalid status transition from " + currentStatus + " to " + newStatus);
+                    "at most " + MAX_BULK + " statuses can be updated at once");
+        }
+        return transactionRunner.execute(() -> updateStatuses(changes));
+    }
+
+    private List<BulkItemResult> updateStatuses(List<ExecutionTaskStatusChangeDto> changes) {
+        BulkItemResult[] results = new BulkItemResult[changes.size()];
+        // new status -> (task id -> index of the change)
+        Map<ExecutionStatus, Map<Long, Integer>> byStatus = new LinkedHashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (int index = 0; index < changes.size(); index++) {
+            ExecutionTaskStatusChangeDto change = changes.get(index);
+            if (change == null || change.id() == null) {
+                results[index] = BulkItemResult.rejected(index,
+                        BulkItemOutcomeEnum.INVALID, "id is required");
+            } else if (change.status() == null || change.status().isBlank()) {
+                results[index] = BulkItemResult.rejected(index,
+                        BulkItemOutcomeEnum.INVALID, "status is required");
+            } else if (!seen.add(change.id())) {
+                results[index] = BulkItemResult.rejected(index, BulkItemOutcomeEnum.INVALID,
+                        "Duplicate execution task id: " + change.id());
+            } else {
+                try {
+                    byStatus.computeIfAbsent(ExecutionStatus.of(change.status()),
+                            status -> new LinkedHashMap<>()).put(change.id(), index);
+                } catch (InvalidDataException e) {
+                    results[index] = BulkItemResult.rejected(index,
+                            BulkItemOutcomeEnum.INVALID, e.getMessage());
+                }
+            }
         }
 
         LocalDateTime now = LocalDateTime.now();
-        ExecutionTask updated = existing.withStatusUpdated(newStatus, now);
-        ExecutionTask saved = gateway.update(updated);
+        List<ExecutionTask> updated = new ArrayList<>();
+        byStatus.forEach((newStatus, indexes) -> {
+            for (ExecutionTask saved : gateway.transitionStatusAll(
+                    indexes.keySet(), newStatus, now)) {
+                int index = indexes.remove(saved.id());
+                results[index] = BulkItemResult.of(index, BulkItemOutcomeEnum.UPDATED, saved);
+                updated.add(saved);
+            }
+            indexes.forEach((id, index) -> results[index] = rejected(index, id, newStatus));
+        });
+
+        if (!updated.isEmpty()) {
+            eventPublisher.publishStatusChanges(updated);
+            updated.forEach(changeNotifier::taskChanged);
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Result of a change the conditional update did not apply; like
+     * {@link #rejectedTransition}, only paid on the failure path.
+     */
+    private BulkItemResult rejected(int index, Long id, ExecutionStatus newStatus) {
+        return gateway.findById(id)
+                .map(current -> current.status().canTransitionTo(newStatus)
+                        ? BulkItemResult.rejected(index, BulkItemOutcomeEnum.CONFLICT,
+                                "Execution task changed concurrently: " + id)
+                        : BulkItemResult.rejected(index, BulkItemOutcomeEnum.INVALID,
+                                "Invalid status transition from " + current.status()
+                                        + " to " + newStatus))
+                .orElseGet(() -> BulkItemResult.rejected(index, BulkItemOutcomeEnum.NOT_FOUND,
+                        "Execution task not found with id: " + id));
+    }
+
+    private ExecutionTask updateStatus(Long id, ExecutionTaskStatusUpdateDto statusDto) {
+        ExecutionStatus newStatus = ExecutionStatus.of(statusDto.status());
+
+        ExecutionTask saved = gateway.transitionStatus(
+                id, newStatus, null, LocalDateTime.now())
+                .orElseThrow(() -> rejectedTransition(id, newStatus));
 
         publishStatusChangeEvent(saved, newStatus);
+        changeNotifier.taskChanged(saved);
 
         return saved;
     }
 
+    /**
+     * Builds the error for a transition the conditional update did not apply.
+     * Only reached on the failure path, so the extra read is not paid by
+     * successful transitions. If the transition is allowed from the status
+     * read now, the task changed after the update and it can be retried.
+     */
+    private RuntimeException rejectedTransition(Long id, ExecutionStatus newStatus) {
+        return gateway.findById(id)
+                .<RuntimeException>map(current -> current.status().canTransitionTo(newStatus)
+                        ? new ConcurrentUpdateException(
+                                "Execution task changed concurrently: " + id)
+                        : new InvalidDataException("Invalid status transition from "
+                                + current.status() + " to " + newStatus))
+                .orElseGet(() -> new NotFoundException(
+                        "Execution task not found with id: " + id));
+    }
+
     private void publishStatusChangeEvent(
             ExecutionTask task, ExecutionStatus status) {
         if (status.isInProgress()) {
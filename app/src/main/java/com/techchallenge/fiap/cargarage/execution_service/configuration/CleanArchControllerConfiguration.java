@@ -4,7 +4,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.techchallenge.fiap.cargarage.execution_service.application.controller.ExecutionTaskCleanArchController;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ClaimExecutionTasksUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ExportExecutionTasksUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FindExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.UpdateExecutionTaskStatusUseCase;
@@ -20,11 +22,15 @@ public class CleanArchControllerConfiguration {
             FindExecutionTaskUseCase findExecutionTaskUseCase,
             CreateExecutionTaskUseCase createExecutionTaskUseCase,
             UpdateExecutionTaskStatusUseCase updateExecutionTaskStatusUseCase,
-            FailExecutionTaskUseCase failExecutionTaskUseCase) {
+            FailExecutionTaskUseCase failExecutionTaskUseCase,
+            ClaimExecutionTasksUseCase claimExecutionTasksUseCase,
+            ExportExecutionTasksUseCase exportExecutionTasksUseCase) {
         return new ExecutionTaskCleanArchController(
                 findExecutionTaskUseCase,
                 createExecutionTaskUseCase,
                 updateExecutionTaskStatusUseCase,
-                failExecutionTaskUseCase);
+                failExecutionTaskUseCase,
+                claimExecutionTasksUseCase,
+                exportExecutionTasksUseCase);
     }
 }
@@ -1,10 +1,25 @@
 package com.techchallenge.fiap.cargarage.execution_service.configuration;
 
+import static com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring.TimedInvocationInterceptor.timedDataSource;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskExportGateway;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskArchive;
 import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskExportDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.cache.CachingExecutionTaskDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed.ExecutionTaskChangeFeed;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed.NotifyingExecutionTaskDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Gateway configuration for dependency injection.
@@ -12,8 +27,48 @@ import com.techchallenge.fiap.cargarage.execution_service.application.interfaces
 @Configuration
 public class GatewayConfiguration {
 
+    /**
+     * Wraps the data source with the single-task read cache unless
+     * {@code cache.execution-task.enabled=false}. Persistence calls are timed
+     * ({@code execution.datasource}) beneath the cache, so cache hits are not
+     * counted as database calls. The cold storage archive is handed to the
+     * gateway for the explicit archive lookups of the read-only queries.
+     *
+     * With the change feed enabled ({@code database.change-feed.enabled}),
+     * writes are published to the other replicas and their changes evict
+     * this replica's cache entries.
+     */
+    @Bean
+    public ExecutionTaskGateway executionTaskGateway(
+            ExecutionTaskDataSource dataSource,
+            ExecutionTaskArchive archive,
+            ObjectProvider<ExecutionTaskChangeFeed> changeFeedProvider,
+            TransactionRunner transactionRunner,
+            MeterRegistry meterRegistry,
+            @Value("${cache.execution-task.enabled:true}") boolean cacheEnabled,
+            @Value("${cache.execution-task.maximum-size:10000}") long cacheMaximumSize,
+            @Value("${cache.execution-task.expire-after-write:10s}") Duration cacheExpireAfterWrite,
+            @Value("${cache.execution-task.primary-read-window:10s}") Duration cachePrimaryReadWindow) {
+        ExecutionTaskDataSource timed = timedDataSource(dataSource, meterRegistry);
+        ExecutionTaskChangeFeed changeFeed = changeFeedProvider.getIfAvailable();
+        ExecutionTaskDataSource source = changeFeed != null
+                ? new NotifyingExecutionTaskDataSource(timed, changeFeed, transactionRunner)
+                : timed;
+        if (!cacheEnabled) {
+            return new ExecutionTaskGateway(source, archive);
+        }
+        CachingExecutionTaskDataSource cache = new CachingExecutionTaskDataSource(
+                source, transactionRunner, cacheMaximumSize, cacheExpireAfterWrite,
+                cachePrimaryReadWindow, meterRegistry);
+        if (changeFeed != null) {
+            changeFeed.addHandler(cache);
+        }
+        return new ExecutionTaskGateway(cache, archive);
+    }
+
     @Bean
-    public ExecutionTaskGateway executionTaskGateway(ExecutionTaskDataSource dataSource) {
-        return new ExecutionTaskGateway(dataSource);
+    public ExecutionTaskExportGateway executionTaskExportGateway(
+            ExecutionTaskExportDataSource exportDataSource) {
+        return new ExecutionTaskExportGateway(exportDataSource);
     }
 }
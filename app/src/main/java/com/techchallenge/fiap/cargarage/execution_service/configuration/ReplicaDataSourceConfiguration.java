@@ -0,0 +1,87 @@
+package com.techchallenge.fiap.cargarage.execution_service.configuration;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.replica.ReplicaLagMonitor;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read replica ({@code database.replica.url}).
+ *
+ * Replaces the auto-configured data source with two Hikari pools, primary
+ * and replica, behind a {@link ReplicaRoutingDataSource}: read-only
+ * transactions (the query methods of the execution task data source, the
+ * export, Spring Data's read-only repository methods) use the replica while
+ * its lag is within {@code database.replica.max-lag}, everything else uses
+ * the primary. The single-task read cache loads from the primary, so it
+ * never caches a row the replica has not caught up with yet. Without a
+ * replica URL the auto-configured pool is used as is.
+ */
+@Configuration
+@ConditionalOnExpression("!'${database.replica.url:}'.isBlank()")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("database.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${database.replica.url}") String url,
+            @Value("${database.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${database.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${database.replica.max-lag:5s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(new JdbcTemplate(replica), maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary, replica, replicaLagMonitor, meterRegistry));
+    }
+}
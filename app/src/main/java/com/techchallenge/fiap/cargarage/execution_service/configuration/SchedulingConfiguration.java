@@ -0,0 +1,12 @@
+package com.techchallenge.fiap.cargarage.execution_service.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs (e.g. the outbox relay).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
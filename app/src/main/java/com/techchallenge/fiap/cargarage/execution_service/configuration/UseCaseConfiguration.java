@@ -1,42 +1,105 @@
 package com.techchallenge.fiap.cargarage.execution_service.configuration;
 
+import static com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring.TimedInvocationInterceptor.timedUseCase;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskExportGateway;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionEventInboxDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ClaimExecutionTasksUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ExportExecutionTasksUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FindExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.UpdateExecutionTaskStatusUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring.MeteredExecutionEventPublisher;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring.SagaLatencyMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Use case configuration for dependency injection.
+ *
+ * Every use case is wrapped in a timing proxy ({@code execution.usecase}
+ * timer) and the event publisher in a counting decorator
+ * ({@code execution.events.published}) that also records the Saga latency,
+ * keeping metrics out of the application layer. Use cases that create or
+ * move tasks also notify the task stream ({@code GET /execution-tasks/stream}).
  */
 @Configuration
 public class UseCaseConfiguration {
 
     @Bean
-    public FindExecutionTaskUseCase findExecutionTaskUseCase(ExecutionTaskGateway gateway) {
-        return new FindExecutionTaskUseCase(gateway);
+    public FindExecutionTaskUseCase findExecutionTaskUseCase(
+            ExecutionTaskGateway gateway,
+            MeterRegistry meterRegistry) {
+        return timedUseCase(new FindExecutionTaskUseCase(gateway), meterRegistry);
     }
 
     @Bean
-    public CreateExecutionTaskUseCase createExecutionTaskUseCase(ExecutionTaskGateway gateway) {
-        return new CreateExecutionTaskUseCase(gateway);
+    public ExportExecutionTasksUseCase exportExecutionTasksUseCase(
+            ExecutionTaskExportGateway gateway,
+            MeterRegistry meterRegistry) {
+        return timedUseCase(new ExportExecutionTasksUseCase(gateway), meterRegistry);
+    }
+
+    @Bean
+    public CreateExecutionTaskUseCase createExecutionTaskUseCase(
+            ExecutionTaskGateway gateway,
+            ExecutionEventInboxDataSource inbox,
+            TransactionRunner transactionRunner,
+            ExecutionTaskChangeNotifier changeNotifier,
+            MeterRegistry meterRegistry) {
+        return timedUseCase(
+                new CreateExecutionTaskUseCase(
+                        gateway, inbox, transactionRunner, changeNotifier),
+                meterRegistry);
     }
 
     @Bean
     public UpdateExecutionTaskStatusUseCase updateExecutionTaskStatusUseCase(
             ExecutionTaskGateway gateway,
-            ExecutionEventPublisher eventPublisher) {
-        return new UpdateExecutionTaskStatusUseCase(gateway, eventPublisher);
+            ExecutionEventPublisher eventPublisher,
+            TransactionRunner transactionRunner,
+            ExecutionTaskChangeNotifier changeNotifier,
+            MeterRegistry meterRegistry,
+            SagaLatencyMetrics sagaLatencyMetrics) {
+        return timedUseCase(new UpdateExecutionTaskStatusUseCase(gateway,
+                new MeteredExecutionEventPublisher(
+                        eventPublisher, meterRegistry, sagaLatencyMetrics),
+                transactionRunner, changeNotifier), meterRegistry);
     }
 
     @Bean
     public FailExecutionTaskUseCase failExecutionTaskUseCase(
             ExecutionTaskGateway gateway,
-            ExecutionEventPublisher eventPublisher) {
-        return new FailExecutionTaskUseCase(gateway, eventPublisher);
+            ExecutionEventPublisher eventPublisher,
+            TransactionRunner transactionRunner,
+            ExecutionTaskChangeNotifier changeNotifier,
+            MeterRegistry meterRegistry,
+            SagaLatencyMetrics sagaLatencyMetrics) {
+        return timedUseCase(new FailExecutionTaskUseCase(gateway,
+                new MeteredExecutionEventPublisher(
+                        eventPublisher, meterRegistry, sagaLatencyMetrics),
+                transactionRunner, changeNotifier), meterRegistry);
+    }
+
+    @Bean
+    public ClaimExecutionTasksUseCase claimExecutionTasksUseCase(
+            ExecutionTaskGateway gateway,
+            ExecutionEventPublisher eventPublisher,
+            TransactionRunner transactionRunner,
+            ExecutionTaskChangeNotifier changeNotifier,
+            MeterRegistry meterRegistry,
+            SagaLatencyMetrics sagaLatencyMetrics) {
+        return timedUseCase(new ClaimExecutionTasksUseCase(gateway,
+                new MeteredExecutionEventPublisher(
+                        eventPublisher, meterRegistry, sagaLatencyMetrics),
+                transactionRunner, changeNotifier), meterRegistry);
     }
 }
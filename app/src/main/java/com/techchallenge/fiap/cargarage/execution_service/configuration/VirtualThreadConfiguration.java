@@ -0,0 +1,81 @@
+package com.techchallenge.fiap.cargarage.execution_service.configuration;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.SqsListenerExecutor;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring.VirtualThreadPinnedMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual-thread mode ({@code spring.threads.virtual.enabled=true}).
+ *
+ * Spring Boot itself moves Tomcat request handling and the scheduler used by
+ * the outbox relay onto virtual threads; this configuration covers the SQS
+ * listeners, pinned-thread metrics and the connection pool guardrail.
+ */
+@Slf4j
+@Configuration
+public class VirtualThreadConfiguration {
+
+    /** Above this, requests queued on the pool turn overload into latency. */
+    private static final Duration MAX_RECOMMENDED_CONNECTION_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int LISTENER_QUEUES = 2;
+
+    @Bean
+    public SqsListenerExecutor sqsListenerExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return virtualThreads
+                ? SqsListenerExecutor.virtualThreads()
+                : SqsListenerExecutor.direct();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public VirtualThreadPinnedMetrics virtualThreadPinnedMetrics(
+            @Value("${monitoring.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinnedMetrics(threshold);
+    }
+
+    /**
+     * With virtual threads the number of concurrent requests is no longer
+     * bounded by a thread pool, so the Hikari pool becomes the real limit.
+     * Warns at startup when the pool cannot serve the SQS listeners'
+     * in-flight messages or waits too long before failing.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public InitializingBean hikariPoolGuardrail(
+            DataSource dataSource,
+            @Value("${spring.cloud.aws.sqs.listener.max-concurrent-messages:10}") int listenerConcurrency) {
+        return () -> {
+            // The primary pool, also behind the replica routing data source
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            int listenerDemand = listenerConcurrency * LISTENER_QUEUES;
+            if (hikari.getMaximumPoolSize() <= listenerDemand) {
+                log.warn("Hikari maximum-pool-size {} does not exceed SQS listener "
+                        + "concurrency {}; listeners can take every connection and "
+                        + "starve HTTP requests", hikari.getMaximumPoolSize(), listenerDemand);
+            }
+            if (hikari.getConnectionTimeout() > MAX_RECOMMENDED_CONNECTION_TIMEOUT.toMillis()) {
+                log.warn("Hikari connection-timeout {} ms is above {} ms; with virtual "
+                        + "threads overload queues on the pool instead of failing fast",
+                        hikari.getConnectionTimeout(),
+                        MAX_RECOMMENDED_CONNECTION_TIMEOUT.toMillis());
+            }
+        };
+    }
+}
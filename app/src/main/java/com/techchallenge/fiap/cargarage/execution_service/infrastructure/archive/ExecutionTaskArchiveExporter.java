@@ -0,0 +1,152 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition.ExecutionTaskPartitions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the archive tables left by the partition maintenance
+ * ({@code execution_task_archive_YYYY_MM}) out of the database: each day of
+ * the month is written to the cold storage and the table is dropped once all
+ * its days are written.
+ *
+ * A table is only dropped after a complete export; if the job stops halfway,
+ * the next run writes the month again, replacing the days already written.
+ *
+ * The job runs on every replica, so each table is exported in a transaction
+ * holding a transaction-level advisory lock on its name
+ * ({@code pg_try_advisory_xact_lock}): a replica that does not get the lock,
+ * or finds the table already dropped, skips it instead of exporting it twice
+ * or failing on a table dropped under it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "archive.execution-task.export.enabled", havingValue = "true")
+public class ExecutionTaskArchiveExporter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NdjsonExecutionTaskArchive archive;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExecutionTaskArchiveExporter(
+            JdbcTemplate jdbcTemplate,
+            NdjsonExecutionTaskArchive archive,
+            TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = archive;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${archive.execution-task.export.cron:0 0 4 * * *}")
+    public void export() {
+        exportArchiveTables();
+    }
+
+    /**
+     * Exports and drops every archive table.
+     *
+     * @return the names of the tables exported
+     */
+    List<String> exportArchiveTables() {
+        List<String> exported = new ArrayList<>();
+        for (String table : archiveTables()) {
+            try {
+                Integer tasks = transactionTemplate.execute(status -> exportLocked(table));
+                if (tasks == null) {
+                    log.debug("Skipping {}: exported by another replica", table);
+                    continue;
+                }
+                exported.add(table);
+                log.info("Exported {} tasks of {} to cold storage", tasks, table);
+            } catch (Exception e) {
+                log.error("Error exporting archive table {}", table, e);
+            }
+        }
+        return exported;
+    }
+
+    /**
+     * Exports and drops the table if this replica gets its lock and the table
+     * still exists.
+     *
+     * @return the number of tasks exported, or null if the table was skipped
+     */
+    private Integer exportLocked(String table) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, table))) {
+            return null;
+        }
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table))) {
+            return null;
+        }
+        int tasks = exportTable(table);
+        jdbcTemplate.execute("DROP TABLE " + table);
+        return tasks;
+    }
+
+    private List<String> archiveTables() {
+        return jdbcTemplate.queryForList("SELECT tablename FROM pg_tables "
+                + "WHERE schemaname = current_schema() AND tablename LIKE ? ORDER BY tablename",
+                String.class, ExecutionTaskPartitions.TABLE + "\\_archive\\_%").stream()
+                .filter(table -> ExecutionTaskPartitions.archiveMonth(table).isPresent())
+                .toList();
+    }
+
+    private int exportTable(String table) {
+        List<LocalDate> days = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(created_at AS DATE) AS day FROM " + table + " ORDER BY day",
+                LocalDate.class);
+        int tasks = 0;
+        for (LocalDate day : days) {
+            List<ExecutionTaskDto> dayTasks = jdbcTemplate.query("SELECT * FROM " + table
+                    + " WHERE created_at >= ? AND created_at < ? ORDER BY id",
+                    ExecutionTaskArchiveExporter::toDto,
+                    day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            try {
+                archive.write(day, dayTasks);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing archived day " + day, e);
+            }
+            tasks += dayTasks.size();
+        }
+        return tasks;
+    }
+
+    static ExecutionTaskDto toDto(ResultSet rs, int rowNum) throws SQLException {
+        return ExecutionTaskDto.builder()
+                .id(rs.getLong("id"))
+                .serviceOrderId(rs.getLong("service_order_id"))
+                .customerId(rs.getObject("customer_id", Long.class))
+                .vehicleId(rs.getObject("vehicle_id", Long.class))
+                .vehicleLicensePlate(rs.getString("vehicle_license_plate"))
+                .description(rs.getString("description"))
+                .status(rs.getString("status"))
+                .assignedTechnician(rs.getString("assigned_technician"))
+                .notes(rs.getString("notes"))
+                .failureReason(rs.getString("failure_reason"))
+                .priority(rs.getObject("priority", Integer.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .startedAt(rs.getObject("started_at", LocalDateTime.class))
+                .completedAt(rs.getObject("completed_at", LocalDateTime.class))
+                .sagaStartedAt(rs.getObject("saga_started_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.archive;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskArchive;
+
+/**
+ * Cold storage of execution tasks as gzip-compressed NDJSON files, one per
+ * creation day: {@code <path>/YYYY/MM/YYYY-MM-DD.ndjson.gz}.
+ *
+ * Each day file has a small sidecar index ({@code YYYY-MM-DD.index.json})
+ * with its id range and service order IDs, so a lookup only decompresses the
+ * days that can hold the task. Indexes are cached once read. The list of
+ * days is cached as well, so a lookup does not walk the directory tree: it
+ * is refreshed on {@link #write} and, for the days written by other
+ * replicas, every {@code archive.execution-task.days-refresh}. Files are
+ * written to a temporary file and moved in place, the index last, so readers
+ * never see a partial day.
+ */
+@Component
+public class NdjsonExecutionTaskArchive implements ExecutionTaskArchive {
+
+    static final String DATA_SUFFIX = ".ndjson.gz";
+    static final String INDEX_SUFFIX = ".index.json";
+
+    private final Path root;
+    private final ObjectMapper objectMapper;
+    private final Map<Path, DayIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${archive.execution-task.days-refresh:5m}")
+    private Duration daysRefresh = Duration.ofMinutes(5);
+
+    private volatile ListedDays listedDays;
+
+    public NdjsonExecutionTaskArchive(
+            @Value("${archive.execution-task.path:archive/execution-task}") String root) {
+        this.root = Path.of(root);
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> findById(Long id) {
+        return days().stream()
+                .filter(day -> day.index().covers(id))
+                .flatMap(day -> find(day.day(), task -> id.equals(task.id())).stream())
+                .findFirst();
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> findByServiceOrderId(Long serviceOrderId) {
+        return days().stream()
+                .filter(day -> day.index().serviceOrderIds().contains(serviceOrderId))
+                .sorted(Comparator.comparing(IndexedDay::day).reversed())
+                .flatMap(day -> find(day.day(),
+                        task -> serviceOrderId.equals(task.serviceOrderId())).stream())
+                .findFirst();
+    }
+
+    /**
+     * Writes the tasks created on the day, replacing the day if it was
+     * already written.
+     */
+    public void write(LocalDate day, List<ExecutionTaskDto> tasks) throws IOException {
+        Path data = file(day, DATA_SUFFIX);
+        Files.createDirectories(data.getParent());
+        Path temporary = Files.createTempFile(data.getParent(), day.toString(), ".tmp");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temporary)), UTF_8))) {
+            for (ExecutionTaskDto task : tasks) {
+                writer.write(objectMapper.writeValueAsString(task));
+                writer.write('\n');
+            }
+        }
+        moveInPlace(temporary, data);
+
+        Path index = file(day, INDEX_SUFFIX);
+        temporary = Files.createTempFile(index.getParent(), day.toString(), ".tmp");
+        objectMapper.writeValue(temporary.toFile(), DayIndex.of(tasks));
+        moveInPlace(temporary, index);
+        indexes.remove(index);
+        listedDays = null;
+    }
+
+    Path file(LocalDate day, String suffix) {
+        return root.resolve(String.format("%04d", day.getYear()))
+                .resolve(String.format("%02d", day.getMonthValue()))
+                .resolve(day + suffix);
+    }
+
+    private static void moveInPlace(Path source, Path target) throws IOException {
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The task of the day matching the filter, the one with the highest id
+     * if several do.
+     */
+    private Optional<ExecutionTaskDto> find(LocalDate day, Predicate<ExecutionTaskDto> filter) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file(day, DATA_SUFFIX))), UTF_8))) {
+            return reader.lines()
+                    .map(this::parse)
+                    .filter(filter)
+                    .max(Comparator.comparing(ExecutionTaskDto::id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading archived day " + day, e);
+        }
+    }
+
+    private ExecutionTaskDto parse(String line) {
+        try {
+            return objectMapper.readValue(line, ExecutionTaskDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<IndexedDay> days() {
+        ListedDays listed = listedDays;
+        long now = System.nanoTime();
+        if (listed == null || now - listed.listedAt() >= daysRefresh.toNanos()) {
+            listed = new ListedDays(listDays(), now);
+            listedDays = listed;
+        }
+        return listed.days();
+    }
+
+    private List<IndexedDay> listDays() {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(INDEX_SUFFIX))
+                    .map(file -> new IndexedDay(day(file), indexes.computeIfAbsent(file, this::readIndex)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error listing archive " + root, e);
+        }
+    }
+
+    private static LocalDate day(Path indexFile) {
+        String name = indexFile.getFileName().toString();
+        return LocalDate.parse(name.substring(0, name.length() - INDEX_SUFFIX.length()));
+    }
+
+    private DayIndex readIndex(Path file) {
+        try {
+            return objectMapper.readValue(file.toFile(), DayIndex.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading archive index " + file, e);
+        }
+    }
+
+    private record IndexedDay(LocalDate day, DayIndex index) {
+    }
+
+    private record ListedDays(List<IndexedDay> days, long listedAt) {
+    }
+
+    /**
+     * Id range and service order IDs of the tasks of a day file.
+     */
+    record DayIndex(long minId, long maxId, Set<Long> serviceOrderIds) {
+
+        static DayIndex of(List<ExecutionTaskDto> tasks) {
+            return new DayIndex(
+                    tasks.stream().mapToLong(ExecutionTaskDto::id).min().orElse(0),
+                    tasks.stream().mapToLong(ExecutionTaskDto::id).max().orElse(-1),
+                    tasks.stream().map(ExecutionTaskDto::serviceOrderId)
+                            .collect(Collectors.toSet()));
+        }
+
+        boolean covers(Long id) {
+            return id != null && id >= minId && id <= maxId;
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.controller;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,15 +27,26 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import com.techchallenge.fiap.cargarage.execution_service.application.controller.ExecutionTaskCleanArchController;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.BulkItemResultDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ErrorMessageDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskClaimRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusChangeDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusUpdateDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.SagaLatencyDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring.SagaLatencyMetrics;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskChangeBroadcaster;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskStreamFilter;
 
 /**
  * REST controller for Execution Task endpoints.
@@ -38,6 +58,8 @@ import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDt
 public class ExecutionTaskController {
 
     private final ExecutionTaskCleanArchController controller;
+    private final SagaLatencyMetrics sagaLatencyMetrics;
+    private final ExecutionTaskChangeBroadcaster changeBroadcaster;
 
     @Operation(summary = "Get execution task by ID")
     @ApiResponse(responseCode = "200", description = "Task found")
@@ -48,6 +70,60 @@ public class ExecutionTaskController {
         return ResponseEntity.ok(controller.findById(id));
     }
 
+    @Operation(summary = "Get Saga latency percentiles by priority",
+            description = "Rolling percentiles (in seconds) of queue wait (created to started), "
+                    + "execution (started to completed) and total Saga latency "
+                    + "(PaymentProcessed to completed), per task priority.")
+    @ApiResponse(responseCode = "200", description = "Latency percentiles")
+    @GetMapping("/metrics/latency")
+    public ResponseEntity<List<SagaLatencyDto>> latency() {
+        return ResponseEntity.ok(sagaLatencyMetrics.snapshot());
+    }
+
+    @Operation(summary = "Stream execution task changes (Server-Sent Events)",
+            description = "Pushes an 'execution-task' event (id, serviceOrderId, status, "
+                    + "assignedTechnician, updatedAt) for every task created or status change "
+                    + "committed on this replica, optionally filtered. A slow client loses its "
+                    + "oldest pending events; idle connections get a keepalive comment.")
+    @ApiResponse(responseCode = "200", description = "Event stream")
+    @ApiResponse(responseCode = "400", description = "Invalid status", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @ApiResponse(responseCode = "503", description = "Too many open streams on this replica; retry later", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "Only tasks moving to this status") @RequestParam(value = "status", required = false) String status,
+            @Parameter(description = "Only tasks of this service order") @RequestParam(value = "serviceOrderId", required = false) Long serviceOrderId,
+            @Parameter(description = "Only tasks assigned to this technician") @RequestParam(value = "technician", required = false) String technician) {
+        return changeBroadcaster.subscribe(new ExecutionTaskStreamFilter(
+                status != null ? ExecutionStatus.of(status).value() : null,
+                serviceOrderId, technician));
+    }
+
+    @Operation(summary = "Export execution tasks (NDJSON or CSV)",
+            description = "Streams every task matching the filters, oldest first, read from "
+                    + "the database in keyset chunks: no pages and no total count, and "
+                    + "memory does not grow with the size of the export. format=ndjson (default) "
+                    + "writes one JSON object per line; format=csv writes a header row of column "
+                    + "names. createdFrom/createdTo limit the export to a creation period.")
+    @ApiResponse(responseCode = "200", description = "Exported tasks")
+    @ApiResponse(responseCode = "400", description = "Invalid status, format or period", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @GetMapping("/export")
+    public void export(
+            @Parameter(description = "Only tasks in this status") @RequestParam(value = "status", required = false) String status,
+            @Parameter(description = "Only tasks created at or after (ISO date-time)") @RequestParam(value = "createdFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Only tasks created before (ISO date-time)") @RequestParam(value = "createdTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "ndjson or csv") @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ExecutionTaskExportFormatEnum exportFormat = ExecutionTaskExportFormatEnum.of(format);
+        ExecutionTaskExportFilterDto filter = new ExecutionTaskExportFilterDto(
+                status != null ? ExecutionStatus.of(status).value() : null,
+                createdFrom, createdTo);
+        response.setContentType(exportFormat.mediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + exportFormat.fileName() + "\"");
+        controller.export(filter, exportFormat, response.getOutputStream());
+    }
+
     @Operation(summary = "Get execution task by service order ID")
     @ApiResponse(responseCode = "200", description = "Task found")
     @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
@@ -57,22 +133,50 @@ public class ExecutionTaskController {
         return ResponseEntity.ok(controller.findByServiceOrderId(serviceOrderId));
     }
 
-    @Operation(summary = "Get all execution tasks (paginated)")
+    @Operation(summary = "Get all execution tasks (paginated)",
+            description = "Offset pagination by default. Pass cursor=true (or an 'after' token) "
+                    + "for keyset pagination: no total count, follow 'nextCursor' until it is null. "
+                    + "createdFrom/createdTo restrict keyset pages to a creation period, "
+                    + "reading only the monthly partitions it covers.")
     @ApiResponse(responseCode = "200", description = "List of tasks")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or sort", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @GetMapping
     public ResponseEntity<PageDto<ExecutionTaskDto>> findAll(
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "15") int size) {
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @Parameter(description = "Use keyset (cursor) pagination") @RequestParam(value = "cursor", defaultValue = "false") boolean cursor,
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor") @RequestParam(value = "after", required = false) String after,
+            @Parameter(description = "Keyset order: createdAt or priority") @RequestParam(value = "sort", defaultValue = "createdAt") String sort,
+            @Parameter(description = "Only tasks created at or after (ISO date-time, keyset pagination)") @RequestParam(value = "createdFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Only tasks created before (ISO date-time, keyset pagination)") @RequestParam(value = "createdTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        if (cursor || after != null || createdFrom != null || createdTo != null) {
+            return ResponseEntity.ok(controller.findAllByCursor(
+                    sort, after, size, createdFrom, createdTo));
+        }
         return ResponseEntity.ok(controller.findAll(page, size));
     }
 
-    @Operation(summary = "Get execution tasks by status")
+    @Operation(summary = "Get execution tasks by status",
+            description = "Offset pagination by default. Pass cursor=true (or an 'after' token) "
+                    + "for keyset pagination: no total count, follow 'nextCursor' until it is null. "
+                    + "createdFrom/createdTo restrict keyset pages to a creation period, "
+                    + "reading only the monthly partitions it covers.")
     @ApiResponse(responseCode = "200", description = "List of tasks")
+    @ApiResponse(responseCode = "400", description = "Invalid status, cursor or sort", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
     @GetMapping("/status/{status}")
     public ResponseEntity<PageDto<ExecutionTaskDto>> findByStatus(
             @Parameter(description = "Task status") @PathVariable String status,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "15") int size) {
+            @RequestParam(value = "size", defaultValue = "15") int size,
+            @Parameter(description = "Use keyset (cursor) pagination") @RequestParam(value = "cursor", defaultValue = "false") boolean cursor,
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor") @RequestParam(value = "after", required = false) String after,
+            @Parameter(description = "Keyset order: createdAt or priority") @RequestParam(value = "sort", defaultValue = "createdAt") String sort,
+            @Parameter(description = "Only tasks created at or after (ISO date-time, keyset pagination)") @RequestParam(value = "createdFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Only tasks created before (ISO date-time, keyset pagination)") @RequestParam(value = "createdTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        if (cursor || after != null || createdFrom != null || createdTo != null) {
+            return ResponseEntity.ok(controller.findByStatusByCursor(
+                    status, sort, after, size, createdFrom, createdTo));
+        }
         return ResponseEntity.ok(controller.findByStatus(status, page, size));
     }
 
@@ -86,6 +190,31 @@ public class ExecutionTaskController {
                 .body(controller.create(requestDto));
     }
 
+    @Operation(summary = "Create execution tasks in bulk",
+            description = "Creates up to 500 tasks, inserted in batches. Every item gets its own "
+                    + "result, by position: CREATED, DUPLICATE (the service order already has "
+                    + "an active task) or INVALID; one item does not fail the others.")
+    @ApiResponse(responseCode = "200", description = "Result of each item")
+    @ApiResponse(responseCode = "400", description = "No items or more than 500", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResultDto>> createAll(
+            @RequestBody List<ExecutionTaskRequestDto> requestDtos) {
+        return ResponseEntity.ok(controller.createAll(requestDtos));
+    }
+
+    @Operation(summary = "Claim the next queued execution tasks",
+            description = "Atomically assigns up to 'limit' (default 1, max 20) QUEUED tasks, "
+                    + "highest priority and oldest first, to the technician and starts them "
+                    + "(ExecutionStarted is published for each). Concurrent claims never "
+                    + "receive the same task; an empty list means nothing is queued.")
+    @ApiResponse(responseCode = "200", description = "Claimed tasks")
+    @ApiResponse(responseCode = "400", description = "Invalid technician or limit", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @PostMapping("/claim")
+    public ResponseEntity<List<ExecutionTaskDto>> claim(
+            @Valid @RequestBody ExecutionTaskClaimRequestDto requestDto) {
+        return ResponseEntity.ok(controller.claim(requestDto));
+    }
+
     @Operation(summary = "Update execution task status")
     @ApiResponse(responseCode = "200", description = "Status updated")
     @ApiResponse(responseCode = "400", description = "Invalid transition", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
@@ -97,6 +226,20 @@ public class ExecutionTaskController {
         return ResponseEntity.ok(controller.updateStatus(id, statusDto));
     }
 
+    @Operation(summary = "Update the status of execution tasks in bulk",
+            description = "Applies up to 500 status changes in one transaction, with one "
+                    + "conditional update per new status, and publishes the resulting events "
+                    + "in batches. Every item gets its own result, by position: UPDATED, "
+                    + "NOT_FOUND, INVALID (unknown status, repeated id or transition not "
+                    + "allowed) or CONFLICT (the task changed concurrently).")
+    @ApiResponse(responseCode = "200", description = "Result of each item")
+    @ApiResponse(responseCode = "400", description = "No items or more than 500", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
+    @PutMapping("/status")
+    public ResponseEntity<List<BulkItemResultDto>> updateStatuses(
+            @RequestBody List<ExecutionTaskStatusChangeDto> changes) {
+        return ResponseEntity.ok(controller.updateStatuses(changes));
+    }
+
     @Operation(summary = "Get execution task status")
     @ApiResponse(responseCode = "200", description = "Status returned")
     @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(schema = @Schema(implementation = ErrorMessageDto.class)))
@@ -1,14 +1,17 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.controller;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 import java.time.LocalDateTime;
 import java.util.function.Supplier;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -18,8 +21,10 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ErrorMessageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.BusinessException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.TooManySubscribersException;
 
 /**
  * Global exception handler for the application.
@@ -69,6 +74,25 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorMessage, NOT_FOUND);
     }
 
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorMessageDto> handleConcurrentUpdateException(
+            ConcurrentUpdateException ex, WebRequest request) {
+        ErrorMessageDto errorMessage = getErrorMessage(
+                CONFLICT.toString(), ex::getMessage, CONFLICT, request);
+        return new ResponseEntity<>(errorMessage, CONFLICT);
+    }
+
+    @ExceptionHandler(TooManySubscribersException.class)
+    public ResponseEntity<ErrorMessageDto> handleTooManySubscribersException(
+            TooManySubscribersException ex, WebRequest request) {
+        ErrorMessageDto errorMessage = getErrorMessage(
+                SERVICE_UNAVAILABLE.toString(), ex::getMessage, SERVICE_UNAVAILABLE, request);
+        return ResponseEntity.status(SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorMessage);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorMessageDto> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
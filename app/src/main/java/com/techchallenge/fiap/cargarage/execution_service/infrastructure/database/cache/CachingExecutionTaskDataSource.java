@@ -0,0 +1,250 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed.ExecutionTaskChangeHandler;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskChangeEventDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache in front of an ExecutionTaskDataSource for the
+ * single-task lookups polled by the OS service and technician tablets
+ * ({@code findById}, {@code findByServiceOrderId}).
+ *
+ * Entries are bounded by size and expire after write. Writes invalidate the
+ * affected entries immediately and again when the transaction completes, so
+ * a concurrent reader cannot re-populate the cache with the pre-commit row.
+ * Reads inside an active transaction bypass the cache: they must see the
+ * transaction's own writes and must not cache uncommitted data. Missing
+ * tasks are not cached. Page queries are not cached.
+ *
+ * Misses are loaded in the read-only transaction of the delegate, so they
+ * are served by the read replica when one is configured. A replica lagging
+ * behind could still return the row a write just evicted, and it would stay
+ * cached until it expires. So every task and service order whose entry was
+ * evicted by a write, local or from another replica, is remembered for
+ * {@code primaryReadWindow} (at least the replica lag tolerated by the
+ * routing); misses for those keys are loaded in a read-write transaction,
+ * from the primary.
+ *
+ * Each replica has its own cache. With the change feed enabled, changes
+ * committed by other replicas evict the affected entries as they arrive;
+ * otherwise other replicas see a change once their entry expires.
+ */
+public class CachingExecutionTaskDataSource
+        implements ExecutionTaskDataSource, ExecutionTaskChangeHandler {
+
+    static final String BY_ID_CACHE = "executionTask.byId";
+    static final String BY_SERVICE_ORDER_CACHE = "executionTask.byServiceOrderId";
+
+    private final ExecutionTaskDataSource delegate;
+    private final TransactionRunner transactionRunner;
+    private final Cache<Long, ExecutionTaskDto> byId;
+    private final Cache<Long, ExecutionTaskDto> byServiceOrderId;
+    private final Cache<Long, Boolean> writtenIds;
+    private final Cache<Long, Boolean> writtenServiceOrderIds;
+
+    public CachingExecutionTaskDataSource(
+            ExecutionTaskDataSource delegate,
+            TransactionRunner transactionRunner,
+            long maximumSize,
+            Duration expireAfterWrite,
+            Duration primaryReadWindow,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.transactionRunner = transactionRunner;
+        this.byId = newCache(maximumSize, expireAfterWrite);
+        this.byServiceOrderId = newCache(maximumSize, expireAfterWrite);
+        this.writtenIds = newCache(maximumSize, primaryReadWindow);
+        this.writtenServiceOrderIds = newCache(maximumSize, primaryReadWindow);
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, BY_ID_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, byServiceOrderId, BY_SERVICE_ORDER_CACHE);
+    }
+
+    private static <V> Cache<Long, V> newCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> findById(Long id) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.findById(id);
+        }
+        return Optional.ofNullable(byId.get(id, key -> load(
+                writtenIds.getIfPresent(key) != null, () -> delegate.findById(key))));
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> findByServiceOrderId(Long serviceOrderId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.findByServiceOrderId(serviceOrderId);
+        }
+        return Optional.ofNullable(byServiceOrderId.get(serviceOrderId, key -> load(
+                writtenServiceOrderIds.getIfPresent(key) != null,
+                () -> delegate.findByServiceOrderId(key))));
+    }
+
+    /**
+     * Loads a miss from the replica, or from the primary if the key was
+     * written within the primary read window.
+     */
+    private ExecutionTaskDto load(
+            boolean recentlyWritten, Supplier<Optional<ExecutionTaskDto>> query) {
+        Optional<ExecutionTaskDto> task = recentlyWritten
+                ? transactionRunner.execute(query)
+                : query.get();
+        return task.orElse(null);
+    }
+
+    @Override
+    public ExecutionTaskDto insert(ExecutionTaskPersistenceDto dto) {
+        ExecutionTaskDto saved = delegate.insert(dto);
+        invalidate(saved.id(), saved.serviceOrderId());
+        return saved;
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> insertIfAbsent(ExecutionTaskPersistenceDto dto) {
+        Optional<ExecutionTaskDto> saved = delegate.insertIfAbsent(dto);
+        saved.ifPresent(task -> invalidate(task.id(), task.serviceOrderId()));
+        return saved;
+    }
+
+    @Override
+    public List<Optional<ExecutionTaskDto>> insertAllIfAbsent(
+            List<ExecutionTaskPersistenceDto> dtos) {
+        List<Optional<ExecutionTaskDto>> saved = delegate.insertAllIfAbsent(dtos);
+        saved.forEach(task -> task.ifPresent(
+                inserted -> invalidate(inserted.id(), inserted.serviceOrderId())));
+        return saved;
+    }
+
+    @Override
+    public ExecutionTaskDto update(Long id, ExecutionTaskPersistenceDto dto) {
+        ExecutionTaskDto saved = delegate.update(id, dto);
+        invalidate(id, saved.serviceOrderId());
+        return saved;
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> transitionStatus(
+            Long id, ExecutionTaskStatusTransitionDto transition) {
+        Optional<ExecutionTaskDto> saved = delegate.transitionStatus(id, transition);
+        invalidate(id, saved.map(ExecutionTaskDto::serviceOrderId).orElse(null));
+        return saved;
+    }
+
+    @Override
+    public List<ExecutionTaskDto> transitionStatusAll(
+            Collection<Long> ids, ExecutionTaskStatusTransitionDto transition) {
+        List<ExecutionTaskDto> saved = delegate.transitionStatusAll(ids, transition);
+        saved.forEach(task -> invalidate(task.id(), task.serviceOrderId()));
+        return saved;
+    }
+
+    @Override
+    public List<ExecutionTaskDto> claimNext(
+            String technician, int limit, LocalDateTime claimedAt) {
+        List<ExecutionTaskDto> claimed = delegate.claimNext(technician, limit, claimedAt);
+        claimed.forEach(task -> invalidate(task.id(), task.serviceOrderId()));
+        return claimed;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        invalidate(id, null);
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findAll(PageRequestDto pageRequest) {
+        return delegate.findAll(pageRequest);
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findByStatus(String status, PageRequestDto pageRequest) {
+        return delegate.findByStatus(status, pageRequest);
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findAllByCursor(CursorPageRequestDto pageRequest) {
+        return delegate.findAllByCursor(pageRequest);
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, CursorPageRequestDto pageRequest) {
+        return delegate.findByStatusByCursor(status, pageRequest);
+    }
+
+    @Override
+    public void onRemoteChange(ExecutionTaskChangeEventDto event) {
+        evict(event.id(), event.serviceOrderId());
+    }
+
+    /**
+     * Changes may have been missed while the feed was disconnected.
+     */
+    @Override
+    public void onResync() {
+        byId.invalidateAll();
+        byServiceOrderId.invalidateAll();
+    }
+
+    private void invalidate(Long id, Long serviceOrderId) {
+        evict(id, serviceOrderId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            evict(id, serviceOrderId);
+                        }
+                    });
+        }
+    }
+
+    private void evict(Long id, Long serviceOrderId) {
+        if (id != null) {
+            byId.invalidate(id);
+            writtenIds.put(id, Boolean.TRUE);
+        }
+        if (serviceOrderId != null) {
+            byServiceOrderId.invalidate(serviceOrderId);
+            writtenServiceOrderIds.put(serviceOrderId, Boolean.TRUE);
+        } else if (id != null) {
+            // service order unknown (e.g. delete): drop any entry for this task
+            byServiceOrderId.asMap().entrySet().removeIf(entry -> {
+                if (!id.equals(entry.getValue().id())) {
+                    return false;
+                }
+                writtenServiceOrderIds.put(entry.getKey(), Boolean.TRUE);
+                return true;
+            });
+        }
+    }
+}
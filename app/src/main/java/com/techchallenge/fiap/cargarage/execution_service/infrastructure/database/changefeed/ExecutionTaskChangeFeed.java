@@ -0,0 +1,243 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskChangeEventDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Propagates committed task changes across replicas with PostgreSQL
+ * LISTEN/NOTIFY on the {@code execution_task_changed} channel.
+ *
+ * Writes issue {@code pg_notify} in their own transaction, so Postgres only
+ * delivers the notification once the change commits (and never if it rolls
+ * back). Every replica listens on a dedicated connection, outside the pool,
+ * and hands the changes of the other replicas to its handlers: the local
+ * read cache and the SSE subscribers. Its own changes are skipped, as they
+ * were already applied locally.
+ *
+ * Notifications are not persisted: after the listening connection drops,
+ * the feed reconnects and asks the handlers to resync.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "database.change-feed.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ExecutionTaskChangeFeed implements SmartLifecycle {
+
+    static final String CHANNEL = "execution_task_changed";
+    static final String RECEIVED_COUNTER = "execution.change-feed.received";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final List<ExecutionTaskChangeHandler> handlers;
+    private final Counter received;
+    private final ObjectMapper objectMapper;
+    private final String origin = UUID.randomUUID().toString();
+
+    @Value("${database.change-feed.poll-timeout:10s}")
+    private Duration pollTimeout = Duration.ofSeconds(10);
+
+    @Value("${database.change-feed.reconnect-delay:5s}")
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    private volatile boolean running;
+    private volatile Thread listener;
+    private volatile Connection connection;
+
+    public ExecutionTaskChangeFeed(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            List<ExecutionTaskChangeHandler> handlers,
+            MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.handlers = new CopyOnWriteArrayList<>(handlers);
+        this.received = Counter.builder(RECEIVED_COUNTER)
+                .description("Task changes received from other replicas")
+                .register(registry);
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Registers a handler that is not a bean, e.g. the read cache built by
+     * the gateway configuration.
+     */
+    public void addHandler(ExecutionTaskChangeHandler handler) {
+        handlers.add(handler);
+    }
+
+    /**
+     * Notifies the other replicas of the task's new state when the current
+     * transaction commits.
+     */
+    public void publish(ExecutionTaskDto task) {
+        send(toNotification(task));
+    }
+
+    /**
+     * Notifies the other replicas of the new state of several tasks with a
+     * single {@code pg_notify} statement, one notification per task.
+     */
+    public void publishAll(Collection<ExecutionTaskDto> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        String[] payloads = tasks.stream()
+                .map(task -> serialize(toNotification(task)))
+                .toArray(String[]::new);
+        jdbcTemplate.queryForList(
+                "SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload",
+                CHANNEL, payloads);
+    }
+
+    /**
+     * Notifies the other replicas that the task was deleted.
+     */
+    public void publishDeleted(Long id) {
+        send(new ExecutionTaskChangeNotification(origin, id, null, null, null, null));
+    }
+
+    private ExecutionTaskChangeNotification toNotification(ExecutionTaskDto task) {
+        return new ExecutionTaskChangeNotification(origin, task.id(), task.serviceOrderId(),
+                task.status(), task.assignedTechnician(), task.updatedAt());
+    }
+
+    private void send(ExecutionTaskChangeNotification notification) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, serialize(notification));
+    }
+
+    private String serialize(ExecutionTaskChangeNotification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializing change notification", e);
+        }
+    }
+
+    /**
+     * Hands a received notification to the handlers, unless it was sent by
+     * this replica.
+     */
+    void dispatch(String payload) {
+        ExecutionTaskChangeNotification notification;
+        try {
+            notification = objectMapper.readValue(payload, ExecutionTaskChangeNotification.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed {} notification: {}", CHANNEL, payload);
+            return;
+        }
+        if (origin.equals(notification.origin())) {
+            return;
+        }
+        received.increment();
+        ExecutionTaskChangeEventDto event = notification.toEvent();
+        for (ExecutionTaskChangeHandler handler : handlers) {
+            try {
+                handler.onRemoteChange(event);
+            } catch (RuntimeException e) {
+                log.error("Error handling change of task {}", event.id(), e);
+            }
+        }
+    }
+
+    void resync() {
+        handlers.forEach(ExecutionTaskChangeHandler::onResync);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("execution-task-change-feed")
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = listener;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Error closing change feed connection", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening to {} notifications", CHANNEL);
+                resync();
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Change feed connection lost, reconnecting in {}", reconnectDelay, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskChangeEventDto;
+
+/**
+ * Receives the task changes committed by other replicas through the
+ * change feed.
+ */
+public interface ExecutionTaskChangeHandler {
+
+    void onRemoteChange(ExecutionTaskChangeEventDto event);
+
+    /**
+     * Called whenever the feed (re)connects: notifications sent while it was
+     * disconnected are lost, so anything derived from them must be rebuilt.
+     */
+    default void onResync() {
+    }
+}
@@ -0,0 +1,26 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed;
+
+import java.time.LocalDateTime;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskChangeEventDto;
+
+/**
+ * Payload of an {@code execution_task_changed} notification.
+ *
+ * @param origin replica that committed the change, so it can skip its own
+ *               notifications
+ * @param status the new status, or null if the task was deleted
+ */
+record ExecutionTaskChangeNotification(
+        String origin,
+        Long id,
+        Long serviceOrderId,
+        String status,
+        String assignedTechnician,
+        LocalDateTime updatedAt) {
+
+    ExecutionTaskChangeEventDto toEvent() {
+        return new ExecutionTaskChangeEventDto(
+                id, serviceOrderId, status, assignedTechnician, updatedAt);
+    }
+}
@@ -0,0 +1,144 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+
+/**
+ * Publishes every write of an ExecutionTaskDataSource to the change feed.
+ * The write and its notification run in one transaction (joining the
+ * caller's, if any), so the notification is delivered exactly when the
+ * write commits. Bulk writes notify all their tasks with one statement.
+ */
+public class NotifyingExecutionTaskDataSource implements ExecutionTaskDataSource {
+
+    private final ExecutionTaskDataSource delegate;
+    private final ExecutionTaskChangeFeed changeFeed;
+    private final TransactionRunner transactionRunner;
+
+    public NotifyingExecutionTaskDataSource(
+            ExecutionTaskDataSource delegate,
+            ExecutionTaskChangeFeed changeFeed,
+            TransactionRunner transactionRunner) {
+        this.delegate = delegate;
+        this.changeFeed = changeFeed;
+        this.transactionRunner = transactionRunner;
+    }
+
+    @Override
+    public ExecutionTaskDto insert(ExecutionTaskPersistenceDto dto) {
+        return transactionRunner.execute(() -> {
+            ExecutionTaskDto saved = delegate.insert(dto);
+            changeFeed.publish(saved);
+            return saved;
+        });
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> insertIfAbsent(ExecutionTaskPersistenceDto dto) {
+        return transactionRunner.execute(() -> {
+            Optional<ExecutionTaskDto> saved = delegate.insertIfAbsent(dto);
+            saved.ifPresent(changeFeed::publish);
+            return saved;
+        });
+    }
+
+    @Override
+    public List<Optional<ExecutionTaskDto>> insertAllIfAbsent(
+            List<ExecutionTaskPersistenceDto> dtos) {
+        return transactionRunner.execute(() -> {
+            List<Optional<ExecutionTaskDto>> saved = delegate.insertAllIfAbsent(dtos);
+            changeFeed.publishAll(saved.stream().flatMap(Optional::stream).toList());
+            return saved;
+        });
+    }
+
+    @Override
+    public ExecutionTaskDto update(Long id, ExecutionTaskPersistenceDto dto) {
+        return transactionRunner.execute(() -> {
+            ExecutionTaskDto saved = delegate.update(id, dto);
+            changeFeed.publish(saved);
+            return saved;
+        });
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> transitionStatus(
+            Long id, ExecutionTaskStatusTransitionDto transition) {
+        return transactionRunner.execute(() -> {
+            Optional<ExecutionTaskDto> saved = delegate.transitionStatus(id, transition);
+            saved.ifPresent(changeFeed::publish);
+            return saved;
+        });
+    }
+
+    @Override
+    public List<ExecutionTaskDto> transitionStatusAll(
+            Collection<Long> ids, ExecutionTaskStatusTransitionDto transition) {
+        return transactionRunner.execute(() -> {
+            List<ExecutionTaskDto> saved = delegate.transitionStatusAll(ids, transition);
+            changeFeed.publishAll(saved);
+            return saved;
+        });
+    }
+
+    @Override
+    public List<ExecutionTaskDto> claimNext(
+            String technician, int limit, LocalDateTime claimedAt) {
+        return transactionRunner.execute(() -> {
+            List<ExecutionTaskDto> claimed = delegate.claimNext(technician, limit, claimedAt);
+            changeFeed.publishAll(claimed);
+            return claimed;
+        });
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        transactionRunner.execute(() -> {
+            delegate.deleteById(id);
+            changeFeed.publishDeleted(id);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> findByServiceOrderId(Long serviceOrderId) {
+        return delegate.findByServiceOrderId(serviceOrderId);
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findAll(PageRequestDto pageRequest) {
+        return delegate.findAll(pageRequest);
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findByStatus(String status, PageRequestDto pageRequest) {
+        return delegate.findByStatus(status, pageRequest);
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findAllByCursor(CursorPageRequestDto pageRequest) {
+        return delegate.findAllByCursor(pageRequest);
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, CursorPageRequestDto pageRequest) {
+        return delegate.findByStatusByCursor(status, pageRequest);
+    }
+}
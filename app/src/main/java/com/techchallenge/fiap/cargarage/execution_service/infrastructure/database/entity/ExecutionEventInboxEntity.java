@@ -0,0 +1,31 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity for a consumed Saga event (inbox), keyed by event ID.
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "execution_event_inbox")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionEventInboxEntity {
+
+    @Id
+    @Column(name = "event_id", length = 128)
+    private String eventId;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+}
@@ -0,0 +1,52 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity for a pending or relayed SQS message (transactional outbox).
+ */
+@Data
+@Entity
+@Builder
+@Table(name = "execution_event_outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionEventOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "queue_url", nullable = false, length = 1024)
+    private String queueUrl;
+
+    @Column(name = "message_body", nullable = false, columnDefinition = "TEXT")
+    private String messageBody;
+
+    @Column(name = "message_group_id", length = 128)
+    private String messageGroupId;
+
+    @Column(name = "deduplication_id", length = 128)
+    private String deduplicationId;
+
+    @Column(name = "message_attributes", columnDefinition = "TEXT")
+    private String messageAttributes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
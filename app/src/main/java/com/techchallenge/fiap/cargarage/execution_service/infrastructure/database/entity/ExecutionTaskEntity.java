@@ -7,7 +7,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +17,17 @@ import lombok.NoArgsConstructor;
 
 /**
  * JPA entity for Execution Task.
+ *
+ * Ids come from {@code execution_task_id_seq} through Hibernate's pooled
+ * optimizer: the sequence steps by {@link #ID_ALLOCATION_SIZE} (V5) and each
+ * value reserves a block of ids, so persisting N tasks takes about
+ * N / {@value #ID_ALLOCATION_SIZE} sequence calls and the inserts can be
+ * sent in JDBC batches. Ids are unique but not in creation order.
+ *
+ * {@code version} (V6) is the optimistic lock: Hibernate checks and bumps it
+ * on every entity update, and the bulk updates of ExecutionTaskRepository
+ * bump it themselves, so a writer holding a stale copy fails instead of
+ * overwriting a newer state.
  */
 @Data
 @Entity
@@ -24,8 +37,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ExecutionTaskEntity {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "execution_task_id")
+    @SequenceGenerator(name = "execution_task_id", sequenceName = "execution_task_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -56,7 +73,7 @@ public class ExecutionTaskEntity {
     @Column(name = "failure_reason")
     private String failureReason;
 
-    @Column(name = "priority")
+    @Column(name = "priority", nullable = false)
     private Integer priority;
 
     @Column(name = "created_at", nullable = false)
@@ -70,4 +87,11 @@ public class ExecutionTaskEntity {
 
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
+
+    @Column(name = "saga_started_at")
+    private LocalDateTime sagaStartedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
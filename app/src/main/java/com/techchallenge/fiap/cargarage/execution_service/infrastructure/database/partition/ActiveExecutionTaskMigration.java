@@ -0,0 +1,85 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition;
+
+import java.sql.Statement;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flyway V7: enforces "at most one task per service order that is not
+ * FAILED" across all the monthly partitions of {@code execution_task}.
+ *
+ * The unique index of each partition only covers its month, so the active
+ * task of every service order is also kept in {@code execution_task_active}, a
+ * small table that is not partitioned and has service_order_id as its primary
+ * key. A trigger on the partitioned table (cloned to every current and future
+ * partition) maintains it in the same transaction as the write: a second
+ * active task, whatever month it lands in, fails with a unique violation on
+ * that primary key. Java-based because the trigger function body cannot go
+ * through the statement splitting the SQL migrations are replayed with.
+ */
+@Component
+public class ActiveExecutionTaskMigration extends BaseJavaMigration {
+
+    public static final String ACTIVE_TABLE = "execution_task_active";
+
+    private static final String TRACK_FUNCTION = """
+            CREATE OR REPLACE FUNCTION execution_task_track_active() RETURNS trigger AS $$
+            BEGIN
+                IF TG_OP = 'UPDATE' AND OLD.service_order_id = NEW.service_order_id
+                        AND (OLD.status <> 'FAILED') = (NEW.status <> 'FAILED') THEN
+                    RETURN NULL;
+                END IF;
+                IF TG_OP IN ('UPDATE', 'DELETE') THEN
+                    IF OLD.status <> 'FAILED' THEN
+                        DELETE FROM execution_task_active
+                        WHERE service_order_id = OLD.service_order_id AND task_id = OLD.id;
+                    END IF;
+                END IF;
+                IF TG_OP IN ('INSERT', 'UPDATE') THEN
+                    IF NEW.status <> 'FAILED' THEN
+                        INSERT INTO execution_task_active (service_order_id, task_id)
+                        VALUES (NEW.service_order_id, NEW.id);
+                    END IF;
+                END IF;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql""";
+
+    @Override
+    protected void init() {
+        // Version and description are not derived from the class name
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("7");
+    }
+
+    @Override
+    public String getDescription() {
+        return "enforce one active execution task per service order across partitions";
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + ACTIVE_TABLE
+                    + " (service_order_id BIGINT PRIMARY KEY, task_id BIGINT NOT NULL)");
+            // Latest active task of each service order, in case earlier
+            // months already hold more than one
+            statement.execute("INSERT INTO " + ACTIVE_TABLE + " (service_order_id, task_id) "
+                    + "SELECT DISTINCT ON (service_order_id) service_order_id, id "
+                    + "FROM execution_task WHERE status <> 'FAILED' "
+                    + "ORDER BY service_order_id, created_at DESC, id DESC "
+                    + "ON CONFLICT DO NOTHING");
+            statement.execute(TRACK_FUNCTION);
+            statement.execute("DROP TRIGGER IF EXISTS execution_task_track_active ON execution_task");
+            statement.execute("CREATE TRIGGER execution_task_track_active "
+                    + "AFTER INSERT OR DELETE OR UPDATE OF status, service_order_id "
+                    + "ON execution_task FOR EACH ROW EXECUTE FUNCTION execution_task_track_active()");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition;
+
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports DOWN when the monthly partitions of {@code execution_task} no
+ * longer reach {@code min-months-ahead} months past the current one.
+ *
+ * There is no DEFAULT partition: a task created past the last partition
+ * fails, and rows in a DEFAULT partition would in turn block creating the
+ * partition of their month. {@link ExecutionTaskPartitionMaintenance} creates
+ * {@code months-ahead} months in advance, so this check fails well before
+ * inserts do when the maintenance job stops running.
+ */
+@Component("executionTaskPartitions")
+@ConditionalOnProperty(name = "database.partitioning.maintenance.enabled",
+        havingValue = "true", matchIfMissing = true)
+public class ExecutionTaskPartitionHealthIndicator implements HealthIndicator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${database.partitioning.health.min-months-ahead:1}")
+    private int minMonthsAhead = 1;
+
+    public ExecutionTaskPartitionHealthIndicator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Health health() {
+        return check(YearMonth.now());
+    }
+
+    Health check(YearMonth current) {
+        Optional<YearMonth> last = jdbcTemplate.queryForList(ExecutionTaskPartitions.LIST_QUERY,
+                        String.class, ExecutionTaskPartitions.TABLE).stream()
+                .map(ExecutionTaskPartitions::month)
+                .flatMap(Optional::stream)
+                .max(Comparator.naturalOrder());
+        YearMonth required = current.plusMonths(minMonthsAhead);
+        Health.Builder health = last.isPresent() && !last.get().isBefore(required)
+                ? Health.up() : Health.down();
+        return health
+                .withDetail("lastPartition", last.map(ExecutionTaskPartitions::name).orElse("none"))
+                .withDetail("requiredPartition", ExecutionTaskPartitions.name(required))
+                .build();
+    }
+}
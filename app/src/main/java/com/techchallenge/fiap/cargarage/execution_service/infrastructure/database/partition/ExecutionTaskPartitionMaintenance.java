@@ -0,0 +1,122 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the monthly partitions of {@code execution_task} rolling: creates the
+ * upcoming months ahead of time and archives the months past the retention
+ * window by detaching them, so indexes, vacuum and status scans only cover
+ * the recent history.
+ *
+ * A detached partition is renamed to {@code execution_task_archive_YYYY_MM}
+ * and kept as a standalone table, and its tasks stop counting as the active
+ * task of their service order. A partition that still holds QUEUED or
+ * IN_PROGRESS tasks is not archived. Detaching runs CONCURRENTLY, outside a
+ * transaction, so it does not block reads and writes of the other partitions.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "database.partitioning.maintenance.enabled",
+        havingValue = "true", matchIfMissing = true)
+public class ExecutionTaskPartitionMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${database.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${database.partitioning.retention-months:12}")
+    private int retentionMonths = 12;
+
+    public ExecutionTaskPartitionMaintenance(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Makes sure the current month has a partition before tasks are created,
+     * e.g. after the service was down over a month boundary.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcoming(YearMonth.now());
+    }
+
+    @Scheduled(cron = "${database.partitioning.maintenance.cron:0 30 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        createUpcoming(current);
+        archiveExpired(current);
+    }
+
+    void createUpcoming(YearMonth current) {
+        for (int ahead = 0; ahead <= monthsAhead; ahead++) {
+            ExecutionTaskPartitions.createStatements(current.plusMonths(ahead))
+                    .forEach(jdbcTemplate::execute);
+        }
+    }
+
+    /**
+     * Archives the partitions of the months older than the retention window.
+     *
+     * @return the names of the archive tables created
+     */
+    List<String> archiveExpired(YearMonth current) {
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        List<String> archived = new ArrayList<>();
+        for (String partition : partitions()) {
+            Optional<YearMonth> month = ExecutionTaskPartitions.month(partition);
+            if (month.isEmpty() || !month.get().isBefore(oldestKept)) {
+                continue;
+            }
+            if (hasActiveTasks(partition)) {
+                log.warn("Not archiving partition {}: it still has active tasks", partition);
+                continue;
+            }
+            String archive = ExecutionTaskPartitions.archiveName(month.get());
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + ExecutionTaskPartitions.TABLE
+                        + " DETACH PARTITION " + partition + " CONCURRENTLY");
+                jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archive);
+                releaseServiceOrders(archive);
+                archived.add(archive);
+                log.info("Archived partition {} as {}", partition, archive);
+            } catch (Exception e) {
+                log.error("Error archiving partition {}", partition, e);
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Detaching fires no DELETE trigger, so the archived tasks are removed
+     * from the active-task table here; their service orders may get a new
+     * task, as before the table existed.
+     */
+    private void releaseServiceOrders(String archive) {
+        jdbcTemplate.update("DELETE FROM " + ActiveExecutionTaskMigration.ACTIVE_TABLE
+                + " a USING " + archive + " t WHERE a.task_id = t.id");
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(ExecutionTaskPartitions.LIST_QUERY,
+                String.class, ExecutionTaskPartitions.TABLE);
+    }
+
+    private boolean hasActiveTasks(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM "
+                + partition + " WHERE status IN ('QUEUED', 'IN_PROGRESS'))", Boolean.class));
+    }
+}
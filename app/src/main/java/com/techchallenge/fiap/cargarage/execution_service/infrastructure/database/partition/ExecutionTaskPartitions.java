@@ -0,0 +1,89 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Naming and DDL of the monthly range partitions of {@code execution_task}
+ * (partitioned by {@code created_at}).
+ *
+ * A unique index on a partitioned table must include the partition key, so
+ * "at most one task per service order that is not FAILED" is enforced by a
+ * unique partial index on each partition, which lets the insert settle
+ * concurrent deliveries with ON CONFLICT, and across partitions by the
+ * {@code execution_task_active} table (see {@link ActiveExecutionTaskMigration}).
+ */
+public final class ExecutionTaskPartitions {
+
+    public static final String TABLE = "execution_task";
+
+    /**
+     * Names of the partitions currently attached to {@link #TABLE}; takes the
+     * table name as parameter.
+     */
+    public static final String LIST_QUERY = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = CAST(? AS regclass) ORDER BY c.relname";
+
+    private static final Pattern PARTITION = Pattern.compile("execution_task_p(\\d{4})_(\\d{2})");
+    private static final Pattern ARCHIVE = Pattern.compile("execution_task_archive_(\\d{4})_(\\d{2})");
+
+    private ExecutionTaskPartitions() {
+    }
+
+    /**
+     * Partition holding the tasks created in the month, e.g.
+     * {@code execution_task_p2026_10}.
+     */
+    public static String name(YearMonth month) {
+        return String.format("%s_p%04d_%02d", TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Name a partition gets once detached, e.g. {@code execution_task_archive_2026_10}.
+     */
+    public static String archiveName(YearMonth month) {
+        return String.format("%s_archive_%04d_%02d", TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Month of a partition, or empty if the table is not a monthly partition.
+     */
+    public static Optional<YearMonth> month(String partition) {
+        return parseMonth(PARTITION, partition);
+    }
+
+    /**
+     * Month of an archive table, or empty if the table is not a detached
+     * monthly partition.
+     */
+    public static Optional<YearMonth> archiveMonth(String table) {
+        return parseMonth(ARCHIVE, table);
+    }
+
+    private static Optional<YearMonth> parseMonth(Pattern pattern, String table) {
+        Matcher matcher = pattern.matcher(table);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(
+                Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    /**
+     * Statements creating the month's partition and its unique active-task
+     * index; both are no-ops if they already exist.
+     */
+    public static List<String> createStatements(YearMonth month) {
+        String partition = name(month);
+        return List.of(
+                "CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('"
+                        + month.plusMonths(1).atDay(1) + "')",
+                "CREATE UNIQUE INDEX IF NOT EXISTS " + partition + "_active_service_order ON "
+                        + partition + " (service_order_id) WHERE status <> 'FAILED'");
+    }
+}
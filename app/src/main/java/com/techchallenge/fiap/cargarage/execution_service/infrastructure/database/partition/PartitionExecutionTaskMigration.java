@@ -0,0 +1,81 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flyway V3: turns {@code execution_task} into a table range-partitioned by
+ * month of {@code created_at}, with one partition per month present in the
+ * data plus the upcoming ones, and moves the rows over. Java-based because
+ * the partitions depend on the data. The indexes are recreated on the
+ * partitioned table by V4.
+ *
+ * The copy holds an exclusive lock on the table for its duration; run it in
+ * a maintenance window on large databases.
+ */
+@Component
+public class PartitionExecutionTaskMigration extends BaseJavaMigration {
+
+    static final int MONTHS_AHEAD = 3;
+
+    private static final String LEGACY_TABLE = "execution_task_unpartitioned";
+
+    @Override
+    protected void init() {
+        // Version and description are not derived from the class name
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("3");
+    }
+
+    @Override
+    public String getDescription() {
+        return "partition execution task by month";
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("ALTER TABLE execution_task RENAME TO " + LEGACY_TABLE);
+            statement.execute("ALTER TABLE " + LEGACY_TABLE
+                    + " RENAME CONSTRAINT execution_task_pkey TO " + LEGACY_TABLE + "_pkey");
+            statement.execute("ALTER SEQUENCE execution_task_id_seq OWNED BY NONE");
+            // Same columns, NOT NULLs and defaults (id keeps drawing from execution_task_id_seq);
+            // the primary key has to include the partition key
+            statement.execute("CREATE TABLE execution_task (LIKE " + LEGACY_TABLE
+                    + " INCLUDING DEFAULTS) PARTITION BY RANGE (created_at)");
+            statement.execute("ALTER TABLE execution_task ADD PRIMARY KEY (id, created_at)");
+
+            SortedSet<YearMonth> months = new TreeSet<>();
+            try (ResultSet rows = statement.executeQuery("SELECT DISTINCT "
+                    + "CAST(date_trunc('month', created_at) AS DATE) FROM " + LEGACY_TABLE)) {
+                while (rows.next()) {
+                    months.add(YearMonth.from(rows.getDate(1).toLocalDate()));
+                }
+            }
+            YearMonth current = YearMonth.now();
+            for (int ahead = 0; ahead <= MONTHS_AHEAD; ahead++) {
+                months.add(current.plusMonths(ahead));
+            }
+            for (YearMonth month : months) {
+                for (String sql : ExecutionTaskPartitions.createStatements(month)) {
+                    statement.execute(sql);
+                }
+            }
+
+            statement.execute("INSERT INTO execution_task SELECT * FROM " + LEGACY_TABLE);
+            statement.execute("DROP TABLE " + LEGACY_TABLE);
+            statement.execute("ALTER SEQUENCE execution_task_id_seq OWNED BY execution_task.id");
+        }
+    }
+}
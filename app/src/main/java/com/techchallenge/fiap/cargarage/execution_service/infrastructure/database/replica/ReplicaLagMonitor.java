@@ -0,0 +1,71 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.replica;
+
+import java.time.Duration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks how far the read replica is behind the primary, as the time since
+ * the last replayed transaction (zero when every received WAL record has
+ * been replayed).
+ *
+ * Read-only transactions are only routed to the replica while the last
+ * check succeeded and the lag is within {@code database.replica.max-lag};
+ * until the first check, after a failed check or beyond the threshold they
+ * go to the primary. The lag is published as the
+ * {@code execution.datasource.replica.lag} gauge (NaN when unknown).
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String LAG_GAUGE = "execution.datasource.replica.lag";
+
+    static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, Duration maxLag, MeterRegistry registry) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        Gauge.builder(LAG_GAUGE, this, ReplicaLagMonitor::lagSeconds)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${database.replica.lag-check.fixed-delay-ms:5000}")
+    public void check() {
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag != null ? lag : Double.NaN;
+        } catch (Exception e) {
+            if (!Double.isNaN(lagSeconds)) {
+                log.warn("Read replica unavailable, routing reads to the primary", e);
+            }
+            lagSeconds = Double.NaN;
+        }
+    }
+
+    /**
+     * Whether read-only transactions may use the replica.
+     */
+    public boolean isUsable() {
+        double lag = lagSeconds;
+        return !Double.isNaN(lag) && lag * 1000 <= maxLag.toMillis();
+    }
+
+    double lagSeconds() {
+        return lagSeconds;
+    }
+}
@@ -0,0 +1,74 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.replica;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends the connections of read-only transactions to the read replica and
+ * every other connection to the primary.
+ *
+ * The target is chosen when the connection is obtained, so this data source
+ * must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction
+ * manager only marks the transaction read-only after it began, and the lazy
+ * proxy defers the real connection until the first statement. A read-only
+ * transaction falls back to the primary while the replica lags beyond the
+ * threshold or is unreachable ({@link ReplicaLagMonitor}).
+ *
+ * Each connection handed out is counted in
+ * {@code execution.datasource.connections}, tagged with the {@code target}
+ * and whether the transaction was read-only ({@code read_only}): read-only connections
+ * on the primary are fallbacks.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String CONNECTIONS_COUNTER = "execution.datasource.connections";
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryReadWrite;
+    private final Counter primaryReadOnly;
+    private final Counter replicaReadOnly;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+            ReplicaLagMonitor lagMonitor, MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryReadWrite = counter(registry, Target.PRIMARY, false);
+        this.primaryReadOnly = counter(registry, Target.PRIMARY, true);
+        this.replicaReadOnly = counter(registry, Target.REPLICA, true);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryReadWrite.increment();
+            return Target.PRIMARY;
+        }
+        if (lagMonitor.isUsable()) {
+            replicaReadOnly.increment();
+            return Target.REPLICA;
+        }
+        primaryReadOnly.increment();
+        return Target.PRIMARY;
+    }
+
+    private static Counter counter(MeterRegistry registry, Target target, boolean readOnly) {
+        return Counter.builder(CONNECTIONS_COUNTER)
+                .description("Connections handed out by the replica routing data source")
+                .tag("target", target.name().toLowerCase())
+                .tag("read_only", String.valueOf(readOnly))
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionEventInboxDataSource;
+
+/**
+ * Implementation of ExecutionEventInboxDataSource using JPA.
+ */
+@Component
+@Transactional
+public class ExecutionEventInboxDataSourceImpl implements ExecutionEventInboxDataSource {
+
+    private final ExecutionEventInboxRepository repository;
+
+    public ExecutionEventInboxDataSourceImpl(ExecutionEventInboxRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public boolean markReceived(String eventId, LocalDateTime receivedAt) {
+        return repository.insertIfAbsent(eventId, receivedAt) > 0;
+    }
+
+    @Override
+    public int deleteReceivedBefore(LocalDateTime cutoff) {
+        return repository.deleteReceivedBefore(cutoff);
+    }
+}
@@ -0,0 +1,37 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionEventInboxEntity;
+
+/**
+ * JPA repository for the execution event inbox.
+ */
+@Repository
+public interface ExecutionEventInboxRepository
+        extends JpaRepository<ExecutionEventInboxEntity, String> {
+
+    /**
+     * Records the event ID; a duplicate is a no-op instead of a
+     * constraint violation.
+     *
+     * @return 1 if recorded, 0 if the event ID already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO execution_event_inbox (event_id, received_at) "
+            + "VALUES (:eventId, :receivedAt) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(
+            @Param("eventId") String eventId,
+            @Param("receivedAt") LocalDateTime receivedAt);
+
+    @Modifying
+    @Query("DELETE FROM ExecutionEventInboxEntity i WHERE i.receivedAt < :cutoff")
+    int deleteReceivedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
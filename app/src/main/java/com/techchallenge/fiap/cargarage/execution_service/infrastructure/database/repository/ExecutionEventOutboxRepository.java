@@ -0,0 +1,39 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionEventOutboxEntity;
+
+/**
+ * JPA repository for the execution event outbox.
+ */
+@Repository
+public interface ExecutionEventOutboxRepository
+        extends JpaRepository<ExecutionEventOutboxEntity, Long> {
+
+    /**
+     * Oldest unsent messages. Not locked: only the replica holding the relay
+     * lock reads them, and the rows stay unlocked while they are sent.
+     */
+    @Query("SELECT o FROM ExecutionEventOutboxEntity o "
+            + "WHERE o.sentAt IS NULL ORDER BY o.id")
+    List<ExecutionEventOutboxEntity> findPending(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ExecutionEventOutboxEntity o SET o.sentAt = :sentAt "
+            + "WHERE o.id IN :ids AND o.sentAt IS NULL")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("DELETE FROM ExecutionEventOutboxEntity o WHERE o.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,63 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskSortEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+
+/**
+ * Position of the last row of a keyset page: the sort key of the requested
+ * ordering plus the id tie-breaker.
+ *
+ * Encoded as URL-safe Base64 of {@code <sort>|<key>|<id>} so clients treat it
+ * as opaque and can pass it back unescaped in a query string.
+ */
+record ExecutionTaskCursor(
+        ExecutionTaskSortEnum sort,
+        LocalDateTime createdAt,
+        Integer priority,
+        Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    static ExecutionTaskCursor of(ExecutionTaskSortEnum sort, ExecutionTaskDto last) {
+        return new ExecutionTaskCursor(sort, last.createdAt(),
+                last.priority(), last.id());
+    }
+
+    String encode() {
+        String key = sort == ExecutionTaskSortEnum.PRIORITY
+                ? String.valueOf(priority)
+                : createdAt.toString();
+        String raw = sort.name() + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token issued for the given ordering.
+     *
+     * @throws InvalidDataException if the token is malformed or was issued
+     *                              for a different ordering
+     */
+    static ExecutionTaskCursor decode(String token, ExecutionTaskSortEnum sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !sort.name().equals(parts[0])) {
+                throw new InvalidDataException("Invalid pagination cursor");
+            }
+            Long id = Long.valueOf(parts[2]);
+            return sort == ExecutionTaskSortEnum.PRIORITY
+                    ? new ExecutionTaskCursor(sort, null, Integer.valueOf(parts[1]), id)
+                    : new ExecutionTaskCursor(sort, LocalDateTime.parse(parts[1]), null, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidDataException("Invalid pagination cursor");
+        }
+    }
+}
@@ -1,25 +1,50 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionStatusEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskSortEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
 import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
 import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionTaskEntity;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition.ActiveExecutionTaskMigration;
 
 /**
  * Implementation of ExecutionTaskDataSource using JPA.
+ *
+ * Pages are read as {@link ExecutionTaskDto} projections; single-task reads
+ * and writes go through {@link ExecutionTaskEntity}.
+ *
+ * The query methods run in read-only transactions, which the replica routing
+ * data source sends to the read replica when one is configured. Called from
+ * a read-write transaction they join it and stay on the primary.
  */
 @Component
 @Transactional
@@ -33,19 +58,76 @@ public class ExecutionTaskDataSourceImpl implements ExecutionTaskDataSource {
 
     @Override
     public ExecutionTaskDto insert(ExecutionTaskPersistenceDto dto) {
-        ExecutionTaskEntity entity = toEntity(dto);
-        if (entity.getCreatedAt() == null) {
-            entity.setCreatedAt(LocalDateTime.now());
-        }
-        ExecutionTaskEntity saved = repository.save(entity);
+        ExecutionTaskEntity saved = repository.save(toNewEntity(dto));
         return toDto(saved);
     }
 
+    /**
+     * A concurrent create for the same service order that landed in another
+     * monthly partition fails on the primary key of
+     * {@code execution_task_active} instead of being absorbed by ON CONFLICT.
+     * PostgreSQL aborts the transaction on that error, so it is reported as a
+     * {@link ConcurrentUpdateException}: retried in a new transaction, the
+     * NOT EXISTS check sees the winner's task and nothing is inserted.
+     */
+    @Override
+    public Optional<ExecutionTaskDto> insertIfAbsent(ExecutionTaskPersistenceDto dto) {
+        ExecutionTaskEntity entity = toNewEntity(dto);
+        int inserted;
+        try {
+            inserted = repository.insertIfNoActiveTask(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (!isActiveTaskConflict(e)) {
+                throw e;
+            }
+            throw new ConcurrentUpdateException(
+                    "Execution task created concurrently for service order: "
+                            + entity.getServiceOrderId());
+        }
+        if (inserted == 0) {
+            return Optional.empty();
+        }
+        // Same transaction: re-read the row just inserted (RETURNING is not portable)
+        return repository.findFirstByServiceOrderIdAndStatusNotOrderByCreatedAtDescIdDesc(
+                entity.getServiceOrderId(), ExecutionStatusEnum.FAILED.name())
+                .map(this::toDto);
+    }
+
     @Override
+    public List<Optional<ExecutionTaskDto>> insertAllIfAbsent(
+            List<ExecutionTaskPersistenceDto> dtos) {
+        if (dtos.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> taken = new HashSet<>(repository.findActiveServiceOrderIds(
+                dtos.stream().map(ExecutionTaskPersistenceDto::serviceOrderId)
+                        .distinct().toList()));
+        List<ExecutionTaskEntity> entities = new ArrayList<>(dtos.size());
+        for (ExecutionTaskPersistenceDto dto : dtos) {
+            entities.add(taken.add(dto.serviceOrderId()) ? toNewEntity(dto) : null);
+        }
+        // Pooled ids are assigned without a round trip per row, so the
+        // inserts go out in JDBC batches when flushed
+        repository.saveAll(entities.stream().filter(Objects::nonNull).toList());
+        repository.flush();
+        return entities.stream().map(entity -> Optional.ofNullable(entity).map(this::toDto))
+                .toList();
+    }
+
+    /**
+     * The version is checked twice: against the copy loaded here, before
+     * anything is written, and by Hibernate in the flushed UPDATE, which
+     * matches no row if another transaction committed in between.
+     */
+    @Override
+    @Transactional(noRollbackFor = ConcurrentUpdateException.class)
     public ExecutionTaskDto update(Long id, ExecutionTaskPersistenceDto dto) {
         ExecutionTaskEntity existing = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException(
                         "Execution task not found"));
+        if (dto.version() != null && !dto.version().equals(existing.getVersion())) {
+            throw concurrentUpdate(id);
+        }
 
         existing.setServiceOrderId(dto.serviceOrderId());
         existing.setCustomerId(dto.customerId());
@@ -56,57 +138,227 @@ public class ExecutionTaskDataSourceImpl implements ExecutionTaskDataSource {
         existing.setAssignedTechnician(dto.assignedTechnician());
         existing.setNotes(dto.notes());
         existing.setFailureReason(dto.failureReason());
-        existing.setPriority(dto.priority());
+        existing.setPriority(dto.priority() != null ? dto.priority() : 0);
         existing.setUpdatedAt(
                 dto.updatedAt() != null ? dto.updatedAt() : LocalDateTime.now());
         existing.setStartedAt(dto.startedAt());
         existing.setCompletedAt(dto.completedAt());
 
-        ExecutionTaskEntity saved = repository.save(existing);
-        return toDto(saved);
+        try {
+            return toDto(repository.saveAndFlush(existing));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw concurrentUpdate(id);
+        }
+    }
+
+    private static boolean isActiveTaskConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getConstraintName() != null
+                        && violation.getConstraintName().startsWith(
+                                ActiveExecutionTaskMigration.ACTIVE_TABLE);
+            }
+        }
+        return false;
+    }
+
+    private static ConcurrentUpdateException concurrentUpdate(Long id) {
+        return new ConcurrentUpdateException("Execution task changed concurrently: " + id);
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> transitionStatus(
+            Long id, ExecutionTaskStatusTransitionDto transition) {
+        if (transition.expectedStatuses().isEmpty()) {
+            return Optional.empty();
+        }
+        return repository.transitionStatus(id,
+                transition.expectedStatuses(),
+                transition.status(),
+                transition.failureReason(),
+                transition.updatedAt() != null
+                        ? transition.updatedAt()
+                        : LocalDateTime.now(),
+                transition.startedAt(),
+                transition.completedAt())
+                .map(this::toDto);
+    }
+
+    @Override
+    public List<ExecutionTaskDto> transitionStatusAll(
+            Collection<Long> ids, ExecutionTaskStatusTransitionDto transition) {
+        if (ids.isEmpty() || transition.expectedStatuses().isEmpty()) {
+            return List.of();
+        }
+        List<Long> locked = repository.lockInStatus(ids, transition.expectedStatuses());
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        repository.transitionStatusAll(locked,
+                transition.expectedStatuses(),
+                transition.status(),
+                transition.failureReason(),
+                transition.updatedAt() != null
+                        ? transition.updatedAt()
+                        : LocalDateTime.now(),
+                transition.startedAt(),
+                transition.completedAt());
+        // Same transaction, rows still locked: re-read in id order
+        Map<Long, ExecutionTaskEntity> updated = repository.findAllById(locked).stream()
+                .collect(Collectors.toMap(ExecutionTaskEntity::getId, Function.identity()));
+        return locked.stream().map(updated::get).map(this::toDto).toList();
+    }
+
+    @Override
+    public List<ExecutionTaskDto> claimNext(
+            String technician, int limit, LocalDateTime claimedAt) {
+        List<Long> ids = repository.lockNextQueued(limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        repository.claim(ids, technician, claimedAt);
+        // Same transaction, rows still locked: re-read in claim order
+        Map<Long, ExecutionTaskEntity> claimed = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ExecutionTaskEntity::getId, Function.identity()));
+        return ids.stream().map(claimed::get).map(this::toDto).toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ExecutionTaskDto> findById(Long id) {
         return repository.findById(id).map(this::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ExecutionTaskDto> findByServiceOrderId(Long serviceOrderId) {
-        return repository.findByServiceOrderId(serviceOrderId).map(this::toDto);
+        return repository.findFirstByServiceOrderIdOrderByCreatedAtDescIdDesc(serviceOrderId)
+                .map(this::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageDto<ExecutionTaskDto> findAll(PageRequestDto pageRequest) {
         Pageable pageable = PageRequest.of(pageRequest.page(), pageRequest.size());
-        Page<ExecutionTaskEntity> page = repository.findAll(pageable);
-        List<ExecutionTaskDto> dtos = page.stream().map(this::toDto).toList();
-        return new PageDto<>(dtos, page.getTotalElements(),
+        Page<ExecutionTaskDto> page = repository.findAllDtos(pageable);
+        return new PageDto<>(page.getContent(), page.getTotalElements(),
                 page.getNumber(), page.getSize());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageDto<ExecutionTaskDto> findByStatus(
             String status, PageRequestDto pageRequest) {
         ExecutionStatusEnum enumVal = ExecutionStatusEnum.fromString(
                 status == null ? "" : status);
-        Pageable pageable = PageRequest.of(pageRequest.page(), pageRequest.size());
+        // Work-queue order, served by idx_execution_task_status_priority_created_at_id
+        Pageable pageable = PageRequest.of(pageRequest.page(), pageRequest.size(),
+                Sort.by(Sort.Order.desc("priority"), Sort.Order.asc("createdAt"),
+                        Sort.Order.asc("id")));
         if (enumVal == null) {
             return new PageDto<>(List.of(), 0,
                     pageable.getPageNumber(), pageable.getPageSize());
         }
-        Page<ExecutionTaskEntity> page = repository.findByStatus(
+        Page<ExecutionTaskDto> page = repository.findDtosByStatus(
                 enumVal.name(), pageable);
-        List<ExecutionTaskDto> dtos = page.stream().map(this::toDto).toList();
-        return new PageDto<>(dtos, page.getTotalElements(),
+        return new PageDto<>(page.getContent(), page.getTotalElements(),
                 page.getNumber(), page.getSize());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ExecutionTaskDto> findAllByCursor(CursorPageRequestDto pageRequest) {
+        return findByCursor(null, pageRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, CursorPageRequestDto pageRequest) {
+        ExecutionStatusEnum enumVal = ExecutionStatusEnum.fromString(
+                status == null ? "" : status);
+        if (enumVal == null) {
+            return new PageDto<>(List.of(), PageDto.UNKNOWN_TOTAL, 0,
+                    pageRequest.size(), null);
+        }
+        return findByCursor(enumVal.name(), pageRequest);
+    }
+
     @Override
     public void deleteById(Long id) {
         repository.deleteById(id);
     }
 
+    /**
+     * Seeks past the cursor and reads one row more than requested to know
+     * whether another page exists, instead of issuing a count query.
+     */
+    private PageDto<ExecutionTaskDto> findByCursor(
+            String status, CursorPageRequestDto pageRequest) {
+        ExecutionTaskSortEnum sort = pageRequest.sort();
+        int size = pageRequest.size();
+
+        Specification<ExecutionTaskEntity> spec = Specification.where(null);
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        // Bounds on the partition key let PostgreSQL skip the other monthly partitions
+        if (pageRequest.createdFrom() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(
+                    root.get("createdAt"), pageRequest.createdFrom()));
+        }
+        if (pageRequest.createdTo() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(
+                    root.get("createdAt"), pageRequest.createdTo()));
+        }
+        if (pageRequest.after() != null) {
+            spec = spec.and(after(ExecutionTaskCursor.decode(pageRequest.after(), sort)));
+        }
+
+        List<ExecutionTaskDto> rows = repository.findDtos(spec, keysetOrder(sort), size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<ExecutionTaskDto> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? ExecutionTaskCursor.of(sort, pageRows.get(size - 1)).encode()
+                : null;
+        return new PageDto<>(pageRows, PageDto.UNKNOWN_TOTAL, 0, size, nextCursor);
+    }
+
+    private Sort keysetOrder(ExecutionTaskSortEnum sort) {
+        return sort == ExecutionTaskSortEnum.PRIORITY
+                ? Sort.by(Sort.Order.desc("priority"), Sort.Order.asc("id"))
+                : Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+    }
+
+    private Specification<ExecutionTaskEntity> after(ExecutionTaskCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor.sort() == ExecutionTaskSortEnum.PRIORITY) {
+                return cb.or(
+                        cb.lessThan(root.get("priority"), cursor.priority()),
+                        cb.and(cb.equal(root.get("priority"), cursor.priority()),
+                                cb.greaterThan(root.get("id"), cursor.id())));
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("createdAt"), cursor.createdAt()),
+                    cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()),
+                            cb.greaterThan(root.get("id"), cursor.id())));
+        };
+    }
+
+    private ExecutionTaskEntity toNewEntity(ExecutionTaskPersistenceDto dto) {
+        ExecutionTaskEntity entity = toEntity(dto);
+        if (entity.getCreatedAt() == null) {
+            entity.setCreatedAt(LocalDateTime.now());
+        }
+        // Hibernate writes explicit nulls, bypassing the column DEFAULT 0;
+        // priority is a keyset sort key and the column is NOT NULL (V8)
+        if (entity.getPriority() == null) {
+            entity.setPriority(0);
+        }
+        return entity;
+    }
+
     private ExecutionTaskEntity toEntity(ExecutionTaskPersistenceDto dto) {
         return ExecutionTaskEntity.builder()
                 .serviceOrderId(dto.serviceOrderId())
@@ -123,6 +375,7 @@ public class ExecutionTaskDataSourceImpl implements ExecutionTaskDataSource {
                 .updatedAt(dto.updatedAt())
                 .startedAt(dto.startedAt())
                 .completedAt(dto.completedAt())
+                .sagaStartedAt(dto.sagaStartedAt())
                 .build();
     }
 
@@ -143,6 +396,8 @@ public class ExecutionTaskDataSourceImpl implements ExecutionTaskDataSource {
                 .updatedAt(entity.getUpdatedAt())
                 .startedAt(entity.getStartedAt())
                 .completedAt(entity.getCompletedAt())
+                .sagaStartedAt(entity.getSagaStartedAt())
+                .version(entity.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,26 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionTaskEntity;
+
+/**
+ * Read-model queries of {@link ExecutionTaskRepository} that select
+ * {@link ExecutionTaskDto} rows directly: no managed entities, no
+ * dirty-checking snapshots and no entity-to-DTO copy per row.
+ */
+public interface ExecutionTaskReadRepository {
+
+    /**
+     * Tasks matching the specification, in the given order, as DTOs built by
+     * a constructor expression.
+     *
+     * @param limit maximum number of rows returned
+     */
+    List<ExecutionTaskDto> findDtos(
+            Specification<ExecutionTaskEntity> spec, Sort sort, int limit);
+}
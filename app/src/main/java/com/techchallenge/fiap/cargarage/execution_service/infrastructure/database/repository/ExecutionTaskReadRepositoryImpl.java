@@ -0,0 +1,51 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionTaskEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria counterpart of the JPQL constructor expression of
+ * {@link ExecutionTaskRepository#DTO_PROJECTION}, for the keyset pages whose
+ * predicates are built at runtime.
+ */
+class ExecutionTaskReadRepositoryImpl implements ExecutionTaskReadRepository {
+
+    private final EntityManager entityManager;
+
+    ExecutionTaskReadRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ExecutionTaskDto> findDtos(
+            Specification<ExecutionTaskEntity> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExecutionTaskDto> query = cb.createQuery(ExecutionTaskDto.class);
+        Root<ExecutionTaskEntity> t = query.from(ExecutionTaskEntity.class);
+        query.select(cb.construct(ExecutionTaskDto.class,
+                t.get("id"), t.get("serviceOrderId"), t.get("customerId"),
+                t.get("vehicleId"), t.get("vehicleLicensePlate"), t.get("description"),
+                t.get("status"), t.get("assignedTechnician"), t.get("notes"),
+                t.get("failureReason"), t.get("priority"), t.get("createdAt"),
+                t.get("updatedAt"), t.get("startedAt"), t.get("completedAt"),
+                t.get("sagaStartedAt"), t.get("version")));
+        Predicate predicate = spec.toPredicate(t, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, t, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
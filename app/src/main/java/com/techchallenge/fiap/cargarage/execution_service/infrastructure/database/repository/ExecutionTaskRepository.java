@@ -1,12 +1,20 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionTaskEntity;
 
 /**
@@ -14,9 +22,172 @@ import com.techchallenge.fiap.cargarage.execution_service.infrastructure.databas
  */
 @Repository
 public interface ExecutionTaskRepository
-        extends JpaRepository<ExecutionTaskEntity, Long> {
+        extends JpaRepository<ExecutionTaskEntity, Long>,
+        JpaSpecificationExecutor<ExecutionTaskEntity>,
+        ExecutionTaskReadRepository,
+        ExecutionTaskTransitionRepository {
 
-    Optional<ExecutionTaskEntity> findByServiceOrderId(Long serviceOrderId);
+    /**
+     * JPQL constructor expression selecting a task row straight into the
+     * response DTO, for the list queries.
+     */
+    String DTO_PROJECTION = "new com.techchallenge.fiap.cargarage.execution_service"
+            + ".application.dto.ExecutionTaskDto(t.id, t.serviceOrderId, t.customerId, "
+            + "t.vehicleId, t.vehicleLicensePlate, t.description, t.status, "
+            + "t.assignedTechnician, t.notes, t.failureReason, t.priority, t.createdAt, "
+            + "t.updatedAt, t.startedAt, t.completedAt, t.sagaStartedAt, t.version)";
 
-    Page<ExecutionTaskEntity> findByStatus(String status, Pageable pageable);
+    /**
+     * Latest task of the service order; earlier ones can only be FAILED.
+     * Ordered by creation time: pooled ids do not follow creation order.
+     */
+    Optional<ExecutionTaskEntity> findFirstByServiceOrderIdOrderByCreatedAtDescIdDesc(
+            Long serviceOrderId);
+
+    /**
+     * Latest task of the service order not in {@code status}, in the same
+     * order as {@link #findFirstByServiceOrderIdOrderByCreatedAtDescIdDesc}
+     * and served by the same index.
+     */
+    Optional<ExecutionTaskEntity> findFirstByServiceOrderIdAndStatusNotOrderByCreatedAtDescIdDesc(
+            Long serviceOrderId, String status);
+
+    /**
+     * Inserts the task unless the service order already has a task that is
+     * not FAILED. The NOT EXISTS check covers the common case; concurrent
+     * inserts are settled by the unique partial index on service_order_id of
+     * the monthly partition they land in and ON CONFLICT. Concurrent inserts
+     * landing in different months (around a month boundary) fail instead, on
+     * the primary key of {@code execution_task_active}; see
+     * {@link ExecutionTaskDataSourceImpl#insertIfAbsent}. The id is drawn from
+     * the same sequence as the pooled JPA ids.
+     *
+     * @return 1 if inserted, 0 if an active task already exists
+     */
+    @Modifying
+    @Query(value = "INSERT INTO execution_task (id, service_order_id, customer_id, "
+            + "vehicle_id, vehicle_license_plate, description, status, "
+            + "assigned_technician, notes, failure_reason, priority, created_at, "
+            + "updated_at, started_at, completed_at, saga_started_at, version) "
+            + "SELECT nextval('execution_task_id_seq'), "
+            + "CAST(:#{#task.serviceOrderId} AS BIGINT), "
+            + "CAST(:#{#task.customerId} AS BIGINT), "
+            + "CAST(:#{#task.vehicleId} AS BIGINT), "
+            + "CAST(:#{#task.vehicleLicensePlate} AS VARCHAR(20)), "
+            + "CAST(:#{#task.description} AS VARCHAR), "
+            + "CAST(:#{#task.status} AS VARCHAR(40)), "
+            + "CAST(:#{#task.assignedTechnician} AS VARCHAR(255)), "
+            + "CAST(:#{#task.notes} AS VARCHAR), "
+            + "CAST(:#{#task.failureReason} AS VARCHAR), "
+            + "CAST(:#{#task.priority} AS INTEGER), "
+            + "CAST(:#{#task.createdAt} AS TIMESTAMP), "
+            + "CAST(:#{#task.updatedAt} AS TIMESTAMP), "
+            + "CAST(:#{#task.startedAt} AS TIMESTAMP), "
+            + "CAST(:#{#task.completedAt} AS TIMESTAMP), "
+            + "CAST(:#{#task.sagaStartedAt} AS TIMESTAMP), 0 "
+            + "WHERE NOT EXISTS (SELECT 1 FROM execution_task t "
+            + "WHERE t.service_order_id = :#{#task.serviceOrderId} "
+            + "AND t.status <> 'FAILED') "
+            + "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfNoActiveTask(@Param("task") ExecutionTaskEntity task);
+
+    /**
+     * Service orders among {@code serviceOrderIds} that already have a task
+     * that is not FAILED, in one query for a whole batch of creates.
+     */
+    @Query("SELECT DISTINCT t.serviceOrderId FROM ExecutionTaskEntity t "
+            + "WHERE t.serviceOrderId IN :serviceOrderIds AND t.status <> 'FAILED'")
+    List<Long> findActiveServiceOrderIds(
+            @Param("serviceOrderIds") Collection<Long> serviceOrderIds);
+
+    @Query(value = "SELECT " + DTO_PROJECTION + " FROM ExecutionTaskEntity t",
+            countQuery = "SELECT COUNT(t) FROM ExecutionTaskEntity t")
+    Page<ExecutionTaskDto> findAllDtos(Pageable pageable);
+
+    @Query(value = "SELECT " + DTO_PROJECTION + " FROM ExecutionTaskEntity t "
+            + "WHERE t.status = :status",
+            countQuery = "SELECT COUNT(t) FROM ExecutionTaskEntity t WHERE t.status = :status")
+    Page<ExecutionTaskDto> findDtosByStatus(@Param("status") String status, Pageable pageable);
+
+    /**
+     * Locks the next QUEUED tasks in claim order (highest priority, then
+     * oldest). Rows already locked by a concurrent claim are skipped, so
+     * parallel claims get disjoint tasks without waiting. Served by the
+     * partial index {@code idx_execution_task_claim}.
+     */
+    @Query(value = "SELECT id FROM execution_task WHERE status = 'QUEUED' "
+            + "ORDER BY priority DESC NULLS LAST, created_at, id "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockNextQueued(@Param("limit") int limit);
+
+    /**
+     * Moves the locked QUEUED tasks to IN_PROGRESS for the technician.
+     *
+     * @return the number of tasks claimed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ExecutionTaskEntity t SET t.status = 'IN_PROGRESS', "
+            + "t.assignedTechnician = :technician, "
+            + "t.startedAt = COALESCE(t.startedAt, :claimedAt), "
+            + "t.updatedAt = :claimedAt, "
+            + "t.version = t.version + 1 "
+            + "WHERE t.id IN :ids AND t.status = 'QUEUED'")
+    int claim(
+            @Param("ids") Collection<Long> ids,
+            @Param("technician") String technician,
+            @Param("claimedAt") LocalDateTime claimedAt);
+
+    /**
+     * Locks the tasks among {@code ids} that are still in one of the expected
+     * statuses, in id order so concurrent bulk transitions over overlapping
+     * ids cannot deadlock.
+     */
+    @Query(value = "SELECT id FROM execution_task WHERE id IN (:ids) "
+            + "AND status IN (:expectedStatuses) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockInStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("expectedStatuses") Collection<String> expectedStatuses);
+
+    /**
+     * Compare-and-set status change of many tasks in a single UPDATE, with
+     * the same guard and timestamps as
+     * {@link ExecutionTaskTransitionRepository#transitionStatus}.
+     *
+     * @return the number of rows changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ExecutionTaskEntity t SET t.status = :status, "
+            + "t.updatedAt = :updatedAt, "
+            + "t.startedAt = COALESCE(t.startedAt, :startedAt), "
+            + "t.completedAt = COALESCE(t.completedAt, :completedAt), "
+            + "t.failureReason = COALESCE(:failureReason, t.failureReason), "
+            + "t.version = t.version + 1 "
+            + "WHERE t.id IN :ids AND t.status IN :expectedStatuses")
+    int transitionStatusAll(
+            @Param("ids") Collection<Long> ids,
+            @Param("expectedStatuses") Collection<String> expectedStatuses,
+            @Param("status") String status,
+            @Param("failureReason") String failureReason,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("startedAt") LocalDateTime startedAt,
+            @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * Number of tasks per status, for the status gauges.
+     */
+    @Query("SELECT t.status AS status, COUNT(t) AS total "
+            + "FROM ExecutionTaskEntity t GROUP BY t.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * Row of {@link #countByStatus()}.
+     */
+    interface StatusCount {
+        String getStatus();
+
+        long getTotal();
+    }
 }
@@ -0,0 +1,32 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionTaskEntity;
+
+/**
+ * Status change of {@link ExecutionTaskRepository} that returns the changed
+ * row from the UPDATE itself, in a single round trip.
+ */
+public interface ExecutionTaskTransitionRepository {
+
+    /**
+     * Compare-and-set status change: a single
+     * {@code UPDATE ... WHERE id = ? AND status IN (...) RETURNING *}, so
+     * concurrent transitions cannot overwrite each other and the new row
+     * comes back with the update.
+     *
+     * @return the changed task, or empty if the task does not exist or is
+     *         not in one of the expected statuses
+     */
+    Optional<ExecutionTaskEntity> transitionStatus(
+            Long id,
+            Collection<String> expectedStatuses,
+            String status,
+            String failureReason,
+            LocalDateTime updatedAt,
+            LocalDateTime startedAt,
+            LocalDateTime completedAt);
+}
@@ -0,0 +1,62 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionTaskEntity;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Native {@code UPDATE ... RETURNING} (PostgreSQL) mapped to
+ * {@link ExecutionTaskEntity}.
+ *
+ * The persistence context is flushed and cleared first, as the JPQL bulk
+ * updates do with {@code flushAutomatically} and {@code clearAutomatically}:
+ * a copy of the task loaded earlier in the transaction would otherwise be
+ * returned in place of the row the UPDATE sent back.
+ */
+class ExecutionTaskTransitionRepositoryImpl implements ExecutionTaskTransitionRepository {
+
+    static final String TRANSITION_STATUS = "UPDATE execution_task SET status = :status, "
+            + "updated_at = CAST(:updatedAt AS TIMESTAMP), "
+            + "started_at = COALESCE(started_at, CAST(:startedAt AS TIMESTAMP)), "
+            + "completed_at = COALESCE(completed_at, CAST(:completedAt AS TIMESTAMP)), "
+            + "failure_reason = COALESCE(CAST(:failureReason AS VARCHAR), failure_reason), "
+            + "version = version + 1 "
+            + "WHERE id = :id AND status IN (:expectedStatuses) "
+            + "RETURNING *";
+
+    private final EntityManager entityManager;
+
+    ExecutionTaskTransitionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<ExecutionTaskEntity> transitionStatus(
+            Long id,
+            Collection<String> expectedStatuses,
+            String status,
+            String failureReason,
+            LocalDateTime updatedAt,
+            LocalDateTime startedAt,
+            LocalDateTime completedAt) {
+        entityManager.flush();
+        entityManager.clear();
+        @SuppressWarnings("unchecked")
+        List<ExecutionTaskEntity> changed = entityManager
+                .createNativeQuery(TRANSITION_STATUS, ExecutionTaskEntity.class)
+                .setParameter("id", id)
+                .setParameter("expectedStatuses", expectedStatuses)
+                .setParameter("status", status)
+                .setParameter("failureReason", failureReason)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("startedAt", startedAt)
+                .setParameter("completedAt", completedAt)
+                .getResultList();
+        return changed.stream().findFirst();
+    }
+}
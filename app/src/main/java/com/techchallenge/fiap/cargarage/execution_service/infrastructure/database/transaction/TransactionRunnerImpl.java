@@ -0,0 +1,41 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.transaction;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.BusinessException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+
+/**
+ * Implementation of TransactionRunner using Spring declarative transactions.
+ *
+ * Business exceptions are validation outcomes raised before any write, so
+ * they must not mark an enclosing transaction (e.g. a batch listener group)
+ * as rollback-only. A {@link ConcurrentUpdateException} from a conditional
+ * update that matched no row has not written anything either; it is left to
+ * the boundary that started the transaction to retry it.
+ */
+@Component
+public class TransactionRunnerImpl implements TransactionRunner {
+
+    @Override
+    @Transactional(noRollbackFor = {
+            BusinessException.class,
+            ConcurrentUpdateException.class,
+            InvalidDataException.class,
+            NotFoundException.class })
+    public <T> T execute(Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+}
@@ -0,0 +1,252 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskExportDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams execution tasks to an output stream, as NDJSON or CSV, oldest
+ * first.
+ *
+ * Rows are read in keyset chunks of {@code export.execution-task.chunk-size}
+ * on {@code (created_at, id)}, the cursor of the keyset pages, each chunk in
+ * its own short read-only transaction. The chunk is written once its
+ * transaction has ended, so a slow download never holds a connection or an
+ * open transaction. Rows are kept as plain column values, without entities,
+ * DTOs or page wrappers, so memory is bounded by one chunk whatever the size
+ * of the export. Rows created or changed while an export runs are included
+ * if they sort after the chunk being read.
+ */
+@Slf4j
+@Component
+public class ExecutionTaskExporter implements ExecutionTaskExportDataSource {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", "id", Long.class),
+            new Column("service_order_id", "serviceOrderId", Long.class),
+            new Column("customer_id", "customerId", Long.class),
+            new Column("vehicle_id", "vehicleId", Long.class),
+            new Column("vehicle_license_plate", "vehicleLicensePlate", String.class),
+            new Column("description", "description", String.class),
+            new Column("status", "status", String.class),
+            new Column("assigned_technician", "assignedTechnician", String.class),
+            new Column("notes", "notes", String.class),
+            new Column("failure_reason", "failureReason", String.class),
+            new Column("priority", "priority", Integer.class),
+            new Column("created_at", "createdAt", LocalDateTime.class),
+            new Column("updated_at", "updatedAt", LocalDateTime.class),
+            new Column("started_at", "startedAt", LocalDateTime.class),
+            new Column("completed_at", "completedAt", LocalDateTime.class),
+            new Column("saga_started_at", "sagaStartedAt", LocalDateTime.class));
+
+    private static final int ID = 0;
+    private static final int CREATED_AT = 11;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Value("${export.execution-task.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    public ExecutionTaskExporter(
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Ordered by creation time and ID.
+     */
+    @Override
+    public long export(ExecutionTaskExportFilterDto filter, ExecutionTaskExportFormatEnum format,
+            OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+        RowWriter rows = format == ExecutionTaskExportFormatEnum.CSV
+                ? new CsvRowWriter(writer)
+                : new NdjsonRowWriter(jsonFactory.createGenerator(writer)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+        long count = 0;
+        Object[] last = null;
+        List<Object[]> chunk;
+        do {
+            Object[] after = last;
+            chunk = readOnlyTransaction.execute(status -> readChunk(filter, after));
+            for (Object[] row : chunk) {
+                rows.write(row);
+            }
+            count += chunk.size();
+            if (!chunk.isEmpty()) {
+                last = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == chunkSize);
+        rows.flush();
+        log.info("Exported {} execution tasks as {}", count, format);
+        return count;
+    }
+
+    /**
+     * Reads the next chunk of rows after {@code after}, or the first chunk if
+     * it is null.
+     */
+    private List<Object[]> readChunk(ExecutionTaskExportFilterDto filter, Object[] after) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (filter.status() != null) {
+            conditions.add("status = ?");
+            parameters.add(filter.status());
+        }
+        if (filter.createdFrom() != null) {
+            conditions.add("created_at >= ?");
+            parameters.add(filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            conditions.add("created_at < ?");
+            parameters.add(filter.createdTo());
+        }
+        if (after != null) {
+            conditions.add("(created_at > ? OR (created_at = ? AND id > ?))");
+            parameters.add(after[CREATED_AT]);
+            parameters.add(after[CREATED_AT]);
+            parameters.add(after[ID]);
+        }
+        parameters.add(chunkSize);
+        String sql = "SELECT " + COLUMNS.stream().map(Column::name)
+                .collect(Collectors.joining(", "))
+                + " FROM execution_task"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY created_at, id LIMIT ?";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Object[] row = new Object[COLUMNS.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1, COLUMNS.get(i).type());
+            }
+            return row;
+        }, parameters.toArray());
+    }
+
+    private record Column(String name, String field, Class<?> type) {
+    }
+
+    private interface RowWriter {
+        void write(Object[] row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                Object value = row[i];
+                generator.writeFieldName(COLUMNS.get(i).field());
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Long number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof Integer number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof LocalDateTime timestamp) {
+                    generator.writeString(TIMESTAMP.format(timestamp));
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private boolean headerWritten;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            writeHeader();
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = row[i];
+                if (value instanceof LocalDateTime timestamp) {
+                    writer.write(TIMESTAMP.format(timestamp));
+                } else if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeHeader();
+            writer.flush();
+        }
+
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                writer.write(COLUMNS.stream().map(Column::name)
+                        .collect(Collectors.joining(",")));
+                writer.write("\r\n");
+                headerWritten = true;
+            }
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
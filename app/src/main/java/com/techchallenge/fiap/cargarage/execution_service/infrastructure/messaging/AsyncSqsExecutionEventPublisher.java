@@ -0,0 +1,236 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+/**
+ * AWS SQS implementation of ExecutionEventPublisher using {@link SqsAsyncClient}.
+ *
+ * All messages of an event (e.g. the FIFO event and the completed/resource
+ * unavailable notification) are sent concurrently and awaited together, so a
+ * status update pays for the slowest send instead of their sum, and a failed
+ * send still fails the caller. In-flight sends are capped by a semaphore;
+ * when the cap is reached for longer than the acquire timeout the send fails
+ * fast instead of queueing without bound.
+ *
+ * Active when the transactional outbox is disabled
+ * ({@code messaging.outbox.enabled=false}) and
+ * {@code messaging.sqs.publisher.mode=async} (the default).
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("!${messaging.outbox.enabled:true} "
+        + "and '${messaging.sqs.publisher.mode:async}' == 'async'")
+public class AsyncSqsExecutionEventPublisher implements ExecutionEventPublisher {
+
+    private static final String SEND_TIMER = "sqs.publish";
+    private static final String SEND_FAILURES = "sqs.publish.failures";
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final ExecutionEventMessageFactory messageFactory;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final Duration acquireTimeout;
+    private final Duration sendTimeout;
+
+    public AsyncSqsExecutionEventPublisher(
+            SqsAsyncClient sqsAsyncClient,
+            ExecutionEventMessageFactory messageFactory,
+            MeterRegistry meterRegistry,
+            @Value("${messaging.sqs.publisher.max-in-flight:64}") int maxInFlight,
+            @Value("${messaging.sqs.publisher.acquire-timeout:1s}") Duration acquireTimeout,
+            @Value("${messaging.sqs.publisher.send-timeout:5s}") Duration sendTimeout) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.messageFactory = messageFactory;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeout = acquireTimeout;
+        this.sendTimeout = sendTimeout;
+        Gauge.builder("sqs.publish.in-flight", inFlight,
+                semaphore -> maxInFlight - semaphore.availablePermits())
+                .description("SQS sends currently in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publishExecutionStarted(ExecutionTask task) {
+        send(messageFactory.executionStarted(task), task);
+    }
+
+    @Override
+    public void publishExecutionCompleted(ExecutionTask task) {
+        send(messageFactory.executionCompleted(task), task);
+    }
+
+    @Override
+    public void publishExecutionFailed(ExecutionTask task) {
+        send(messageFactory.executionFailed(task), task);
+    }
+
+    /**
+     * Sends the events of all the tasks with SendMessageBatch, one call per
+     * queue and up to 10 messages, all in flight together. Each call takes
+     * one in-flight permit.
+     */
+    @Override
+    public void publishStatusChanges(List<ExecutionTask> tasks) {
+        List<SendMessageRequest> requests = tasks.stream()
+                .flatMap(task -> messageFactory.statusChanged(task).stream())
+                .toList();
+        await(SqsBatches.of(requests).stream()
+                .map(this::sendBatchAsync)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void send(List<SendMessageRequest> requests, ExecutionTask task) {
+        await(requests.stream()
+                .map(request -> sendAsync(request, task))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private void await(CompletableFuture<?>[] sends) {
+        try {
+            allOrFirstFailure(sends).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while publishing event to SQS", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to publish event to SQS", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out publishing event to SQS", e);
+        }
+    }
+
+    /**
+     * Completes when every send succeeded, or as soon as one of them fails.
+     */
+    private CompletableFuture<Void> allOrFirstFailure(CompletableFuture<?>[] sends) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        for (CompletableFuture<?> send : sends) {
+            send.whenComplete((response, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        CompletableFuture.allOf(sends).thenRun(() -> result.complete(null));
+        return result;
+    }
+
+    private CompletableFuture<SendMessageResponse> sendAsync(
+            SendMessageRequest request, ExecutionTask task) {
+        String queue = queueName(request.queueUrl());
+        if (!acquire()) {
+            failures(queue).increment();
+            log.error("Too many in-flight SQS sends, rejecting event to {} for task: {}",
+                    request.queueUrl(), task.id());
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Too many in-flight SQS sends"));
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendMessageResponse> future;
+        try {
+            future = sqsAsyncClient.sendMessage(request);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((response, error) -> {
+            inFlight.release();
+            String outcome = error == null ? "success" : "failure";
+            sample.stop(meterRegistry.timer(SEND_TIMER, "queue", queue, "outcome", outcome));
+            if (error == null) {
+                log.info("Published event to {} for task: {} (OS: {})",
+                        request.queueUrl(), task.id(), task.serviceOrderId());
+            } else {
+                failures(queue).increment();
+                log.error("Error publishing event to {} for task: {}",
+                        request.queueUrl(), task.id(), error);
+            }
+        });
+    }
+
+    private CompletableFuture<SendMessageBatchResponse> sendBatchAsync(
+            SendMessageBatchRequest batch) {
+        String queue = queueName(batch.queueUrl());
+        if (!acquire()) {
+            failures(queue).increment();
+            log.error("Too many in-flight SQS sends, rejecting {} events to {}",
+                    batch.entries().size(), batch.queueUrl());
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Too many in-flight SQS sends"));
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendMessageBatchResponse> future;
+        try {
+            future = sqsAsyncClient.sendMessageBatch(batch)
+                    .thenApply(response -> requireAllSent(batch, response));
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((response, error) -> {
+            inFlight.release();
+            String outcome = error == null ? "success" : "failure";
+            sample.stop(meterRegistry.timer(SEND_TIMER, "queue", queue, "outcome", outcome));
+            if (error == null) {
+                log.info("Published {} events to {}", batch.entries().size(), batch.queueUrl());
+            } else {
+                failures(queue).increment();
+                log.error("Error publishing {} events to {}",
+                        batch.entries().size(), batch.queueUrl(), error);
+            }
+        });
+    }
+
+    private SendMessageBatchResponse requireAllSent(
+            SendMessageBatchRequest batch, SendMessageBatchResponse response) {
+        if (response.hasFailed() && !response.failed().isEmpty()) {
+            BatchResultErrorEntry failed = response.failed().get(0);
+            throw new IllegalStateException(response.failed().size() + " of "
+                    + batch.entries().size() + " events rejected by SQS, first: "
+                    + failed.code() + " " + failed.message());
+        }
+        return response;
+    }
+
+    private boolean acquire() {
+        try {
+            return inFlight.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Counter failures(String queue) {
+        return meterRegistry.counter(SEND_FAILURES, "queue", queue);
+    }
+
+    private String queueName(String queueUrl) {
+        return queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
+    }
+}
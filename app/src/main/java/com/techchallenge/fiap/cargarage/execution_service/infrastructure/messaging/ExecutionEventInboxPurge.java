@@ -0,0 +1,39 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionEventInboxDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes inbox entries older than the retention window. The window should
+ * exceed the source queues' message retention, after which SQS can no longer
+ * redeliver the event.
+ */
+@Slf4j
+@Component
+public class ExecutionEventInboxPurge {
+
+    private final ExecutionEventInboxDataSource inbox;
+
+    @Value("${messaging.inbox.retention-hours:336}")
+    private long retentionHours = 336;
+
+    public ExecutionEventInboxPurge(ExecutionEventInboxDataSource inbox) {
+        this.inbox = inbox;
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.inbox.purge.fixed-delay-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        int deleted = inbox.deleteReceivedBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Purged {} inbox entries", deleted);
+        }
+    }
+}
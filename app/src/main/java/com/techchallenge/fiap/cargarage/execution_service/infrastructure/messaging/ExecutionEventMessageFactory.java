@@ -0,0 +1,159 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Builds the SQS messages emitted for each execution lifecycle event.
+ * Shared by the direct and outbox-based publishers so both send the same payloads.
+ */
+@Slf4j
+@Component
+public class ExecutionEventMessageFactory {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${messaging.sqs.queue.execution-events-url}")
+    private String executionEventsQueueUrl;
+
+    @Value("${messaging.sqs.queue.execution-completed-url}")
+    private String executionCompletedQueueUrl;
+
+    @Value("${messaging.sqs.queue.resource-unavailable-url}")
+    private String resourceUnavailableQueueUrl;
+
+    public ExecutionEventMessageFactory() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    /**
+     * Messages for a started execution: FIFO lifecycle event only.
+     */
+    public List<SendMessageRequest> executionStarted(ExecutionTask task) {
+        return List.of(fifoEvent("ExecutionStarted", task));
+    }
+
+    /**
+     * Messages for a completed execution: FIFO lifecycle event for Saga tracking
+     * plus the OS Service notification on execution-completed-queue.
+     */
+    public List<SendMessageRequest> executionCompleted(ExecutionTask task) {
+        return List.of(
+                fifoEvent("ExecutionCompleted", task),
+                osServiceMessage(executionCompletedQueueUrl, task));
+    }
+
+    /**
+     * Messages for a failed execution: FIFO lifecycle event for Saga tracking
+     * plus the compensation event on resource-unavailable-queue.
+     */
+    public List<SendMessageRequest> executionFailed(ExecutionTask task) {
+        return List.of(
+                fifoEvent("ExecutionFailed", task),
+                osServiceMessage(resourceUnavailableQueueUrl, task));
+    }
+
+    /**
+     * Messages for the status the task was just moved to: those of
+     * {@link #executionStarted}, {@link #executionCompleted} or
+     * {@link #executionFailed}; none for any other status.
+     */
+    public List<SendMessageRequest> statusChanged(ExecutionTask task) {
+        ExecutionStatus status = task.status();
+        if (status == null) {
+            return List.of();
+        }
+        if (status.isInProgress()) {
+            return executionStarted(task);
+        }
+        if (status.isCompleted()) {
+            return executionCompleted(task);
+        }
+        if (status.isFailed()) {
+            return executionFailed(task);
+        }
+        return List.of();
+    }
+
+    private SendMessageRequest fifoEvent(String eventType, ExecutionTask task) {
+        ExecutionEventDto event = ExecutionEventDto.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .executionTaskId(task.id())
+                .serviceOrderId(task.serviceOrderId())
+                .customerId(task.customerId())
+                .vehicleId(task.vehicleId())
+                .vehicleLicensePlate(task.vehicleLicensePlate())
+                .status(task.status() != null ? task.status().value() : null)
+                .failureReason(task.failureReason())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        Map<String, MessageAttributeValue> attrs = new HashMap<>();
+        attrs.put("eventType", MessageAttributeValue.builder()
+                .stringValue(eventType).dataType("String").build());
+        attrs.put("serviceOrderId", MessageAttributeValue.builder()
+                .stringValue(task.serviceOrderId().toString())
+                .dataType("String").build());
+
+        return SendMessageRequest.builder()
+                .queueUrl(executionEventsQueueUrl)
+                .messageBody(serialize(event, task))
+                .messageAttributes(attrs)
+                .messageGroupId(messageGroupId(task))
+                .messageDeduplicationId(
+                        task.id() + "-" + eventType + "-" + System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * One FIFO group per service order: the events of a service order stay
+     * in order while those of different orders are delivered in parallel.
+     */
+    static String messageGroupId(ExecutionTask task) {
+        return "execution-" + task.serviceOrderId();
+    }
+
+    /**
+     * Builds a simple event for a standard queue consumed by OS Service.
+     * Payload: { "orderId": <serviceOrderId>, "reason": "<failureReason>" }
+     */
+    private SendMessageRequest osServiceMessage(String queueUrl, ExecutionTask task) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("orderId", task.serviceOrderId());
+        if (task.failureReason() != null) {
+            payload.put("reason", task.failureReason());
+        }
+
+        return SendMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .messageBody(serialize(payload, task))
+                .build();
+    }
+
+    private String serialize(Object payload, ExecutionTask task) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing event for task: {}", task.id(), e);
+            throw new RuntimeException("Failed to serialize event", e);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionEventOutboxEntity;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository.ExecutionEventOutboxRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+/**
+ * Background relay that drains the execution event outbox into SQS.
+ *
+ * One replica relays at a time: a run starts by taking the session advisory
+ * lock {@value #LOCK_NAME} ({@code pg_try_advisory_lock}) on a connection
+ * held for the whole run, and replicas that do not get it skip the run. Two
+ * relays never send rows of the same message group side by side, so the
+ * FIFO order of a group is the order of its rows.
+ *
+ * Each step of a run claims up to {@code poll-size} pending rows in a short
+ * transaction, sends them with SendMessageBatch (up to 10 entries per call)
+ * with no transaction open, and marks the accepted ones as sent in another
+ * short transaction. Rows that fail stay pending and are retried on the next
+ * run; a row sent but not yet marked is sent again with the same
+ * deduplication id.
+ *
+ * FIFO: a batch carries at most one entry per message group, and the next
+ * entry of a group is only sent once the previous one was accepted. Once an
+ * entry fails, the rest of its group waits for the next run, so nothing of a
+ * group is ever enqueued ahead of an earlier entry. Entries without a group
+ * (standard queues) do not block others.
+ *
+ * Each run is bounded: every call is limited by {@code send-timeout-ms} and
+ * the run stops at the first call that fails as a whole (SQS unreachable or
+ * timed out) instead of waiting on the remaining batches.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "messaging.outbox.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ExecutionEventOutboxRelay {
+
+    static final int MAX_BATCH_ENTRIES = SqsBatches.MAX_ENTRIES;
+
+    static final String LOCK_NAME = "execution_event_outbox";
+
+    private static final TypeReference<Map<String, String>> ATTRIBUTES_TYPE =
+            new TypeReference<>() {
+            };
+
+    private final ExecutionEventOutboxRepository repository;
+    private final SqsClient sqsClient;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${messaging.outbox.relay.poll-size:50}")
+    private int pollSize = 50;
+
+    @Value("${messaging.outbox.relay.send-timeout-ms:5000}")
+    private long sendTimeoutMs = 5000;
+
+    @Value("${messaging.outbox.retention-hours:24}")
+    private long retentionHours = 24;
+
+    public ExecutionEventOutboxRelay(
+            ExecutionEventOutboxRepository repository,
+            SqsClient sqsClient,
+            TransactionTemplate transactionTemplate,
+            JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.sqsClient = sqsClient;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Relays pending messages, draining the outbox while full polls keep
+     * coming, if no other replica is relaying.
+     */
+    @Scheduled(fixedDelayString = "${messaging.outbox.relay.fixed-delay-ms:500}")
+    public void relayPending() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.debug("Outbox relay running on another replica");
+                return null;
+            }
+            try {
+                int relayed;
+                do {
+                    relayed = relayBatch();
+                } while (relayed >= pollSize);
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Deletes relayed messages older than the retention window.
+     */
+    @Scheduled(fixedDelayString = "${messaging.outbox.purge.fixed-delay-ms:3600000}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(
+                status -> repository.deleteSentBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} relayed outbox messages", deleted);
+        }
+    }
+
+    int relayBatch() {
+        List<ExecutionEventOutboxEntity> pending = transactionTemplate.execute(
+                status -> repository.findPending(PageRequest.of(0, pollSize)));
+        if (pending == null || pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<ExecutionEventOutboxEntity>> byQueue = pending.stream()
+                .collect(Collectors.groupingBy(ExecutionEventOutboxEntity::getQueueUrl,
+                        LinkedHashMap::new, Collectors.toList()));
+
+        int relayed = 0;
+        queues:
+        for (Map.Entry<String, List<ExecutionEventOutboxEntity>> queue : byQueue.entrySet()) {
+            List<ExecutionEventOutboxEntity> remaining = new ArrayList<>(queue.getValue());
+            Set<String> blockedGroups = new HashSet<>();
+            while (!remaining.isEmpty()) {
+                List<ExecutionEventOutboxEntity> chunk = nextChunk(remaining, blockedGroups);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                remaining.removeAll(chunk);
+                List<Long> sent = sendBatch(queue.getKey(), chunk, blockedGroups);
+                if (sent == null) {
+                    break queues;
+                }
+                markSent(sent);
+                relayed += sent.size();
+            }
+        }
+        log.debug("Relayed {} of {} outbox messages", relayed, pending.size());
+        return relayed;
+    }
+
+    /**
+     * Takes, in order, up to {@value #MAX_BATCH_ENTRIES} entries with at most
+     * one per message group: the first remaining entry of every group that is
+     * not blocked.
+     */
+    private List<ExecutionEventOutboxEntity> nextChunk(
+            List<ExecutionEventOutboxEntity> remaining, Set<String> blockedGroups) {
+        List<ExecutionEventOutboxEntity> chunk = new ArrayList<>(MAX_BATCH_ENTRIES);
+        Set<String> groups = new HashSet<>();
+        for (ExecutionEventOutboxEntity message : remaining) {
+            if (chunk.size() == MAX_BATCH_ENTRIES) {
+                break;
+            }
+            String groupId = message.getMessageGroupId();
+            if (groupId == null
+                    || (!blockedGroups.contains(groupId) && groups.add(groupId))) {
+                chunk.add(message);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Sends the chunk; the groups of the entries SQS rejected are added to
+     * {@code blockedGroups}.
+     *
+     * @return the ids of the rows SQS accepted, or null if the call failed
+     */
+    private List<Long> sendBatch(String queueUrl, List<ExecutionEventOutboxEntity> chunk,
+            Set<String> blockedGroups) {
+        SendMessageBatchResponse response;
+        try {
+            response = sqsClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(chunk.stream().map(this::toEntry).toList())
+                    .overrideConfiguration(config -> config
+                            .apiCallTimeout(Duration.ofMillis(sendTimeoutMs)))
+                    .build());
+        } catch (Exception e) {
+            log.error("Error relaying {} outbox messages to {}",
+                    chunk.size(), queueUrl, e);
+            return null;
+        }
+
+        for (BatchResultErrorEntry failed : response.failed()) {
+            log.warn("Failed to relay outbox message {} to {}: {} {}",
+                    failed.id(), queueUrl, failed.code(), failed.message());
+        }
+
+        Set<String> successful = response.successful().stream()
+                .map(SendMessageBatchResultEntry::id)
+                .collect(Collectors.toSet());
+        List<Long> sent = new ArrayList<>(chunk.size());
+        for (ExecutionEventOutboxEntity message : chunk) {
+            if (successful.contains(entryId(message))) {
+                sent.add(message.getId());
+            } else if (message.getMessageGroupId() != null) {
+                blockedGroups.add(message.getMessageGroupId());
+            }
+        }
+        return sent;
+    }
+
+    private void markSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> repository.markSent(ids, now));
+    }
+
+    private boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private SendMessageBatchRequestEntry toEntry(ExecutionEventOutboxEntity message) {
+        return SendMessageBatchRequestEntry.builder()
+                .id(entryId(message))
+                .messageBody(message.getMessageBody())
+                .messageGroupId(message.getMessageGroupId())
+                .messageDeduplicationId(message.getDeduplicationId())
+                .messageAttributes(deserializeAttributes(message))
+                .build();
+    }
+
+    private Map<String, MessageAttributeValue> deserializeAttributes(
+            ExecutionEventOutboxEntity message) {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+        if (message.getMessageAttributes() == null) {
+            return attributes;
+        }
+        try {
+            objectMapper.readValue(message.getMessageAttributes(), ATTRIBUTES_TYPE)
+                    .forEach((name, value) -> attributes.put(name,
+                            MessageAttributeValue.builder()
+                                    .stringValue(value).dataType("String").build()));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to deserialize message attributes", e);
+        }
+        return attributes;
+    }
+
+    private String entryId(ExecutionEventOutboxEntity message) {
+        return String.valueOf(message.getId());
+    }
+}
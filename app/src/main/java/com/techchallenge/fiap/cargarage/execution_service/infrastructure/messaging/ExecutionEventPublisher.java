@@ -1,5 +1,7 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
 
+import java.util.List;
+
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
 
 /**
@@ -23,4 +25,25 @@ public interface ExecutionEventPublisher {
      * Publishes event when execution fails (Saga compensation).
      */
     void publishExecutionFailed(ExecutionTask task);
+
+    /**
+     * Publishes the event of the status each task was just moved to:
+     * ExecutionStarted for IN_PROGRESS, ExecutionCompleted for COMPLETED and
+     * ExecutionFailed for FAILED; tasks in other statuses publish nothing.
+     * Implementations may send the events of all the tasks in batches.
+     */
+    default void publishStatusChanges(List<ExecutionTask> tasks) {
+        for (ExecutionTask task : tasks) {
+            if (task.status() == null) {
+                continue;
+            }
+            if (task.status().isInProgress()) {
+                publishExecutionStarted(task);
+            } else if (task.status().isCompleted()) {
+                publishExecutionCompleted(task);
+            } else if (task.status().isFailed()) {
+                publishExecutionFailed(task);
+            }
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionEventOutboxEntity;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository.ExecutionEventOutboxRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Transactional outbox implementation of ExecutionEventPublisher.
+ *
+ * Instead of calling SQS, events are stored in {@code execution_event_outbox}
+ * within the caller's transaction and sent later by
+ * {@link ExecutionEventOutboxRelay}, giving at-least-once delivery.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "messaging.outbox.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class OutboxExecutionEventPublisher implements ExecutionEventPublisher {
+
+    private final ExecutionEventOutboxRepository repository;
+    private final ExecutionEventMessageFactory messageFactory;
+    private final ObjectMapper objectMapper;
+
+    public OutboxExecutionEventPublisher(
+            ExecutionEventOutboxRepository repository,
+            ExecutionEventMessageFactory messageFactory) {
+        this.repository = repository;
+        this.messageFactory = messageFactory;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    @Override
+    public void publishExecutionStarted(ExecutionTask task) {
+        enqueue(messageFactory.executionStarted(task), task);
+    }
+
+    @Override
+    public void publishExecutionCompleted(ExecutionTask task) {
+        enqueue(messageFactory.executionCompleted(task), task);
+    }
+
+    @Override
+    public void publishExecutionFailed(ExecutionTask task) {
+        enqueue(messageFactory.executionFailed(task), task);
+    }
+
+    /**
+     * Stores the messages of all the tasks with one {@code saveAll}; the
+     * relay sends them in batches.
+     */
+    @Override
+    public void publishStatusChanges(List<ExecutionTask> tasks) {
+        List<SendMessageRequest> requests = tasks.stream()
+                .flatMap(task -> messageFactory.statusChanged(task).stream())
+                .toList();
+        store(requests);
+        log.info("Stored {} outbox messages for {} tasks", requests.size(), tasks.size());
+    }
+
+    private void enqueue(List<SendMessageRequest> requests, ExecutionTask task) {
+        store(requests);
+        log.info("Stored {} outbox messages for task: {} (OS: {})",
+                requests.size(), task.id(), task.serviceOrderId());
+    }
+
+    private void store(List<SendMessageRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        repository.saveAll(requests.stream()
+                .map(request -> toEntity(request, now))
+                .toList());
+    }
+
+    private ExecutionEventOutboxEntity toEntity(
+            SendMessageRequest request, LocalDateTime now) {
+        return ExecutionEventOutboxEntity.builder()
+                .queueUrl(request.queueUrl())
+                .messageBody(request.messageBody())
+                .messageGroupId(request.messageGroupId())
+                .deduplicationId(request.messageDeduplicationId())
+                .messageAttributes(serializeAttributes(request))
+                .createdAt(now)
+                .build();
+    }
+
+    private String serializeAttributes(SendMessageRequest request) {
+        if (!request.hasMessageAttributes() || request.messageAttributes().isEmpty()) {
+            return null;
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        request.messageAttributes().forEach(
+                (name, value) -> attributes.put(name, value.stringValue()));
+        try {
+            return objectMapper.writeValueAsString(attributes);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize message attributes", e);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ConcurrentUpdateRetry;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
+
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.annotation.SqsListenerAcknowledgementMode;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch-mode AWS SQS listener for the billing and OS event queues.
+ *
+ * Each poll is parsed as a whole and cut, in arrival order, into runs of
+ * consecutive events of the same type; every run is applied in a single
+ * transaction and the tasks of a PaymentProcessed run are created with
+ * batched inserts. Runs never merge events across a different type, so the
+ * events of a FIFO message group are applied in the order they were sent
+ * (a refund is never applied ahead of the payment it follows). If a run
+ * fails, its messages are retried one by one so only the offending events
+ * stay unacknowledged and return to the queue. A use case called inside these transactions does not retry a
+ * concurrent update itself; the one-by-one pass retries the event in a new
+ * transaction ({@link ConcurrentUpdateRetry}). Enabled with {@code messaging.sqs.listener.batch-enabled=true}.
+ *
+ * Event types that are not handled (most OS lifecycle events) are recognised
+ * from the {@code eventType} message attribute or a streaming read of the
+ * payload and acknowledged without being parsed into a JSON tree.
+ *
+ * The container invokes the asynchronous entry points; the blocking handling
+ * runs on the {@link SqsListenerExecutor} (a virtual thread when enabled).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "messaging.sqs.listener.batch-enabled", havingValue = "true")
+public class SqsBatchEventListener {
+
+    private final SqsEventDispatcher dispatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final SqsListenerExecutor executor;
+
+    public SqsBatchEventListener(
+            CreateExecutionTaskUseCase createUseCase,
+            FailExecutionTaskUseCase failUseCase,
+            TransactionTemplate transactionTemplate,
+            SqsListenerExecutor executor,
+            MeterRegistry meterRegistry) {
+        this.dispatcher = new SqsEventDispatcher(createUseCase, failUseCase, meterRegistry);
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+    }
+
+    @SqsListener(value = "${messaging.sqs.queue.billing-events}",
+            maxMessagesPerPoll = "${messaging.sqs.listener.max-messages-per-poll:10}",
+            acknowledgementMode = SqsListenerAcknowledgementMode.MANUAL)
+    public CompletableFuture<Void> onBillingEvents(
+            List<Message<String>> messages,
+            BatchAcknowledgement<String> acknowledgement) {
+        return executor.run(() -> handleBillingEvents(messages, acknowledgement));
+    }
+
+    @SqsListener(value = "${messaging.sqs.queue.os-events}",
+            maxMessagesPerPoll = "${messaging.sqs.listener.max-messages-per-poll:10}",
+            acknowledgementMode = SqsListenerAcknowledgementMode.MANUAL)
+    public CompletableFuture<Void> onOsServiceEvents(
+            List<Message<String>> messages,
+            BatchAcknowledgement<String> acknowledgement) {
+        return executor.run(() -> handleOsServiceEvents(messages, acknowledgement));
+    }
+
+    /**
+     * Handles a batch of billing events (PaymentProcessed, PaymentFailed, PaymentRefunded).
+     */
+    public void handleBillingEvents(
+            List<Message<String>> messages,
+            BatchAcknowledgement<String> acknowledgement) {
+        EventHandler handler = (eventType, json, message) -> dispatcher.dispatchBillingEvent(
+                eventType, json, messageId(message), sentTimestamp(message));
+        handleBatch("billing", messages, acknowledgement,
+                dispatcher::isHandledBillingEvent, handler, (eventType, events) -> {
+                    if (dispatcher.isPaymentProcessed(eventType)) {
+                        dispatcher.dispatchPaymentProcessed(events.stream()
+                                .map(event -> new SqsEventDispatcher.BillingEvent(event.json(),
+                                        messageId(event.message()),
+                                        sentTimestamp(event.message())))
+                                .toList());
+                    } else {
+                        eachEvent(handler).handle(eventType, events);
+                    }
+                });
+    }
+
+    /**
+     * Handles a batch of OS service events (ORDER_CANCELLED, ServiceOrderCancelled).
+     */
+    public void handleOsServiceEvents(
+            List<Message<String>> messages,
+            BatchAcknowledgement<String> acknowledgement) {
+        EventHandler handler = (eventType, json, message) -> dispatcher
+                .dispatchOsServiceEvent(eventType, json);
+        handleBatch("OS", messages, acknowledgement, dispatcher::isOrderCancelled,
+                handler, eachEvent(handler));
+    }
+
+    private void handleBatch(
+            String source,
+            List<Message<String>> messages,
+            BatchAcknowledgement<String> acknowledgement,
+            Predicate<String> handles,
+            EventHandler handler,
+            RunHandler runHandler) {
+        log.info("Received batch of {} {} events", messages.size(), source);
+
+        // FIFO: once a message of a group fails, later messages of that group
+        // must not be acknowledged ahead of it
+        Set<Object> blockedGroups = new HashSet<>();
+        List<Run> runs = new ArrayList<>();
+        List<Message<String>> ignored = new ArrayList<>();
+        for (Message<String> message : messages) {
+            try {
+                String eventType = dispatcher.routingEventType(
+                        message.getHeaders().get(SqsEventDispatcher.EVENT_TYPE),
+                        message.getPayload());
+                boolean handled = handles.test(eventType);
+                dispatcher.countReceived(source, eventType, handled);
+                if (!handled) {
+                    // Acknowledged without parsing the rest of the payload
+                    log.debug("Ignoring {} event: {}", source, eventType);
+                    ignored.add(message);
+                    continue;
+                }
+                JsonNode json = dispatcher.parse(message.getPayload());
+                Run last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+                if (last == null || !last.eventType().equals(eventType)) {
+                    last = new Run(eventType, new ArrayList<>());
+                    runs.add(last);
+                }
+                last.events().add(new ParsedEvent(message, json));
+            } catch (JsonProcessingException e) {
+                log.error("Error processing {} event, leaving it for redelivery",
+                        source, e);
+                block(message, blockedGroups);
+            }
+        }
+
+        List<Message<String>> processed = new ArrayList<>();
+        for (Run run : runs) {
+            processed.addAll(processRun(run.eventType(), run.events(), handler,
+                    runHandler, blockedGroups));
+        }
+        ignored.stream()
+                .filter(message -> !blockedGroups.contains(groupId(message)))
+                .forEach(processed::add);
+
+        if (!processed.isEmpty()) {
+            acknowledgement.acknowledge(processed);
+        }
+        log.info("Processed {} of {} {} events ({} ignored)", processed.size(),
+                messages.size(), source, ignored.size());
+    }
+
+    private List<Message<String>> processRun(
+            String eventType,
+            List<ParsedEvent> events,
+            EventHandler handler,
+            RunHandler runHandler,
+            Set<Object> blockedGroups) {
+        List<ParsedEvent> runnable = events.stream()
+                .filter(event -> !blockedGroups.contains(groupId(event.message())))
+                .toList();
+        if (runnable.isEmpty()) {
+            return List.of();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> runHandler.handle(eventType, runnable));
+            return runnable.stream().map(ParsedEvent::message).toList();
+        } catch (Exception e) {
+            log.warn("Batch of {} {} events failed, retrying one by one",
+                    runnable.size(), eventType, e);
+            return processIndividually(eventType, runnable, handler, blockedGroups);
+        }
+    }
+
+    private List<Message<String>> processIndividually(
+            String eventType,
+            List<ParsedEvent> events,
+            EventHandler handler,
+            Set<Object> blockedGroups) {
+        List<Message<String>> processed = new ArrayList<>();
+        for (ParsedEvent event : events) {
+            if (blockedGroups.contains(groupId(event.message()))) {
+                continue;
+            }
+            try {
+                ConcurrentUpdateRetry.retry(() -> transactionTemplate.execute(status -> {
+                    handler.handle(eventType, event.json(), event.message());
+                    return null;
+                }));
+                processed.add(event.message());
+            } catch (Exception e) {
+                log.error("Error handling {} event, leaving it for redelivery",
+                        eventType, e);
+                block(event.message(), blockedGroups);
+            }
+        }
+        return processed;
+    }
+
+    private void block(Message<String> message, Set<Object> blockedGroups) {
+        Object groupId = groupId(message);
+        if (groupId != null) {
+            blockedGroups.add(groupId);
+        }
+    }
+
+    private Object groupId(Message<String> message) {
+        return message.getHeaders().get(
+                SqsHeaders.MessageSystemAttributes.SQS_MESSAGE_GROUP_ID_HEADER);
+    }
+
+    private String messageId(Message<String> message) {
+        return String.valueOf(message.getHeaders().getId());
+    }
+
+    private LocalDateTime sentTimestamp(Message<String> message) {
+        return dispatcher.sentTimestamp(message.getHeaders().get(
+                SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP));
+    }
+
+    private record ParsedEvent(Message<String> message, JsonNode json) {
+    }
+
+    /**
+     * Consecutive events of one type, in arrival order.
+     */
+    private record Run(String eventType, List<ParsedEvent> events) {
+    }
+
+    private static RunHandler eachEvent(EventHandler handler) {
+        return (eventType, events) -> events.forEach(
+                event -> handler.handle(eventType, event.json(), event.message()));
+    }
+
+    @FunctionalInterface
+    private interface EventHandler {
+        void handle(String eventType, JsonNode json, Message<String> message);
+    }
+
+    /**
+     * Applies a whole run of events of one type, inside its transaction.
+     */
+    @FunctionalInterface
+    private interface RunHandler {
+        void handle(String eventType, List<ParsedEvent> events);
+    }
+}
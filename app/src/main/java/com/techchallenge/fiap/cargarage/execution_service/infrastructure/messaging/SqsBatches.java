@@ -0,0 +1,59 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+/**
+ * Groups SendMessage requests into SendMessageBatch requests: one per queue,
+ * with at most {@link #MAX_ENTRIES} entries each. Within a queue the
+ * requests keep their order, which a FIFO queue preserves within a batch.
+ */
+final class SqsBatches {
+
+    /** Maximum number of entries SQS accepts in one SendMessageBatch call. */
+    static final int MAX_ENTRIES = 10;
+
+    private SqsBatches() {
+    }
+
+    static List<SendMessageBatchRequest> of(List<SendMessageRequest> requests) {
+        Map<String, List<SendMessageRequest>> byQueue = new LinkedHashMap<>();
+        for (SendMessageRequest request : requests) {
+            byQueue.computeIfAbsent(request.queueUrl(), queue -> new ArrayList<>())
+                    .add(request);
+        }
+
+        List<SendMessageBatchRequest> batches = new ArrayList<>();
+        byQueue.forEach((queueUrl, messages) -> {
+            for (int from = 0; from < messages.size(); from += MAX_ENTRIES) {
+                List<SendMessageRequest> chunk = messages.subList(
+                        from, Math.min(from + MAX_ENTRIES, messages.size()));
+                List<SendMessageBatchRequestEntry> entries = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    entries.add(toEntry(String.valueOf(i), chunk.get(i)));
+                }
+                batches.add(SendMessageBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(entries)
+                        .build());
+            }
+        });
+        return batches;
+    }
+
+    private static SendMessageBatchRequestEntry toEntry(String id, SendMessageRequest request) {
+        return SendMessageBatchRequestEntry.builder()
+                .id(id)
+                .messageBody(request.messageBody())
+                .messageGroupId(request.messageGroupId())
+                .messageDeduplicationId(request.messageDeduplicationId())
+                .messageAttributes(request.messageAttributes())
+                .build();
+    }
+}
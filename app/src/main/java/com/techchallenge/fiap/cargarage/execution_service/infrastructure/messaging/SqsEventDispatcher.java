@@ -0,0 +1,375 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskSagaRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Parses inbound Saga events and dispatches them to the matching use case.
+ * Shared by the single-message and batch SQS listeners.
+ */
+@Slf4j
+public class SqsEventDispatcher {
+
+    /** SQS message attribute (and payload field) carrying the event type. */
+    public static final String EVENT_TYPE = "eventType";
+
+    static final String RECEIVED_COUNTER = "execution.events.received";
+
+    private final CreateExecutionTaskUseCase createUseCase;
+    private final FailExecutionTaskUseCase failUseCase;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    public SqsEventDispatcher(
+            CreateExecutionTaskUseCase createUseCase,
+            FailExecutionTaskUseCase failUseCase,
+            MeterRegistry meterRegistry) {
+        this.createUseCase = createUseCase;
+        this.failUseCase = failUseCase;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    public JsonNode parse(String message) throws JsonProcessingException {
+        return objectMapper.readTree(message);
+    }
+
+    public String eventType(JsonNode json) {
+        return json.has(EVENT_TYPE) ? json.get(EVENT_TYPE).asText() : "";
+    }
+
+    /**
+     * Resolves the event type for routing: the {@code eventType} message
+     * attribute when present, otherwise streamed from the payload.
+     *
+     * @param attribute the {@code eventType} message attribute header, or null
+     */
+    public String routingEventType(Object attribute, String message)
+            throws JsonProcessingException {
+        if (attribute instanceof String type && !type.isBlank()) {
+            return type;
+        }
+        return peekEventType(message);
+    }
+
+    /**
+     * Reads the top-level {@code eventType} field with a streaming parser,
+     * stopping there without building a tree or reading the rest.
+     *
+     * @return the event type, or an empty string if the field is missing
+     */
+    public String peekEventType(String message) throws JsonProcessingException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Event payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (EVENT_TYPE.equals(field)) {
+                    return value.isScalarValue() ? parser.getText() : "";
+                }
+                parser.skipChildren();
+            }
+            return "";
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Converts the SQS {@code SentTimestamp} system attribute (epoch millis)
+     * to local time, the zone the task timestamps are stored in.
+     *
+     * @param attribute the {@code SentTimestamp} header, or null
+     * @return the send time, or null if the attribute is missing or invalid
+     */
+    public LocalDateTime sentTimestamp(Object attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            long epochMillis = attribute instanceof Number number
+                    ? number.longValue()
+                    : Long.parseLong(attribute.toString());
+            return LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+        } catch (NumberFormatException e) {
+            log.debug("Invalid SentTimestamp attribute: {}", attribute);
+            return null;
+        }
+    }
+
+    /**
+     * Counts a received event as {@code execution.events.received}. Ignored
+     * events are tagged {@code event_type=other}, so arbitrary types sent to
+     * the queues cannot inflate the number of time series.
+     *
+     * @param source the queue the event came from ({@code billing}, {@code os})
+     */
+    public void countReceived(String source, String eventType, boolean handled) {
+        Counter.builder(RECEIVED_COUNTER)
+                .description("Saga events received from the SQS queues")
+                .tag("source", source.toLowerCase(Locale.ROOT))
+                .tag("event_type", handled ? eventType : "other")
+                .tag("outcome", handled ? "handled" : "ignored")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Returns true if the billing event type is handled (not just ignored).
+     */
+    public boolean isHandledBillingEvent(String eventType) {
+        return "PaymentProcessed".equals(eventType)
+                || "PaymentFailed".equals(eventType)
+                || "PaymentRefunded".equals(eventType);
+    }
+
+    /**
+     * Returns true if the billing event type creates an execution task.
+     */
+    public boolean isPaymentProcessed(String eventType) {
+        return "PaymentProcessed".equals(eventType);
+    }
+
+    /**
+     * Returns true if the OS event type cancels the execution task.
+     */
+    public boolean isOrderCancelled(String eventType) {
+        return "ORDER_CANCELLED".equals(eventType)
+                || "ServiceOrderCancelled".equals(eventType);
+    }
+
+    /**
+     * Dispatches a billing event (PaymentProcessed, PaymentFailed, PaymentRefunded).
+     */
+    public void dispatchBillingEvent(String eventType, JsonNode json) {
+        dispatchBillingEvent(eventType, json, null);
+    }
+
+    /**
+     * Dispatches a billing event. PaymentProcessed is deduplicated by its
+     * {@code eventId}, falling back to the SQS message ID.
+     */
+    public void dispatchBillingEvent(String eventType, JsonNode json, String messageId) {
+        dispatchBillingEvent(eventType, json, messageId, null);
+    }
+
+    /**
+     * Dispatches a billing event. PaymentProcessed is deduplicated by its
+     * {@code eventId}, falling back to the SQS message ID, and starts the
+     * Saga latency clock at its payload {@code timestamp}, falling back to
+     * the SQS send time.
+     *
+     * @param sentAt the SQS {@code SentTimestamp}, or null if unknown
+     */
+    public void dispatchBillingEvent(
+            String eventType, JsonNode json, String messageId, LocalDateTime sentAt) {
+        switch (eventType) {
+            case "PaymentProcessed" -> handlePaymentProcessed(json, messageId, sentAt);
+            case "PaymentFailed" -> handlePaymentFailed(json);
+            case "PaymentRefunded" -> handlePaymentRefunded(json);
+            default -> log.info("Ignoring billing event: {}", eventType);
+        }
+    }
+
+    /**
+     * Dispatches an OS service event (ORDER_CANCELLED, ServiceOrderCancelled).
+     */
+    public void dispatchOsServiceEvent(String eventType, JsonNode json) {
+        if (isOrderCancelled(eventType)) {
+            handleOrderCancelled(json);
+        } else {
+            log.debug("Ignoring OS event: {}", eventType);
+        }
+    }
+
+    /**
+     * Dispatches a batch of PaymentProcessed events, creating their execution
+     * tasks with batched inserts. Each event is deduplicated and timed as in
+     * {@link #dispatchBillingEvent(String, JsonNode, String, LocalDateTime)}.
+     */
+    public void dispatchPaymentProcessed(List<BillingEvent> events) {
+        List<ExecutionTaskSagaRequestDto> requests = events.stream()
+                .map(event -> paymentProcessedRequest(
+                        event.json(), event.messageId(), event.sentAt()))
+                .toList();
+        log.info("Payment processed for {} OS. Creating execution tasks.", requests.size());
+        List<Optional<ExecutionTask>> created = createUseCase.executeAllOnce(requests);
+        for (int index = 0; index < requests.size(); index++) {
+            logCreated(requests.get(index), created.get(index));
+        }
+    }
+
+    private void handlePaymentProcessed(
+            JsonNode json, String messageId, LocalDateTime sentAt) {
+        ExecutionTaskSagaRequestDto request = paymentProcessedRequest(json, messageId, sentAt);
+        log.info("Payment processed for OS: {}. Creating execution task.",
+                request.request().serviceOrderId());
+        logCreated(request, createUseCase.executeOnce(
+                request.eventId(), request.request(), request.sagaStartedAt()));
+    }
+
+    private ExecutionTaskSagaRequestDto paymentProcessedRequest(
+            JsonNode json, String messageId, LocalDateTime sentAt) {
+        Long serviceOrderId = extractServiceOrderId(json);
+        ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
+                .serviceOrderId(serviceOrderId)
+                .customerId(json.has("customerId")
+                        ? json.get("customerId").asLong()
+                        : null)
+                .vehicleId(json.has("vehicleId")
+                        ? json.get("vehicleId").asLong()
+                        : null)
+                .vehicleLicensePlate(json.has("vehicleLicensePlate")
+                        ? json.get("vehicleLicensePlate").asText()
+                        : null)
+                .description("Execution for service order " + serviceOrderId)
+                .priority(0)
+                .build();
+
+        String eventId = json.hasNonNull("eventId")
+                ? json.get("eventId").asText()
+                : messageId;
+        LocalDateTime emittedAt = eventTimestamp(json);
+        return ExecutionTaskSagaRequestDto.builder()
+                .eventId(eventId)
+                .request(request)
+                .sagaStartedAt(emittedAt != null ? emittedAt : sentAt)
+                .build();
+    }
+
+    private void logCreated(
+            ExecutionTaskSagaRequestDto request, Optional<ExecutionTask> created) {
+        Long serviceOrderId = request.request().serviceOrderId();
+        created.ifPresentOrElse(
+                task -> log.info("Execution task created for OS: {}", serviceOrderId),
+                () -> log.info("Duplicate PaymentProcessed for OS: {} (event {}) ignored",
+                        serviceOrderId, request.eventId()));
+    }
+
+    private void handlePaymentFailed(JsonNode json) {
+        Long serviceOrderId = extractServiceOrderId(json);
+        String reason = json.has("failureReason")
+                ? json.get("failureReason").asText()
+                : "Payment failed";
+        log.info("Payment failed for OS: {}. Cancelling execution if exists.",
+                serviceOrderId);
+
+        cancelExecution(serviceOrderId, reason);
+    }
+
+    private void handlePaymentRefunded(JsonNode json) {
+        Long serviceOrderId = extractServiceOrderId(json);
+        String reason = json.has("refundReason")
+                ? json.get("refundReason").asText()
+                : "Payment refunded";
+        log.info("Payment refunded for OS: {}. Cancelling execution if exists.",
+                serviceOrderId);
+
+        cancelExecution(serviceOrderId, reason);
+    }
+
+    private void handleOrderCancelled(JsonNode json) {
+        Long serviceOrderId = extractServiceOrderId(json);
+        String reason = json.has("cancellationReason")
+                ? json.get("cancellationReason").asText()
+                : "Order cancelled";
+        log.info("OS {} cancelled. Cancelling execution if exists.",
+                serviceOrderId);
+
+        cancelExecution(serviceOrderId, reason);
+    }
+
+    /**
+     * Fails the active task of the service order, if any. Only the outcomes
+     * a redelivery cannot change are settled here: no task, or a task that
+     * already ended (e.g. a repeated refund). Anything else (a concurrent
+     * change, a data access error) is rethrown, so the event is not
+     * acknowledged as handled and the listener retries it or leaves it for
+     * redelivery.
+     */
+    private void cancelExecution(Long serviceOrderId, String reason) {
+        try {
+            failUseCase.executeByServiceOrderId(serviceOrderId, reason);
+        } catch (NotFoundException e) {
+            log.warn("No execution task to cancel for OS: {}", serviceOrderId);
+        } catch (InvalidDataException e) {
+            log.warn("Execution task of OS {} not cancelled: {}", serviceOrderId,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Payload {@code timestamp}: a local date-time as in the queue contract,
+     * or an ISO date-time with offset.
+     */
+    private LocalDateTime eventTimestamp(JsonNode json) {
+        if (!json.hasNonNull("timestamp")) {
+            return null;
+        }
+        String timestamp = json.get("timestamp").asText();
+        try {
+            return LocalDateTime.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(timestamp)
+                        .atZoneSameInstant(ZoneId.systemDefault())
+                        .toLocalDateTime();
+            } catch (DateTimeParseException ignored) {
+                log.debug("Invalid event timestamp: {}", timestamp);
+                return null;
+            }
+        }
+    }
+
+    private Long extractServiceOrderId(JsonNode json) {
+        if (json.has("serviceOrderId")) {
+            return json.get("serviceOrderId").asLong();
+        }
+        if (json.has("orderId")) {
+            return json.get("orderId").asLong();
+        }
+        throw new RuntimeException("serviceOrderId or orderId not found in event");
+    }
+
+    /**
+     * A parsed billing event with its SQS metadata.
+     *
+     * @param messageId the SQS message ID, or null
+     * @param sentAt    the SQS {@code SentTimestamp}, or null if unknown
+     */
+    public record BillingEvent(JsonNode json, String messageId, LocalDateTime sentAt) {
+    }
+}
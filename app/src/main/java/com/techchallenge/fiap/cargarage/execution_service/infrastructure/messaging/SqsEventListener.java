@@ -1,60 +1,121 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
 
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * AWS SQS message listener for consuming events from other services.
  * Handles Saga events: PaymentProcessed (start execution),
  * ServiceOrderCancelled (cancel execution).
+ *
+ * Active unless batch consumption is enabled
+ * ({@code messaging.sqs.listener.batch-enabled=true}), in which case
+ * {@link SqsBatchEventListener} takes over the same queues.
+ *
+ * Events are routed by their {@code eventType} message attribute, falling
+ * back to a streaming read of the payload; only handled event types are
+ * parsed into a JSON tree, the rest are acknowledged right away.
+ *
+ * The container invokes the asynchronous entry points; the blocking handling
+ * runs on the {@link SqsListenerExecutor} (a virtual thread when enabled).
  */
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "messaging.sqs.listener.batch-enabled",
+        havingValue = "false", matchIfMissing = true)
 public class SqsEventListener {
 
-    private final CreateExecutionTaskUseCase createUseCase;
-    private final FailExecutionTaskUseCase failUseCase;
-    private final ObjectMapper objectMapper;
+    private final SqsEventDispatcher dispatcher;
+    private final SqsListenerExecutor executor;
 
     public SqsEventListener(
             CreateExecutionTaskUseCase createUseCase,
-            FailExecutionTaskUseCase failUseCase) {
-        this.createUseCase = createUseCase;
-        this.failUseCase = failUseCase;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+            FailExecutionTaskUseCase failUseCase,
+            SqsListenerExecutor executor,
+            MeterRegistry meterRegistry) {
+        this.dispatcher = new SqsEventDispatcher(createUseCase, failUseCase, meterRegistry);
+        this.executor = executor;
+    }
+
+    @SqsListener("${messaging.sqs.queue.billing-events}")
+    public CompletableFuture<Void> onBillingEvent(Message<String> message) {
+        return executor.run(() -> handleBillingEvent(message));
+    }
+
+    @SqsListener("${messaging.sqs.queue.os-events}")
+    public CompletableFuture<Void> onOsServiceEvent(Message<String> message) {
+        return executor.run(() -> handleOsServiceEvent(message));
     }
 
     /**
      * Handles billing events (PaymentProcessed, PaymentFailed).
      * When payment is processed, creates an execution task in the queue.
      */
-    @SqsListener("${messaging.sqs.queue.billing-events}")
     public void handleBillingEvent(String message) {
+        handleBillingEvent(message, null, null, null);
+    }
+
+    /**
+     * Handles a billing event, routed by its {@code eventType} message
+     * attribute; the SQS message ID deduplicates PaymentProcessed events
+     * that carry no {@code eventId}, and the SQS send time stands in for a
+     * missing payload {@code timestamp}.
+     */
+    public void handleBillingEvent(Message<String> message) {
+        handleBillingEvent(message.getPayload(),
+                String.valueOf(message.getHeaders().getId()),
+                message.getHeaders().get(SqsEventDispatcher.EVENT_TYPE),
+                dispatcher.sentTimestamp(message.getHeaders().get(
+                        SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP)));
+    }
+
+    /**
+     * Handles OS service events (ServiceOrderCancelled).
+     * When an OS is cancelled, cancels any associated execution task.
+     */
+    public void handleOsServiceEvent(String message) {
+        handleOsServiceEvent(message, null);
+    }
+
+    /**
+     * Handles an OS service event, routed by its {@code eventType} message
+     * attribute.
+     */
+    public void handleOsServiceEvent(Message<String> message) {
+        handleOsServiceEvent(message.getPayload(),
+                message.getHeaders().get(SqsEventDispatcher.EVENT_TYPE));
+    }
+
+    private void handleBillingEvent(
+            String message, String messageId, Object eventTypeAttribute,
+            LocalDateTime sentAt) {
         try {
-            JsonNode json = objectMapper.readTree(message);
-            String eventType = json.has("eventType")
-                    ? json.get("eventType").asText()
-                    : "";
+            String eventType = dispatcher.routingEventType(eventTypeAttribute, message);
+            boolean handled = dispatcher.isHandledBillingEvent(eventType);
+            dispatcher.countReceived("billing", eventType, handled);
+            if (!handled) {
+                log.info("Ignoring billing event: {}", eventType);
+                return;
+            }
 
             log.info("Received billing event: {}", eventType);
 
-            switch (eventType) {
-                case "PaymentProcessed" -> handlePaymentProcessed(json);
-                case "PaymentFailed" -> handlePaymentFailed(json);
-                case "PaymentRefunded" -> handlePaymentRefunded(json);
-                default -> log.info("Ignoring billing event: {}", eventType);
-            }
+            JsonNode json = dispatcher.parse(message);
+            dispatcher.dispatchBillingEvent(eventType, json, messageId, sentAt);
         } catch (JsonProcessingException e) {
             log.error("Error processing billing event", e);
             throw new RuntimeException("Failed to process billing event", e);
@@ -64,25 +125,21 @@ public class SqsEventListener {
         }
     }
 
-    /**
-     * Handles OS service events (ServiceOrderCancelled).
-     * When an OS is cancelled, cancels any associated execution task.
-     */
-    @SqsListener("${messaging.sqs.queue.os-events}")
-    public void handleOsServiceEvent(String message) {
+    private void handleOsServiceEvent(String message, Object eventTypeAttribute) {
         try {
-            JsonNode json = objectMapper.readTree(message);
-            String eventType = json.has("eventType")
-                    ? json.get("eventType").asText()
-                    : "";
+            String eventType = dispatcher.routingEventType(eventTypeAttribute, message);
+            boolean handled = dispatcher.isOrderCancelled(eventType);
+            dispatcher.countReceived("os", eventType, handled);
+            if (!handled) {
+                // Acknowledged without parsing the rest of the payload
+                log.debug("Ignoring OS event: {}", eventType);
+                return;
+            }
 
             log.info("Received OS event: {}", eventType);
 
-            if ("ORDER_CANCELLED".equals(eventType) || "ServiceOrderCancelled".equals(eventType)) {
-                handleOrderCancelled(json);
-            } else {
-                log.debug("Ignoring OS event: {}", eventType);
-            }
+            JsonNode json = dispatcher.parse(message);
+            dispatcher.dispatchOsServiceEvent(eventType, json);
         } catch (JsonProcessingException e) {
             log.error("Error processing OS event", e);
             throw new RuntimeException("Failed to process OS event", e);
@@ -91,82 +148,4 @@ public class SqsEventListener {
             throw e;
         }
     }
-
-    private void handlePaymentProcessed(JsonNode json) {
-        Long serviceOrderId = extractServiceOrderId(json);
-        log.info("Payment processed for OS: {}. Creating execution task.", serviceOrderId);
-
-        ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
-                .serviceOrderId(serviceOrderId)
-                .customerId(json.has("customerId")
-                        ? json.get("customerId").asLong()
-                        : null)
-                .vehicleId(json.has("vehicleId")
-                        ? json.get("vehicleId").asLong()
-                        : null)
-                .vehicleLicensePlate(json.has("vehicleLicensePlate")
-                        ? json.get("vehicleLicensePlate").asText()
-                        : null)
-                .description("Execution for service order " + serviceOrderId)
-                .priority(0)
-                .build();
-
-        createUseCase.execute(request);
-        log.info("Execution task created for OS: {}", serviceOrderId);
-    }
-
-    private void handlePaymentFailed(JsonNode json) {
-        Long serviceOrderId = extractServiceOrderId(json);
-        String reason = json.has("failureReason")
-                ? json.get("failureReason").asText()
-                : "Payment failed";
-        log.info("Payment failed for OS: {}. Cancelling execution if exists.",
-                serviceOrderId);
-
-        try {
-            failUseCase.executeByServiceOrderId(serviceOrderId, reason);
-        } catch (Exception e) {
-            log.warn("No execution task to cancel for OS: {}", serviceOrderId);
-        }
-    }
-
-    private void handlePaymentRefunded(JsonNode json) {
-        Long serviceOrderId = extractServiceOrderId(json);
-        String reason = json.has("refundReason")
-                ? json.get("refundReason").asText()
-                : "Payment refunded";
-        log.info("Payment refunded for OS: {}. Cancelling execution if exists.",
-                serviceOrderId);
-
-        try {
-            failUseCase.executeByServiceOrderId(serviceOrderId, reason);
-        } catch (Exception e) {
-            log.warn("No execution task to cancel for OS: {}", serviceOrderId);
-        }
-    }
-
-    private void handleOrderCancelled(JsonNode json) {
-        Long serviceOrderId = extractServiceOrderId(json);
-        String reason = json.has("cancellationReason")
-                ? json.get("cancellationReason").asText()
-                : "Order cancelled";
-        log.info("OS {} cancelled. Cancelling execution if exists.",
-                serviceOrderId);
-
-        try {
-            failUseCase.executeByServiceOrderId(serviceOrderId, reason);
-        } catch (Exception e) {
-            log.warn("No execution task to cancel for OS: {}", serviceOrderId);
-        }
-    }
-
-    private Long extractServiceOrderId(JsonNode json) {
-        if (json.has("serviceOrderId")) {
-            return json.get("serviceOrderId").asLong();
-        }
-        if (json.has("orderId")) {
-            return json.get("orderId").asLong();
-        }
-        throw new RuntimeException("serviceOrderId or orderId not found in event");
-    }
 }
@@ -1,144 +1,98 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
+import java.util.List;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
 
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
 /**
  * AWS SQS implementation of ExecutionEventPublisher.
  * Publishes events to SQS queues for Saga pattern integration.
+ *
+ * Sends synchronously on the caller's thread, one message after the other;
+ * the events of a bulk status change go out with SendMessageBatch. Only
+ * active when the transactional outbox is disabled
+ * ({@code messaging.outbox.enabled=false}) and
+ * {@code messaging.sqs.publisher.mode=sync}. See
+ * {@link AsyncSqsExecutionEventPublisher} for the default.
  */
 @Slf4j
 @Component
+@ConditionalOnExpression("!${messaging.outbox.enabled:true} "
+        + "and '${messaging.sqs.publisher.mode:async}' == 'sync'")
 public class SqsExecutionEventPublisher implements ExecutionEventPublisher {
 
     private final SqsClient sqsClient;
-    private final ObjectMapper objectMapper;
+    private final ExecutionEventMessageFactory messageFactory;
 
-    @Value("${messaging.sqs.queue.execution-events-url}")
-    private String executionEventsQueueUrl;
-
-    @Value("${messaging.sqs.queue.execution-completed-url}")
-    private String executionCompletedQueueUrl;
-
-    @Value("${messaging.sqs.queue.resource-unavailable-url}")
-    private String resourceUnavailableQueueUrl;
-
-    public SqsExecutionEventPublisher(SqsClient sqsClient) {
+    public SqsExecutionEventPublisher(
+            SqsClient sqsClient,
+            ExecutionEventMessageFactory messageFactory) {
         this.sqsClient = sqsClient;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.messageFactory = messageFactory;
     }
 
     @Override
     public void publishExecutionStarted(ExecutionTask task) {
-        publishFifoEvent("ExecutionStarted", task);
+        send(messageFactory.executionStarted(task), task);
     }
 
     @Override
     public void publishExecutionCompleted(ExecutionTask task) {
-        // Publish to FIFO queue for Saga tracking
-        publishFifoEvent("ExecutionCompleted", task);
-        // Publish to standard queue for OS Service consumption
-        publishToOsServiceQueue(executionCompletedQueueUrl, task);
+        send(messageFactory.executionCompleted(task), task);
     }
 
     @Override
     public void publishExecutionFailed(ExecutionTask task) {
-        // Publish to FIFO queue for Saga tracking
-        publishFifoEvent("ExecutionFailed", task);
-        // Publish compensation event to OS Service
-        publishToOsServiceQueue(resourceUnavailableQueueUrl, task);
+        send(messageFactory.executionFailed(task), task);
     }
 
-    private void publishFifoEvent(String eventType, ExecutionTask task) {
-        try {
-            ExecutionEventDto event = ExecutionEventDto.builder()
-                    .eventId(UUID.randomUUID().toString())
-                    .eventType(eventType)
-                    .executionTaskId(task.id())
-                    .serviceOrderId(task.serviceOrderId())
-                    .customerId(task.customerId())
-                    .vehicleId(task.vehicleId())
-                    .vehicleLicensePlate(task.vehicleLicensePlate())
-                    .status(task.status() != null ? task.status().value() : null)
-                    .failureReason(task.failureReason())
-                    .timestamp(LocalDateTime.now())
-                    .build();
-
-            String messageBody = objectMapper.writeValueAsString(event);
-
-            Map<String, MessageAttributeValue> attrs = new HashMap<>();
-            attrs.put("eventType", MessageAttributeValue.builder()
-                    .stringValue(eventType).dataType("String").build());
-            attrs.put("serviceOrderId", MessageAttributeValue.builder()
-                    .stringValue(task.serviceOrderId().toString())
-                    .dataType("String").build());
-
-            SendMessageRequest request = SendMessageRequest.builder()
-                    .queueUrl(executionEventsQueueUrl)
-                    .messageBody(messageBody)
-                    .messageAttributes(attrs)
-                    .messageGroupId("execution-service-events")
-                    .messageDeduplicationId(
-                            task.id() + "-" + eventType + "-" + System.currentTimeMillis())
-                    .build();
-
-            sqsClient.sendMessage(request);
-            log.info("Published FIFO event: {} for task: {} (OS: {})",
-                    eventType, task.id(), task.serviceOrderId());
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing event for task: {}", task.id(), e);
-            throw new RuntimeException("Failed to serialize event", e);
-        } catch (Exception e) {
-            log.error("Error publishing FIFO event for task: {}", task.id(), e);
-            throw new RuntimeException("Failed to publish event to SQS", e);
+    @Override
+    public void publishStatusChanges(List<ExecutionTask> tasks) {
+        List<SendMessageRequest> requests = tasks.stream()
+                .flatMap(task -> messageFactory.statusChanged(task).stream())
+                .toList();
+        for (SendMessageBatchRequest batch : SqsBatches.of(requests)) {
+            SendMessageBatchResponse response;
+            try {
+                response = sqsClient.sendMessageBatch(batch);
+            } catch (Exception e) {
+                log.error("Error publishing {} events to {}",
+                        batch.entries().size(), batch.queueUrl(), e);
+                throw new RuntimeException("Failed to publish events to SQS", e);
+            }
+            if (response.hasFailed() && !response.failed().isEmpty()) {
+                for (BatchResultErrorEntry failed : response.failed()) {
+                    log.error("Error publishing event {} of batch to {}: {} {}",
+                            failed.id(), batch.queueUrl(), failed.code(), failed.message());
+                }
+                throw new RuntimeException("Failed to publish "
+                        + response.failed().size() + " events to SQS");
+            }
+            log.info("Published {} events to {}", batch.entries().size(), batch.queueUrl());
         }
     }
 
-    /**
-     * Publishes a simple event to a standard queue consumed by OS Service.
-     * Payload: { "orderId": <serviceOrderId>, "reason": "<failureReason>" }
-     */
-    private void publishToOsServiceQueue(String queueUrl, ExecutionTask task) {
-        try {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("orderId", task.serviceOrderId());
-            if (task.failureReason() != null) {
-                payload.put("reason", task.failureReason());
+    private void send(List<SendMessageRequest> requests, ExecutionTask task) {
+        for (SendMessageRequest request : requests) {
+            try {
+                sqsClient.sendMessage(request);
+                log.info("Published event to {} for task: {} (OS: {})",
+                        request.queueUrl(), task.id(), task.serviceOrderId());
+            } catch (Exception e) {
+                log.error("Error publishing event to {} for task: {}",
+                        request.queueUrl(), task.id(), e);
+                throw new RuntimeException("Failed to publish event to SQS", e);
             }
-
-            String messageBody = objectMapper.writeValueAsString(payload);
-
-            SendMessageRequest request = SendMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .messageBody(messageBody)
-                    .build();
-
-            sqsClient.sendMessage(request);
-            log.info("Published to OS Service queue: {} for OS: {}",
-                    queueUrl, task.serviceOrderId());
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing OS event for task: {}", task.id(), e);
-            throw new RuntimeException("Failed to serialize event", e);
-        } catch (Exception e) {
-            log.error("Error publishing to OS Service queue for task: {}",
-                    task.id(), e);
-            throw new RuntimeException("Failed to publish event to SQS", e);
         }
     }
 }
@@ -0,0 +1,47 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs the blocking part of SQS message handling (JDBC, synchronous SQS
+ * publishing) for the listeners.
+ *
+ * The spring-cloud-aws listener container only accepts its own platform
+ * thread type, so in virtual-thread mode the listeners return a future and
+ * the work continues on a virtual thread, releasing the container thread.
+ * Otherwise the work runs inline on the container thread, as before.
+ */
+public final class SqsListenerExecutor {
+
+    private final Executor executor;
+
+    private SqsListenerExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs handlers on the calling (container) thread.
+     */
+    public static SqsListenerExecutor direct() {
+        return new SqsListenerExecutor(new SyncTaskExecutor());
+    }
+
+    /**
+     * Runs each handler on a new virtual thread.
+     */
+    public static SqsListenerExecutor virtualThreads() {
+        return new SqsListenerExecutor(new VirtualThreadTaskExecutor("sqs-listener-"));
+    }
+
+    /**
+     * Runs the handler; a failure completes the future exceptionally, which
+     * leaves the message unacknowledged like a thrown exception would.
+     */
+    public CompletableFuture<Void> run(Runnable handler) {
+        return CompletableFuture.runAsync(handler, executor);
+    }
+}
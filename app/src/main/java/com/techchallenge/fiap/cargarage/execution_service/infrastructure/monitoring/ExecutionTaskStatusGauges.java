@@ -0,0 +1,64 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionStatusEnum;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository.ExecutionTaskRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes the number of execution tasks per status as the
+ * {@code execution.tasks} gauge.
+ *
+ * The counts come from a single GROUP BY query refreshed on a fixed delay,
+ * so scraping the gauges never hits the database. If a refresh fails the
+ * previous counts are kept.
+ */
+@Slf4j
+@Component
+public class ExecutionTaskStatusGauges {
+
+    static final String TASKS_GAUGE = "execution.tasks";
+
+    private final ExecutionTaskRepository repository;
+    private final Map<ExecutionStatusEnum, AtomicLong> counts =
+            new EnumMap<>(ExecutionStatusEnum.class);
+
+    public ExecutionTaskStatusGauges(
+            ExecutionTaskRepository repository, MeterRegistry registry) {
+        this.repository = repository;
+        for (ExecutionStatusEnum status : ExecutionStatusEnum.values()) {
+            AtomicLong count = new AtomicLong();
+            counts.put(status, count);
+            Gauge.builder(TASKS_GAUGE, count, AtomicLong::get)
+                    .description("Execution tasks per status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.execution-task.status-gauges.fixed-delay-ms:30000}")
+    public void refresh() {
+        Map<ExecutionStatusEnum, Long> latest = new EnumMap<>(ExecutionStatusEnum.class);
+        try {
+            for (ExecutionTaskRepository.StatusCount row : repository.countByStatus()) {
+                ExecutionStatusEnum status = ExecutionStatusEnum.fromString(row.getStatus());
+                if (status != null) {
+                    latest.put(status, row.getTotal());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not refresh execution task status gauges", e);
+            return;
+        }
+        counts.forEach((status, count) -> count.set(latest.getOrDefault(status, 0L)));
+    }
+}
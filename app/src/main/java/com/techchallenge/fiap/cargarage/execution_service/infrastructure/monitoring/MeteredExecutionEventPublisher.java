@@ -0,0 +1,123 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts the events published by the use cases as
+ * {@code execution.events.published}, tagged with the event type and
+ * whether the publisher accepted it. With the outbox enabled an accepted
+ * event is one written to the outbox, not yet sent to SQS.
+ *
+ * Accepted ExecutionStarted and ExecutionCompleted events also record the
+ * task's Saga latency ({@link SagaLatencyMetrics}).
+ */
+public class MeteredExecutionEventPublisher implements ExecutionEventPublisher {
+
+    static final String PUBLISHED_COUNTER = "execution.events.published";
+
+    private final ExecutionEventPublisher delegate;
+    private final MeterRegistry registry;
+    private final SagaLatencyMetrics sagaLatency;
+
+    public MeteredExecutionEventPublisher(
+            ExecutionEventPublisher delegate,
+            MeterRegistry registry,
+            SagaLatencyMetrics sagaLatency) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.sagaLatency = sagaLatency;
+    }
+
+    @Override
+    public void publishExecutionStarted(ExecutionTask task) {
+        publish("ExecutionStarted", () -> delegate.publishExecutionStarted(task));
+        sagaLatency.recordStarted(task);
+    }
+
+    @Override
+    public void publishExecutionCompleted(ExecutionTask task) {
+        publish("ExecutionCompleted", () -> delegate.publishExecutionCompleted(task));
+        sagaLatency.recordCompleted(task);
+    }
+
+    @Override
+    public void publishExecutionFailed(ExecutionTask task) {
+        publish("ExecutionFailed", () -> delegate.publishExecutionFailed(task));
+    }
+
+    /**
+     * Counts one event per task, by the task's status; a failure of the
+     * delegate counts every event of the call as failed.
+     */
+    @Override
+    public void publishStatusChanges(List<ExecutionTask> tasks) {
+        Map<String, Long> eventTypes = tasks.stream()
+                .map(MeteredExecutionEventPublisher::eventType)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(),
+                        LinkedHashMap::new, Collectors.counting()));
+        String outcome = "failure";
+        try {
+            delegate.publishStatusChanges(tasks);
+            outcome = "success";
+        } finally {
+            String result = outcome;
+            eventTypes.forEach((eventType, count) -> counter(eventType, result).increment(count));
+        }
+        for (ExecutionTask task : tasks) {
+            if (task.status() == null) {
+                continue;
+            }
+            if (task.status().isInProgress()) {
+                sagaLatency.recordStarted(task);
+            } else if (task.status().isCompleted()) {
+                sagaLatency.recordCompleted(task);
+            }
+        }
+    }
+
+    private static String eventType(ExecutionTask task) {
+        if (task.status() == null) {
+            return null;
+        }
+        if (task.status().isInProgress()) {
+            return "ExecutionStarted";
+        }
+        if (task.status().isCompleted()) {
+            return "ExecutionCompleted";
+        }
+        if (task.status().isFailed()) {
+            return "ExecutionFailed";
+        }
+        return null;
+    }
+
+    private void publish(String eventType, Runnable publish) {
+        String outcome = "failure";
+        try {
+            publish.run();
+            outcome = "success";
+        } finally {
+            counter(eventType, outcome).increment();
+        }
+    }
+
+    private Counter counter(String eventType, String outcome) {
+        return Counter.builder(PUBLISHED_COUNTER)
+                .description("Execution events published by the use cases")
+                .tag("event_type", eventType)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,142 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.SagaLatencyDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Records the Saga latency of execution tasks as the
+ * {@code execution.saga.latency} timer, tagged by stage and priority:
+ *
+ * <ul>
+ * <li>{@code queueWait}: created → started, when ExecutionStarted is published</li>
+ * <li>{@code execution}: started → completed, when ExecutionCompleted is published</li>
+ * <li>{@code total}: PaymentProcessed emitted (or task created) → completed</li>
+ * </ul>
+ *
+ * The timers publish a percentile histogram for Prometheus and keep rolling
+ * client-side percentiles over {@code monitoring.saga-latency.window} for
+ * {@link #snapshot()}. Inside a transaction a latency is only recorded once
+ * it commits.
+ */
+@Component
+public class SagaLatencyMetrics {
+
+    static final String LATENCY_TIMER = "execution.saga.latency";
+    static final String QUEUE_WAIT = "queueWait";
+    static final String EXECUTION = "execution";
+    static final String TOTAL = "total";
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final Duration window;
+
+    public SagaLatencyMetrics(
+            MeterRegistry registry,
+            @Value("${monitoring.saga-latency.window:1h}") Duration window) {
+        this.registry = registry;
+        this.window = window;
+    }
+
+    /**
+     * Records the queue wait of a task that has just started.
+     */
+    public void recordStarted(ExecutionTask task) {
+        afterCommit(() -> record(QUEUE_WAIT, task, task.createdAt(), task.startedAt()));
+    }
+
+    /**
+     * Records the execution time and total Saga latency of a completed task.
+     */
+    public void recordCompleted(ExecutionTask task) {
+        LocalDateTime sagaStartedAt = task.sagaStartedAt() != null
+                ? task.sagaStartedAt()
+                : task.createdAt();
+        afterCommit(() -> {
+            record(EXECUTION, task, task.startedAt(), task.completedAt());
+            record(TOTAL, task, sagaStartedAt, task.completedAt());
+        });
+    }
+
+    /**
+     * Rolling percentiles per priority and stage.
+     */
+    public List<SagaLatencyDto> snapshot() {
+        Map<Integer, Map<String, SagaLatencyDto.StageLatency>> byPriority = new TreeMap<>();
+        for (Timer timer : registry.find(LATENCY_TIMER).timers()) {
+            Integer priority = Integer.valueOf(timer.getId().getTag("priority"));
+            byPriority.computeIfAbsent(priority, key -> new TreeMap<>())
+                    .put(timer.getId().getTag("stage"), stageLatency(timer.takeSnapshot()));
+        }
+        List<SagaLatencyDto> latencies = new ArrayList<>();
+        byPriority.forEach((priority, stages) -> latencies.add(SagaLatencyDto.builder()
+                .priority(priority)
+                .stages(stages)
+                .build()));
+        return latencies;
+    }
+
+    private SagaLatencyDto.StageLatency stageLatency(HistogramSnapshot snapshot) {
+        Map<String, Double> percentiles = new TreeMap<>();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.put("p" + Math.round(value.percentile() * 100),
+                    value.value(TimeUnit.SECONDS));
+        }
+        return SagaLatencyDto.StageLatency.builder()
+                .count(snapshot.count())
+                .meanSeconds(snapshot.mean(TimeUnit.SECONDS))
+                .maxSeconds(snapshot.max(TimeUnit.SECONDS))
+                .percentilesSeconds(percentiles)
+                .build();
+    }
+
+    private void record(
+            String stage, ExecutionTask task, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return;
+        }
+        Timer.builder(LATENCY_TIMER)
+                .description("Saga latency of execution tasks per stage")
+                .tag("stage", stage)
+                .tag("priority", String.valueOf(task.priority() != null ? task.priority() : 0))
+                .publishPercentileHistogram()
+                .publishPercentiles(PERCENTILES)
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofDays(7))
+                .distributionStatisticExpiry(window)
+                .register(registry)
+                .record(Duration.between(from, to));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+}
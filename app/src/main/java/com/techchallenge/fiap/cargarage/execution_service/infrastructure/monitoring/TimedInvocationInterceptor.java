@@ -0,0 +1,102 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.BusinessException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every public method call of a use case or data source, tagged with
+ * the class, method and outcome, without touching the application layer:
+ * the instances are wrapped in a proxy where they are wired.
+ *
+ * Use cases are concrete classes and get a class proxy; the data source is
+ * proxied through its interface.
+ */
+public final class TimedInvocationInterceptor implements MethodInterceptor {
+
+    static final String USE_CASE_TIMER = "execution.usecase";
+    static final String DATA_SOURCE_TIMER = "execution.datasource";
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final String className;
+    private final boolean percentileHistogram;
+
+    private TimedInvocationInterceptor(
+            MeterRegistry registry, String name, String className,
+            boolean percentileHistogram) {
+        this.registry = registry;
+        this.name = name;
+        this.className = className;
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    /**
+     * Wraps a use case; its timers publish a percentile histogram so latency
+     * percentiles can be aggregated across replicas.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T timedUseCase(T useCase, MeterRegistry registry) {
+        ProxyFactory factory = new ProxyFactory(useCase);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new TimedInvocationInterceptor(registry, USE_CASE_TIMER,
+                useCase.getClass().getSimpleName(), true));
+        return (T) factory.getProxy();
+    }
+
+    /**
+     * Wraps a data source to time each persistence call.
+     */
+    public static ExecutionTaskDataSource timedDataSource(
+            ExecutionTaskDataSource dataSource, MeterRegistry registry) {
+        ProxyFactory factory = new ProxyFactory(dataSource);
+        factory.setInterfaces(ExecutionTaskDataSource.class);
+        factory.addAdvice(new TimedInvocationInterceptor(registry, DATA_SOURCE_TIMER,
+                ExecutionTaskDataSource.class.getSimpleName(), false));
+        return (ExecutionTaskDataSource) factory.getProxy();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "success";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(timer(invocation.getMethod().getName(), outcome));
+        }
+    }
+
+    private Timer timer(String method, String outcome) {
+        return Timer.builder(name)
+                .tag("class", className)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(registry);
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof NotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof InvalidDataException) {
+            return "invalid";
+        }
+        if (e instanceof BusinessException) {
+            return "rejected";
+        }
+        return "error";
+    }
+}
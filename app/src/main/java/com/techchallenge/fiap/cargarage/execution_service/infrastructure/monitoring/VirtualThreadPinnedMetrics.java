@@ -0,0 +1,56 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes JFR {@code jdk.VirtualThreadPinned} events as the
+ * {@code jvm.threads.virtual.pinned} timer.
+ *
+ * A virtual thread is pinned when it blocks inside a {@code synchronized}
+ * block or a native frame and therefore holds on to its carrier thread. The
+ * JFR event is only emitted for pins longer than {@code threshold}.
+ */
+@Slf4j
+public class VirtualThreadPinnedMetrics implements MeterBinder, AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinnedMetrics(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (recordingStream != null) {
+            return;
+        }
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(registry);
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold);
+        recordingStream.onEvent(PINNED_EVENT, event -> {
+            pinned.record(event.getDuration());
+            log.debug("Virtual thread pinned for {} ms", event.getDuration().toMillis());
+        });
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed.ExecutionTaskChangeHandler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes task changes to the Server-Sent Events subscribers of this
+ * replica ({@code GET /execution-tasks/stream}): its own changes and, with
+ * the change feed enabled, those committed by the other replicas.
+ *
+ * Changes made inside a transaction are broadcast after it commits. Each
+ * subscriber has a bounded buffer ({@code stream.execution-task.buffer-size});
+ * when a client cannot keep up its oldest pending events are dropped and
+ * counted as {@code execution.stream.events.dropped}.
+ *
+ * Every open stream holds a request thread's async slot, a heartbeat and a
+ * buffer, so each replica accepts at most
+ * {@code stream.execution-task.max-subscribers}; further subscriptions are
+ * rejected with {@link TooManySubscribersException} (503) and counted as
+ * {@code execution.stream.subscriptions.rejected}.
+ */
+@Component
+public class ExecutionTaskChangeBroadcaster
+        implements ExecutionTaskChangeNotifier, ExecutionTaskChangeHandler {
+
+    static final String SUBSCRIBERS_GAUGE = "execution.stream.subscribers";
+    static final String DROPPED_COUNTER = "execution.stream.events.dropped";
+    static final String REJECTED_COUNTER = "execution.stream.subscriptions.rejected";
+
+    private final Set<ExecutionTaskSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Counter dropped;
+    private final Counter rejected;
+
+    @Value("${stream.execution-task.buffer-size:256}")
+    private int bufferSize = 256;
+
+    @Value("${stream.execution-task.heartbeat:15s}")
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    @Value("${stream.execution-task.timeout:30m}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    @Value("${stream.execution-task.max-subscribers:500}")
+    private int maxSubscribers = 500;
+
+    public ExecutionTaskChangeBroadcaster(MeterRegistry registry) {
+        this.dropped = Counter.builder(DROPPED_COUNTER)
+                .description("Stream events dropped because a subscriber's buffer was full")
+                .register(registry);
+        this.rejected = Counter.builder(REJECTED_COUNTER)
+                .description("Stream subscriptions rejected because the replica was at capacity")
+                .register(registry);
+        Gauge.builder(SUBSCRIBERS_GAUGE, subscriptions, Set::size)
+                .description("Open execution task stream connections")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream of the changes matching the filter. The connection is
+     * closed after {@code stream.execution-task.timeout}; clients such as
+     * EventSource reconnect on their own.
+     *
+     * @throws TooManySubscribersException if the replica already has
+     *                                     {@code max-subscribers} streams open
+     */
+    public SseEmitter subscribe(ExecutionTaskStreamFilter filter) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        ExecutionTaskSubscription subscription = new ExecutionTaskSubscription(
+                emitter, filter, bufferSize, heartbeat, dropped::increment,
+                subscriptions::remove);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        add(subscription);
+        return emitter;
+    }
+
+    /**
+     * Registers the subscription unless the replica is at capacity. Check and
+     * add are atomic so concurrent subscribes cannot overshoot the limit.
+     */
+    void add(ExecutionTaskSubscription subscription) {
+        synchronized (subscriptions) {
+            if (subscriptions.size() >= maxSubscribers) {
+                throw rejected();
+            }
+            subscriptions.add(subscription);
+        }
+        subscription.start();
+    }
+
+    private TooManySubscribersException rejected() {
+        rejected.increment();
+        return new TooManySubscribersException(
+                "Too many open execution task streams (" + maxSubscribers + ")");
+    }
+
+    @Override
+    public void taskChanged(ExecutionTask task) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        ExecutionTaskChangeEventDto event = ExecutionTaskChangeEventDto.of(task);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            broadcast(event);
+                        }
+                    });
+        } else {
+            broadcast(event);
+        }
+    }
+
+    @Override
+    public void onRemoteChange(ExecutionTaskChangeEventDto event) {
+        broadcast(event);
+    }
+
+    void broadcast(ExecutionTaskChangeEventDto event) {
+        subscriptions.forEach(subscription -> subscription.offer(event));
+    }
+
+    int subscribers() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    void closeAll() {
+        subscriptions.forEach(ExecutionTaskSubscription::close);
+    }
+}
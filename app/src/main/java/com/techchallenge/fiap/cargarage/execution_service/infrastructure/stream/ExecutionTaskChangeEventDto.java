@@ -0,0 +1,25 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream;
+
+import java.time.LocalDateTime;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+/**
+ * Compact payload of a task change pushed to stream subscribers.
+ */
+public record ExecutionTaskChangeEventDto(
+        Long id,
+        Long serviceOrderId,
+        String status,
+        String assignedTechnician,
+        LocalDateTime updatedAt) {
+
+    public static ExecutionTaskChangeEventDto of(ExecutionTask task) {
+        return new ExecutionTaskChangeEventDto(
+                task.id(),
+                task.serviceOrderId(),
+                task.status() != null ? task.status().value() : null,
+                task.assignedTechnician(),
+                task.updatedAt());
+    }
+}
@@ -0,0 +1,21 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream;
+
+/**
+ * Which task changes a stream subscriber receives; null criteria match any
+ * task.
+ *
+ * @param status         status value, e.g. {@code IN_PROGRESS}
+ * @param serviceOrderId service order ID
+ * @param technician     assigned technician
+ */
+public record ExecutionTaskStreamFilter(
+        String status,
+        Long serviceOrderId,
+        String technician) {
+
+    public boolean matches(ExecutionTaskChangeEventDto event) {
+        return (status == null || status.equals(event.status()))
+                && (serviceOrderId == null || serviceOrderId.equals(event.serviceOrderId()))
+                && (technician == null || technician.equals(event.assignedTechnician()));
+    }
+}
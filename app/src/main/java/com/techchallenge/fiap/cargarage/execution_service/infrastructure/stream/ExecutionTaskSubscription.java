@@ -0,0 +1,113 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One stream subscriber: a bounded buffer of pending events drained to the
+ * client by its own virtual thread, so a slow client never blocks the
+ * thread that committed the change.
+ *
+ * When the buffer is full the oldest pending event is dropped. An idle
+ * connection gets a comment every heartbeat, which also detects clients
+ * that went away.
+ */
+@Slf4j
+class ExecutionTaskSubscription {
+
+    static final String EVENT_NAME = "execution-task";
+
+    private final SseEmitter emitter;
+    private final ExecutionTaskStreamFilter filter;
+    private final BlockingQueue<ExecutionTaskChangeEventDto> buffer;
+    private final Duration heartbeat;
+    private final Runnable onDropped;
+    private final Consumer<ExecutionTaskSubscription> onClosed;
+    private volatile Thread sender;
+
+    ExecutionTaskSubscription(
+            SseEmitter emitter,
+            ExecutionTaskStreamFilter filter,
+            int bufferSize,
+            Duration heartbeat,
+            Runnable onDropped,
+            Consumer<ExecutionTaskSubscription> onClosed) {
+        this.emitter = emitter;
+        this.filter = filter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.heartbeat = heartbeat;
+        this.onDropped = onDropped;
+        this.onClosed = onClosed;
+    }
+
+    void start() {
+        sender = Thread.ofVirtual().name("execution-task-stream").start(this::send);
+    }
+
+    /**
+     * Queues the event if the subscriber's filter matches it, dropping the
+     * oldest pending event when the buffer is full.
+     */
+    void offer(ExecutionTaskChangeEventDto event) {
+        if (!filter.matches(event)) {
+            return;
+        }
+        while (!buffer.offer(event)) {
+            if (buffer.poll() != null) {
+                onDropped.run();
+            }
+        }
+    }
+
+    /**
+     * Stops sending and completes the response.
+     */
+    void close() {
+        Thread thread = sender;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    int pending() {
+        return buffer.size();
+    }
+
+    private void send() {
+        try {
+            while (true) {
+                ExecutionTaskChangeEventDto event =
+                        buffer.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } else {
+                    emitter.send(SseEmitter.event().name(EVENT_NAME)
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Stream subscriber disconnected: {}", e.getMessage());
+        } finally {
+            onClosed.accept(this);
+        }
+    }
+
+    private void complete() {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // already completed by a timeout or a disconnect
+        }
+    }
+}
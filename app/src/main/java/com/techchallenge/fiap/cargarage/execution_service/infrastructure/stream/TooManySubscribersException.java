@@ -0,0 +1,12 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream;
+
+/**
+ * Thrown when a replica already serves
+ * {@code stream.execution-task.max-subscribers} open streams.
+ */
+public class TooManySubscribersException extends RuntimeException {
+
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+-- Replaces the single-column indexes with indexes shaped after the queries
+-- that actually run (checked by ExecutionTaskQueryPlanTest).
+
+-- status alone was too unselective to serve ordered pages; customer_id is never queried
+DROP INDEX IF EXISTS idx_execution_task_status;
+DROP INDEX IF EXISTS idx_execution_task_customer_id;
+-- Latest task of a service order (findByServiceOrderId): equality + ORDER BY id DESC LIMIT 1
+DROP INDEX IF EXISTS idx_execution_task_service_order_id;
+CREATE INDEX IF NOT EXISTS idx_execution_task_service_order_id_id ON execution_task (service_order_id, id);
+
+-- Status-filtered pages (GET /execution-tasks/status/{status}), ordered by priority then age
+CREATE INDEX IF NOT EXISTS idx_execution_task_status_priority_created_at_id ON execution_task (status, priority DESC, created_at, id);
+-- Same ordering restricted to active tasks: QUEUED and IN_PROGRESS rows are a small share
+-- of the table, so the index stays small and cached for the hot work-queue pages while
+-- COMPLETED/FAILED history is served by the full index above
+CREATE INDEX IF NOT EXISTS idx_execution_task_active ON execution_task (status, priority DESC, created_at, id) WHERE status IN ('QUEUED', 'IN_PROGRESS');
+
+-- Active-task lookup by service order is served by the unique partial index
+-- ux_execution_task_active_service_order (service_order_id) WHERE status <> 'FAILED' (V1)
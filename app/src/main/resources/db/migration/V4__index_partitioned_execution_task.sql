@@ -0,0 +1,13 @@
+-- Indexes of the monthly-partitioned execution_task (V3). Created on the
+-- partitioned table, they cascade to every existing and future partition.
+-- The unique active-task index per service order cannot live here (it would
+-- have to include created_at) and is created on each partition instead.
+
+CREATE INDEX IF NOT EXISTS idx_execution_task_service_order_id_id ON execution_task (service_order_id, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_status_priority_created_at_id ON execution_task (status, priority DESC, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_active ON execution_task (status, priority DESC, created_at, id) WHERE status IN ('QUEUED', 'IN_PROGRESS');
+CREATE INDEX IF NOT EXISTS idx_execution_task_created_at_id ON execution_task (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_priority_id ON execution_task (priority DESC, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_status_created_at_id ON execution_task (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_status_priority_id ON execution_task (status, priority DESC, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_claim ON execution_task (priority DESC NULLS LAST, created_at, id) WHERE status = 'QUEUED';
@@ -0,0 +1,11 @@
+-- execution_task ids move from one sequence call per row (BIGSERIAL) to
+-- Hibernate's pooled optimizer: every nextval reserves a block of 50 ids
+-- (ExecutionTaskEntity.ID_ALLOCATION_SIZE), which is what lets bulk creates
+-- be sent as JDBC batches. Native inserts still draw from the same sequence,
+-- one block per row, so both never hand out the same id.
+ALTER SEQUENCE execution_task_id_seq INCREMENT BY 50;
+
+-- Ids no longer follow creation order: the latest task of a service order
+-- (findByServiceOrderId) is found by created_at, with id as the tie-breaker
+DROP INDEX IF EXISTS idx_execution_task_service_order_id_id;
+CREATE INDEX IF NOT EXISTS idx_execution_task_service_order_id_created_at_id ON execution_task (service_order_id, created_at DESC, id DESC);
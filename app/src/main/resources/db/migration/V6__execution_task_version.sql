@@ -0,0 +1,6 @@
+-- Optimistic lock version of execution_task (ExecutionTaskEntity.version).
+-- Existing rows start at 0; every update bumps it, so a write based on a
+-- stale read matches no row and is reported as a conflict instead of
+-- silently overwriting the newer state. Added on the partitioned parent, so
+-- every partition gets the column.
+ALTER TABLE execution_task ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
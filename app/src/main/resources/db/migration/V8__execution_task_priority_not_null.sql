@@ -0,0 +1,6 @@
+-- priority is the sort key of the priority keyset pages, and a cursor can
+-- only point past a row with a priority. Inserts already write 0 when none is
+-- given; rows that predate that get 0 as well, and the column no longer
+-- accepts NULL. Set on the partitioned parent, so every partition gets it.
+UPDATE execution_task SET priority = 0 WHERE priority IS NULL;
+ALTER TABLE execution_task ALTER COLUMN priority SET NOT NULL;
@@ -2,11 +2,14 @@ package com.techchallenge.fiap.cargarage.execution_service.application.controlle
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,14 +19,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.BulkItemResultDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskClaimRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusChangeDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusUpdateDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.BulkItemResult;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.BulkItemOutcomeEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ClaimExecutionTasksUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.ExportExecutionTasksUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FindExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.UpdateExecutionTaskStatusUseCase;
@@ -39,6 +51,10 @@ class ExecutionTaskCleanArchControllerTest {
     private UpdateExecutionTaskStatusUseCase updateStatusUseCase;
     @Mock
     private FailExecutionTaskUseCase failUseCase;
+    @Mock
+    private ClaimExecutionTasksUseCase claimUseCase;
+    @Mock
+    private ExportExecutionTasksUseCase exportUseCase;
 
     private ExecutionTaskCleanArchController controller;
 
@@ -47,7 +63,8 @@ class ExecutionTaskCleanArchControllerTest {
     @BeforeEach
     void setUp() {
         controller = new ExecutionTaskCleanArchController(
-                findUseCase, createUseCase, updateStatusUseCase, failUseCase);
+                findUseCase, createUseCase, updateStatusUseCase, failUseCase,
+                claimUseCase, exportUseCase);
     }
 
     private ExecutionTask createTask() {
@@ -64,6 +81,16 @@ class ExecutionTaskCleanArchControllerTest {
                 .build();
     }
 
+    private ExecutionTaskDto createDto() {
+        return ExecutionTaskDto.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status("QUEUED")
+                .priority(1)
+                .createdAt(now)
+                .build();
+    }
+
     @Test
     void shouldFindById() {
         when(findUseCase.findById(1L)).thenReturn(createTask());
@@ -82,9 +109,9 @@ class ExecutionTaskCleanArchControllerTest {
 
     @Test
     void shouldFindAll() {
-        PageDto<ExecutionTask> modelPage = new PageDto<>(
-                List.of(createTask()), 1, 0, 10);
-        when(findUseCase.findAll(any())).thenReturn(modelPage);
+        PageDto<ExecutionTaskDto> dtoPage = new PageDto<>(
+                List.of(createDto()), 1, 0, 10);
+        when(findUseCase.findAll(any())).thenReturn(dtoPage);
 
         PageDto<ExecutionTaskDto> result = controller.findAll(0, 10);
         assertNotNull(result);
@@ -93,10 +120,10 @@ class ExecutionTaskCleanArchControllerTest {
 
     @Test
     void shouldFindByStatus() {
-        PageDto<ExecutionTask> modelPage = new PageDto<>(
-                List.of(createTask()), 1, 0, 10);
+        PageDto<ExecutionTaskDto> dtoPage = new PageDto<>(
+                List.of(createDto()), 1, 0, 10);
         when(findUseCase.findByStatus(eq("QUEUED"), any()))
-                .thenReturn(modelPage);
+                .thenReturn(dtoPage);
 
         PageDto<ExecutionTaskDto> result = controller.findByStatus(
                 "QUEUED", 0, 10);
@@ -115,6 +142,44 @@ class ExecutionTaskCleanArchControllerTest {
         assertEquals(100L, result.serviceOrderId());
     }
 
+    @Test
+    void shouldCreateAll() {
+        List<ExecutionTaskRequestDto> requests = List.of(
+                ExecutionTaskRequestDto.builder().serviceOrderId(100L).build(),
+                ExecutionTaskRequestDto.builder().build());
+        when(createUseCase.executeAll(requests)).thenReturn(List.of(
+                BulkItemResult.of(0, BulkItemOutcomeEnum.CREATED, createTask()),
+                BulkItemResult.rejected(1, BulkItemOutcomeEnum.INVALID,
+                        "serviceOrderId is required")));
+
+        List<BulkItemResultDto> result = controller.createAll(requests);
+
+        assertEquals("CREATED", result.get(0).outcome());
+        assertEquals(100L, result.get(0).task().serviceOrderId());
+        assertEquals(1, result.get(1).index());
+        assertEquals("INVALID", result.get(1).outcome());
+        assertNull(result.get(1).task());
+        assertEquals("serviceOrderId is required", result.get(1).error());
+    }
+
+    @Test
+    void shouldUpdateStatuses() {
+        List<ExecutionTaskStatusChangeDto> changes = List.of(
+                ExecutionTaskStatusChangeDto.builder().id(1L).status("IN_PROGRESS").build(),
+                ExecutionTaskStatusChangeDto.builder().id(2L).status("IN_PROGRESS").build());
+        when(updateStatusUseCase.executeAll(changes)).thenReturn(List.of(
+                BulkItemResult.of(0, BulkItemOutcomeEnum.UPDATED, createTask()),
+                BulkItemResult.rejected(1, BulkItemOutcomeEnum.NOT_FOUND,
+                        "Execution task not found with id: 2")));
+
+        List<BulkItemResultDto> result = controller.updateStatuses(changes);
+
+        assertEquals("UPDATED", result.get(0).outcome());
+        assertEquals(1L, result.get(0).task().id());
+        assertEquals("NOT_FOUND", result.get(1).outcome());
+        assertEquals("Execution task not found with id: 2", result.get(1).error());
+    }
+
     @Test
     void shouldUpdateStatus() {
         ExecutionTaskStatusUpdateDto statusDto = ExecutionTaskStatusUpdateDto.builder().status("IN_PROGRESS").build();
@@ -150,4 +215,41 @@ class ExecutionTaskCleanArchControllerTest {
         assertEquals("FAILED", result.status());
         verify(failUseCase).execute(1L, "reason");
     }
+
+    @Test
+    void shouldFindAllByCursor() {
+        PageDto<ExecutionTaskDto> dtoPage = new PageDto<>(
+                List.of(createDto()), PageDto.UNKNOWN_TOTAL, 0, 10, "next");
+        when(findUseCase.findAllByCursor("createdAt", null, 10))
+                .thenReturn(dtoPage);
+
+        PageDto<ExecutionTaskDto> result = controller.findAllByCursor(
+                "createdAt", null, 10);
+        assertEquals(1, result.content().size());
+        assertEquals("next", result.nextCursor());
+    }
+
+    @Test
+    void shouldClaim() {
+        ExecutionTaskClaimRequestDto request = ExecutionTaskClaimRequestDto.builder()
+                .technician("Tech A")
+                .limit(2)
+                .build();
+        when(claimUseCase.execute(request)).thenReturn(List.of(createTask()));
+
+        List<ExecutionTaskDto> result = controller.claim(request);
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+    }
+
+    @Test
+    void shouldExportThroughUseCase() throws IOException {
+        ExecutionTaskExportFilterDto filter =
+                new ExecutionTaskExportFilterDto("COMPLETED", null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(exportUseCase.execute(filter, ExecutionTaskExportFormatEnum.CSV, out))
+                .thenReturn(3L);
+
+        assertEquals(3L, controller.export(filter, ExecutionTaskExportFormatEnum.CSV, out));
+    }
 }
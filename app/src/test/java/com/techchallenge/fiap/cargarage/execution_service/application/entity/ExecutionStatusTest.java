@@ -3,9 +3,12 @@ package com.techchallenge.fiap.cargarage.execution_service.application.entity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
@@ -154,8 +157,35 @@ class ExecutionStatusTest {
         assertEquals(ExecutionStatus.of("QUEUED"), ExecutionStatus.queued());
     }
 
+    @Test
+    void shouldReturnSharedInstancePerStatus() {
+        assertSame(ExecutionStatus.queued(), ExecutionStatus.queued());
+        assertSame(ExecutionStatus.queued(), ExecutionStatus.of("QUEUED"));
+        assertSame(ExecutionStatus.inProgress(), ExecutionStatus.of(" in_progress "));
+        assertSame(ExecutionStatus.failed(), ExecutionStatus.of("Failed"));
+    }
+
     @Test
     void shouldNotBeEqualWhenDifferentStatus() {
         assertFalse(ExecutionStatus.queued().equals(ExecutionStatus.inProgress()));
     }
+
+    @Test
+    void shouldDerivePredecessorsFromTransitionTable() {
+        assertEquals(List.of(ExecutionStatus.queued()),
+                ExecutionStatus.inProgress().allowedPredecessors());
+        assertEquals(List.of(ExecutionStatus.inProgress()),
+                ExecutionStatus.completed().allowedPredecessors());
+        assertEquals(List.of(ExecutionStatus.queued(), ExecutionStatus.inProgress()),
+                ExecutionStatus.failed().allowedPredecessors());
+        assertTrue(ExecutionStatus.queued().allowedPredecessors().isEmpty());
+    }
+
+    @Test
+    void shouldNotExposeMutablePredecessors() {
+        List<ExecutionStatus> predecessors = ExecutionStatus.failed().allowedPredecessors();
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> predecessors.add(ExecutionStatus.completed()));
+    }
 }
@@ -2,9 +2,13 @@ package com.techchallenge.fiap.cargarage.execution_service.application.gateway;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,15 +19,20 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskSortEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskArchive;
 import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,13 +41,16 @@ class ExecutionTaskGatewayTest {
     @Mock
     private ExecutionTaskDataSource dataSource;
 
+    @Mock
+    private ExecutionTaskArchive archive;
+
     private ExecutionTaskGateway gateway;
 
     private final LocalDateTime now = LocalDateTime.now();
 
     @BeforeEach
     void setUp() {
-        gateway = new ExecutionTaskGateway(dataSource);
+        gateway = new ExecutionTaskGateway(dataSource, archive);
     }
 
     private ExecutionTaskDto createDto(Long id) {
@@ -88,6 +100,44 @@ class ExecutionTaskGatewayTest {
         assertEquals(100L, result.get().serviceOrderId());
     }
 
+    @Test
+    void shouldNotFallBackToArchiveWhenNotFound() {
+        when(dataSource.findById(1L)).thenReturn(Optional.empty());
+
+        assertTrue(gateway.findById(1L).isEmpty());
+        verify(archive, never()).findById(any());
+    }
+
+    @Test
+    void shouldNotFallBackToArchiveByServiceOrderId() {
+        when(dataSource.findByServiceOrderId(100L)).thenReturn(Optional.empty());
+
+        assertTrue(gateway.findByServiceOrderId(100L).isEmpty());
+        verify(archive, never()).findByServiceOrderId(any());
+    }
+
+    @Test
+    void shouldFindArchivedById() {
+        when(archive.findById(1L)).thenReturn(Optional.of(createDto(1L)));
+
+        Optional<ExecutionTask> result = gateway.findArchivedById(1L);
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().id());
+        verify(dataSource, never()).findById(any());
+    }
+
+    @Test
+    void shouldFindArchivedByServiceOrderId() {
+        when(archive.findByServiceOrderId(100L))
+                .thenReturn(Optional.of(createDto(1L)));
+
+        Optional<ExecutionTask> result = gateway.findArchivedByServiceOrderId(100L);
+
+        assertTrue(result.isPresent());
+        assertEquals(100L, result.get().serviceOrderId());
+    }
+
     @Test
     void shouldFindAll() {
         PageRequestDto pageRequest = new PageRequestDto(0, 10);
@@ -95,11 +145,9 @@ class ExecutionTaskGatewayTest {
                 List.of(createDto(1L)), 1, 0, 10);
         when(dataSource.findAll(pageRequest)).thenReturn(dtoPage);
 
-        PageDto<ExecutionTask> result = gateway.findAll(pageRequest);
+        PageDto<ExecutionTaskDto> result = gateway.findAll(pageRequest);
 
-        assertNotNull(result);
-        assertEquals(1, result.content().size());
-        assertEquals(1, result.totalElements());
+        assertSame(dtoPage, result);
     }
 
     @Test
@@ -110,7 +158,7 @@ class ExecutionTaskGatewayTest {
         when(dataSource.findByStatus("QUEUED", pageRequest))
                 .thenReturn(dtoPage);
 
-        PageDto<ExecutionTask> result = gateway.findByStatus(
+        PageDto<ExecutionTaskDto> result = gateway.findByStatus(
                 ExecutionStatus.queued(), pageRequest);
 
         assertNotNull(result);
@@ -135,6 +183,23 @@ class ExecutionTaskGatewayTest {
         verify(dataSource).insert(any(ExecutionTaskPersistenceDto.class));
     }
 
+    @Test
+    void shouldInsertAllKeepingOrderOfSkippedTasks() {
+        ExecutionTask task = ExecutionTask.builder()
+                .serviceOrderId(100L)
+                .status(ExecutionStatus.queued())
+                .createdAt(now)
+                .build();
+        when(dataSource.insertAllIfAbsent(argThat(
+                dtos -> dtos.size() == 2 && "QUEUED".equals(dtos.get(0).status()))))
+                .thenReturn(List.of(Optional.empty(), Optional.of(createDto(2L))));
+
+        List<Optional<ExecutionTask>> result = gateway.insertAllIfAbsent(List.of(task, task));
+
+        assertTrue(result.get(0).isEmpty());
+        assertEquals(2L, result.get(1).orElseThrow().id());
+    }
+
     @Test
     void shouldUpdate() {
         ExecutionTask task = ExecutionTask.builder()
@@ -159,9 +224,72 @@ class ExecutionTaskGatewayTest {
         assertEquals(ExecutionStatus.inProgress(), result.status());
     }
 
+    @Test
+    void shouldTransitionStatusFromAllowedPredecessors() {
+        ExecutionTaskDto updatedDto = ExecutionTaskDto.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status("IN_PROGRESS")
+                .createdAt(now)
+                .startedAt(now)
+                .build();
+        when(dataSource.transitionStatus(eq(1L),
+                any(ExecutionTaskStatusTransitionDto.class)))
+                .thenReturn(Optional.of(updatedDto));
+
+        Optional<ExecutionTask> result = gateway.transitionStatus(
+                1L, ExecutionStatus.inProgress(), null, now);
+
+        assertTrue(result.isPresent());
+        assertEquals(ExecutionStatus.inProgress(), result.get().status());
+        ArgumentCaptor<ExecutionTaskStatusTransitionDto> captor =
+                ArgumentCaptor.forClass(ExecutionTaskStatusTransitionDto.class);
+        verify(dataSource).transitionStatus(eq(1L), captor.capture());
+        assertEquals(List.of("QUEUED"), captor.getValue().expectedStatuses());
+        assertEquals(now, captor.getValue().startedAt());
+        assertNull(captor.getValue().completedAt());
+    }
+
+    @Test
+    void shouldTransitionStatusOfManyTasksInOneCall() {
+        when(dataSource.transitionStatusAll(eq(List.of(1L, 2L)),
+                any(ExecutionTaskStatusTransitionDto.class)))
+                .thenReturn(List.of(createDto(1L), createDto(2L)));
+
+        List<ExecutionTask> result = gateway.transitionStatusAll(
+                List.of(1L, 2L), ExecutionStatus.completed(), now);
+
+        assertEquals(List.of(1L, 2L), result.stream().map(ExecutionTask::id).toList());
+        ArgumentCaptor<ExecutionTaskStatusTransitionDto> captor =
+                ArgumentCaptor.forClass(ExecutionTaskStatusTransitionDto.class);
+        verify(dataSource).transitionStatusAll(eq(List.of(1L, 2L)), captor.capture());
+        assertEquals(List.of("IN_PROGRESS"), captor.getValue().expectedStatuses());
+        assertEquals("COMPLETED", captor.getValue().status());
+        assertEquals(now, captor.getValue().completedAt());
+        assertNull(captor.getValue().startedAt());
+        assertNull(captor.getValue().failureReason());
+    }
+
     @Test
     void shouldDeleteById() {
         gateway.deleteById(1L);
         verify(dataSource).deleteById(1L);
     }
+
+    @Test
+    void shouldFindByStatusByCursorKeepingNextCursor() {
+        CursorPageRequestDto pageRequest = new CursorPageRequestDto(
+                null, 10, ExecutionTaskSortEnum.CREATED_AT);
+        PageDto<ExecutionTaskDto> dtoPage = new PageDto<>(
+                List.of(createDto(1L)), PageDto.UNKNOWN_TOTAL, 0, 10, "next");
+        when(dataSource.findByStatusByCursor("QUEUED", pageRequest))
+                .thenReturn(dtoPage);
+
+        PageDto<ExecutionTaskDto> result = gateway.findByStatusByCursor(
+                ExecutionStatus.queued(), pageRequest);
+
+        assertEquals(1, result.content().size());
+        assertEquals("next", result.nextCursor());
+        assertEquals(PageDto.UNKNOWN_TOTAL, result.totalElements());
+    }
 }
@@ -0,0 +1,126 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskClaimRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimExecutionTasksUseCaseTest {
+
+    @Mock
+    private ExecutionTaskGateway gateway;
+
+    @Mock
+    private ExecutionEventPublisher eventPublisher;
+
+    @Mock
+    private ExecutionTaskChangeNotifier changeNotifier;
+
+    private ClaimExecutionTasksUseCase useCase;
+
+    private final TransactionRunner transactionRunner = new TransactionRunner() {
+        @Override
+        public <T> T execute(Supplier<T> action) {
+            return action.get();
+        }
+
+        @Override
+        public boolean isTransactionActive() {
+            return false;
+        }
+    };
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ClaimExecutionTasksUseCase(
+                gateway, eventPublisher, transactionRunner, changeNotifier);
+    }
+
+    private ExecutionTask claimedTask(Long id) {
+        return ExecutionTask.builder()
+                .id(id)
+                .serviceOrderId(100L + id)
+                .status(ExecutionStatus.inProgress())
+                .assignedTechnician("Tech A")
+                .createdAt(now)
+                .startedAt(now)
+                .build();
+    }
+
+    private ExecutionTaskClaimRequestDto request(String technician, Integer limit) {
+        return ExecutionTaskClaimRequestDto.builder()
+                .technician(technician)
+                .limit(limit)
+                .build();
+    }
+
+    @Test
+    void shouldClaimAndPublishStartedForEachTask() {
+        ExecutionTask first = claimedTask(1L);
+        ExecutionTask second = claimedTask(2L);
+        when(gateway.claimNext(eq("Tech A"), eq(2), any(LocalDateTime.class)))
+                .thenReturn(List.of(first, second));
+
+        List<ExecutionTask> result = useCase.execute(request(" Tech A ", 2));
+
+        assertEquals(List.of(first, second), result);
+        verify(eventPublisher).publishExecutionStarted(first);
+        verify(eventPublisher).publishExecutionStarted(second);
+        verify(changeNotifier).taskChanged(first);
+        verify(changeNotifier).taskChanged(second);
+    }
+
+    @Test
+    void shouldClaimOneTaskByDefault() {
+        when(gateway.claimNext(eq("Tech A"), eq(1), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        assertTrue(useCase.execute(request("Tech A", null)).isEmpty());
+        verify(eventPublisher, never()).publishExecutionStarted(any());
+    }
+
+    @Test
+    void shouldRejectBlankTechnician() {
+        assertThrows(InvalidDataException.class,
+                () -> useCase.execute(request(" ", 1)));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void shouldRejectLimitOutOfRange() {
+        assertThrows(InvalidDataException.class,
+                () -> useCase.execute(request("Tech A", 0)));
+        assertThrows(InvalidDataException.class,
+                () -> useCase.execute(request("Tech A",
+                        ClaimExecutionTasksUseCase.MAX_CLAIM + 1)));
+        verify(gateway, never()).claimNext(any(), anyInt(), any());
+    }
+}
@@ -3,12 +3,24 @@ package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,10 +29,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskSagaRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.BulkItemResult;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.BulkItemOutcomeEnum;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.BusinessException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionEventInboxDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
 
 @ExtendWith(MockitoExtension.class)
 class CreateExecutionTaskUseCaseTest {
@@ -28,11 +48,37 @@ class CreateExecutionTaskUseCaseTest {
     @Mock
     private ExecutionTaskGateway gateway;
 
+    @Mock
+    private ExecutionEventInboxDataSource inbox;
+
+    @Mock
+    private ExecutionTaskChangeNotifier changeNotifier;
+
     private CreateExecutionTaskUseCase useCase;
 
+    private final TransactionRunner transactionRunner = new TransactionRunner() {
+        @Override
+        public <T> T execute(Supplier<T> action) {
+            return action.get();
+        }
+
+        @Override
+        public boolean isTransactionActive() {
+            return false;
+        }
+    };
+
     @BeforeEach
     void setUp() {
-        useCase = new CreateExecutionTaskUseCase(gateway);
+        useCase = new CreateExecutionTaskUseCase(
+                gateway, inbox, transactionRunner, changeNotifier);
+    }
+
+    private void insertSucceeds(Long id) {
+        when(gateway.insertIfAbsent(any(ExecutionTask.class))).thenAnswer(inv -> {
+            ExecutionTask task = inv.getArgument(0);
+            return Optional.of(task.withId(id));
+        });
     }
 
     @Test
@@ -46,11 +92,7 @@ class CreateExecutionTaskUseCaseTest {
                 .priority(1)
                 .build();
 
-        when(gateway.findByServiceOrderId(100L)).thenReturn(Optional.empty());
-        when(gateway.insert(any(ExecutionTask.class))).thenAnswer(inv -> {
-            ExecutionTask task = inv.getArgument(0);
-            return task.withId(1L);
-        });
+        insertSucceeds(1L);
 
         ExecutionTask result = useCase.execute(request);
 
@@ -58,67 +100,216 @@ class CreateExecutionTaskUseCaseTest {
         assertEquals(1L, result.id());
         assertEquals(100L, result.serviceOrderId());
         assertEquals(ExecutionStatus.queued(), result.status());
-        verify(gateway).insert(any(ExecutionTask.class));
+        verify(gateway).insertIfAbsent(any(ExecutionTask.class));
+        verify(gateway, never()).findByServiceOrderId(any());
+        verify(changeNotifier).taskChanged(result);
     }
 
     @Test
-    void shouldCreateTaskWhenExistingTaskIsFailed() {
-        ExecutionTask failedTask = ExecutionTask.builder()
-                .id(1L)
+    void shouldThrowWhenActiveTaskExists() {
+        ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
                 .serviceOrderId(100L)
-                .status(ExecutionStatus.failed())
-                .createdAt(LocalDateTime.now())
                 .build();
 
+        when(gateway.insertIfAbsent(any(ExecutionTask.class)))
+                .thenReturn(Optional.empty());
+
+        assertThrows(BusinessException.class, () -> useCase.execute(request));
+        verify(changeNotifier, never()).taskChanged(any());
+    }
+
+    @Test
+    void shouldSetDefaultPriorityWhenNull() {
         ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
                 .serviceOrderId(100L)
+                .priority(null)
                 .build();
 
-        when(gateway.findByServiceOrderId(100L))
-                .thenReturn(Optional.of(failedTask));
-        when(gateway.insert(any(ExecutionTask.class))).thenAnswer(inv -> {
+        when(gateway.insertIfAbsent(any(ExecutionTask.class))).thenAnswer(inv -> {
             ExecutionTask task = inv.getArgument(0);
-            return task.withId(2L);
+            assertEquals(0, task.priority());
+            return Optional.of(task.withId(1L));
         });
 
-        ExecutionTask result = useCase.execute(request);
-        assertNotNull(result);
+        useCase.execute(request);
+        verify(gateway).insertIfAbsent(any(ExecutionTask.class));
     }
 
     @Test
-    void shouldThrowWhenActiveTaskExists() {
-        ExecutionTask activeTask = ExecutionTask.builder()
-                .id(1L)
+    void shouldCreateTaskOnceForNewEvent() {
+        ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
                 .serviceOrderId(100L)
-                .status(ExecutionStatus.queued())
-                .createdAt(LocalDateTime.now())
                 .build();
 
+        when(inbox.markReceived(eq("evt-1"), any(LocalDateTime.class))).thenReturn(true);
+        insertSucceeds(1L);
+
+        Optional<ExecutionTask> result = useCase.executeOnce("evt-1", request, null);
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().id());
+        verify(changeNotifier).taskChanged(result.get());
+    }
+
+    @Test
+    void shouldSkipRedeliveredEvent() {
         ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
                 .serviceOrderId(100L)
                 .build();
 
-        when(gateway.findByServiceOrderId(100L))
-                .thenReturn(Optional.of(activeTask));
+        when(inbox.markReceived(eq("evt-1"), any(LocalDateTime.class))).thenReturn(false);
 
-        assertThrows(BusinessException.class, () -> useCase.execute(request));
+        Optional<ExecutionTask> result = useCase.executeOnce("evt-1", request, null);
+
+        assertTrue(result.isEmpty());
+        verify(gateway, never()).insertIfAbsent(any());
     }
 
     @Test
-    void shouldSetDefaultPriorityWhenNull() {
+    void shouldReturnEmptyWithoutExceptionWhenActiveTaskExists() {
         ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
                 .serviceOrderId(100L)
-                .priority(null)
                 .build();
 
-        when(gateway.findByServiceOrderId(100L)).thenReturn(Optional.empty());
-        when(gateway.insert(any(ExecutionTask.class))).thenAnswer(inv -> {
-            ExecutionTask task = inv.getArgument(0);
-            assertEquals(0, task.priority());
-            return task.withId(1L);
+        when(inbox.markReceived(eq("evt-2"), any(LocalDateTime.class))).thenReturn(true);
+        when(gateway.insertIfAbsent(any(ExecutionTask.class)))
+                .thenReturn(Optional.empty());
+
+        assertTrue(useCase.executeOnce("evt-2", request, null).isEmpty());
+        verify(changeNotifier, never()).taskChanged(any());
+    }
+
+    @Test
+    void shouldSettleCreateThatLostRaceForServiceOrder() {
+        ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
+                .serviceOrderId(100L)
+                .build();
+
+        when(inbox.markReceived(eq("evt-3"), any(LocalDateTime.class))).thenReturn(true);
+        when(gateway.insertIfAbsent(any(ExecutionTask.class)))
+                .thenThrow(new ConcurrentUpdateException("created concurrently"))
+                .thenReturn(Optional.empty());
+
+        assertTrue(useCase.executeOnce("evt-3", request, null).isEmpty());
+        verify(gateway, times(2)).insertIfAbsent(any(ExecutionTask.class));
+        verify(changeNotifier, never()).taskChanged(any());
+    }
+
+    @Test
+    void shouldSkipInboxWithoutEventId() {
+        ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
+                .serviceOrderId(100L)
+                .build();
+
+        insertSucceeds(1L);
+
+        assertTrue(useCase.executeOnce(null, request, null).isPresent());
+        verifyNoInteractions(inbox);
+    }
+
+    @Test
+    void shouldKeepSagaStartTimeOnCreatedTask() {
+        ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
+                .serviceOrderId(100L)
+                .build();
+        LocalDateTime sagaStartedAt = LocalDateTime.of(2026, 2, 12, 15, 4, 5);
+
+        insertSucceeds(1L);
+
+        useCase.executeOnce(null, request, sagaStartedAt);
+
+        verify(gateway).insertIfAbsent(argThat(
+                task -> sagaStartedAt.equals(task.sagaStartedAt())));
+    }
+
+    private ExecutionTaskRequestDto request(Long serviceOrderId) {
+        return ExecutionTaskRequestDto.builder().serviceOrderId(serviceOrderId).build();
+    }
+
+    /** Inserts every task except those of the given service order. */
+    private void insertAllExcept(long duplicateServiceOrderId) {
+        when(gateway.insertAllIfAbsent(anyList())).thenAnswer(inv -> {
+            List<ExecutionTask> tasks = inv.getArgument(0);
+            List<Optional<ExecutionTask>> saved = new ArrayList<>();
+            for (ExecutionTask task : tasks) {
+                saved.add(task.serviceOrderId() == duplicateServiceOrderId
+                        ? Optional.empty()
+                        : Optional.of(task.withId(task.serviceOrderId())));
+            }
+            return saved;
         });
+    }
 
-        useCase.execute(request);
-        verify(gateway).insert(any(ExecutionTask.class));
+    @Test
+    void shouldReportResultOfEveryBulkItem() {
+        insertAllExcept(200L);
+
+        List<BulkItemResult> results = useCase.executeAll(Arrays.asList(
+                request(100L), request(null), request(200L), null));
+
+        assertEquals(List.of(BulkItemOutcomeEnum.CREATED, BulkItemOutcomeEnum.INVALID,
+                BulkItemOutcomeEnum.DUPLICATE, BulkItemOutcomeEnum.INVALID),
+                results.stream().map(BulkItemResult::outcome).toList());
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(BulkItemResult::index).toList());
+        assertEquals(100L, results.get(0).task().id());
+        assertEquals(ExecutionStatus.queued(), results.get(0).task().status());
+        assertEquals("serviceOrderId is required", results.get(1).error());
+        assertEquals("Execution task already exists for service order: 200",
+                results.get(2).error());
+        verify(gateway, never()).insertIfAbsent(any());
+        verify(changeNotifier).taskChanged(results.get(0).task());
+    }
+
+    @Test
+    void shouldCreateBulkItemsOneByOneWhenBatchFails() {
+        when(gateway.insertAllIfAbsent(anyList()))
+                .thenThrow(new RuntimeException("duplicate key"));
+        insertSucceeds(7L);
+
+        List<BulkItemResult> results = useCase.executeAll(List.of(request(100L), request(200L)));
+
+        assertTrue(results.stream()
+                .allMatch(result -> result.outcome() == BulkItemOutcomeEnum.CREATED));
+        verify(gateway, times(2)).insertIfAbsent(any(ExecutionTask.class));
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedBulk() {
+        assertThrows(InvalidDataException.class, () -> useCase.executeAll(List.of()));
+        assertThrows(InvalidDataException.class, () -> useCase.executeAll(null));
+        assertThrows(InvalidDataException.class, () -> useCase.executeAll(
+                Collections.nCopies(CreateExecutionTaskUseCase.MAX_BULK + 1, request(1L))));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void shouldCreateBatchOfSagaTasksSkippingDuplicateEvents() {
+        when(inbox.markReceived(eq("evt-1"), any(LocalDateTime.class))).thenReturn(true);
+        when(inbox.markReceived(eq("evt-2"), any(LocalDateTime.class))).thenReturn(false);
+        insertAllExcept(300L);
+        LocalDateTime sagaStartedAt = LocalDateTime.of(2026, 2, 12, 15, 4, 5);
+
+        List<Optional<ExecutionTask>> results = useCase.executeAllOnce(List.of(
+                new ExecutionTaskSagaRequestDto("evt-1", request(100L), sagaStartedAt),
+                new ExecutionTaskSagaRequestDto("evt-2", request(200L), null),
+                new ExecutionTaskSagaRequestDto(null, request(300L), null)));
+
+        assertEquals(3, results.size());
+        assertEquals(sagaStartedAt, results.get(0).orElseThrow().sagaStartedAt());
+        assertTrue(results.get(1).isEmpty());
+        assertTrue(results.get(2).isEmpty());
+        verify(gateway).insertAllIfAbsent(argThat(tasks -> tasks.size() == 2));
+        verify(changeNotifier).taskChanged(results.get(0).orElseThrow());
+    }
+
+    @Test
+    void shouldNotInsertWhenWholeSagaBatchIsRedelivered() {
+        when(inbox.markReceived(eq("evt-1"), any(LocalDateTime.class))).thenReturn(false);
+
+        List<Optional<ExecutionTask>> results = useCase.executeAllOnce(List.of(
+                new ExecutionTaskSagaRequestDto("evt-1", request(100L), null)));
+
+        assertEquals(List.of(Optional.empty()), results);
+        verifyNoInteractions(gateway);
     }
 }
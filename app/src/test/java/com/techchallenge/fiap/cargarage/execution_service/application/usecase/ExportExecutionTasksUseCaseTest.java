@@ -0,0 +1,56 @@
+package com.techchallenge.fiap.cargarage.execution_service.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskExportGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskExportDataSource;
+
+@ExtendWith(MockitoExtension.class)
+class ExportExecutionTasksUseCaseTest {
+
+    @Mock
+    private ExecutionTaskExportDataSource dataSource;
+
+    private ExportExecutionTasksUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ExportExecutionTasksUseCase(new ExecutionTaskExportGateway(dataSource));
+    }
+
+    @Test
+    void shouldStreamExportThroughGateway() throws IOException {
+        ExecutionTaskExportFilterDto filter = new ExecutionTaskExportFilterDto("COMPLETED",
+                LocalDateTime.of(2026, 10, 1, 0, 0), LocalDateTime.of(2026, 10, 2, 0, 0));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(dataSource.export(filter, ExecutionTaskExportFormatEnum.NDJSON, out)).thenReturn(2L);
+
+        assertEquals(2L, useCase.execute(filter, ExecutionTaskExportFormatEnum.NDJSON, out));
+        verify(dataSource).export(filter, ExecutionTaskExportFormatEnum.NDJSON, out);
+    }
+
+    @Test
+    void shouldRejectInvalidFormatOrPeriod() {
+        LocalDateTime day = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+        assertThrows(InvalidDataException.class, () -> ExecutionTaskExportFormatEnum.of("xml"));
+        assertThrows(InvalidDataException.class,
+                () -> new ExecutionTaskExportFilterDto(null, day, day));
+    }
+}
@@ -4,11 +4,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,9 +22,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
 import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,13 +39,29 @@ class FailExecutionTaskUseCaseTest {
     @Mock
     private ExecutionEventPublisher eventPublisher;
 
+    @Mock
+    private ExecutionTaskChangeNotifier changeNotifier;
+
     private FailExecutionTaskUseCase useCase;
 
+    private final TransactionRunner transactionRunner = new TransactionRunner() {
+        @Override
+        public <T> T execute(Supplier<T> action) {
+            return action.get();
+        }
+
+        @Override
+        public boolean isTransactionActive() {
+            return false;
+        }
+    };
+
     private final LocalDateTime now = LocalDateTime.now();
 
     @BeforeEach
     void setUp() {
-        useCase = new FailExecutionTaskUseCase(gateway, eventPublisher);
+        useCase = new FailExecutionTaskUseCase(
+                gateway, eventPublisher, transactionRunner, changeNotifier);
     }
 
     private ExecutionTask createTask(Long id, Long serviceOrderId,
@@ -51,12 +74,24 @@ class FailExecutionTaskUseCaseTest {
                 .build();
     }
 
+    private void stubFailure(Long id, String reason) {
+        when(gateway.transitionStatus(eq(id), eq(ExecutionStatus.failed()),
+                eq(reason), any(LocalDateTime.class)))
+                .thenAnswer(inv -> Optional.of(createTask(id, 100L,
+                        ExecutionStatus.failed()).withFailure(reason, now)));
+    }
+
+    private void stubRejected(Long id, ExecutionStatus current) {
+        when(gateway.transitionStatus(eq(id), eq(ExecutionStatus.failed()),
+                any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(gateway.findById(id)).thenReturn(
+                Optional.ofNullable(current == null ? null
+                        : createTask(id, 100L, current)));
+    }
+
     @Test
     void shouldFailQueuedTask() {
-        ExecutionTask task = createTask(1L, 100L, ExecutionStatus.queued());
-        when(gateway.findById(1L)).thenReturn(Optional.of(task));
-        when(gateway.update(any(ExecutionTask.class))).thenAnswer(
-                inv -> inv.getArgument(0));
+        stubFailure(1L, "Resource unavailable");
 
         ExecutionTask result = useCase.execute(1L, "Resource unavailable");
 
@@ -64,27 +99,22 @@ class FailExecutionTaskUseCaseTest {
         assertEquals(ExecutionStatus.failed(), result.status());
         assertEquals("Resource unavailable", result.failureReason());
         verify(eventPublisher).publishExecutionFailed(any());
+        verify(changeNotifier).taskChanged(result);
     }
 
     @Test
-    void shouldFailInProgressTask() {
-        ExecutionTask task = createTask(1L, 100L, ExecutionStatus.inProgress());
-        when(gateway.findById(1L)).thenReturn(Optional.of(task));
-        when(gateway.update(any(ExecutionTask.class))).thenAnswer(
-                inv -> inv.getArgument(0));
+    void shouldFailWithSingleConditionalUpdate() {
+        stubFailure(1L, "Equipment failure");
 
-        ExecutionTask result = useCase.execute(1L, "Equipment failure");
+        useCase.execute(1L, "Equipment failure");
 
-        assertEquals(ExecutionStatus.failed(), result.status());
-        assertEquals("Equipment failure", result.failureReason());
+        verify(gateway, never()).findById(any());
+        verify(gateway, never()).update(any());
     }
 
     @Test
     void shouldUseDefaultReasonWhenNull() {
-        ExecutionTask task = createTask(1L, 100L, ExecutionStatus.queued());
-        when(gateway.findById(1L)).thenReturn(Optional.of(task));
-        when(gateway.update(any(ExecutionTask.class))).thenAnswer(
-                inv -> inv.getArgument(0));
+        stubFailure(1L, "Execution failed");
 
         ExecutionTask result = useCase.execute(1L, null);
 
@@ -93,29 +123,67 @@ class FailExecutionTaskUseCaseTest {
 
     @Test
     void shouldThrowWhenTaskNotFound() {
-        when(gateway.findById(999L)).thenReturn(Optional.empty());
+        stubRejected(999L, null);
         assertThrows(NotFoundException.class,
                 () -> useCase.execute(999L, "reason"));
     }
 
     @Test
     void shouldThrowWhenTaskAlreadyCompleted() {
-        ExecutionTask task = createTask(1L, 100L, ExecutionStatus.completed());
-        when(gateway.findById(1L)).thenReturn(Optional.of(task));
+        stubRejected(1L, ExecutionStatus.completed());
 
         assertThrows(InvalidDataException.class,
                 () -> useCase.execute(1L, "reason"));
+        verify(eventPublisher, never()).publishExecutionFailed(any());
+        verify(changeNotifier, never()).taskChanged(any());
     }
 
     @Test
     void shouldThrowWhenTaskAlreadyFailed() {
-        ExecutionTask task = createTask(1L, 100L, ExecutionStatus.failed());
-        when(gateway.findById(1L)).thenReturn(Optional.of(task));
+        stubRejected(1L, ExecutionStatus.failed());
 
         assertThrows(InvalidDataException.class,
                 () -> useCase.execute(1L, "reason"));
     }
 
+    @Test
+    void shouldRetryFailureWhenTaskChangedConcurrently() {
+        when(gateway.transitionStatus(eq(1L), eq(ExecutionStatus.failed()),
+                eq("Order cancelled"), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty())
+                .thenAnswer(inv -> Optional.of(createTask(1L, 100L,
+                        ExecutionStatus.inProgress()).withFailure("Order cancelled", now)));
+        when(gateway.findById(1L)).thenReturn(
+                Optional.of(createTask(1L, 100L, ExecutionStatus.inProgress())));
+
+        ExecutionTask result = useCase.execute(1L, "Order cancelled");
+
+        assertEquals(ExecutionStatus.failed(), result.status());
+        verify(eventPublisher, times(1)).publishExecutionFailed(result);
+    }
+
+    @Test
+    void shouldNotRetryInsideCallersTransaction() {
+        TransactionRunner joined = new TransactionRunner() {
+            @Override
+            public <T> T execute(Supplier<T> action) {
+                return action.get();
+            }
+
+            @Override
+            public boolean isTransactionActive() {
+                return true;
+            }
+        };
+        useCase = new FailExecutionTaskUseCase(gateway, eventPublisher, joined, changeNotifier);
+        stubRejected(1L, ExecutionStatus.inProgress());
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> useCase.execute(1L, "Order cancelled"));
+        verify(gateway, times(1)).transitionStatus(eq(1L), any(), any(),
+                any(LocalDateTime.class));
+    }
+
     // executeByServiceOrderId tests
 
     @Test
@@ -123,8 +191,7 @@ class FailExecutionTaskUseCaseTest {
         ExecutionTask task = createTask(1L, 100L, ExecutionStatus.queued());
         when(gateway.findByServiceOrderId(100L))
                 .thenReturn(Optional.of(task));
-        when(gateway.update(any(ExecutionTask.class))).thenAnswer(
-                inv -> inv.getArgument(0));
+        stubFailure(1L, "Payment failed");
 
         ExecutionTask result = useCase.executeByServiceOrderId(
                 100L, "Payment failed");
@@ -148,18 +215,31 @@ class FailExecutionTaskUseCaseTest {
         ExecutionTask task = createTask(1L, 100L, ExecutionStatus.failed());
         when(gateway.findByServiceOrderId(100L))
                 .thenReturn(Optional.of(task));
+        stubRejected(1L, ExecutionStatus.failed());
 
         assertThrows(InvalidDataException.class,
                 () -> useCase.executeByServiceOrderId(100L, "reason"));
     }
 
+    @Test
+    void shouldLookUpServiceOrderTaskAgainOnEachAttempt() {
+        when(gateway.findByServiceOrderId(100L)).thenReturn(
+                Optional.of(createTask(1L, 100L, ExecutionStatus.queued())));
+        stubRejected(1L, ExecutionStatus.inProgress());
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> useCase.executeByServiceOrderId(100L, "Order cancelled"));
+        verify(gateway, times(ConcurrentUpdateRetry.MAX_ATTEMPTS))
+                .findByServiceOrderId(100L);
+        verify(eventPublisher, never()).publishExecutionFailed(any());
+    }
+
     @Test
     void shouldUseDefaultReasonByServiceOrderIdWhenNull() {
         ExecutionTask task = createTask(1L, 100L, ExecutionStatus.inProgress());
         when(gateway.findByServiceOrderId(100L))
                 .thenReturn(Optional.of(task));
-        when(gateway.update(any(ExecutionTask.class))).thenAnswer(
-                inv -> inv.getArgument(0));
+        stubFailure(1L, "Execution failed");
 
         ExecutionTask result = useCase.executeByServiceOrderId(100L, null);
 
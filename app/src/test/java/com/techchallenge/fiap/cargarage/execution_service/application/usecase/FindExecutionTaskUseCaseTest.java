@@ -15,10 +15,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskSortEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
 
@@ -46,6 +50,15 @@ class FindExecutionTaskUseCaseTest {
                 .build();
     }
 
+    private ExecutionTaskDto createDto(Long id, Long serviceOrderId) {
+        return ExecutionTaskDto.builder()
+                .id(id)
+                .serviceOrderId(serviceOrderId)
+                .status("QUEUED")
+                .createdAt(now)
+                .build();
+    }
+
     @Test
     void shouldFindById() {
         ExecutionTask task = createTask(1L, 100L);
@@ -59,9 +72,19 @@ class FindExecutionTaskUseCaseTest {
     @Test
     void shouldThrowWhenNotFoundById() {
         when(gateway.findById(999L)).thenReturn(Optional.empty());
+        when(gateway.findArchivedById(999L)).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class, () -> useCase.findById(999L));
     }
 
+    @Test
+    void shouldFallBackToArchiveById() {
+        ExecutionTask task = createTask(1L, 100L);
+        when(gateway.findById(1L)).thenReturn(Optional.empty());
+        when(gateway.findArchivedById(1L)).thenReturn(Optional.of(task));
+
+        assertEquals(task, useCase.findById(1L));
+    }
+
     @Test
     void shouldFindByServiceOrderId() {
         ExecutionTask task = createTask(1L, 100L);
@@ -72,9 +95,19 @@ class FindExecutionTaskUseCaseTest {
         assertEquals(100L, result.serviceOrderId());
     }
 
+    @Test
+    void shouldFallBackToArchiveByServiceOrderId() {
+        ExecutionTask task = createTask(1L, 100L);
+        when(gateway.findByServiceOrderId(100L)).thenReturn(Optional.empty());
+        when(gateway.findArchivedByServiceOrderId(100L)).thenReturn(Optional.of(task));
+
+        assertEquals(task, useCase.findByServiceOrderId(100L));
+    }
+
     @Test
     void shouldThrowWhenNotFoundByServiceOrderId() {
         when(gateway.findByServiceOrderId(999L)).thenReturn(Optional.empty());
+        when(gateway.findArchivedByServiceOrderId(999L)).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class,
                 () -> useCase.findByServiceOrderId(999L));
     }
@@ -82,12 +115,11 @@ class FindExecutionTaskUseCaseTest {
     @Test
     void shouldFindAll() {
         PageRequestDto pageRequest = new PageRequestDto(0, 10);
-        ExecutionTask task = createTask(1L, 100L);
-        PageDto<ExecutionTask> page = new PageDto<>(
-                List.of(task), 1, 0, 10);
+        PageDto<ExecutionTaskDto> page = new PageDto<>(
+                List.of(createDto(1L, 100L)), 1, 0, 10);
         when(gateway.findAll(pageRequest)).thenReturn(page);
 
-        PageDto<ExecutionTask> result = useCase.findAll(pageRequest);
+        PageDto<ExecutionTaskDto> result = useCase.findAll(pageRequest);
         assertNotNull(result);
         assertEquals(1, result.content().size());
         assertEquals(1, result.totalElements());
@@ -96,15 +128,73 @@ class FindExecutionTaskUseCaseTest {
     @Test
     void shouldFindByStatus() {
         PageRequestDto pageRequest = new PageRequestDto(0, 10);
-        ExecutionTask task = createTask(1L, 100L);
-        PageDto<ExecutionTask> page = new PageDto<>(
-                List.of(task), 1, 0, 10);
+        PageDto<ExecutionTaskDto> page = new PageDto<>(
+                List.of(createDto(1L, 100L)), 1, 0, 10);
         when(gateway.findByStatus(ExecutionStatus.queued(), pageRequest))
                 .thenReturn(page);
 
-        PageDto<ExecutionTask> result = useCase.findByStatus(
+        PageDto<ExecutionTaskDto> result = useCase.findByStatus(
                 "QUEUED", pageRequest);
         assertNotNull(result);
         assertEquals(1, result.content().size());
     }
+
+    @Test
+    void shouldFindAllByCursor() {
+        PageDto<ExecutionTaskDto> page = new PageDto<>(
+                List.of(createDto(1L, 100L)), PageDto.UNKNOWN_TOTAL, 0, 10, "next");
+        when(gateway.findAllByCursor(new CursorPageRequestDto(
+                "abc", 10, ExecutionTaskSortEnum.PRIORITY))).thenReturn(page);
+
+        PageDto<ExecutionTaskDto> result = useCase.findAllByCursor(
+                "priority", "abc", 10);
+        assertEquals("next", result.nextCursor());
+    }
+
+    @Test
+    void shouldTreatBlankCursorAsFirstPage() {
+        PageDto<ExecutionTaskDto> page = new PageDto<>(
+                List.of(), PageDto.UNKNOWN_TOTAL, 0, 10, null);
+        when(gateway.findByStatusByCursor(ExecutionStatus.of("COMPLETED"),
+                new CursorPageRequestDto(null, 10, ExecutionTaskSortEnum.CREATED_AT)))
+                .thenReturn(page);
+
+        PageDto<ExecutionTaskDto> result = useCase.findByStatusByCursor(
+                "COMPLETED", "createdAt", " ", 10);
+        assertNotNull(result);
+    }
+
+    @Test
+    void shouldPassCreationPeriodToCursorPage() {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 2, 1, 0, 0);
+        PageDto<ExecutionTaskDto> page = new PageDto<>(
+                List.of(), PageDto.UNKNOWN_TOTAL, 0, 10, null);
+        when(gateway.findAllByCursor(new CursorPageRequestDto(
+                null, 10, ExecutionTaskSortEnum.CREATED_AT, from, to))).thenReturn(page);
+
+        PageDto<ExecutionTaskDto> result = useCase.findAllByCursor(
+                "createdAt", null, 10, from, to);
+        assertNotNull(result);
+    }
+
+    @Test
+    void shouldRejectEmptyCreationPeriod() {
+        LocalDateTime from = LocalDateTime.of(2026, 2, 1, 0, 0);
+        assertThrows(InvalidDataException.class,
+                () -> useCase.findByStatusByCursor("COMPLETED", "createdAt", null, 10,
+                        from, from.minusDays(1)));
+    }
+
+    @Test
+    void shouldRejectInvalidCursorSort() {
+        assertThrows(InvalidDataException.class,
+                () -> useCase.findAllByCursor("name", null, 10));
+    }
+
+    @Test
+    void shouldRejectNonPositiveCursorPageSize() {
+        assertThrows(InvalidDataException.class,
+                () -> useCase.findAllByCursor("createdAt", null, 0));
+    }
 }
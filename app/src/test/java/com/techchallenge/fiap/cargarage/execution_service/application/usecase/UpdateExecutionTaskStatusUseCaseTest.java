@@ -4,24 +4,40 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusChangeDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusUpdateDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.BulkItemResult;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.BulkItemOutcomeEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
 import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,13 +49,29 @@ class UpdateExecutionTaskStatusUseCaseTest {
     @Mock
     private ExecutionEventPublisher eventPublisher;
 
+    @Mock
+    private ExecutionTaskChangeNotifier changeNotifier;
+
     private UpdateExecutionTaskStatusUseCase useCase;
 
+    private final TransactionRunner transactionRunner = new TransactionRunner() {
+        @Override
+        public <T> T execute(Supplier<T> action) {
+            return action.get();
+        }
+
+        @Override
+        public boolean isTransactionActive() {
+            return false;
+        }
+    };
+
     private final LocalDateTime now = LocalDateTime.now();
 
     @BeforeEach
     void setUp() {
-        useCase = new UpdateExecutionTaskStatusUseCase(gateway, eventPublisher);
+        useCase = new UpdateExecutionTaskStatusUseCase(
+                gateway, eventPublisher, transactionRunner, changeNotifier);
     }
 
     private ExecutionTask createTask(ExecutionStatus status) {
@@ -53,12 +85,23 @@ class UpdateExecutionTaskStatusUseCaseTest {
                 .build();
     }
 
+    private void stubTransition(ExecutionStatus from, ExecutionStatus to) {
+        when(gateway.transitionStatus(eq(1L), eq(to), isNull(),
+                any(LocalDateTime.class)))
+                .thenAnswer(inv -> Optional.of(createTask(from)
+                        .withStatusUpdated(to, inv.getArgument(3))));
+    }
+
+    private void stubRejected(Long id, ExecutionStatus current) {
+        when(gateway.transitionStatus(eq(id), any(), isNull(),
+                any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(gateway.findById(id)).thenReturn(
+                Optional.ofNullable(current == null ? null : createTask(current)));
+    }
+
     @Test
     void shouldUpdateFromQueuedToInProgress() {
-        ExecutionTask existing = createTask(ExecutionStatus.queued());
-        when(gateway.findById(1L)).thenReturn(Optional.of(existing));
-        when(gateway.update(any(ExecutionTask.class))).thenAnswer(
-                inv -> inv.getArgument(0));
+        stubTransition(ExecutionStatus.queued(), ExecutionStatus.inProgress());
 
         ExecutionTaskStatusUpdateDto dto = ExecutionTaskStatusUpdateDto.builder()
                 .status("IN_PROGRESS").build();
@@ -67,15 +110,16 @@ class UpdateExecutionTaskStatusUseCaseTest {
 
         assertNotNull(result);
         assertEquals(ExecutionStatus.inProgress(), result.status());
+        assertNotNull(result.startedAt());
         verify(eventPublisher).publishExecutionStarted(any());
+        verify(changeNotifier).taskChanged(result);
+        verify(gateway, never()).findById(any());
+        verify(gateway, never()).update(any());
     }
 
     @Test
     void shouldUpdateFromInProgressToCompleted() {
-        ExecutionTask existing = createTask(ExecutionStatus.inProgress());
-        when(gateway.findById(1L)).thenReturn(Optional.of(existing));
-        when(gateway.update(any(ExecutionTask.class))).thenAnswer(
-                inv -> inv.getArgument(0));
+        stubTransition(ExecutionStatus.inProgress(), ExecutionStatus.completed());
 
         ExecutionTaskStatusUpdateDto dto = ExecutionTaskStatusUpdateDto.builder()
                 .status("COMPLETED").build();
@@ -88,10 +132,7 @@ class UpdateExecutionTaskStatusUseCaseTest {
 
     @Test
     void shouldUpdateToFailed() {
-        ExecutionTask existing = createTask(ExecutionStatus.inProgress());
-        when(gateway.findById(1L)).thenReturn(Optional.of(existing));
-        when(gateway.update(any(ExecutionTask.class))).thenAnswer(
-                inv -> inv.getArgument(0));
+        stubTransition(ExecutionStatus.inProgress(), ExecutionStatus.failed());
 
         ExecutionTaskStatusUpdateDto dto = ExecutionTaskStatusUpdateDto.builder()
                 .status("FAILED").build();
@@ -104,7 +145,7 @@ class UpdateExecutionTaskStatusUseCaseTest {
 
     @Test
     void shouldThrowWhenTaskNotFound() {
-        when(gateway.findById(999L)).thenReturn(Optional.empty());
+        stubRejected(999L, null);
 
         ExecutionTaskStatusUpdateDto dto = ExecutionTaskStatusUpdateDto.builder()
                 .status("IN_PROGRESS").build();
@@ -115,20 +156,19 @@ class UpdateExecutionTaskStatusUseCaseTest {
 
     @Test
     void shouldThrowWhenInvalidTransition() {
-        ExecutionTask existing = createTask(ExecutionStatus.completed());
-        when(gateway.findById(1L)).thenReturn(Optional.of(existing));
+        stubRejected(1L, ExecutionStatus.completed());
 
         ExecutionTaskStatusUpdateDto dto = ExecutionTaskStatusUpdateDto.builder()
                 .status("IN_PROGRESS").build();
 
         assertThrows(InvalidDataException.class,
                 () -> useCase.execute(1L, dto));
+        verify(eventPublisher, never()).publishExecutionStarted(any());
     }
 
     @Test
     void shouldThrowWhenQueuedToCompleted() {
-        ExecutionTask existing = createTask(ExecutionStatus.queued());
-        when(gateway.findById(1L)).thenReturn(Optional.of(existing));
+        stubRejected(1L, ExecutionStatus.queued());
 
         ExecutionTaskStatusUpdateDto dto = ExecutionTaskStatusUpdateDto.builder()
                 .status("COMPLETED").build();
@@ -136,4 +176,130 @@ class UpdateExecutionTaskStatusUseCaseTest {
         assertThrows(InvalidDataException.class,
                 () -> useCase.execute(1L, dto));
     }
+
+    @Test
+    void shouldRetryTransitionWhenTaskChangedConcurrently() {
+        // The first update misses, but the task read afterwards is QUEUED
+        when(gateway.transitionStatus(eq(1L), eq(ExecutionStatus.failed()), isNull(),
+                any(LocalDateTime.class)))
+                .thenReturn(Optional.empty())
+                .thenAnswer(inv -> Optional.of(createTask(ExecutionStatus.queued())
+                        .withStatusUpdated(ExecutionStatus.failed(), inv.getArgument(3))));
+        when(gateway.findById(1L)).thenReturn(
+                Optional.of(createTask(ExecutionStatus.queued())));
+
+        ExecutionTask result = useCase.execute(1L,
+                ExecutionTaskStatusUpdateDto.builder().status("FAILED").build());
+
+        assertEquals(ExecutionStatus.failed(), result.status());
+        verify(gateway, times(2)).transitionStatus(eq(1L), any(), isNull(),
+                any(LocalDateTime.class));
+        verify(eventPublisher).publishExecutionFailed(result);
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttemptsOfConcurrentChanges() {
+        stubRejected(1L, ExecutionStatus.inProgress());
+
+        ExecutionTaskStatusUpdateDto dto = ExecutionTaskStatusUpdateDto.builder()
+                .status("COMPLETED").build();
+
+        assertThrows(ConcurrentUpdateException.class, () -> useCase.execute(1L, dto));
+        verify(gateway, times(ConcurrentUpdateRetry.MAX_ATTEMPTS)).transitionStatus(
+                eq(1L), any(), isNull(), any(LocalDateTime.class));
+        verify(eventPublisher, never()).publishExecutionCompleted(any());
+    }
+
+    private ExecutionTask task(Long id, ExecutionStatus status) {
+        return ExecutionTask.builder()
+                .id(id)
+                .serviceOrderId(100L + id)
+                .status(status)
+                .createdAt(now)
+                .build();
+    }
+
+    private static ExecutionTaskStatusChangeDto change(Long id, String status) {
+        return ExecutionTaskStatusChangeDto.builder().id(id).status(status).build();
+    }
+
+    @Test
+    void shouldUpdateStatusesWithOneTransitionPerStatusAndBatchedEvents() {
+        when(gateway.transitionStatusAll(eq(Set.of(1L, 3L)), eq(ExecutionStatus.inProgress()),
+                any(LocalDateTime.class))).thenReturn(List.of(
+                        task(1L, ExecutionStatus.inProgress()),
+                        task(3L, ExecutionStatus.inProgress())));
+        when(gateway.transitionStatusAll(eq(Set.of(2L)), eq(ExecutionStatus.completed()),
+                any(LocalDateTime.class))).thenReturn(List.of(
+                        task(2L, ExecutionStatus.completed())));
+
+        List<BulkItemResult> results = useCase.executeAll(List.of(
+                change(1L, "IN_PROGRESS"), change(2L, "completed"), change(3L, "IN_PROGRESS")));
+
+        assertEquals(List.of(BulkItemOutcomeEnum.UPDATED, BulkItemOutcomeEnum.UPDATED,
+                BulkItemOutcomeEnum.UPDATED),
+                results.stream().map(BulkItemResult::outcome).toList());
+        assertEquals(List.of(1L, 2L, 3L),
+                results.stream().map(result -> result.task().id()).toList());
+        ArgumentCaptor<List<ExecutionTask>> published = ArgumentCaptor.captor();
+        verify(eventPublisher).publishStatusChanges(published.capture());
+        assertEquals(3, published.getValue().size());
+        verify(changeNotifier, times(3)).taskChanged(any());
+        verify(gateway, never()).findById(any());
+    }
+
+    @Test
+    void shouldReportRejectedStatusChangesPerItem() {
+        when(gateway.transitionStatusAll(eq(Set.of(1L, 2L, 3L)),
+                eq(ExecutionStatus.inProgress()), any(LocalDateTime.class)))
+                .thenReturn(List.of(task(1L, ExecutionStatus.inProgress())));
+        when(gateway.findById(2L)).thenReturn(Optional.empty());
+        when(gateway.findById(3L)).thenReturn(
+                Optional.of(task(3L, ExecutionStatus.completed())));
+
+        List<BulkItemResult> results = useCase.executeAll(Arrays.asList(
+                change(1L, "IN_PROGRESS"), change(2L, "IN_PROGRESS"),
+                change(3L, "IN_PROGRESS"), change(1L, "FAILED"),
+                change(4L, "UNKNOWN"), change(null, "FAILED"), change(5L, " "), null));
+
+        assertEquals(List.of(BulkItemOutcomeEnum.UPDATED, BulkItemOutcomeEnum.NOT_FOUND,
+                BulkItemOutcomeEnum.INVALID, BulkItemOutcomeEnum.INVALID,
+                BulkItemOutcomeEnum.INVALID, BulkItemOutcomeEnum.INVALID,
+                BulkItemOutcomeEnum.INVALID, BulkItemOutcomeEnum.INVALID),
+                results.stream().map(BulkItemResult::outcome).toList());
+        assertEquals("Execution task not found with id: 2", results.get(1).error());
+        assertEquals("Invalid status transition from COMPLETED to IN_PROGRESS",
+                results.get(2).error());
+        assertEquals("Duplicate execution task id: 1", results.get(3).error());
+        assertEquals("Invalid execution status: UNKNOWN", results.get(4).error());
+        assertEquals("id is required", results.get(5).error());
+        assertEquals("status is required", results.get(6).error());
+        verify(eventPublisher).publishStatusChanges(
+                List.of(task(1L, ExecutionStatus.inProgress())));
+    }
+
+    @Test
+    void shouldReportConflictWhenTaskChangedConcurrently() {
+        when(gateway.transitionStatusAll(eq(Set.of(1L)), eq(ExecutionStatus.completed()),
+                any(LocalDateTime.class))).thenReturn(List.of());
+        when(gateway.findById(1L)).thenReturn(
+                Optional.of(task(1L, ExecutionStatus.inProgress())));
+
+        List<BulkItemResult> results = useCase.executeAll(List.of(change(1L, "COMPLETED")));
+
+        assertEquals(BulkItemOutcomeEnum.CONFLICT, results.get(0).outcome());
+        verify(eventPublisher, never()).publishStatusChanges(any());
+        verify(changeNotifier, never()).taskChanged(any());
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedStatusChanges() {
+        assertThrows(InvalidDataException.class, () -> useCase.executeAll(List.of()));
+        assertThrows(InvalidDataException.class, () -> useCase.executeAll(null));
+        List<ExecutionTaskStatusChangeDto> tooMany = LongStream
+                .rangeClosed(1, UpdateExecutionTaskStatusUseCase.MAX_BULK + 1)
+                .mapToObj(id -> change(id, "FAILED")).toList();
+        assertThrows(InvalidDataException.class, () -> useCase.executeAll(tooMany));
+        verify(gateway, never()).transitionStatusAll(any(), any(), any());
+    }
 }
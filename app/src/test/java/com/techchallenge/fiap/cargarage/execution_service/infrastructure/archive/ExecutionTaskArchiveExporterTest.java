@@ -0,0 +1,170 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionTaskArchiveExporterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 14);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NdjsonExecutionTaskArchive archive;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutionTaskArchiveExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new ExecutionTaskArchiveExporter(jdbcTemplate, archive,
+                new TransactionTemplate(transactionManager));
+    }
+
+    private void archiveTables(String... names) {
+        when(jdbcTemplate.queryForList(contains("pg_tables"), eq(String.class), anyString()))
+                .thenReturn(List.of(names));
+    }
+
+    private void lock(String table, boolean acquired) {
+        when(jdbcTemplate.queryForObject(contains("pg_try_advisory_xact_lock"), eq(Boolean.class),
+                eq(table))).thenReturn(acquired);
+    }
+
+    private void exists(String table, boolean exists) {
+        when(jdbcTemplate.queryForObject(contains("to_regclass"), eq(Boolean.class),
+                eq(table))).thenReturn(exists);
+    }
+
+    private void days(String table, LocalDate... days) {
+        when(jdbcTemplate.queryForList(contains("FROM " + table + " ORDER BY day"),
+                eq(LocalDate.class))).thenReturn(List.of(days));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ExecutionTaskDto> tasksOf(String table, LocalDate day, Long... ids) {
+        List<ExecutionTaskDto> tasks = Arrays.stream(ids)
+                .map(id -> ExecutionTaskDto.builder().id(id).serviceOrderId(100L + id)
+                        .status("COMPLETED").createdAt(day.atTime(8, 0)).build())
+                .toList();
+        when(jdbcTemplate.query(contains("FROM " + table + " WHERE"), any(RowMapper.class),
+                eq(day.atStartOfDay()), eq(day.plusDays(1).atStartOfDay()))).thenReturn(tasks);
+        return tasks;
+    }
+
+    @Test
+    void shouldWriteEachDayAndDropExportedTable() throws IOException {
+        archiveTables("execution_task_archive_2025_08");
+        lock("execution_task_archive_2025_08", true);
+        exists("execution_task_archive_2025_08", true);
+        days("execution_task_archive_2025_08", DAY, DAY.plusDays(1));
+        List<ExecutionTaskDto> first = tasksOf("execution_task_archive_2025_08", DAY, 1L, 2L);
+        List<ExecutionTaskDto> second = tasksOf("execution_task_archive_2025_08", DAY.plusDays(1), 3L);
+
+        List<String> exported = exporter.exportArchiveTables();
+
+        assertEquals(List.of("execution_task_archive_2025_08"), exported);
+        verify(archive).write(DAY, first);
+        verify(archive).write(DAY.plusDays(1), second);
+        verify(jdbcTemplate).execute("DROP TABLE execution_task_archive_2025_08");
+    }
+
+    @Test
+    void shouldIgnoreTablesThatAreNotMonthlyArchives() {
+        archiveTables("execution_task_archive_old");
+
+        assertEquals(List.of(), exporter.exportArchiveTables());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void shouldKeepTableWhenWritingFails() throws IOException {
+        archiveTables("execution_task_archive_2025_08", "execution_task_archive_2025_09");
+        lock("execution_task_archive_2025_08", true);
+        exists("execution_task_archive_2025_08", true);
+        lock("execution_task_archive_2025_09", true);
+        exists("execution_task_archive_2025_09", true);
+        days("execution_task_archive_2025_08", DAY);
+        List<ExecutionTaskDto> failing = tasksOf("execution_task_archive_2025_08", DAY, 1L);
+        doThrow(new IOException("disk full")).when(archive).write(DAY, failing);
+        days("execution_task_archive_2025_09");
+
+        List<String> exported = exporter.exportArchiveTables();
+
+        assertEquals(List.of("execution_task_archive_2025_09"), exported);
+        verify(jdbcTemplate, never()).execute("DROP TABLE execution_task_archive_2025_08");
+    }
+
+    @Test
+    void shouldSkipTableLockedByAnotherReplica() throws IOException {
+        archiveTables("execution_task_archive_2025_08");
+        lock("execution_task_archive_2025_08", false);
+
+        assertEquals(List.of(), exporter.exportArchiveTables());
+        verify(archive, never()).write(any(), any());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void shouldSkipTableAlreadyDroppedByAnotherReplica() throws IOException {
+        archiveTables("execution_task_archive_2025_08");
+        lock("execution_task_archive_2025_08", true);
+        exists("execution_task_archive_2025_08", false);
+
+        assertEquals(List.of(), exporter.exportArchiveTables());
+        verify(archive, never()).write(any(), any());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void shouldMapArchivedRow() throws Exception {
+        ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        LocalDateTime createdAt = DAY.atTime(8, 0);
+        when(rs.getLong("id")).thenReturn(1L);
+        when(rs.getLong("service_order_id")).thenReturn(100L);
+        when(rs.getString("status")).thenReturn("COMPLETED");
+        when(rs.getObject("priority", Integer.class)).thenReturn(2);
+        when(rs.getObject("created_at", LocalDateTime.class)).thenReturn(createdAt);
+
+        ExecutionTaskDto task = ExecutionTaskArchiveExporter.toDto(rs, 0);
+
+        assertEquals(1L, task.id());
+        assertEquals(100L, task.serviceOrderId());
+        assertEquals("COMPLETED", task.status());
+        assertEquals(2, task.priority());
+        assertEquals(createdAt, task.createdAt());
+    }
+}
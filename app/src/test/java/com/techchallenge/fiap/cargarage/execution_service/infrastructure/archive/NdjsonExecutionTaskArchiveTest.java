@@ -0,0 +1,122 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.archive;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+
+class NdjsonExecutionTaskArchiveTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 14);
+
+    @TempDir
+    private Path root;
+
+    private NdjsonExecutionTaskArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new NdjsonExecutionTaskArchive(root.toString());
+    }
+
+    private ExecutionTaskDto task(Long id, Long serviceOrderId, String status, LocalDate day) {
+        return ExecutionTaskDto.builder()
+                .id(id)
+                .serviceOrderId(serviceOrderId)
+                .status(status)
+                .priority(1)
+                .createdAt(day.atTime(10, 30))
+                .completedAt(LocalDateTime.of(2025, 8, 15, 9, 0))
+                .build();
+    }
+
+    @Test
+    void shouldWriteDayAsGzipNdjson() throws IOException {
+        archive.write(DAY, List.of(task(1L, 100L, "COMPLETED", DAY), task(2L, 101L, "FAILED", DAY)));
+
+        Path file = root.resolve("2025/08/2025-08-14.ndjson.gz");
+        try (GZIPInputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            List<String> lines = new String(in.readAllBytes(), UTF_8).lines().toList();
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).contains("\"createdAt\":\"2025-08-14T10:30:00\""));
+        }
+        assertTrue(Files.exists(root.resolve("2025/08/2025-08-14.index.json")));
+    }
+
+    @Test
+    void shouldFindArchivedTaskById() throws IOException {
+        ExecutionTaskDto completed = task(2L, 101L, "COMPLETED", DAY);
+        archive.write(DAY, List.of(task(1L, 100L, "COMPLETED", DAY), completed));
+        archive.write(DAY.plusDays(1), List.of(task(3L, 102L, "COMPLETED", DAY.plusDays(1))));
+
+        assertEquals(Optional.of(completed), archive.findById(2L));
+        assertTrue(archive.findById(4L).isEmpty());
+    }
+
+    @Test
+    void shouldFindLatestArchivedTaskOfServiceOrder() throws IOException {
+        archive.write(DAY, List.of(task(1L, 100L, "FAILED", DAY)));
+        ExecutionTaskDto retried = task(5L, 100L, "COMPLETED", DAY.plusDays(2));
+        archive.write(DAY.plusDays(2), List.of(task(4L, 103L, "COMPLETED", DAY.plusDays(2)), retried));
+
+        assertEquals(Optional.of(retried), archive.findByServiceOrderId(100L));
+        assertTrue(archive.findByServiceOrderId(999L).isEmpty());
+    }
+
+    @Test
+    void shouldReplaceRewrittenDay() throws IOException {
+        archive.write(DAY, List.of(task(1L, 100L, "COMPLETED", DAY)));
+        assertTrue(archive.findById(1L).isPresent());
+
+        archive.write(DAY, List.of(task(7L, 107L, "COMPLETED", DAY)));
+
+        assertTrue(archive.findById(1L).isEmpty());
+        assertTrue(archive.findById(7L).isPresent());
+    }
+
+    @Test
+    void shouldFindDayWrittenAfterLookup() throws IOException {
+        assertTrue(archive.findById(1L).isEmpty());
+
+        archive.write(DAY, List.of(task(1L, 100L, "COMPLETED", DAY)));
+
+        assertTrue(archive.findById(1L).isPresent());
+    }
+
+    @Test
+    void shouldSeeDaysWrittenByAnotherReplicaOnRefresh() throws IOException {
+        NdjsonExecutionTaskArchive other = new NdjsonExecutionTaskArchive(root.toString());
+        assertTrue(archive.findById(1L).isEmpty());
+
+        other.write(DAY, List.of(task(1L, 100L, "COMPLETED", DAY)));
+        assertTrue(archive.findById(1L).isEmpty());
+
+        ReflectionTestUtils.setField(archive, "daysRefresh", Duration.ZERO);
+        assertTrue(archive.findById(1L).isPresent());
+    }
+
+    @Test
+    void shouldFindNothingWithoutArchiveDirectory() {
+        NdjsonExecutionTaskArchive missing =
+                new NdjsonExecutionTaskArchive(root.resolve("missing").toString());
+
+        assertTrue(missing.findById(1L).isEmpty());
+        assertTrue(missing.findByServiceOrderId(100L).isEmpty());
+    }
+}
@@ -2,32 +2,50 @@ package com.techchallenge.fiap.cargarage.execution_service.infrastructure.contro
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.techchallenge.fiap.cargarage.execution_service.application.controller.ExecutionTaskCleanArchController;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.BulkItemResultDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskClaimRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusUpdateDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.SagaLatencyDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring.SagaLatencyMetrics;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskChangeBroadcaster;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskStreamFilter;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.TooManySubscribersException;
 
 @WebMvcTest(ExecutionTaskController.class)
 class ExecutionTaskControllerTest {
@@ -41,6 +59,12 @@ class ExecutionTaskControllerTest {
     @MockitoBean
     private ExecutionTaskCleanArchController cleanArchController;
 
+    @MockitoBean
+    private SagaLatencyMetrics sagaLatencyMetrics;
+
+    @MockitoBean
+    private ExecutionTaskChangeBroadcaster changeBroadcaster;
+
     private final LocalDateTime now = LocalDateTime.now();
 
     private ExecutionTaskDto createDto() {
@@ -111,6 +135,49 @@ class ExecutionTaskControllerTest {
                 .andExpect(jsonPath("$.content[0].status").value("QUEUED"));
     }
 
+    @Test
+    void shouldGetAllByCursor() throws Exception {
+        PageDto<ExecutionTaskDto> page = new PageDto<>(
+                List.of(createDto()), PageDto.UNKNOWN_TOTAL, 0, 15, "next");
+        when(cleanArchController.findAllByCursor("createdAt", null, 15, null, null))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/execution-tasks").param("cursor", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").value(-1));
+    }
+
+    @Test
+    void shouldGetByStatusAfterCursor() throws Exception {
+        PageDto<ExecutionTaskDto> page = new PageDto<>(
+                List.of(createDto()), PageDto.UNKNOWN_TOTAL, 0, 50, null);
+        when(cleanArchController.findByStatusByCursor(
+                "COMPLETED", "priority", "abc", 50, null, null)).thenReturn(page);
+
+        mockMvc.perform(get("/execution-tasks/status/COMPLETED")
+                .param("after", "abc")
+                .param("sort", "priority")
+                .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray());
+    }
+
+    @Test
+    void shouldGetCreationPeriodByCursor() throws Exception {
+        PageDto<ExecutionTaskDto> page = new PageDto<>(
+                List.of(createDto()), PageDto.UNKNOWN_TOTAL, 0, 15, null);
+        when(cleanArchController.findByStatusByCursor("COMPLETED", "createdAt", null, 15,
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 2, 1, 0, 0)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/execution-tasks/status/COMPLETED")
+                .param("createdFrom", "2026-01-01T00:00:00")
+                .param("createdTo", "2026-02-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(-1));
+    }
+
     @Test
     void shouldCreateTask() throws Exception {
         ExecutionTaskRequestDto request = ExecutionTaskRequestDto.builder()
@@ -138,6 +205,40 @@ class ExecutionTaskControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void shouldCreateTasksInBulkWithResultPerItem() throws Exception {
+        when(cleanArchController.createAll(any())).thenReturn(List.of(
+                new BulkItemResultDto(0, "CREATED", createDto(), null),
+                new BulkItemResultDto(1, "INVALID", null, "serviceOrderId is required")));
+
+        // An invalid item does not fail the request
+        mockMvc.perform(post("/execution-tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"serviceOrderId\":100},{}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$[0].task.id").value(1))
+                .andExpect(jsonPath("$[1].outcome").value("INVALID"))
+                .andExpect(jsonPath("$[1].error").value("serviceOrderId is required"));
+    }
+
+    @Test
+    void shouldUpdateStatusesInBulkWithResultPerItem() throws Exception {
+        when(cleanArchController.updateStatuses(any())).thenReturn(List.of(
+                new BulkItemResultDto(0, "UPDATED", createDto(), null),
+                new BulkItemResultDto(1, "INVALID", null,
+                        "Invalid status transition from COMPLETED to IN_PROGRESS")));
+
+        mockMvc.perform(put("/execution-tasks/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":1,\"status\":\"IN_PROGRESS\"},"
+                        + "{\"id\":2,\"status\":\"IN_PROGRESS\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$[0].task.id").value(1))
+                .andExpect(jsonPath("$[1].outcome").value("INVALID"));
+    }
+
     @Test
     void shouldUpdateStatus() throws Exception {
         ExecutionTaskDto updated = ExecutionTaskDto.builder()
@@ -189,4 +290,123 @@ class ExecutionTaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("FAILED"));
     }
+
+    @Test
+    void shouldReturnSagaLatencyByPriority() throws Exception {
+        SagaLatencyDto latency = SagaLatencyDto.builder()
+                .priority(1)
+                .stages(Map.of("total", SagaLatencyDto.StageLatency.builder()
+                        .count(3)
+                        .meanSeconds(120.0)
+                        .maxSeconds(300.0)
+                        .percentilesSeconds(Map.of("p95", 290.0))
+                        .build()))
+                .build();
+        when(sagaLatencyMetrics.snapshot()).thenReturn(List.of(latency));
+
+        mockMvc.perform(get("/execution-tasks/metrics/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].priority").value(1))
+                .andExpect(jsonPath("$[0].stages.total.count").value(3))
+                .andExpect(jsonPath("$[0].stages.total.percentilesSeconds.p95").value(290.0));
+    }
+
+    @Test
+    void shouldClaimQueuedTasks() throws Exception {
+        ExecutionTaskClaimRequestDto request = ExecutionTaskClaimRequestDto.builder()
+                .technician("Tech A")
+                .limit(2)
+                .build();
+        when(cleanArchController.claim(any(ExecutionTaskClaimRequestDto.class)))
+                .thenReturn(List.of(createDto()));
+
+        mockMvc.perform(post("/execution-tasks/claim")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void shouldRejectClaimWithoutTechnician() throws Exception {
+        mockMvc.perform(post("/execution-tasks/claim")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"limit\":1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldOpenFilteredStream() throws Exception {
+        ExecutionTaskStreamFilter filter =
+                new ExecutionTaskStreamFilter("IN_PROGRESS", null, "Tech A");
+        when(changeBroadcaster.subscribe(filter)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/execution-tasks/stream")
+                .param("status", "in_progress")
+                .param("technician", "Tech A")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(changeBroadcaster).subscribe(filter);
+    }
+
+    @Test
+    void shouldAnswerServiceUnavailableWhenStreamsAreFull() throws Exception {
+        when(changeBroadcaster.subscribe(any()))
+                .thenThrow(new TooManySubscribersException("Too many open execution task streams (500)"));
+
+        mockMvc.perform(get("/execution-tasks/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    void shouldRejectStreamWithInvalidStatus() throws Exception {
+        mockMvc.perform(get("/execution-tasks/stream").param("status", "DONE"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamFilteredExportAsCsv() throws Exception {
+        ExecutionTaskExportFilterDto filter = new ExecutionTaskExportFilterDto("COMPLETED",
+                LocalDateTime.of(2026, 10, 1, 0, 0), LocalDateTime.of(2026, 10, 2, 0, 0));
+        when(cleanArchController.export(eq(filter), eq(ExecutionTaskExportFormatEnum.CSV), any()))
+                .thenAnswer(inv -> {
+                    inv.getArgument(2, OutputStream.class).write("id\r\n1\r\n".getBytes());
+                    return 1L;
+                });
+
+        mockMvc.perform(get("/execution-tasks/export")
+                .param("status", "completed")
+                .param("createdFrom", "2026-10-01T00:00:00")
+                .param("createdTo", "2026-10-02T00:00:00")
+                .param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"execution-tasks.csv\""))
+                .andExpect(content().string("id\r\n1\r\n"));
+    }
+
+    @Test
+    void shouldExportAllTasksAsNdjsonByDefault() throws Exception {
+        mockMvc.perform(get("/execution-tasks/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"));
+
+        verify(cleanArchController).export(eq(new ExecutionTaskExportFilterDto(null, null, null)),
+                eq(ExecutionTaskExportFormatEnum.NDJSON), any());
+    }
+
+    @Test
+    void shouldRejectExportWithInvalidFormatOrPeriod() throws Exception {
+        mockMvc.perform(get("/execution-tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/execution-tasks/export")
+                .param("createdFrom", "2026-10-02T00:00:00")
+                .param("createdTo", "2026-10-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(cleanArchController);
+    }
 }
@@ -14,6 +14,7 @@ import org.springframework.web.context.request.WebRequest;
 
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ErrorMessageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.BusinessException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
 
@@ -59,6 +60,18 @@ class GlobalExceptionHandlerTest {
         assertEquals(404, response.getBody().status());
     }
 
+    @Test
+    void shouldHandleConcurrentUpdateExceptionAsConflict() {
+        ConcurrentUpdateException ex = new ConcurrentUpdateException("Changed concurrently");
+        ResponseEntity<ErrorMessageDto> response =
+                handler.handleConcurrentUpdateException(ex, createWebRequest());
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Changed concurrently", response.getBody().message());
+        assertEquals(409, response.getBody().status());
+    }
+
     @Test
     void shouldHandleIllegalArgumentException() {
         IllegalArgumentException ex = new IllegalArgumentException("Bad argument");
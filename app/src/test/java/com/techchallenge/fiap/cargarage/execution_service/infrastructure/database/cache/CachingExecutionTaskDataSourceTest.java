@@ -0,0 +1,349 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskChangeEventDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CachingExecutionTaskDataSourceTest {
+
+    @Mock
+    private ExecutionTaskDataSource delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingExecutionTaskDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = cache(Duration.ofMinutes(1));
+    }
+
+    private CachingExecutionTaskDataSource cache(Duration primaryReadWindow) {
+        return new CachingExecutionTaskDataSource(
+                delegate, new ReadWriteTransactionRunner(), 100, Duration.ofMinutes(1),
+                primaryReadWindow, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    /**
+     * Marks the action as running in a read-write transaction, as the real
+     * runner does.
+     */
+    private static class ReadWriteTransactionRunner implements TransactionRunner {
+
+        @Override
+        public <T> T execute(Supplier<T> action) {
+            boolean active = TransactionSynchronizationManager.isActualTransactionActive();
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            try {
+                return action.get();
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(active);
+            }
+        }
+
+        @Override
+        public boolean isTransactionActive() {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+    }
+
+    private ExecutionTaskDto task(String status) {
+        return ExecutionTaskDto.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void shouldServeRepeatedFindByIdFromCache() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+
+        dataSource.findById(1L);
+        Optional<ExecutionTaskDto> result = dataSource.findById(1L);
+
+        assertEquals("QUEUED", result.orElseThrow().status());
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", CachingExecutionTaskDataSource.BY_ID_CACHE)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldServeRepeatedFindByServiceOrderIdFromCache() {
+        when(delegate.findByServiceOrderId(100L)).thenReturn(Optional.of(task("QUEUED")));
+
+        dataSource.findByServiceOrderId(100L);
+        dataSource.findByServiceOrderId(100L);
+
+        verify(delegate, times(1)).findByServiceOrderId(100L);
+    }
+
+    @Test
+    void shouldNotCacheMissingTask() {
+        when(delegate.findById(1L)).thenReturn(Optional.empty());
+
+        assertTrue(dataSource.findById(1L).isEmpty());
+        assertTrue(dataSource.findById(1L).isEmpty());
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldInvalidateOnStatusTransition() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.findByServiceOrderId(100L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.transitionStatus(eq(1L), any(ExecutionTaskStatusTransitionDto.class)))
+                .thenReturn(Optional.of(task("IN_PROGRESS")));
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(100L);
+
+        dataSource.transitionStatus(1L, ExecutionTaskStatusTransitionDto.builder().build());
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(100L);
+
+        verify(delegate, times(2)).findById(1L);
+        verify(delegate, times(2)).findByServiceOrderId(100L);
+    }
+
+    @Test
+    void shouldInvalidateServiceOrdersOfBulkInsert() {
+        when(delegate.findByServiceOrderId(100L)).thenReturn(Optional.of(task("FAILED")));
+        List<ExecutionTaskPersistenceDto> dtos =
+                List.of(ExecutionTaskPersistenceDto.builder().serviceOrderId(100L).build());
+        when(delegate.insertAllIfAbsent(dtos)).thenReturn(List.of(Optional.of(task("QUEUED"))));
+        dataSource.findByServiceOrderId(100L);
+
+        dataSource.insertAllIfAbsent(dtos);
+        dataSource.findByServiceOrderId(100L);
+
+        verify(delegate, times(2)).findByServiceOrderId(100L);
+    }
+
+    @Test
+    void shouldInvalidateClaimedTasks() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.claimNext(eq("Tech A"), eq(1), any(LocalDateTime.class)))
+                .thenReturn(List.of(task("IN_PROGRESS")));
+        dataSource.findById(1L);
+
+        dataSource.claimNext("Tech A", 1, LocalDateTime.now());
+        dataSource.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldInvalidateTasksOfBulkTransition() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.findByServiceOrderId(100L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.transitionStatusAll(eq(List.of(1L)),
+                any(ExecutionTaskStatusTransitionDto.class)))
+                .thenReturn(List.of(task("IN_PROGRESS")));
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(100L);
+
+        dataSource.transitionStatusAll(List.of(1L),
+                ExecutionTaskStatusTransitionDto.builder().build());
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(100L);
+
+        verify(delegate, times(2)).findById(1L);
+        verify(delegate, times(2)).findByServiceOrderId(100L);
+    }
+
+    @Test
+    void shouldInvalidateServiceOrderEntryOnInsert() {
+        when(delegate.findByServiceOrderId(100L)).thenReturn(Optional.of(task("FAILED")));
+        when(delegate.insert(any(ExecutionTaskPersistenceDto.class)))
+                .thenReturn(task("QUEUED"));
+        dataSource.findByServiceOrderId(100L);
+
+        dataSource.insert(ExecutionTaskPersistenceDto.builder().serviceOrderId(100L).build());
+        dataSource.findByServiceOrderId(100L);
+
+        verify(delegate, times(2)).findByServiceOrderId(100L);
+    }
+
+    @Test
+    void shouldInvalidateOnUpdateAndDelete() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.findByServiceOrderId(100L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.update(eq(1L), any(ExecutionTaskPersistenceDto.class)))
+                .thenReturn(task("IN_PROGRESS"));
+        dataSource.findById(1L);
+
+        dataSource.update(1L, ExecutionTaskPersistenceDto.builder().build());
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(100L);
+        dataSource.deleteById(1L);
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(100L);
+
+        verify(delegate, times(3)).findById(1L);
+        verify(delegate, times(2)).findByServiceOrderId(100L);
+    }
+
+    @Test
+    void shouldBypassCacheInsideTransaction() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        dataSource.findById(1L);
+        dataSource.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldEvictAgainWhenTransactionCompletes() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.transitionStatus(eq(1L), any(ExecutionTaskStatusTransitionDto.class)))
+                .thenReturn(Optional.of(task("IN_PROGRESS")));
+        TransactionSynchronizationManager.initSynchronization();
+
+        dataSource.transitionStatus(1L, ExecutionTaskStatusTransitionDto.builder().build());
+        // a reader outside the transaction caches the pre-commit row
+        dataSource.findById(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(
+                        TransactionSynchronization.STATUS_COMMITTED));
+        dataSource.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldReloadEvictedTaskFromPrimaryWhileReplicaLags() {
+        // Reads outside a read-write transaction are routed to the replica,
+        // which has not applied the transition yet
+        when(delegate.findById(1L)).thenAnswer(invocation ->
+                Optional.of(task(readsPrimary() ? "IN_PROGRESS" : "QUEUED")));
+        when(delegate.transitionStatus(eq(1L), any(ExecutionTaskStatusTransitionDto.class)))
+                .thenReturn(Optional.of(task("IN_PROGRESS")));
+
+        dataSource.transitionStatus(1L, ExecutionTaskStatusTransitionDto.builder().build());
+
+        assertEquals("IN_PROGRESS", dataSource.findById(1L).orElseThrow().status());
+        assertEquals("IN_PROGRESS", dataSource.findById(1L).orElseThrow().status());
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldLoadMissFromReplica() {
+        when(delegate.findById(1L)).thenAnswer(invocation ->
+                Optional.of(task(readsPrimary() ? "primary" : "replica")));
+        when(delegate.findByServiceOrderId(100L)).thenAnswer(invocation ->
+                Optional.of(task(readsPrimary() ? "primary" : "replica")));
+
+        assertEquals("replica", dataSource.findById(1L).orElseThrow().status());
+        assertEquals("replica", dataSource.findByServiceOrderId(100L).orElseThrow().status());
+    }
+
+    @Test
+    void shouldLoadFromReplicaAgainAfterPrimaryReadWindow() {
+        dataSource = cache(Duration.ZERO);
+        when(delegate.findById(1L)).thenAnswer(invocation ->
+                Optional.of(task(readsPrimary() ? "primary" : "replica")));
+        when(delegate.transitionStatus(eq(1L), any(ExecutionTaskStatusTransitionDto.class)))
+                .thenReturn(Optional.of(task("IN_PROGRESS")));
+
+        dataSource.transitionStatus(1L, ExecutionTaskStatusTransitionDto.builder().build());
+
+        assertEquals("replica", dataSource.findById(1L).orElseThrow().status());
+    }
+
+    @Test
+    void shouldReloadTaskChangedByOtherReplicaFromPrimary() {
+        when(delegate.findByServiceOrderId(100L)).thenAnswer(invocation ->
+                Optional.of(task(readsPrimary() ? "primary" : "replica")));
+
+        dataSource.onRemoteChange(new ExecutionTaskChangeEventDto(
+                1L, 100L, "IN_PROGRESS", "Tech A", LocalDateTime.now()));
+
+        assertEquals("primary", dataSource.findByServiceOrderId(100L).orElseThrow().status());
+    }
+
+    @Test
+    void shouldReloadServiceOrderOfDeletedTaskFromPrimary() {
+        when(delegate.findByServiceOrderId(100L)).thenAnswer(invocation ->
+                Optional.of(task(readsPrimary() ? "primary" : "replica")));
+        dataSource.findByServiceOrderId(100L);
+
+        dataSource.deleteById(1L);
+
+        assertEquals("primary", dataSource.findByServiceOrderId(100L).orElseThrow().status());
+    }
+
+    private static boolean readsPrimary() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @Test
+    void shouldEvictOnChangeFromOtherReplica() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+        when(delegate.findByServiceOrderId(100L)).thenReturn(Optional.of(task("QUEUED")));
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(100L);
+
+        dataSource.onRemoteChange(new ExecutionTaskChangeEventDto(
+                1L, 100L, "IN_PROGRESS", "Tech A", LocalDateTime.now()));
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(100L);
+
+        verify(delegate, times(2)).findById(1L);
+        verify(delegate, times(2)).findByServiceOrderId(100L);
+    }
+
+    @Test
+    void shouldClearOnResync() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task("QUEUED")));
+        dataSource.findById(1L);
+
+        dataSource.onResync();
+        dataSource.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+    }
+}
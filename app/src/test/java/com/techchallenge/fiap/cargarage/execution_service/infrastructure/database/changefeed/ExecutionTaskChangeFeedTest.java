@@ -0,0 +1,140 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream.ExecutionTaskChangeEventDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionTaskChangeFeedTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 17, 10, 15, 30);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ExecutionTaskChangeHandler handler;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ExecutionTaskChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new ExecutionTaskChangeFeed(
+                jdbcTemplate, new DataSourceProperties(), List.of(handler), registry);
+    }
+
+    private String published() {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForList(eq("SELECT pg_notify(?, ?)"),
+                eq(ExecutionTaskChangeFeed.CHANNEL), payload.capture());
+        return payload.getValue();
+    }
+
+    private String fromOtherReplica(String status) {
+        return "{\"origin\":\"other-replica\",\"id\":1,\"serviceOrderId\":100,\"status\":\""
+                + status + "\",\"assignedTechnician\":\"Tech A\",\"updatedAt\":\"2026-10-17T10:15:30\"}";
+    }
+
+    @Test
+    void shouldNotifyIdStatusAndOrigin() {
+        changeFeed.publish(ExecutionTaskDto.builder()
+                .id(1L).serviceOrderId(100L).status("COMPLETED")
+                .assignedTechnician("Tech A").updatedAt(UPDATED_AT).build());
+
+        String payload = published();
+        assertTrue(payload.contains("\"id\":1"));
+        assertTrue(payload.contains("\"status\":\"COMPLETED\""));
+        assertTrue(payload.contains("\"updatedAt\":\"2026-10-17T10:15:30\""));
+        assertTrue(payload.contains("\"origin\":"));
+    }
+
+    @Test
+    void shouldNotifySeveralTasksWithOneStatement() {
+        changeFeed.publishAll(List.of(
+                ExecutionTaskDto.builder().id(1L).status("COMPLETED").build(),
+                ExecutionTaskDto.builder().id(2L).status("COMPLETED").build()));
+
+        ArgumentCaptor<String[]> payloads = ArgumentCaptor.forClass(String[].class);
+        verify(jdbcTemplate).queryForList(
+                eq("SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload"),
+                eq(ExecutionTaskChangeFeed.CHANNEL), payloads.capture());
+        assertEquals(2, payloads.getValue().length);
+        assertTrue(payloads.getValue()[0].contains("\"id\":1"));
+        assertTrue(payloads.getValue()[1].contains("\"id\":2"));
+    }
+
+    @Test
+    void shouldNotNotifyEmptyBatch() {
+        changeFeed.publishAll(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldHandChangesOfOtherReplicas() {
+        changeFeed.dispatch(fromOtherReplica("IN_PROGRESS"));
+
+        verify(handler).onRemoteChange(new ExecutionTaskChangeEventDto(
+                1L, 100L, "IN_PROGRESS", "Tech A", UPDATED_AT));
+        assertEquals(1.0, registry.get(ExecutionTaskChangeFeed.RECEIVED_COUNTER).counter().count());
+    }
+
+    @Test
+    void shouldSkipOwnChanges() {
+        changeFeed.publishDeleted(1L);
+
+        changeFeed.dispatch(published());
+
+        verify(handler, never()).onRemoteChange(any());
+    }
+
+    @Test
+    void shouldIgnoreMalformedNotification() {
+        changeFeed.dispatch("not json");
+
+        verify(handler, never()).onRemoteChange(any());
+    }
+
+    @Test
+    void shouldKeepDispatchingWhenHandlerFails() {
+        ExecutionTaskChangeHandler cache = mock(ExecutionTaskChangeHandler.class);
+        changeFeed.addHandler(cache);
+        doThrow(new IllegalStateException("boom")).when(handler).onRemoteChange(any());
+
+        changeFeed.dispatch(fromOtherReplica("COMPLETED"));
+
+        verify(cache).onRemoteChange(any());
+    }
+
+    @Test
+    void shouldAskHandlersToResync() {
+        changeFeed.resync();
+
+        verify(handler).onResync();
+    }
+}
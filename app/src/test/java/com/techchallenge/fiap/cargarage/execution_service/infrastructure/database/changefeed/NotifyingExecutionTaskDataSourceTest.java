@@ -0,0 +1,145 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.changefeed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+
+@ExtendWith(MockitoExtension.class)
+class NotifyingExecutionTaskDataSourceTest {
+
+    @Mock
+    private ExecutionTaskDataSource delegate;
+
+    @Mock
+    private ExecutionTaskChangeFeed changeFeed;
+
+    private int transactions;
+
+    private NotifyingExecutionTaskDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        TransactionRunner transactionRunner = new TransactionRunner() {
+            @Override
+            public <T> T execute(Supplier<T> action) {
+                transactions++;
+                return action.get();
+            }
+
+            @Override
+            public boolean isTransactionActive() {
+                return false;
+            }
+        };
+        dataSource = new NotifyingExecutionTaskDataSource(delegate, changeFeed, transactionRunner);
+    }
+
+    private ExecutionTaskDto task(Long id, String status) {
+        return ExecutionTaskDto.builder().id(id).serviceOrderId(100L + id).status(status).build();
+    }
+
+    @Test
+    void shouldNotifyInsertInSameTransaction() {
+        ExecutionTaskPersistenceDto dto = ExecutionTaskPersistenceDto.builder().build();
+        when(delegate.insertIfAbsent(dto)).thenReturn(Optional.of(task(1L, "QUEUED")));
+
+        dataSource.insertIfAbsent(dto);
+
+        verify(changeFeed).publish(task(1L, "QUEUED"));
+        assertEquals(1, transactions);
+    }
+
+    @Test
+    void shouldNotifyEveryInsertedTaskOfBatchInOneTransaction() {
+        List<ExecutionTaskPersistenceDto> dtos = List.of(
+                ExecutionTaskPersistenceDto.builder().build(),
+                ExecutionTaskPersistenceDto.builder().build());
+        when(delegate.insertAllIfAbsent(dtos))
+                .thenReturn(List.of(Optional.empty(), Optional.of(task(2L, "QUEUED"))));
+
+        dataSource.insertAllIfAbsent(dtos);
+
+        verify(changeFeed).publishAll(List.of(task(2L, "QUEUED")));
+        verify(changeFeed, never()).publish(any());
+        assertEquals(1, transactions);
+    }
+
+    @Test
+    void shouldNotifyAppliedTransitionOnly() {
+        ExecutionTaskStatusTransitionDto transition = ExecutionTaskStatusTransitionDto.builder().build();
+        when(delegate.transitionStatus(1L, transition)).thenReturn(Optional.of(task(1L, "COMPLETED")));
+        when(delegate.transitionStatus(2L, transition)).thenReturn(Optional.empty());
+
+        dataSource.transitionStatus(1L, transition);
+        dataSource.transitionStatus(2L, transition);
+
+        verify(changeFeed).publish(task(1L, "COMPLETED"));
+        verify(changeFeed, never()).publish(eq(task(2L, "COMPLETED")));
+    }
+
+    @Test
+    void shouldNotifyClaimedTasksTogether() {
+        LocalDateTime now = LocalDateTime.now();
+        when(delegate.claimNext("Tech A", 2, now))
+                .thenReturn(List.of(task(1L, "IN_PROGRESS"), task(2L, "IN_PROGRESS")));
+
+        dataSource.claimNext("Tech A", 2, now);
+
+        verify(changeFeed).publishAll(List.of(task(1L, "IN_PROGRESS"), task(2L, "IN_PROGRESS")));
+        verify(changeFeed, never()).publish(any());
+    }
+
+    @Test
+    void shouldNotifyTasksOfBulkTransitionTogether() {
+        ExecutionTaskStatusTransitionDto transition = ExecutionTaskStatusTransitionDto.builder()
+                .expectedStatuses(List.of("IN_PROGRESS")).status("COMPLETED").build();
+        when(delegate.transitionStatusAll(List.of(1L, 2L, 3L), transition))
+                .thenReturn(List.of(task(1L, "COMPLETED"), task(3L, "COMPLETED")));
+
+        dataSource.transitionStatusAll(List.of(1L, 2L, 3L), transition);
+
+        verify(changeFeed).publishAll(List.of(task(1L, "COMPLETED"), task(3L, "COMPLETED")));
+        verify(changeFeed, never()).publish(any());
+    }
+
+    @Test
+    void shouldNotifyDelete() {
+        dataSource.deleteById(1L);
+
+        verify(delegate).deleteById(1L);
+        verify(changeFeed).publishDeleted(1L);
+    }
+
+    @Test
+    void shouldNotNotifyReads() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, "QUEUED")));
+
+        dataSource.findById(1L);
+        dataSource.findByServiceOrderId(101L);
+
+        verifyNoInteractions(changeFeed);
+        verify(delegate).findByServiceOrderId(any());
+        assertEquals(0, transactions);
+    }
+}
@@ -0,0 +1,69 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionTaskPartitionHealthIndicatorTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutionTaskPartitionHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        healthIndicator = new ExecutionTaskPartitionHealthIndicator(jdbcTemplate);
+    }
+
+    private void partitions(String... names) {
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class),
+                eq("execution_task"))).thenReturn(List.of(names));
+    }
+
+    @Test
+    void shouldBeUpWhilePartitionsReachNextMonth() {
+        partitions("execution_task_p2026_09", "execution_task_p2026_10", "execution_task_p2026_11");
+
+        Health health = healthIndicator.check(CURRENT);
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("execution_task_p2026_11", health.getDetails().get("lastPartition"));
+    }
+
+    @Test
+    void shouldBeDownWhenOnlyCurrentMonthIsLeft() {
+        partitions("execution_task_p2026_09", "execution_task_p2026_10");
+
+        Health health = healthIndicator.check(CURRENT);
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("execution_task_p2026_11", health.getDetails().get("requiredPartition"));
+    }
+
+    @Test
+    void shouldBeDownWithoutMonthlyPartitions() {
+        partitions("execution_task_default");
+
+        Health health = healthIndicator.check(CURRENT);
+
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("none", health.getDetails().get("lastPartition"));
+    }
+}
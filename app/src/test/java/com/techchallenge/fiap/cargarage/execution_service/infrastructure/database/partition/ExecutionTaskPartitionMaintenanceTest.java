@@ -0,0 +1,107 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionTaskPartitionMaintenanceTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutionTaskPartitionMaintenance maintenance;
+
+    @BeforeEach
+    void setUp() {
+        maintenance = new ExecutionTaskPartitionMaintenance(jdbcTemplate);
+    }
+
+    private void partitions(String... names) {
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class),
+                eq("execution_task"))).thenReturn(List.of(names));
+    }
+
+    private void activeTasks(String partition, boolean active) {
+        when(jdbcTemplate.queryForObject(contains("FROM " + partition + " WHERE"),
+                eq(Boolean.class))).thenReturn(active);
+    }
+
+    @Test
+    void shouldCreateCurrentAndUpcomingPartitions() {
+        maintenance.createUpcoming(CURRENT);
+
+        for (String month : List.of("2026_10", "2026_11", "2026_12", "2027_01")) {
+            verify(jdbcTemplate).execute(
+                    startsWith("CREATE TABLE IF NOT EXISTS execution_task_p" + month));
+            verify(jdbcTemplate).execute(startsWith(
+                    "CREATE UNIQUE INDEX IF NOT EXISTS execution_task_p" + month));
+        }
+        verify(jdbcTemplate, times(8)).execute(anyString());
+    }
+
+    @Test
+    void shouldDetachAndRenamePartitionsPastRetention() {
+        partitions("execution_task_p2025_08", "execution_task_p2025_09",
+                "execution_task_p2025_10", "execution_task_p2026_10");
+        activeTasks("execution_task_p2025_08", false);
+        activeTasks("execution_task_p2025_09", false);
+
+        List<String> archived = maintenance.archiveExpired(CURRENT);
+
+        // 12 months of retention: October 2025 onwards is kept
+        assertEquals(List.of("execution_task_archive_2025_08", "execution_task_archive_2025_09"),
+                archived);
+        verify(jdbcTemplate).execute(
+                "ALTER TABLE execution_task DETACH PARTITION execution_task_p2025_08 CONCURRENTLY");
+        verify(jdbcTemplate).execute(
+                "ALTER TABLE execution_task_p2025_08 RENAME TO execution_task_archive_2025_08");
+        verify(jdbcTemplate, never()).execute(contains("execution_task_p2025_10"));
+        verify(jdbcTemplate).update("DELETE FROM execution_task_active a "
+                + "USING execution_task_archive_2025_08 t WHERE a.task_id = t.id");
+    }
+
+    @Test
+    void shouldKeepExpiredPartitionWithActiveTasks() {
+        partitions("execution_task_p2024_01");
+        activeTasks("execution_task_p2024_01", true);
+
+        List<String> archived = maintenance.archiveExpired(CURRENT);
+
+        assertEquals(List.of(), archived);
+        verify(jdbcTemplate, never()).execute(contains("DETACH"));
+    }
+
+    @Test
+    void shouldContinueWithNextPartitionWhenDetachFails() {
+        partitions("execution_task_p2024_01", "execution_task_p2024_02");
+        activeTasks("execution_task_p2024_01", false);
+        activeTasks("execution_task_p2024_02", false);
+        doThrow(new RuntimeException("lock timeout")).when(jdbcTemplate)
+                .execute(contains("DETACH PARTITION execution_task_p2024_01 "));
+
+        List<String> archived = maintenance.archiveExpired(CURRENT);
+
+        assertEquals(List.of("execution_task_archive_2024_02"), archived);
+        verify(jdbcTemplate, never()).update(contains("execution_task_archive_2024_01"));
+    }
+}
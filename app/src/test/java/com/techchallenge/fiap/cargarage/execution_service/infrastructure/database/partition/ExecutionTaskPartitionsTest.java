@@ -0,0 +1,48 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class ExecutionTaskPartitionsTest {
+
+    @Test
+    void shouldNameMonthlyPartitionAndArchive() {
+        YearMonth month = YearMonth.of(2026, 3);
+
+        assertEquals("execution_task_p2026_03", ExecutionTaskPartitions.name(month));
+        assertEquals("execution_task_archive_2026_03", ExecutionTaskPartitions.archiveName(month));
+    }
+
+    @Test
+    void shouldParseMonthOfPartition() {
+        assertEquals(Optional.of(YearMonth.of(2025, 12)),
+                ExecutionTaskPartitions.month("execution_task_p2025_12"));
+        assertTrue(ExecutionTaskPartitions.month("execution_task_archive_2025_12").isEmpty());
+        assertTrue(ExecutionTaskPartitions.month("execution_task_default").isEmpty());
+    }
+
+    @Test
+    void shouldParseMonthOfArchiveTable() {
+        assertEquals(Optional.of(YearMonth.of(2025, 8)),
+                ExecutionTaskPartitions.archiveMonth("execution_task_archive_2025_08"));
+        assertTrue(ExecutionTaskPartitions.archiveMonth("execution_task_p2025_08").isEmpty());
+    }
+
+    @Test
+    void shouldCreatePartitionCoveringTheMonthWithUniqueActiveTaskIndex() {
+        List<String> statements = ExecutionTaskPartitions.createStatements(YearMonth.of(2026, 12));
+
+        assertEquals(List.of(
+                "CREATE TABLE IF NOT EXISTS execution_task_p2026_12 PARTITION OF execution_task "
+                        + "FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')",
+                "CREATE UNIQUE INDEX IF NOT EXISTS execution_task_p2026_12_active_service_order "
+                        + "ON execution_task_p2026_12 (service_order_id) WHERE status <> 'FAILED'"),
+                statements);
+    }
+}
@@ -0,0 +1,83 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private JdbcTemplate replica;
+
+    private SimpleMeterRegistry registry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5), registry);
+    }
+
+    private void lag(Double seconds) {
+        when(replica.queryForObject(eq(ReplicaLagMonitor.LAG_QUERY), eq(Double.class)))
+                .thenReturn(seconds);
+    }
+
+    private double gauge() {
+        return registry.get(ReplicaLagMonitor.LAG_GAUGE).gauge().value();
+    }
+
+    @Test
+    void shouldNotUseReplicaBeforeFirstCheck() {
+        assertFalse(monitor.isUsable());
+        assertTrue(Double.isNaN(gauge()));
+    }
+
+    @Test
+    void shouldUseReplicaWithinMaxLag() {
+        lag(1.5);
+
+        monitor.check();
+
+        assertTrue(monitor.isUsable());
+        assertEquals(1.5, gauge());
+    }
+
+    @Test
+    void shouldNotUseReplicaBeyondMaxLag() {
+        lag(12.0);
+
+        monitor.check();
+
+        assertFalse(monitor.isUsable());
+        assertEquals(12.0, gauge());
+    }
+
+    @Test
+    void shouldNotUseUnreachableReplica() {
+        lag(0.0);
+        monitor.check();
+        when(replica.queryForObject(eq(ReplicaLagMonitor.LAG_QUERY), eq(Double.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        monitor.check();
+
+        assertFalse(monitor.isUsable());
+        assertTrue(Double.isNaN(gauge()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private SimpleMeterRegistry registry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(database("primary"), database("replica"),
+                        lagMonitor, registry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager =
+                new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private double connections(String target, boolean readOnlyTransaction) {
+        return registry.get(ReplicaRoutingDataSource.CONNECTIONS_COUNTER)
+                .tag("target", target)
+                .tag("read_only", String.valueOf(readOnlyTransaction))
+                .counter().count();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        when(lagMonitor.isUsable()).thenReturn(true);
+
+        assertEquals("replica", node(readOnly));
+        assertEquals(1, connections("replica", true));
+    }
+
+    @Test
+    void shouldKeepReadWriteTransactionsAndPlainCallsOnPrimary() {
+        when(lagMonitor.isUsable()).thenReturn(true);
+
+        assertEquals("primary", node(readWrite));
+        assertEquals("primary",
+                jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+        // plus the connection the lazy proxy opens once to read the defaults
+        assertTrue(connections("primary", false) >= 2);
+        assertEquals(0, connections("replica", true));
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLags() {
+        when(lagMonitor.isUsable()).thenReturn(false);
+
+        assertEquals("primary", node(readOnly));
+        assertEquals(1, connections("primary", true));
+    }
+
+    @Test
+    void shouldStayOnPrimaryWhenReadOnlyCallJoinsReadWriteTransaction() {
+        when(lagMonitor.isUsable()).thenReturn(true);
+
+        String node = readWrite.execute(status -> node(readOnly));
+
+        assertEquals("primary", node);
+    }
+}
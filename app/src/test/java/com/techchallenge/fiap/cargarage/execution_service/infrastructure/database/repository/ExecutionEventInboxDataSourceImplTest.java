@@ -0,0 +1,58 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ExecutionEventInboxDataSourceImpl.class)
+class ExecutionEventInboxDataSourceImplTest {
+
+    @Autowired
+    private ExecutionEventInboxDataSourceImpl dataSource;
+
+    @Autowired
+    private ExecutionEventInboxRepository repository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldMarkNewEventAsReceived() {
+        assertTrue(dataSource.markReceived("evt-1", now));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void shouldNotMarkSameEventTwice() {
+        dataSource.markReceived("evt-1", now);
+
+        assertFalse(dataSource.markReceived("evt-1", now.plusSeconds(5)));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void shouldDeleteOnlyEntriesReceivedBeforeCutoff() {
+        dataSource.markReceived("old", now.minusDays(20));
+        dataSource.markReceived("recent", now);
+
+        int deleted = dataSource.deleteReceivedBefore(now.minusDays(14));
+
+        assertEquals(1, deleted);
+        assertTrue(repository.existsById("recent"));
+    }
+}
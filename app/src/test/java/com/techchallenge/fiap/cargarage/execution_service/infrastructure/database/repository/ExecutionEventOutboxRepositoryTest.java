@@ -0,0 +1,85 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionEventOutboxEntity;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ExecutionEventOutboxRepositoryTest {
+
+    @Autowired
+    private ExecutionEventOutboxRepository repository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    private ExecutionEventOutboxEntity row(LocalDateTime sentAt) {
+        return ExecutionEventOutboxEntity.builder()
+                .queueUrl("http://localhost:4566/000000000000/queue")
+                .messageBody("{}")
+                .createdAt(now)
+                .sentAt(sentAt)
+                .build();
+    }
+
+    @Test
+    void shouldFindOnlyPendingMessagesInInsertionOrder() {
+        ExecutionEventOutboxEntity first = repository.save(row(null));
+        repository.save(row(now));
+        ExecutionEventOutboxEntity second = repository.save(row(null));
+
+        List<ExecutionEventOutboxEntity> pending =
+                repository.findPending(PageRequest.of(0, 10));
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                pending.stream().map(ExecutionEventOutboxEntity::getId).toList());
+    }
+
+    @Test
+    void shouldLimitPendingMessages() {
+        repository.save(row(null));
+        repository.save(row(null));
+
+        assertEquals(1, repository.findPending(PageRequest.of(0, 1)).size());
+    }
+
+    @Test
+    void shouldMarkOnlyGivenPendingMessagesSent() {
+        ExecutionEventOutboxEntity first = repository.save(row(null));
+        ExecutionEventOutboxEntity sent = repository.save(row(now.minusHours(1)));
+        ExecutionEventOutboxEntity other = repository.save(row(null));
+
+        int marked = repository.markSent(List.of(first.getId(), sent.getId()), now);
+
+        assertEquals(1, marked);
+        assertEquals(List.of(other.getId()), repository.findPending(PageRequest.of(0, 10))
+                .stream().map(ExecutionEventOutboxEntity::getId).toList());
+    }
+
+    @Test
+    void shouldDeleteOnlyMessagesSentBeforeCutoff() {
+        repository.save(row(now.minusDays(2)));
+        repository.save(row(now));
+        repository.save(row(null));
+
+        int deleted = repository.deleteSentBefore(now.minusDays(1));
+
+        assertEquals(1, deleted);
+        assertEquals(2, repository.count());
+    }
+}
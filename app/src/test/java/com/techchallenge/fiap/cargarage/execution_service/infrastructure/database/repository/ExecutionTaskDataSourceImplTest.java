@@ -1,24 +1,40 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskSortEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.ConcurrentUpdateException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -31,6 +47,9 @@ class ExecutionTaskDataSourceImplTest {
     @Autowired
     private ExecutionTaskRepository repository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private ExecutionTaskPersistenceDto sampleDto;
 
     @BeforeEach
@@ -72,6 +91,7 @@ class ExecutionTaskDataSourceImplTest {
 
         assertNotNull(result.id());
         assertNotNull(result.createdAt());
+        assertEquals(0, result.priority());
     }
 
     @Test
@@ -98,6 +118,31 @@ class ExecutionTaskDataSourceImplTest {
         assertEquals("Tech B", result.assignedTechnician());
         assertEquals("Oil change + filter", result.description());
         assertNotNull(result.updatedAt());
+        assertEquals(inserted.version() + 1, result.version());
+    }
+
+    @Test
+    void shouldRejectUpdateBasedOnStaleVersion() {
+        ExecutionTaskDto inserted = dataSource.insert(sampleDto);
+        dataSource.transitionStatusAll(List.of(inserted.id()),
+                ExecutionTaskStatusTransitionDto.builder()
+                        .expectedStatuses(List.of("QUEUED"))
+                        .status("IN_PROGRESS")
+                        .startedAt(LocalDateTime.now())
+                        .build());
+
+        ExecutionTaskPersistenceDto stale = ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(100L)
+                .status("QUEUED")
+                .notes("Overwrite")
+                .version(inserted.version())
+                .build();
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> dataSource.update(inserted.id(), stale));
+        ExecutionTaskDto current = dataSource.findById(inserted.id()).orElseThrow();
+        assertEquals("IN_PROGRESS", current.status());
+        assertEquals("Urgent", current.notes());
     }
 
     @Test
@@ -138,6 +183,194 @@ class ExecutionTaskDataSourceImplTest {
         assertEquals(100L, result.get().serviceOrderId());
     }
 
+    private ExecutionTaskPersistenceDto task(String status, Integer priority) {
+        return ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(100L)
+                .vehicleLicensePlate("ABC-1234")
+                .status(status)
+                .priority(priority)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private ExecutionTaskDto queued(long serviceOrderId, Integer priority, LocalDateTime createdAt) {
+        return dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(serviceOrderId)
+                .status("QUEUED")
+                .priority(priority)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    @Test
+    void shouldClaimHighestPriorityOldestQueuedTasks() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        ExecutionTaskDto lowOld = queued(1L, 0, base);
+        ExecutionTaskDto highNew = queued(2L, 5, base.plusMinutes(20));
+        ExecutionTaskDto highOld = queued(3L, 5, base.plusMinutes(10));
+        dataSource.insert(task("IN_PROGRESS", 9));
+        LocalDateTime claimedAt = LocalDateTime.now();
+
+        List<ExecutionTaskDto> claimed = dataSource.claimNext("Tech B", 2, claimedAt);
+
+        assertEquals(List.of(highOld.id(), highNew.id()),
+                claimed.stream().map(ExecutionTaskDto::id).toList());
+        claimed.forEach(task -> {
+            assertEquals("IN_PROGRESS", task.status());
+            assertEquals("Tech B", task.assignedTechnician());
+            assertNotNull(task.startedAt());
+        });
+        assertEquals("QUEUED", dataSource.findById(lowOld.id()).orElseThrow().status());
+    }
+
+    @Test
+    void shouldClaimNothingWhenQueueIsEmpty() {
+        dataSource.insert(task("COMPLETED", 1));
+
+        assertTrue(dataSource.claimNext("Tech B", 3, LocalDateTime.now()).isEmpty());
+    }
+
+    @Test
+    void shouldFindLatestTaskWhenServiceOrderHasFailedTask() {
+        dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(100L)
+                .status("FAILED")
+                .createdAt(sampleDto.createdAt().minusMinutes(1))
+                .build());
+        ExecutionTaskDto retry = dataSource.insert(sampleDto);
+
+        Optional<ExecutionTaskDto> result = dataSource.findByServiceOrderId(100L);
+
+        assertTrue(result.isPresent());
+        assertEquals(retry.id(), result.get().id());
+    }
+
+    @Test
+    void shouldFindLatestTaskByCreationTimeRatherThanId() {
+        LocalDateTime now = LocalDateTime.now();
+        ExecutionTaskDto retry = dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(100L).status("QUEUED").createdAt(now).build());
+        // Pooled ids do not follow creation order
+        dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(100L).status("FAILED").createdAt(now.minusHours(1)).build());
+
+        assertEquals(retry.id(), dataSource.findByServiceOrderId(100L).orElseThrow().id());
+    }
+
+    @Test
+    void shouldInsertAllSkippingServiceOrdersWithActiveTasks() {
+        dataSource.insert(task("IN_PROGRESS", 1));
+        dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(400L).status("FAILED").createdAt(LocalDateTime.now()).build());
+
+        List<Optional<ExecutionTaskDto>> result = dataSource.insertAllIfAbsent(List.of(
+                task(100L), task(200L), task(200L), task(300L), task(400L)));
+
+        assertEquals(5, result.size());
+        assertTrue(result.get(0).isEmpty());
+        assertEquals(200L, result.get(1).orElseThrow().serviceOrderId());
+        assertNotNull(result.get(1).orElseThrow().id());
+        // Only the first item of a service order in the list is inserted
+        assertTrue(result.get(2).isEmpty());
+        assertEquals(300L, result.get(3).orElseThrow().serviceOrderId());
+        assertEquals(400L, result.get(4).orElseThrow().serviceOrderId());
+        assertEquals(5, repository.count());
+        assertEquals("QUEUED", dataSource.findById(result.get(3).orElseThrow().id())
+                .orElseThrow().status());
+    }
+
+    @Test
+    void shouldInsertNothingForEmptyList() {
+        assertTrue(dataSource.insertAllIfAbsent(List.of()).isEmpty());
+    }
+
+    private ExecutionTaskPersistenceDto task(long serviceOrderId) {
+        return ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(serviceOrderId)
+                .status("QUEUED")
+                .priority(0)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void shouldInsertIfNoActiveTask() {
+        Optional<ExecutionTaskDto> result = dataSource.insertIfAbsent(
+                task("QUEUED", null));
+
+        assertTrue(result.isPresent());
+        assertNotNull(result.get().id());
+        assertEquals(100L, result.get().serviceOrderId());
+        assertEquals("QUEUED", result.get().status());
+        assertEquals("ABC-1234", result.get().vehicleLicensePlate());
+        assertEquals(0, result.get().priority());
+        assertEquals(0L, result.get().version());
+    }
+
+    @Test
+    void shouldKeepSagaStartTimeOnInsertIfAbsent() {
+        LocalDateTime sagaStartedAt = LocalDateTime.of(2026, 2, 12, 15, 4, 5);
+        ExecutionTaskPersistenceDto dto = ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(100L)
+                .status("QUEUED")
+                .sagaStartedAt(sagaStartedAt)
+                .build();
+
+        Optional<ExecutionTaskDto> result = dataSource.insertIfAbsent(dto);
+
+        assertEquals(sagaStartedAt, result.orElseThrow().sagaStartedAt());
+    }
+
+    @Test
+    void shouldNotInsertWhenActiveTaskExists() {
+        dataSource.insert(task("IN_PROGRESS", 1));
+
+        Optional<ExecutionTaskDto> result = dataSource.insertIfAbsent(sampleDto);
+
+        assertTrue(result.isEmpty());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void shouldReportCreateRacingInAnotherPartitionAsConcurrentUpdate() {
+        ExecutionTaskDataSourceImpl racing = new ExecutionTaskDataSourceImpl(
+                failingInsert("execution_task_active_pkey"));
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> racing.insertIfAbsent(sampleDto));
+    }
+
+    @Test
+    void shouldRethrowOtherConstraintViolationsOnInsertIfAbsent() {
+        ExecutionTaskDataSourceImpl failing = new ExecutionTaskDataSourceImpl(
+                failingInsert("execution_task_service_order_id_check"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> failing.insertIfAbsent(sampleDto));
+    }
+
+    private ExecutionTaskRepository failingInsert(String constraintName) {
+        ExecutionTaskRepository failing = mock(ExecutionTaskRepository.class);
+        when(failing.insertIfNoActiveTask(any())).thenThrow(
+                new DataIntegrityViolationException("duplicate key",
+                        new ConstraintViolationException("duplicate key",
+                                new SQLException("duplicate key", "23505"),
+                                constraintName)));
+        return failing;
+    }
+
+    @Test
+    void shouldInsertWhenOnlyFailedTaskExists() {
+        ExecutionTaskDto failed = dataSource.insert(
+                task("FAILED", 1));
+
+        Optional<ExecutionTaskDto> result = dataSource.insertIfAbsent(sampleDto);
+
+        assertTrue(result.isPresent());
+        assertNotEquals(failed.id(), result.get().id());
+        assertEquals("QUEUED", result.get().status());
+    }
+
     @Test
     void shouldReturnEmptyForNonExistentServiceOrderId() {
         Optional<ExecutionTaskDto> result = dataSource.findByServiceOrderId(999L);
@@ -167,6 +400,25 @@ class ExecutionTaskDataSourceImplTest {
         assertEquals(2, page.pageSize());
     }
 
+    @Test
+    void shouldReadPagesWithoutLoadingEntities() {
+        insertTask(100L, "QUEUED", 2, LocalDateTime.of(2026, 1, 1, 8, 0));
+        insertTask(200L, "QUEUED", 1, LocalDateTime.of(2026, 1, 1, 9, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        PageDto<ExecutionTaskDto> offsetPage = dataSource.findByStatus(
+                "QUEUED", new PageRequestDto(0, 10));
+        PageDto<ExecutionTaskDto> keysetPage = dataSource.findAllByCursor(
+                new CursorPageRequestDto(null, 1, ExecutionTaskSortEnum.PRIORITY));
+
+        assertEquals(List.of(100L, 200L), serviceOrderIds(offsetPage));
+        assertEquals(List.of(100L), serviceOrderIds(keysetPage));
+        assertNotNull(keysetPage.nextCursor());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount());
+    }
+
     @Test
     void shouldFindByStatus() {
         dataSource.insert(sampleDto);
@@ -182,6 +434,25 @@ class ExecutionTaskDataSourceImplTest {
         assertEquals("QUEUED", page.content().get(0).status());
     }
 
+    @Test
+    void shouldOrderStatusPageByPriorityThenAge() {
+        LocalDateTime now = LocalDateTime.now();
+        ExecutionTaskDto newer = dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(301L).status("QUEUED").priority(1)
+                .createdAt(now).build());
+        ExecutionTaskDto urgent = dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(302L).status("QUEUED").priority(5)
+                .createdAt(now).build());
+        ExecutionTaskDto older = dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(303L).status("QUEUED").priority(1)
+                .createdAt(now.minusHours(1)).build());
+
+        PageDto<ExecutionTaskDto> page = dataSource.findByStatus("QUEUED", new PageRequestDto(0, 10));
+
+        assertEquals(List.of(urgent.id(), older.id(), newer.id()),
+                page.content().stream().map(ExecutionTaskDto::id).toList());
+    }
+
     @Test
     void shouldReturnEmptyPageForInvalidStatus() {
         dataSource.insert(sampleDto);
@@ -235,4 +506,177 @@ class ExecutionTaskDataSourceImplTest {
         assertNotNull(result.startedAt());
         assertNotNull(result.completedAt());
     }
+
+    private ExecutionTaskDto insertTask(long serviceOrderId, String status,
+            int priority, LocalDateTime createdAt) {
+        return dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(serviceOrderId)
+                .status(status)
+                .priority(priority)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    private List<Long> serviceOrderIds(PageDto<ExecutionTaskDto> page) {
+        return page.content().stream().map(ExecutionTaskDto::serviceOrderId).toList();
+    }
+
+    @Test
+    void shouldWalkAllPagesByCreatedAtCursor() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+        insertTask(300L, "QUEUED", 0, base.plusMinutes(2));
+        insertTask(100L, "QUEUED", 0, base);
+        // same created_at as 100: ordered by id tie-breaker
+        insertTask(101L, "COMPLETED", 0, base);
+        insertTask(200L, "IN_PROGRESS", 0, base.plusMinutes(1));
+
+        PageDto<ExecutionTaskDto> first = dataSource.findAllByCursor(
+                new CursorPageRequestDto(null, 3, ExecutionTaskSortEnum.CREATED_AT));
+
+        assertEquals(List.of(100L, 101L, 200L), serviceOrderIds(first));
+        assertEquals(PageDto.UNKNOWN_TOTAL, first.totalElements());
+        assertNotNull(first.nextCursor());
+
+        PageDto<ExecutionTaskDto> second = dataSource.findAllByCursor(
+                new CursorPageRequestDto(first.nextCursor(), 3,
+                        ExecutionTaskSortEnum.CREATED_AT));
+
+        assertEquals(List.of(300L), serviceOrderIds(second));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void shouldRestrictCursorPagesToCreationPeriod() {
+        LocalDateTime january = LocalDateTime.of(2026, 1, 15, 8, 0);
+        insertTask(100L, "COMPLETED", 0, january.minusMonths(1));
+        insertTask(200L, "COMPLETED", 0, january);
+        insertTask(201L, "QUEUED", 0, january.plusDays(1));
+        insertTask(300L, "COMPLETED", 0, LocalDateTime.of(2026, 2, 1, 0, 0));
+
+        PageDto<ExecutionTaskDto> page = dataSource.findByStatusByCursor("COMPLETED",
+                new CursorPageRequestDto(null, 10, ExecutionTaskSortEnum.CREATED_AT,
+                        LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 2, 1, 0, 0)));
+
+        assertEquals(List.of(200L), serviceOrderIds(page));
+    }
+
+    @Test
+    void shouldNotReturnCursorWhenPageIsExactlyFull() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+        insertTask(100L, "QUEUED", 0, base);
+        insertTask(200L, "QUEUED", 0, base.plusMinutes(1));
+
+        PageDto<ExecutionTaskDto> page = dataSource.findAllByCursor(
+                new CursorPageRequestDto(null, 2, ExecutionTaskSortEnum.CREATED_AT));
+
+        assertEquals(2, page.content().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void shouldWalkStatusPagesByPriorityCursor() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+        insertTask(100L, "COMPLETED", 1, base);
+        insertTask(200L, "COMPLETED", 5, base.plusMinutes(1));
+        insertTask(300L, "QUEUED", 9, base.plusMinutes(2));
+        insertTask(400L, "COMPLETED", 1, base.plusMinutes(3));
+
+        PageDto<ExecutionTaskDto> first = dataSource.findByStatusByCursor("COMPLETED",
+                new CursorPageRequestDto(null, 2, ExecutionTaskSortEnum.PRIORITY));
+        PageDto<ExecutionTaskDto> second = dataSource.findByStatusByCursor("COMPLETED",
+                new CursorPageRequestDto(first.nextCursor(), 2,
+                        ExecutionTaskSortEnum.PRIORITY));
+
+        assertEquals(List.of(200L, 100L), serviceOrderIds(first));
+        assertEquals(List.of(400L), serviceOrderIds(second));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void shouldWalkPriorityPagesPastTaskSavedWithoutPriority() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+        insertTask(100L, "QUEUED", 5, base);
+        ExecutionTaskDto unprioritized = dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(200L)
+                .status("QUEUED")
+                .createdAt(base.plusMinutes(1))
+                .build());
+        ExecutionTaskDto updated = insertTask(300L, "QUEUED", 3, base.plusMinutes(2));
+        dataSource.update(updated.id(), ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(300L)
+                .status("QUEUED")
+                .createdAt(base.plusMinutes(2))
+                .build());
+
+        PageDto<ExecutionTaskDto> first = dataSource.findAllByCursor(
+                new CursorPageRequestDto(null, 2, ExecutionTaskSortEnum.PRIORITY));
+        PageDto<ExecutionTaskDto> second = dataSource.findAllByCursor(
+                new CursorPageRequestDto(first.nextCursor(), 2,
+                        ExecutionTaskSortEnum.PRIORITY));
+
+        assertEquals(0, unprioritized.priority());
+        assertEquals(List.of(100L, 200L), serviceOrderIds(first));
+        assertEquals(List.of(300L), serviceOrderIds(second));
+        assertEquals(0, second.content().get(0).priority());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void shouldRejectCursorIssuedForAnotherSort() {
+        insertTask(100L, "QUEUED", 0, LocalDateTime.now());
+        insertTask(200L, "QUEUED", 0, LocalDateTime.now());
+        String cursor = dataSource.findAllByCursor(new CursorPageRequestDto(
+                null, 1, ExecutionTaskSortEnum.CREATED_AT)).nextCursor();
+
+        CursorPageRequestDto request = new CursorPageRequestDto(
+                cursor, 1, ExecutionTaskSortEnum.PRIORITY);
+        assertThrows(InvalidDataException.class,
+                () -> dataSource.findAllByCursor(request));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        CursorPageRequestDto request = new CursorPageRequestDto(
+                "not-a-cursor", 10, ExecutionTaskSortEnum.CREATED_AT);
+
+        assertThrows(InvalidDataException.class,
+                () -> dataSource.findAllByCursor(request));
+    }
+
+    @Test
+    void shouldTransitionOnlyTasksInExpectedStatusInOneCall() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        ExecutionTaskDto first = queued(1L, 0, base);
+        ExecutionTaskDto second = queued(2L, 0, base.plusMinutes(1));
+        ExecutionTaskDto completed = dataSource.insert(task("COMPLETED", 0));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ExecutionTaskDto> result = dataSource.transitionStatusAll(
+                List.of(second.id(), completed.id(), first.id(), 999L),
+                ExecutionTaskStatusTransitionDto.builder()
+                        .expectedStatuses(List.of("QUEUED"))
+                        .status("IN_PROGRESS")
+                        .updatedAt(now)
+                        .startedAt(now)
+                        .build());
+
+        assertEquals(List.of(first.id(), second.id()).stream().sorted().toList(),
+                result.stream().map(ExecutionTaskDto::id).toList());
+        result.forEach(task -> {
+            assertEquals("IN_PROGRESS", task.status());
+            assertNotNull(task.startedAt());
+        });
+        assertEquals("COMPLETED", dataSource.findById(completed.id()).orElseThrow().status());
+    }
+
+    @Test
+    void shouldTransitionNothingWithoutExpectedStatuses() {
+        ExecutionTaskDto inserted = dataSource.insert(sampleDto);
+
+        assertTrue(dataSource.transitionStatusAll(List.of(inserted.id()),
+                ExecutionTaskStatusTransitionDto.builder()
+                        .expectedStatuses(List.of())
+                        .status("QUEUED")
+                        .build()).isEmpty());
+    }
 }
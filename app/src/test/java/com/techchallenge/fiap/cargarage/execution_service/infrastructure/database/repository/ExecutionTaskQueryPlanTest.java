@@ -0,0 +1,251 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * EXPLAIN-based regression test of the execution_task query shapes against
+ * the indexes created by the Flyway migrations, so a query or migration
+ * change cannot silently fall back to a full table scan.
+ *
+ * The migrations are replayed on an H2 stand-in. H2 has no partial indexes,
+ * so their WHERE predicate is dropped and they index every row, and its
+ * planner picks an index by filter cost alone. Each query is therefore
+ * checked twice: its plan must not scan the table, and its intended index
+ * must lead with the query's equality columns followed by its ORDER BY, in
+ * the same direction, which is what lets PostgreSQL stop after LIMIT rows.
+ *
+ * Only the SQL migrations are replayed: the stand-in table is not
+ * partitioned (V3 is a Java migration), which does not change which index
+ * columns a query needs. The unique active-task index per service order,
+ * created on each monthly partition in PostgreSQL, is the V1 one here.
+ * Sequence changes are skipped: the H2 BIGSERIAL is an identity column
+ * without a named sequence, and ids play no part in the plans.
+ */
+class ExecutionTaskQueryPlanTest {
+
+    private static final Pattern MIGRATION_VERSION = Pattern.compile("V(\\d+)__.*\\.sql");
+    private static final Pattern PARTIAL_INDEX = Pattern.compile(
+            "(?is)^(CREATE\\s+(UNIQUE\\s+)?INDEX\\s.*\\))\\s+WHERE\\s.*$");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:query-plan;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(ExecutionTaskQueryPlanTest::version));
+        try (Statement statement = connection.createStatement()) {
+            for (Resource migration : migrations) {
+                for (String sql : statements(migration)) {
+                    statement.execute(withoutPartialPredicate(sql));
+                }
+            }
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void claimShouldReadQueuedTasksInClaimOrderFromIndex() throws Exception {
+        String lockNextQueued = ExecutionTaskRepository.class
+                .getMethod("lockNextQueued", int.class)
+                .getAnnotation(Query.class).value()
+                .replace(":limit", "5");
+
+        assertServedBy(lockNextQueued, "idx_execution_task_claim",
+                "priority DESC", "created_at", "id");
+    }
+
+    @Test
+    void activeTaskCheckShouldUseServiceOrderIndex() throws Exception {
+        // NOT EXISTS subquery of insertIfNoActiveTask
+        assertServedBy("SELECT 1 FROM execution_task t "
+                + "WHERE t.service_order_id = 100 AND t.status <> 'FAILED'",
+                "ux_execution_task_active_service_order", "service_order_id");
+        // findActiveServiceOrderIds, ahead of a bulk create
+        assertServedBy("SELECT DISTINCT t.service_order_id FROM execution_task t "
+                + "WHERE t.service_order_id IN (100, 101, 102) AND t.status <> 'FAILED'",
+                "ux_execution_task_active_service_order", "service_order_id");
+    }
+
+    @Test
+    void latestTaskOfServiceOrderShouldUseServiceOrderIndex() throws Exception {
+        // findFirstByServiceOrderIdOrderByCreatedAtDescIdDesc
+        assertServedBy("SELECT * FROM execution_task WHERE service_order_id = 100 "
+                + "ORDER BY created_at DESC, id DESC FETCH FIRST 1 ROWS ONLY",
+                "idx_execution_task_service_order_id_created_at_id",
+                "service_order_id", "created_at DESC", "id DESC");
+        // findFirstByServiceOrderIdAndStatusNotOrderByCreatedAtDescIdDesc, re-read of insertIfAbsent
+        assertServedBy("SELECT * FROM execution_task WHERE service_order_id = 100 "
+                + "AND status <> 'FAILED' ORDER BY created_at DESC, id DESC FETCH FIRST 1 ROWS ONLY",
+                "idx_execution_task_service_order_id_created_at_id",
+                "service_order_id", "created_at DESC", "id DESC");
+    }
+
+    @Test
+    void statusPageShouldUseStatusPriorityIndex() throws Exception {
+        // findByStatus, ordered by priority then age
+        assertServedBy("SELECT * FROM execution_task WHERE status = 'COMPLETED' "
+                + "ORDER BY priority DESC, created_at, id "
+                + "OFFSET 20 ROWS FETCH FIRST 10 ROWS ONLY",
+                "idx_execution_task_status_priority_created_at_id",
+                "status", "priority DESC", "created_at", "id");
+        assertServedBy("SELECT * FROM execution_task WHERE status = 'QUEUED' "
+                + "ORDER BY priority DESC, created_at, id "
+                + "OFFSET 20 ROWS FETCH FIRST 10 ROWS ONLY",
+                "idx_execution_task_active",
+                "status", "priority DESC", "created_at", "id");
+    }
+
+    @Test
+    void statusCursorPagesShouldUseStatusKeysetIndexes() throws Exception {
+        assertServedBy("SELECT * FROM execution_task WHERE status = 'QUEUED' "
+                + "AND (created_at > TIMESTAMP '2024-01-01 00:00:00' "
+                + "OR (created_at = TIMESTAMP '2024-01-01 00:00:00' AND id > 10)) "
+                + "ORDER BY created_at, id FETCH FIRST 21 ROWS ONLY",
+                "idx_execution_task_status_created_at_id", "status", "created_at", "id");
+        assertServedBy("SELECT * FROM execution_task WHERE status = 'QUEUED' "
+                + "AND (priority < 3 OR (priority = 3 AND id > 10)) "
+                + "ORDER BY priority DESC, id FETCH FIRST 21 ROWS ONLY",
+                "idx_execution_task_status_priority_id", "status", "priority DESC", "id");
+    }
+
+    @Test
+    void cursorPagesShouldUseKeysetIndexes() throws Exception {
+        assertServedBy("SELECT * FROM execution_task "
+                + "WHERE created_at > TIMESTAMP '2024-01-01 00:00:00' "
+                + "OR (created_at = TIMESTAMP '2024-01-01 00:00:00' AND id > 10) "
+                + "ORDER BY created_at, id FETCH FIRST 21 ROWS ONLY",
+                "idx_execution_task_created_at_id", "created_at", "id");
+        assertServedBy("SELECT * FROM execution_task "
+                + "WHERE priority < 3 OR (priority = 3 AND id > 10) "
+                + "ORDER BY priority DESC, id FETCH FIRST 21 ROWS ONLY",
+                "idx_execution_task_priority_id", "priority DESC", "id");
+    }
+
+    @Test
+    void exportShouldUseCreationKeysetIndexes() throws Exception {
+        // ExecutionTaskExporter chunks after the first, with and without the status filter
+        assertServedBy("SELECT id, status, created_at FROM execution_task "
+                + "WHERE status = 'COMPLETED' AND created_at >= TIMESTAMP '2024-01-01 00:00:00' "
+                + "AND created_at < TIMESTAMP '2024-01-02 00:00:00' "
+                + "AND (created_at > TIMESTAMP '2024-01-01 10:00:00' "
+                + "OR (created_at = TIMESTAMP '2024-01-01 10:00:00' AND id > 10)) "
+                + "ORDER BY created_at, id LIMIT 1000",
+                "idx_execution_task_status_created_at_id", "status", "created_at", "id");
+        assertServedBy("SELECT id, status, created_at FROM execution_task "
+                + "WHERE created_at >= TIMESTAMP '2024-01-01 00:00:00' "
+                + "AND created_at < TIMESTAMP '2024-01-02 00:00:00' "
+                + "AND (created_at > TIMESTAMP '2024-01-01 10:00:00' "
+                + "OR (created_at = TIMESTAMP '2024-01-01 10:00:00' AND id > 10)) "
+                + "ORDER BY created_at, id LIMIT 1000",
+                "idx_execution_task_created_at_id", "created_at", "id");
+    }
+
+    @Test
+    void replacedSingleColumnIndexesShouldBeGone() throws Exception {
+        try (ResultSet indexes = connection.getMetaData()
+                .getIndexInfo(null, null, "EXECUTION_TASK", false, false)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME").toLowerCase(Locale.ROOT);
+                assertFalse(name.equals("idx_execution_task_status")
+                        || name.equals("idx_execution_task_customer_id")
+                        || name.equals("idx_execution_task_service_order_id")
+                        || name.equals("idx_execution_task_service_order_id_id"),
+                        "index should have been dropped: " + name);
+            }
+        }
+    }
+
+    /**
+     * Asserts the query is planned without a table scan and that the index
+     * starts with the given columns ({@code "name"} or {@code "name DESC"}).
+     */
+    private static void assertServedBy(String sql, String index, String... leadingColumns)
+            throws SQLException {
+        String plan = explain(sql);
+        assertFalse(plan.contains("tableScan"), () -> "table scan in plan:\n" + plan);
+
+        List<String> columns = indexColumns(index);
+        assertTrue(columns.size() >= leadingColumns.length,
+                () -> index + " has columns " + columns);
+        assertEquals(List.of(leadingColumns), columns.subList(0, leadingColumns.length),
+                () -> index + " does not match the query shape of:\n" + sql);
+    }
+
+    private static List<String> indexColumns(String index) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (ResultSet info = connection.getMetaData()
+                .getIndexInfo(null, null, "EXECUTION_TASK", false, false)) {
+            while (info.next()) {
+                if (index.equalsIgnoreCase(info.getString("INDEX_NAME"))) {
+                    String column = info.getString("COLUMN_NAME").toLowerCase(Locale.ROOT);
+                    columns.add("D".equals(info.getString("ASC_OR_DESC"))
+                            ? column + " DESC"
+                            : column);
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+
+    private static String withoutPartialPredicate(String sql) {
+        Matcher partial = PARTIAL_INDEX.matcher(sql);
+        return partial.matches() ? partial.group(1) : sql;
+    }
+
+    private static String[] statements(Resource migration) throws IOException {
+        String script = migration.getContentAsString(StandardCharsets.UTF_8)
+                .replaceAll("(?m)--.*$", "");
+        return Arrays.stream(script.split(";"))
+                .map(String::strip)
+                .filter(sql -> !sql.isEmpty())
+                .filter(sql -> !sql.toUpperCase(Locale.ROOT).startsWith("ALTER SEQUENCE"))
+                .toArray(String[]::new);
+    }
+
+    private static int version(Resource migration) {
+        Matcher matcher = MIGRATION_VERSION.matcher(migration.getFilename());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a migration: " + migration.getFilename());
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+}
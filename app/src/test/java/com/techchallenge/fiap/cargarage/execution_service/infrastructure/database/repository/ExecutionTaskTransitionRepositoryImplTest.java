@@ -0,0 +1,93 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionTaskEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * The UPDATE ... RETURNING statement is PostgreSQL-only and the JPA tests
+ * run on H2, so this checks how it is issued: one statement, after the
+ * persistence context was flushed and cleared, returning the changed row.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExecutionTaskTransitionRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private Query query;
+
+    private ExecutionTaskTransitionRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ExecutionTaskTransitionRepositoryImpl(entityManager);
+    }
+
+    private void returning(List<ExecutionTaskEntity> rows) {
+        when(entityManager.createNativeQuery(anyString(), eq(ExecutionTaskEntity.class)))
+                .thenReturn(query);
+        when(query.getResultList()).thenReturn(rows);
+    }
+
+    @Test
+    void shouldReturnRowChangedByTheUpdate() {
+        LocalDateTime now = LocalDateTime.now();
+        ExecutionTaskEntity changed = ExecutionTaskEntity.builder()
+                .id(1L).status("IN_PROGRESS").startedAt(now).version(1L).build();
+        returning(List.of(changed));
+
+        Optional<ExecutionTaskEntity> result = repository.transitionStatus(1L,
+                List.of("QUEUED"), "IN_PROGRESS", null, now, now, null);
+
+        assertEquals(Optional.of(changed), result);
+        InOrder order = inOrder(entityManager, query);
+        order.verify(entityManager).flush();
+        order.verify(entityManager).clear();
+        order.verify(entityManager).createNativeQuery(
+                ExecutionTaskTransitionRepositoryImpl.TRANSITION_STATUS, ExecutionTaskEntity.class);
+        order.verify(query).setParameter("id", 1L);
+        order.verify(query).setParameter("expectedStatuses", List.of("QUEUED"));
+        order.verify(query).setParameter("status", "IN_PROGRESS");
+        order.verify(query).getResultList();
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoRowMatched() {
+        returning(List.of());
+
+        assertTrue(repository.transitionStatus(999L, List.of("QUEUED"), "IN_PROGRESS",
+                null, LocalDateTime.now(), null, null).isEmpty());
+    }
+
+    @Test
+    void shouldGuardOnIdAndExpectedStatusesAndReturnTheRow() {
+        String sql = ExecutionTaskTransitionRepositoryImpl.TRANSITION_STATUS;
+
+        assertTrue(sql.startsWith("UPDATE execution_task SET "));
+        assertTrue(sql.contains("WHERE id = :id AND status IN (:expectedStatuses)"));
+        assertTrue(sql.contains("version = version + 1"));
+        assertTrue(sql.endsWith("RETURNING *"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskExportFilterDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.enums.ExecutionTaskExportFormatEnum;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository.ExecutionTaskDataSourceImpl;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository.ExecutionTaskRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "export.execution-task.chunk-size=2")
+@Import({ExecutionTaskExporter.class, ExecutionTaskDataSourceImpl.class})
+class ExecutionTaskExporterTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+    @Autowired
+    private ExecutionTaskExporter exporter;
+
+    @Autowired
+    private ExecutionTaskDataSourceImpl dataSource;
+
+    @Autowired
+    private ExecutionTaskRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    private ExecutionTaskDto insert(long serviceOrderId, String status, LocalDateTime createdAt,
+            String notes) {
+        ExecutionTaskDto saved = dataSource.insert(ExecutionTaskPersistenceDto.builder()
+                .serviceOrderId(serviceOrderId)
+                .vehicleLicensePlate("ABC1D23")
+                .status(status)
+                .notes(notes)
+                .priority(1)
+                .createdAt(createdAt)
+                .build());
+        // the export reads through JDBC, not the persistence context
+        repository.flush();
+        return saved;
+    }
+
+    private String export(ExecutionTaskExportFilterDto filter, ExecutionTaskExportFormatEnum format)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(filter, format, out);
+        return out.toString(UTF_8);
+    }
+
+    @Test
+    void shouldExportNdjsonOldestFirstWithinPeriodAndStatus() throws IOException {
+        ExecutionTaskDto later = insert(2L, "COMPLETED", DAY.plusHours(2), null);
+        ExecutionTaskDto earlier = insert(1L, "COMPLETED", DAY.plusHours(1), "Note");
+        insert(3L, "QUEUED", DAY.plusHours(3), null);
+        insert(4L, "COMPLETED", DAY.plusDays(1), null);
+
+        String ndjson = export(new ExecutionTaskExportFilterDto("COMPLETED", DAY, DAY.plusDays(1)),
+                ExecutionTaskExportFormatEnum.NDJSON);
+
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(earlier.id(), first.get("id").asLong());
+        assertEquals(1L, first.get("serviceOrderId").asLong());
+        assertEquals("COMPLETED", first.get("status").asText());
+        assertEquals("Note", first.get("notes").asText());
+        assertEquals("2026-10-01T01:00:00", first.get("createdAt").asText());
+        assertEquals(1, first.get("priority").asInt());
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals(later.id(), second.get("id").asLong());
+        assertTrue(second.get("notes").isNull());
+        assertTrue(ndjson.endsWith("\n"));
+    }
+
+    @Test
+    void shouldContinueEachChunkAfterLastRowOfPrevious() throws IOException {
+        // chunks of 2: ties on created_at are split across chunk boundaries
+        ExecutionTaskDto first = insert(1L, "COMPLETED", DAY, null);
+        ExecutionTaskDto second = insert(2L, "COMPLETED", DAY.plusHours(1), null);
+        ExecutionTaskDto third = insert(3L, "COMPLETED", DAY.plusHours(1), null);
+        ExecutionTaskDto fourth = insert(4L, "COMPLETED", DAY.plusHours(1), null);
+        ExecutionTaskDto fifth = insert(5L, "COMPLETED", DAY.plusHours(2), null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exporter.export(new ExecutionTaskExportFilterDto("COMPLETED", null, null),
+                ExecutionTaskExportFormatEnum.NDJSON, out);
+
+        List<Long> tied = new ArrayList<>(List.of(second.id(), third.id(), fourth.id()));
+        tied.sort(null);
+        List<Long> expected = new ArrayList<>();
+        expected.add(first.id());
+        expected.addAll(tied);
+        expected.add(fifth.id());
+        List<Long> ids = new ArrayList<>();
+        for (String line : out.toString(UTF_8).lines().toList()) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertEquals(5, count);
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void shouldExportCsvWithHeaderAndQuotedFields() throws IOException {
+        ExecutionTaskDto task = insert(1L, "QUEUED", DAY, "Brakes, \"urgent\"");
+
+        String csv = export(new ExecutionTaskExportFilterDto(null, null, null),
+                ExecutionTaskExportFormatEnum.CSV);
+
+        List<String> lines = List.of(csv.split("\r\n"));
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("id,service_order_id,customer_id,"));
+        assertTrue(lines.get(1).startsWith(task.id() + ",1,,,ABC1D23,,QUEUED,,"
+                + "\"Brakes, \"\"urgent\"\"\",,1,2026-10-01T00:00:00,"));
+    }
+
+    @Test
+    void shouldWriteOnlyCsvHeaderWhenNothingMatches() throws IOException {
+        String csv = export(new ExecutionTaskExportFilterDto("FAILED", null, null),
+                ExecutionTaskExportFormatEnum.CSV);
+
+        assertEquals(1, csv.split("\r\n").length);
+        assertEquals("", export(new ExecutionTaskExportFilterDto("FAILED", null, null),
+                ExecutionTaskExportFormatEnum.NDJSON));
+    }
+
+    @Test
+    void shouldRejectUnknownFormatAndEmptyPeriod() {
+        assertEquals(ExecutionTaskExportFormatEnum.CSV, ExecutionTaskExportFormatEnum.of(" csv "));
+        assertThrows(InvalidDataException.class, () -> ExecutionTaskExportFormatEnum.of("xml"));
+        assertThrows(InvalidDataException.class,
+                () -> new ExecutionTaskExportFilterDto(null, DAY, DAY));
+    }
+}
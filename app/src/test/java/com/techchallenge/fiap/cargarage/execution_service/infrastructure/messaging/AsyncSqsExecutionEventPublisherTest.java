@@ -0,0 +1,191 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncSqsExecutionEventPublisherTest {
+
+    private static final String EVENTS_QUEUE = "execution-service-events.fifo";
+    private static final String COMPLETED_QUEUE = "execution-completed-queue";
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    private ExecutionEventMessageFactory messageFactory;
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncSqsExecutionEventPublisher publisher;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        messageFactory = new ExecutionEventMessageFactory();
+        ReflectionTestUtils.setField(messageFactory, "executionEventsQueueUrl",
+                "http://localhost:4566/000000000000/" + EVENTS_QUEUE);
+        ReflectionTestUtils.setField(messageFactory, "executionCompletedQueueUrl",
+                "http://localhost:4566/000000000000/" + COMPLETED_QUEUE);
+        ReflectionTestUtils.setField(messageFactory, "resourceUnavailableQueueUrl",
+                "http://localhost:4566/000000000000/resource-unavailable-queue");
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = publisher(64);
+    }
+
+    private AsyncSqsExecutionEventPublisher publisher(int maxInFlight) {
+        return new AsyncSqsExecutionEventPublisher(sqsAsyncClient, messageFactory,
+                meterRegistry, maxInFlight, Duration.ofMillis(50), Duration.ofSeconds(1));
+    }
+
+    private ExecutionTask createTask(ExecutionStatus status) {
+        return ExecutionTask.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status(status)
+                .failureReason(status.isFailed() ? "Test failure" : null)
+                .createdAt(now)
+                .build();
+    }
+
+    private long sends(String queue, String outcome) {
+        var timer = meterRegistry.find("sqs.publish")
+                .tags("queue", queue, "outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    void shouldSendCompletedEventsConcurrentlyAndRecordLatencyPerQueue() {
+        CompletableFuture<SendMessageResponse> first = new CompletableFuture<>();
+        CompletableFuture<SendMessageResponse> second = new CompletableFuture<>();
+        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(first, second);
+
+        CompletableFuture<Void> publishing = CompletableFuture.runAsync(
+                () -> publisher.publishExecutionCompleted(
+                        createTask(ExecutionStatus.completed())));
+
+        // Both sends are issued before either one completes
+        verify(sqsAsyncClient, timeout(1000).times(2))
+                .sendMessage(any(SendMessageRequest.class));
+        second.complete(SendMessageResponse.builder().build());
+        first.complete(SendMessageResponse.builder().build());
+        publishing.join();
+
+        assertEquals(1, sends(EVENTS_QUEUE, "success"));
+        assertEquals(1, sends(COMPLETED_QUEUE, "success"));
+        assertEquals(0.0, meterRegistry.get("sqs.publish.in-flight").gauge().value());
+    }
+
+    @Test
+    void shouldFailAndCountFailurePerQueue() {
+        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                                SendMessageResponse.builder().build()),
+                        CompletableFuture.failedFuture(
+                                SqsException.builder().message("SQS error").build()));
+
+        ExecutionTask task = createTask(ExecutionStatus.completed());
+        assertThrows(RuntimeException.class,
+                () -> publisher.publishExecutionCompleted(task));
+
+        assertEquals(1.0, meterRegistry.get("sqs.publish.failures")
+                .tag("queue", COMPLETED_QUEUE).counter().count());
+        assertEquals(1, sends(COMPLETED_QUEUE, "failure"));
+        assertEquals(1, sends(EVENTS_QUEUE, "success"));
+    }
+
+    @Test
+    void shouldRejectSendWhenInFlightLimitReached() {
+        publisher = publisher(1);
+        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        ExecutionTask task = createTask(ExecutionStatus.completed());
+        assertThrows(RuntimeException.class,
+                () -> publisher.publishExecutionCompleted(task));
+
+        // Second message could not get a permit and was never sent
+        verify(sqsAsyncClient, times(1)).sendMessage(any(SendMessageRequest.class));
+        assertEquals(1.0, meterRegistry.get("sqs.publish.failures")
+                .tag("queue", COMPLETED_QUEUE).counter().count());
+    }
+
+    @Test
+    void shouldPublishExecutionStartedToFifoQueueOnly() {
+        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        SendMessageResponse.builder().build()));
+
+        publisher.publishExecutionStarted(createTask(ExecutionStatus.inProgress()));
+
+        verify(sqsAsyncClient, times(1)).sendMessage(any(SendMessageRequest.class));
+        assertEquals(1, sends(EVENTS_QUEUE, "success"));
+    }
+
+    @Test
+    void shouldSendStatusChangesAsOneBatchPerQueue() {
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        SendMessageBatchResponse.builder().build()));
+
+        publisher.publishStatusChanges(List.of(
+                createTask(ExecutionStatus.completed()),
+                createTask(ExecutionStatus.completed()),
+                createTask(ExecutionStatus.inProgress())));
+
+        ArgumentCaptor<SendMessageBatchRequest> batches =
+                ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsAsyncClient, times(2)).sendMessageBatch(batches.capture());
+        assertEquals(List.of(3, 2), batches.getAllValues().stream()
+                .map(batch -> batch.entries().size()).toList());
+        assertEquals(1, sends(EVENTS_QUEUE, "success"));
+        assertEquals(1, sends(COMPLETED_QUEUE, "success"));
+        assertEquals(0.0, meterRegistry.get("sqs.publish.in-flight").gauge().value());
+    }
+
+    @Test
+    void shouldFailStatusChangesWhenBatchEntryIsRejected() {
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        SendMessageBatchResponse.builder()
+                                .failed(BatchResultErrorEntry.builder().id("0")
+                                        .code("InternalError").senderFault(false).build())
+                                .build()));
+
+        List<ExecutionTask> tasks = List.of(createTask(ExecutionStatus.inProgress()));
+        assertThrows(RuntimeException.class, () -> publisher.publishStatusChanges(tasks));
+
+        assertEquals(1.0, meterRegistry.get("sqs.publish.failures")
+                .tag("queue", EVENTS_QUEUE).counter().count());
+        assertEquals(1, sends(EVENTS_QUEUE, "failure"));
+    }
+}
@@ -0,0 +1,292 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionEventOutboxEntity;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository.ExecutionEventOutboxRepository;
+
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionEventOutboxRelayTest {
+
+    private static final String FIFO_QUEUE = "http://localhost:4566/000000000000/events.fifo";
+    private static final String STANDARD_QUEUE = "http://localhost:4566/000000000000/completed";
+
+    @Mock
+    private ExecutionEventOutboxRepository repository;
+
+    @Mock
+    private SqsClient sqsClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement tryLock;
+
+    @Mock
+    private PreparedStatement unlock;
+
+    private ExecutionEventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ExecutionEventOutboxRelay(repository, sqsClient,
+                new TransactionTemplate(transactionManager), jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void lock(boolean acquired) throws SQLException {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(
+                inv -> ((ConnectionCallback<?>) inv.getArgument(0)).doInConnection(connection));
+        when(connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))"))
+                .thenReturn(tryLock);
+        ResultSet locked = result(acquired);
+        when(tryLock.executeQuery()).thenReturn(locked);
+        if (acquired) {
+            when(connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))"))
+                    .thenReturn(unlock);
+            ResultSet unlocked = result(true);
+            when(unlock.executeQuery()).thenReturn(unlocked);
+        }
+    }
+
+    private ResultSet result(boolean value) throws SQLException {
+        ResultSet result = mock(ResultSet.class);
+        when(result.next()).thenReturn(true);
+        when(result.getBoolean(1)).thenReturn(value);
+        return result;
+    }
+
+    private void pending(List<ExecutionEventOutboxEntity> rows) throws SQLException {
+        lock(true);
+        when(repository.findPending(any(Pageable.class))).thenReturn(rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> markedSent() {
+        ArgumentCaptor<Collection<Long>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, atLeastOnce()).markSent(captor.capture(),
+                any(LocalDateTime.class));
+        return captor.getAllValues().stream().flatMap(Collection::stream).toList();
+    }
+
+    private ExecutionEventOutboxEntity row(long id, String queueUrl) {
+        return ExecutionEventOutboxEntity.builder()
+                .id(id)
+                .queueUrl(queueUrl)
+                .messageBody("{\"id\":" + id + "}")
+                .messageGroupId(FIFO_QUEUE.equals(queueUrl) ? "execution-" + id : null)
+                .deduplicationId(FIFO_QUEUE.equals(queueUrl) ? "dedup-" + id : null)
+                .messageAttributes(FIFO_QUEUE.equals(queueUrl)
+                        ? "{\"eventType\":\"ExecutionStarted\"}"
+                        : null)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private ExecutionEventOutboxEntity grouped(long id, String groupId) {
+        ExecutionEventOutboxEntity row = row(id, FIFO_QUEUE);
+        row.setMessageGroupId(groupId);
+        return row;
+    }
+
+    private SendMessageBatchResponse allSuccessful(SendMessageBatchRequest request) {
+        return SendMessageBatchResponse.builder()
+                .successful(request.entries().stream()
+                        .map(entry -> SendMessageBatchResultEntry.builder()
+                                .id(entry.id()).build())
+                        .toList())
+                .build();
+    }
+
+    private SendMessageBatchResponse failing(SendMessageBatchRequest request, String failedId) {
+        return SendMessageBatchResponse.builder()
+                .successful(request.entries().stream()
+                        .filter(entry -> !failedId.equals(entry.id()))
+                        .map(entry -> SendMessageBatchResultEntry.builder()
+                                .id(entry.id()).build())
+                        .toList())
+                .failed(request.entries().stream()
+                        .filter(entry -> failedId.equals(entry.id()))
+                        .map(entry -> BatchResultErrorEntry.builder()
+                                .id(entry.id()).code("InternalError").build())
+                        .toList())
+                .build();
+    }
+
+    private List<List<String>> sentBatches(int calls) {
+        ArgumentCaptor<SendMessageBatchRequest> captor =
+                ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(calls)).sendMessageBatch(captor.capture());
+        return captor.getAllValues().stream()
+                .map(request -> request.entries().stream()
+                        .map(SendMessageBatchRequestEntry::id).toList())
+                .toList();
+    }
+
+    @Test
+    void shouldDoNothingWhenOutboxIsEmpty() throws SQLException {
+        pending(List.of());
+
+        relay.relayPending();
+
+        verify(sqsClient, never()).sendMessageBatch(any(SendMessageBatchRequest.class));
+        verify(unlock).executeQuery();
+    }
+
+    @Test
+    void shouldSkipRunWhenAnotherReplicaHoldsTheLock() throws SQLException {
+        lock(false);
+
+        relay.relayPending();
+
+        verify(repository, never()).findPending(any(Pageable.class));
+        verify(connection, never()).prepareStatement("SELECT pg_advisory_unlock(hashtext(?))");
+    }
+
+    @Test
+    void shouldSendPerQueueInBatchesOfTenAndMarkSent() throws SQLException {
+        List<ExecutionEventOutboxEntity> rows = new ArrayList<>(
+                LongStream.rangeClosed(1, 12).mapToObj(id -> row(id, FIFO_QUEUE)).toList());
+        rows.add(row(13, STANDARD_QUEUE));
+        pending(rows);
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(inv -> allSuccessful(inv.getArgument(0)));
+
+        relay.relayPending();
+
+        ArgumentCaptor<SendMessageBatchRequest> captor =
+                ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(3)).sendMessageBatch(captor.capture());
+        List<SendMessageBatchRequest> requests = captor.getAllValues();
+        assertEquals(10, requests.get(0).entries().size());
+        assertEquals(2, requests.get(1).entries().size());
+        assertEquals(STANDARD_QUEUE, requests.get(2).queueUrl());
+
+        SendMessageBatchRequestEntry first = requests.get(0).entries().get(0);
+        assertEquals("1", first.id());
+        assertEquals("execution-1", first.messageGroupId());
+        assertEquals("dedup-1", first.messageDeduplicationId());
+        assertEquals("ExecutionStarted",
+                first.messageAttributes().get("eventType").stringValue());
+
+        assertEquals(LongStream.rangeClosed(1, 13).boxed().toList(), markedSent());
+    }
+
+    @Test
+    void shouldSendAtMostOneEntryPerGroupPerBatch() throws SQLException {
+        pending(List.of(grouped(1, "group-a"), grouped(2, "group-a"),
+                grouped(3, "group-b"), grouped(4, "group-a")));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(inv -> allSuccessful(inv.getArgument(0)));
+
+        relay.relayPending();
+
+        // Each entry of a group goes out only after the previous one was accepted
+        assertEquals(List.of(List.of("1", "3"), List.of("2"), List.of("4")), sentBatches(3));
+        assertEquals(List.of(1L, 3L, 2L, 4L), markedSent());
+    }
+
+    @Test
+    void shouldNotSendRestOfGroupAfterFailedEntry() throws SQLException {
+        pending(List.of(grouped(1, "group-a"), grouped(2, "group-b"),
+                grouped(3, "group-a"), grouped(4, "group-b"), grouped(5, "group-a")));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(inv -> failing(inv.getArgument(0), "1"));
+
+        relay.relayPending();
+
+        // group-a stops at its failed first entry, so nothing of it is
+        // enqueued ahead of it; group-b keeps going
+        assertEquals(List.of(List.of("1", "2"), List.of("4")), sentBatches(2));
+        assertEquals(List.of(2L, 4L), markedSent());
+    }
+
+    @Test
+    void shouldStopRunWhenSqsCallFailsAndBoundEachCall() throws SQLException {
+        List<ExecutionEventOutboxEntity> rows = List.of(
+                row(1, FIFO_QUEUE), row(2, STANDARD_QUEUE));
+        pending(rows);
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenThrow(new RuntimeException("timed out"));
+
+        relay.relayPending();
+
+        ArgumentCaptor<SendMessageBatchRequest> captor =
+                ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(1)).sendMessageBatch(captor.capture());
+        assertEquals(Duration.ofSeconds(5), captor.getValue().overrideConfiguration()
+                .orElseThrow().apiCallTimeout().orElseThrow());
+        verify(repository, never()).markSent(anyCollection(), any(LocalDateTime.class));
+        verify(unlock).executeQuery();
+    }
+
+    @Test
+    void shouldSendWithNoTransactionOpen() throws SQLException {
+        pending(List.of(row(1, STANDARD_QUEUE)));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(inv -> {
+                    // The claim committed before the call, the mark starts after it
+                    verify(transactionManager, times(1)).commit(any());
+                    return allSuccessful(inv.getArgument(0));
+                });
+
+        relay.relayPending();
+
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(List.of(1L), markedSent());
+    }
+
+    @Test
+    void shouldPurgeSentMessages() {
+        when(repository.deleteSentBefore(any(LocalDateTime.class))).thenReturn(5);
+
+        relay.purgeSent();
+
+        verify(repository).deleteSentBefore(any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,116 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionEventOutboxEntity;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository.ExecutionEventOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxExecutionEventPublisherTest {
+
+    private static final String EVENTS_QUEUE =
+            "http://localhost:4566/000000000000/execution-service-events.fifo";
+    private static final String COMPLETED_QUEUE =
+            "http://localhost:4566/000000000000/execution-completed-queue";
+    private static final String UNAVAILABLE_QUEUE =
+            "http://localhost:4566/000000000000/resource-unavailable-queue";
+
+    @Mock
+    private ExecutionEventOutboxRepository repository;
+
+    @Captor
+    private ArgumentCaptor<List<ExecutionEventOutboxEntity>> captor;
+
+    private OutboxExecutionEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        ExecutionEventMessageFactory messageFactory = new ExecutionEventMessageFactory();
+        ReflectionTestUtils.setField(messageFactory, "executionEventsQueueUrl", EVENTS_QUEUE);
+        ReflectionTestUtils.setField(messageFactory, "executionCompletedQueueUrl", COMPLETED_QUEUE);
+        ReflectionTestUtils.setField(messageFactory, "resourceUnavailableQueueUrl", UNAVAILABLE_QUEUE);
+        publisher = new OutboxExecutionEventPublisher(repository, messageFactory);
+    }
+
+    private ExecutionTask createTask(ExecutionStatus status) {
+        return ExecutionTask.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status(status)
+                .failureReason(status.isFailed() ? "Test failure" : null)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void shouldStoreStartedEventInOutbox() {
+        publisher.publishExecutionStarted(createTask(ExecutionStatus.inProgress()));
+
+        verify(repository).saveAll(captor.capture());
+        List<ExecutionEventOutboxEntity> rows = captor.getValue();
+        assertEquals(1, rows.size());
+
+        ExecutionEventOutboxEntity row = rows.get(0);
+        assertEquals(EVENTS_QUEUE, row.getQueueUrl());
+        assertEquals("execution-100", row.getMessageGroupId());
+        assertNotNull(row.getDeduplicationId());
+        assertTrue(row.getMessageBody().contains("\"eventType\":\"ExecutionStarted\""));
+        assertTrue(row.getMessageAttributes().contains("\"serviceOrderId\":\"100\""));
+        assertNotNull(row.getCreatedAt());
+        assertNull(row.getSentAt());
+    }
+
+    @Test
+    void shouldStoreCompletedEventAndOsNotification() {
+        publisher.publishExecutionCompleted(createTask(ExecutionStatus.completed()));
+
+        verify(repository).saveAll(captor.capture());
+        List<ExecutionEventOutboxEntity> rows = captor.getValue();
+        assertEquals(2, rows.size());
+        assertEquals(EVENTS_QUEUE, rows.get(0).getQueueUrl());
+        assertEquals(COMPLETED_QUEUE, rows.get(1).getQueueUrl());
+        assertNull(rows.get(1).getMessageGroupId());
+        assertNull(rows.get(1).getMessageAttributes());
+    }
+
+    @Test
+    void shouldStoreFailedEventAndCompensation() {
+        publisher.publishExecutionFailed(createTask(ExecutionStatus.failed()));
+
+        verify(repository).saveAll(captor.capture());
+        List<ExecutionEventOutboxEntity> rows = captor.getValue();
+        assertEquals(2, rows.size());
+        assertEquals(UNAVAILABLE_QUEUE, rows.get(1).getQueueUrl());
+        assertTrue(rows.get(1).getMessageBody().contains("\"reason\":\"Test failure\""));
+    }
+
+    @Test
+    void shouldStoreEventsOfAllStatusChangesInOneCall() {
+        publisher.publishStatusChanges(List.of(
+                createTask(ExecutionStatus.inProgress()),
+                createTask(ExecutionStatus.failed()),
+                createTask(ExecutionStatus.queued())));
+
+        verify(repository).saveAll(captor.capture());
+        assertEquals(List.of(EVENTS_QUEUE, EVENTS_QUEUE, UNAVAILABLE_QUEUE),
+                captor.getValue().stream().map(ExecutionEventOutboxEntity::getQueueUrl).toList());
+    }
+}
@@ -0,0 +1,346 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskChangeNotifier;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.transaction.TransactionRunnerImpl;
+
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SqsBatchEventListenerTest {
+
+    @Mock
+    private CreateExecutionTaskUseCase createUseCase;
+
+    @Mock
+    private FailExecutionTaskUseCase failUseCase;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BatchAcknowledgement<String> acknowledgement;
+
+    private SqsBatchEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new SqsBatchEventListener(createUseCase, failUseCase,
+                new TransactionTemplate(transactionManager),
+                SqsListenerExecutor.direct(), new SimpleMeterRegistry());
+    }
+
+    private Message<String> message(String payload) {
+        return MessageBuilder.withPayload(payload).build();
+    }
+
+    private Message<String> fifoMessage(String payload, String groupId) {
+        return MessageBuilder.withPayload(payload)
+                .setHeader(SqsHeaders.MessageSystemAttributes
+                        .SQS_MESSAGE_GROUP_ID_HEADER, groupId)
+                .build();
+    }
+
+    private String paymentProcessed(long serviceOrderId) {
+        return "{\"eventType\":\"PaymentProcessed\",\"serviceOrderId\":"
+                + serviceOrderId + "}";
+    }
+
+    private ExecutionTask task(Long serviceOrderId) {
+        return ExecutionTask.builder()
+                .id(1L)
+                .serviceOrderId(serviceOrderId)
+                .status(ExecutionStatus.queued())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<String>> acknowledged() {
+        ArgumentCaptor<Collection<Message<String>>> captor =
+                ArgumentCaptor.forClass(Collection.class);
+        verify(acknowledgement).acknowledge(captor.capture());
+        return List.copyOf(captor.getValue());
+    }
+
+    @Test
+    void shouldProcessBillingBatchInOneTransactionPerRunOfEventType() {
+        when(createUseCase.executeAllOnce(anyList()))
+                .thenReturn(List.of(Optional.of(task(100L)), Optional.of(task(200L))));
+        when(failUseCase.executeByServiceOrderId(300L, "Insufficient funds"))
+                .thenReturn(task(300L));
+
+        List<Message<String>> messages = List.of(
+                message(paymentProcessed(100L)),
+                message(paymentProcessed(200L)),
+                message("{\"eventType\":\"PaymentFailed\",\"serviceOrderId\":300,"
+                        + "\"failureReason\":\"Insufficient funds\"}"));
+
+        listener.handleBillingEvents(messages, acknowledgement);
+
+        // The PaymentProcessed tasks are created with one batched call
+        verify(createUseCase).executeAllOnce(argThat(requests -> requests.size() == 2));
+        verify(createUseCase, never()).executeOnce(any(), any(ExecutionTaskRequestDto.class), any());
+        verify(failUseCase).executeByServiceOrderId(300L, "Insufficient funds");
+        // One transaction for PaymentProcessed, one for PaymentFailed
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3, acknowledged().size());
+    }
+
+    @Test
+    void shouldApplyEventsOfFifoGroupInArrivalOrder() {
+        when(createUseCase.executeAllOnce(anyList()))
+                .thenReturn(List.of(Optional.of(task(100L))));
+        when(failUseCase.executeByServiceOrderId(any(), any())).thenReturn(task(100L));
+
+        List<Message<String>> messages = List.of(
+                fifoMessage("{\"eventType\":\"PaymentRefunded\",\"serviceOrderId\":200}", "so-200"),
+                fifoMessage(paymentProcessed(100L), "so-100"),
+                fifoMessage("{\"eventType\":\"PaymentRefunded\",\"serviceOrderId\":100}", "so-100"));
+
+        listener.handleBillingEvents(messages, acknowledgement);
+
+        // The refund of SO 100 runs after its payment, not with the other refund
+        InOrder order = inOrder(failUseCase, createUseCase);
+        order.verify(failUseCase).executeByServiceOrderId(200L, "Payment refunded");
+        order.verify(createUseCase).executeAllOnce(anyList());
+        order.verify(failUseCase).executeByServiceOrderId(100L, "Payment refunded");
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals(messages, acknowledged());
+    }
+
+    @Test
+    void shouldNotAcknowledgeCancellationThatFailedWithDataAccessError() {
+        when(failUseCase.executeByServiceOrderId(100L, "Payment refunded"))
+                .thenThrow(new QueryTimeoutException("Timed out"));
+        when(failUseCase.executeByServiceOrderId(200L, "Payment refunded"))
+                .thenReturn(task(200L));
+
+        Message<String> failing = message(
+                "{\"eventType\":\"PaymentRefunded\",\"serviceOrderId\":100}");
+        Message<String> other = message(
+                "{\"eventType\":\"PaymentRefunded\",\"serviceOrderId\":200}");
+
+        listener.handleBillingEvents(List.of(failing, other), acknowledgement);
+
+        assertEquals(List.of(other), acknowledged());
+    }
+
+    @Test
+    void shouldLeaveOnlyFailedMessageUnacknowledged() {
+        when(createUseCase.executeAllOnce(anyList()))
+                .thenThrow(new RuntimeException("DB error"));
+        when(createUseCase.executeOnce(any(), argThat(req -> req != null
+                && req.serviceOrderId() == 200L), any()))
+                .thenThrow(new RuntimeException("DB error"));
+        when(createUseCase.executeOnce(any(), argThat(req -> req != null
+                && req.serviceOrderId() != 200L), any()))
+                .thenReturn(Optional.of(task(100L)));
+
+        Message<String> first = message(paymentProcessed(100L));
+        Message<String> failing = message(paymentProcessed(200L));
+        Message<String> last = message(paymentProcessed(300L));
+
+        listener.handleBillingEvents(List.of(first, failing, last), acknowledgement);
+
+        List<Message<String>> acked = acknowledged();
+        assertEquals(List.of(first, last), acked);
+    }
+
+    @Test
+    void shouldNotAcknowledgeMessagesAfterFailureInSameFifoGroup() {
+        when(createUseCase.executeAllOnce(anyList()))
+                .thenThrow(new RuntimeException("DB error"));
+        when(createUseCase.executeOnce(any(), argThat(req -> req != null
+                && req.serviceOrderId() == 100L), any()))
+                .thenThrow(new RuntimeException("DB error"));
+        when(createUseCase.executeOnce(any(), argThat(req -> req != null
+                && req.serviceOrderId() == 300L), any()))
+                .thenReturn(Optional.of(task(300L)));
+
+        Message<String> failing = fifoMessage(paymentProcessed(100L), "group-a");
+        Message<String> sameGroup = fifoMessage(paymentProcessed(200L), "group-a");
+        Message<String> otherGroup = fifoMessage(paymentProcessed(300L), "group-b");
+
+        listener.handleBillingEvents(
+                List.of(failing, sameGroup, otherGroup), acknowledgement);
+
+        assertEquals(List.of(otherGroup), acknowledged());
+    }
+
+    @Test
+    void shouldLeaveInvalidJsonUnacknowledged() {
+        when(createUseCase.executeAllOnce(anyList()))
+                .thenReturn(List.of(Optional.of(task(100L))));
+
+        Message<String> invalid = message("invalid json");
+        Message<String> valid = message(paymentProcessed(100L));
+
+        listener.handleBillingEvents(List.of(invalid, valid), acknowledgement);
+
+        assertEquals(List.of(valid), acknowledged());
+    }
+
+    @Test
+    void shouldNotAcknowledgeWhenWholeBatchFails() {
+        Message<String> invalid = message("invalid json");
+
+        listener.handleBillingEvents(List.of(invalid), acknowledgement);
+
+        verify(acknowledgement, never()).acknowledge(any());
+    }
+
+    @Test
+    void shouldAcknowledgeIgnoredEventsWithoutParsingThem() {
+        Message<String> byAttribute = MessageBuilder.withPayload("not json")
+                .setHeader(SqsEventDispatcher.EVENT_TYPE, "ORDER_CREATED")
+                .build();
+        Message<String> truncated = message("{\"eventType\":\"ORDER_UPDATED\",\"items\":[");
+
+        listener.handleOsServiceEvents(List.of(byAttribute, truncated), acknowledgement);
+
+        assertEquals(List.of(byAttribute, truncated), acknowledged());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void shouldNotAcknowledgeIgnoredEventBehindFailureInSameFifoGroup() {
+        Message<String> invalid = fifoMessage("invalid json", "group-a");
+        Message<String> ignored = fifoMessage(
+                "{\"eventType\":\"ORDER_CREATED\",\"orderId\":1}", "group-a");
+
+        listener.handleOsServiceEvents(List.of(invalid, ignored), acknowledgement);
+
+        verify(acknowledgement, never()).acknowledge(any());
+    }
+
+    @Test
+    void shouldAcknowledgeIgnoredOsEvents() {
+        when(failUseCase.executeByServiceOrderId(100L, "Customer cancelled"))
+                .thenReturn(task(100L));
+
+        List<Message<String>> messages = List.of(
+                message("{\"eventType\":\"ORDER_CANCELLED\",\"orderId\":100,"
+                        + "\"cancellationReason\":\"Customer cancelled\"}"),
+                message("{\"eventType\":\"ORDER_CREATED\",\"orderId\":101}"));
+
+        listener.onOsServiceEvents(messages, acknowledgement).join();
+
+        verify(failUseCase).executeByServiceOrderId(100L, "Customer cancelled");
+        assertEquals(2, acknowledged().size());
+    }
+
+    @Test
+    void shouldRetryConcurrentCancellationInNewTransactionsOfItsOwn() {
+        ExecutionTaskGateway gateway = mock(ExecutionTaskGateway.class);
+        ExecutionTask inProgress = ExecutionTask.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status(ExecutionStatus.inProgress())
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(gateway.findByServiceOrderId(100L)).thenReturn(Optional.of(inProgress));
+        // The task is still IN_PROGRESS when checked, so the misses are conflicts
+        when(gateway.findById(1L)).thenReturn(Optional.of(inProgress));
+        List<Boolean> inTransaction = new ArrayList<>();
+        when(gateway.transitionStatus(eq(1L), eq(ExecutionStatus.failed()),
+                eq("Customer cancelled"), any(LocalDateTime.class))).thenAnswer(inv -> {
+                    inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+                    return inTransaction.size() < 3 ? Optional.empty()
+                            : Optional.of(inProgress.withFailure("Customer cancelled",
+                                    LocalDateTime.now()));
+                });
+        CountingTransactionManager transactionManager = new CountingTransactionManager();
+        FailExecutionTaskUseCase failUseCase = new FailExecutionTaskUseCase(gateway,
+                mock(ExecutionEventPublisher.class),
+                new TransactionRunnerImpl(),
+                mock(ExecutionTaskChangeNotifier.class));
+        SqsBatchEventListener batchListener = new SqsBatchEventListener(createUseCase,
+                failUseCase, new TransactionTemplate(transactionManager),
+                SqsListenerExecutor.direct(), new SimpleMeterRegistry());
+
+        Message<String> cancelled = message("{\"eventType\":\"ORDER_CANCELLED\","
+                + "\"orderId\":100,\"cancellationReason\":\"Customer cancelled\"}");
+        batchListener.handleOsServiceEvents(List.of(cancelled), acknowledgement);
+
+        // Group transaction, then one new transaction per retry of the event;
+        // no attempt retried inside the transaction it was called in
+        assertEquals(List.of(true, true, true), inTransaction);
+        assertEquals(3, transactionManager.begun);
+        assertEquals(2, transactionManager.rolledBack);
+        assertEquals(List.of(cancelled), acknowledged());
+    }
+
+    /**
+     * Starts a new transaction on every {@code getTransaction} and keeps
+     * Spring's synchronization, so the code under test sees an actual
+     * transaction as with a real transaction manager.
+     */
+    private static final class CountingTransactionManager
+            extends AbstractPlatformTransactionManager {
+
+        private int begun;
+        private int rolledBack;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            begun++;
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rolledBack++;
+        }
+    }
+}
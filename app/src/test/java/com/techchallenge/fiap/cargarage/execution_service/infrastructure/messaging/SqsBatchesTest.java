@@ -0,0 +1,68 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+class SqsBatchesTest {
+
+    private static final String FIFO_QUEUE = "http://localhost:4566/000000000000/events.fifo";
+    private static final String QUEUE = "http://localhost:4566/000000000000/completed";
+
+    private static SendMessageRequest message(String queueUrl, String body) {
+        return SendMessageRequest.builder().queueUrl(queueUrl).messageBody(body).build();
+    }
+
+    @Test
+    void shouldGroupByQueueAndSplitIntoBatchesOfTenKeepingOrder() {
+        List<SendMessageRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            requests.add(message(FIFO_QUEUE, "event-" + i));
+            requests.add(message(QUEUE, "notification-" + i));
+        }
+
+        List<SendMessageBatchRequest> batches = SqsBatches.of(requests);
+
+        assertEquals(List.of(FIFO_QUEUE, FIFO_QUEUE, QUEUE, QUEUE),
+                batches.stream().map(SendMessageBatchRequest::queueUrl).toList());
+        assertEquals(List.of(10, 2, 10, 2),
+                batches.stream().map(batch -> batch.entries().size()).toList());
+        assertEquals(List.of("event-10", "event-11"), batches.get(1).entries().stream()
+                .map(SendMessageBatchRequestEntry::messageBody).toList());
+        assertEquals(List.of("0", "1"), batches.get(1).entries().stream()
+                .map(SendMessageBatchRequestEntry::id).toList());
+    }
+
+    @Test
+    void shouldKeepFifoFieldsAndAttributes() {
+        MessageAttributeValue eventType = MessageAttributeValue.builder()
+                .stringValue("ExecutionStarted").dataType("String").build();
+        SendMessageRequest request = SendMessageRequest.builder()
+                .queueUrl(FIFO_QUEUE)
+                .messageBody("{}")
+                .messageGroupId("group")
+                .messageDeduplicationId("dedup")
+                .messageAttributes(Map.of("eventType", eventType))
+                .build();
+
+        SendMessageBatchRequestEntry entry = SqsBatches.of(List.of(request)).get(0).entries().get(0);
+
+        assertEquals("group", entry.messageGroupId());
+        assertEquals("dedup", entry.messageDeduplicationId());
+        assertEquals(eventType, entry.messageAttributes().get("eventType"));
+    }
+
+    @Test
+    void shouldReturnNoBatchesForNoRequests() {
+        assertEquals(List.of(), SqsBatches.of(List.of()));
+    }
+}
@@ -0,0 +1,152 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskSagaRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SqsEventDispatcherTest {
+
+    @Mock
+    private CreateExecutionTaskUseCase createUseCase;
+
+    @Mock
+    private FailExecutionTaskUseCase failUseCase;
+
+    private SimpleMeterRegistry registry;
+    private SqsEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        dispatcher = new SqsEventDispatcher(createUseCase, failUseCase, registry);
+    }
+
+    @Test
+    void shouldPeekEventTypeAfterNestedFields() throws JsonProcessingException {
+        String message = "{\"order\":{\"eventType\":\"nested\",\"items\":[1,2]},"
+                + "\"tags\":[\"a\"],\"eventType\":\"ORDER_CANCELLED\"}";
+
+        assertEquals("ORDER_CANCELLED", dispatcher.peekEventType(message));
+    }
+
+    @Test
+    void shouldMatchTreeParsingForMissingEventType() throws JsonProcessingException {
+        String message = "{\"orderId\":1}";
+
+        assertEquals(dispatcher.eventType(dispatcher.parse(message)),
+                dispatcher.peekEventType(message));
+        assertEquals("", dispatcher.peekEventType(message));
+    }
+
+    @Test
+    void shouldRejectNonObjectPayload() {
+        assertThrows(JsonProcessingException.class,
+                () -> dispatcher.peekEventType("[\"eventType\"]"));
+        assertThrows(JsonProcessingException.class,
+                () -> dispatcher.peekEventType("invalid json"));
+    }
+
+    @Test
+    void shouldPreferEventTypeAttribute() throws JsonProcessingException {
+        assertEquals("PaymentFailed", dispatcher.routingEventType(
+                "PaymentFailed", "{\"eventType\":\"PaymentProcessed\"}"));
+        assertEquals("PaymentProcessed", dispatcher.routingEventType(
+                " ", "{\"eventType\":\"PaymentProcessed\"}"));
+        assertEquals("PaymentProcessed", dispatcher.routingEventType(
+                null, "{\"eventType\":\"PaymentProcessed\"}"));
+    }
+
+    @Test
+    void shouldKnowHandledEventTypes() {
+        assertTrue(dispatcher.isHandledBillingEvent("PaymentRefunded"));
+        assertFalse(dispatcher.isHandledBillingEvent("InvoiceIssued"));
+        assertTrue(dispatcher.isPaymentProcessed("PaymentProcessed"));
+        assertFalse(dispatcher.isPaymentProcessed("PaymentFailed"));
+        assertTrue(dispatcher.isOrderCancelled("ServiceOrderCancelled"));
+        assertFalse(dispatcher.isOrderCancelled("ORDER_CREATED"));
+    }
+
+    @Test
+    void shouldCountReceivedEventsWithIgnoredTypesCollapsed() {
+        dispatcher.countReceived("billing", "PaymentProcessed", true);
+        dispatcher.countReceived("OS", "ORDER_CREATED", false);
+        dispatcher.countReceived("OS", "ORDER_UPDATED", false);
+
+        assertEquals(1.0, registry.get(SqsEventDispatcher.RECEIVED_COUNTER)
+                .tag("source", "billing")
+                .tag("event_type", "PaymentProcessed")
+                .tag("outcome", "handled")
+                .counter().count());
+        assertEquals(2.0, registry.get(SqsEventDispatcher.RECEIVED_COUNTER)
+                .tag("source", "os")
+                .tag("event_type", "other")
+                .tag("outcome", "ignored")
+                .counter().count());
+    }
+
+    @Test
+    void shouldConvertSentTimestampAttribute() {
+        LocalDateTime expected = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(1770908700000L), ZoneId.systemDefault());
+
+        assertEquals(expected, dispatcher.sentTimestamp("1770908700000"));
+        assertEquals(expected, dispatcher.sentTimestamp(1770908700000L));
+        assertNull(dispatcher.sentTimestamp("not a number"));
+        assertNull(dispatcher.sentTimestamp(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCreateTasksOfPaymentProcessedBatchAtOnce() throws JsonProcessingException {
+        LocalDateTime sentAt = LocalDateTime.of(2026, 2, 12, 15, 4, 5);
+        when(createUseCase.executeAllOnce(anyList()))
+                .thenReturn(List.of(Optional.empty(), Optional.empty()));
+
+        dispatcher.dispatchPaymentProcessed(List.of(
+                new SqsEventDispatcher.BillingEvent(dispatcher.parse(
+                        "{\"eventType\":\"PaymentProcessed\",\"serviceOrderId\":100,"
+                                + "\"eventId\":\"evt-1\",\"vehicleLicensePlate\":\"ABC1D23\"}"),
+                        "msg-1", null),
+                new SqsEventDispatcher.BillingEvent(dispatcher.parse(
+                        "{\"eventType\":\"PaymentProcessed\",\"orderId\":200}"),
+                        "msg-2", sentAt)));
+
+        ArgumentCaptor<List<ExecutionTaskSagaRequestDto>> captor =
+                ArgumentCaptor.forClass(List.class);
+        verify(createUseCase).executeAllOnce(captor.capture());
+        List<ExecutionTaskSagaRequestDto> requests = captor.getValue();
+        assertEquals("evt-1", requests.get(0).eventId());
+        assertEquals(100L, requests.get(0).request().serviceOrderId());
+        assertEquals("ABC1D23", requests.get(0).request().vehicleLicensePlate());
+        // No eventId: deduplicated by the SQS message ID, timed from the send time
+        assertEquals("msg-2", requests.get(1).eventId());
+        assertEquals(200L, requests.get(1).request().serviceOrderId());
+        assertEquals(sentAt, requests.get(1).sagaStartedAt());
+    }
+}
@@ -1,12 +1,16 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,13 +18,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 
 import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskRequestDto;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
 import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
 
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class SqsEventListenerTest {
 
@@ -34,7 +46,8 @@ class SqsEventListenerTest {
 
     @BeforeEach
     void setUp() {
-        listener = new SqsEventListener(createUseCase, failUseCase);
+        listener = new SqsEventListener(createUseCase, failUseCase,
+                SqsListenerExecutor.direct(), new SimpleMeterRegistry());
     }
 
     // Billing events
@@ -57,12 +70,12 @@ class SqsEventListenerTest {
                 .status(ExecutionStatus.queued())
                 .createdAt(LocalDateTime.now())
                 .build();
-        when(createUseCase.execute(any(ExecutionTaskRequestDto.class)))
-                .thenReturn(task);
+        when(createUseCase.executeOnce(any(), any(ExecutionTaskRequestDto.class), any()))
+                .thenReturn(Optional.of(task));
 
         listener.handleBillingEvent(message);
 
-        verify(createUseCase).execute(any(ExecutionTaskRequestDto.class));
+        verify(createUseCase).executeOnce(any(), any(ExecutionTaskRequestDto.class), any());
     }
 
     @Test
@@ -124,7 +137,7 @@ class SqsEventListenerTest {
 
         listener.handleBillingEvent(message);
 
-        verify(createUseCase, never()).execute(any());
+        verify(createUseCase, never()).executeOnce(any(), any(), any());
         verify(failUseCase, never()).executeByServiceOrderId(any(), any());
     }
 
@@ -138,18 +151,165 @@ class SqsEventListenerTest {
                 """;
 
         when(failUseCase.executeByServiceOrderId(any(), any()))
-                .thenThrow(new RuntimeException("Not found"));
+                .thenThrow(new NotFoundException("Not found"));
+
+        // Should not throw - nothing to cancel
+        listener.handleBillingEvent(message);
+    }
+
+    @Test
+    void shouldSettleRefundOfTaskThatAlreadyEnded() {
+        String message = """
+                {
+                  "eventType": "PaymentRefunded",
+                  "serviceOrderId": 100
+                }
+                """;
+
+        when(failUseCase.executeByServiceOrderId(any(), any()))
+                .thenThrow(new InvalidDataException("Cannot fail execution task in status: FAILED"));
 
-        // Should not throw - swallows exception
+        // Should not throw - a redelivery cannot change the outcome
         listener.handleBillingEvent(message);
     }
 
+    @Test
+    void shouldRethrowCancellationErrorsForRedelivery() {
+        String message = """
+                {
+                  "eventType": "PaymentFailed",
+                  "serviceOrderId": 100
+                }
+                """;
+
+        when(failUseCase.executeByServiceOrderId(any(), any()))
+                .thenThrow(new QueryTimeoutException("Timed out"));
+
+        assertThrows(QueryTimeoutException.class, () -> listener.handleBillingEvent(message));
+    }
+
     @Test
     void shouldThrowForInvalidJsonBillingEvent() {
         assertThrows(RuntimeException.class,
                 () -> listener.handleBillingEvent("invalid json"));
     }
 
+    @Test
+    void shouldDeduplicatePaymentProcessedByEventId() {
+        String message = """
+                {
+                  "eventId": "evt-1",
+                  "eventType": "PaymentProcessed",
+                  "serviceOrderId": 100
+                }
+                """;
+        when(createUseCase.executeOnce(eq("evt-1"), any(ExecutionTaskRequestDto.class), any()))
+                .thenReturn(Optional.empty());
+
+        // Duplicate is acknowledged without an exception
+        listener.handleBillingEvent(MessageBuilder.withPayload(message).build());
+
+        verify(createUseCase).executeOnce(eq("evt-1"), any(ExecutionTaskRequestDto.class), any());
+    }
+
+    @Test
+    void shouldDeduplicatePaymentProcessedByMessageIdWithoutEventId() {
+        Message<String> message = MessageBuilder
+                .withPayload("{\"eventType\":\"PaymentProcessed\",\"serviceOrderId\":100}")
+                .build();
+        String messageId = message.getHeaders().getId().toString();
+        when(createUseCase.executeOnce(eq(messageId), any(ExecutionTaskRequestDto.class), any()))
+                .thenReturn(Optional.empty());
+
+        listener.onBillingEvent(message).join();
+
+        verify(createUseCase).executeOnce(eq(messageId), any(ExecutionTaskRequestDto.class), any());
+    }
+
+    @Test
+    void shouldStartSagaClockAtPayloadTimestamp() {
+        Message<String> message = MessageBuilder
+                .withPayload("{\"eventType\":\"PaymentProcessed\",\"serviceOrderId\":100,"
+                        + "\"timestamp\":\"2026-02-12T15:04:05\"}")
+                .setHeader(SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP, "1770908700000")
+                .build();
+        when(createUseCase.executeOnce(any(), any(ExecutionTaskRequestDto.class), any()))
+                .thenReturn(Optional.empty());
+
+        listener.handleBillingEvent(message);
+
+        verify(createUseCase).executeOnce(any(), any(ExecutionTaskRequestDto.class),
+                eq(LocalDateTime.of(2026, 2, 12, 15, 4, 5)));
+    }
+
+    @Test
+    void shouldStartSagaClockAtSentTimestampWithoutPayloadTimestamp() {
+        Message<String> message = MessageBuilder
+                .withPayload("{\"eventType\":\"PaymentProcessed\",\"serviceOrderId\":100}")
+                .setHeader(SqsHeaders.MessageSystemAttributes.SQS_SENT_TIMESTAMP, "1770908700000")
+                .build();
+        when(createUseCase.executeOnce(any(), any(ExecutionTaskRequestDto.class), any()))
+                .thenReturn(Optional.empty());
+
+        listener.handleBillingEvent(message);
+
+        verify(createUseCase).executeOnce(any(), any(ExecutionTaskRequestDto.class),
+                eq(LocalDateTime.ofInstant(Instant.ofEpochMilli(1770908700000L),
+                        ZoneId.systemDefault())));
+    }
+
+    @Test
+    void shouldCompleteFutureWhenBillingEventHandled() {
+        listener.onBillingEvent(MessageBuilder
+                .withPayload("{\"eventType\":\"Unknown\"}").build()).join();
+
+        verify(createUseCase, never()).executeOnce(any(), any(), any());
+    }
+
+    @Test
+    void shouldFailFutureForInvalidJsonOsEvent() {
+        assertTrue(listener.onOsServiceEvent(MessageBuilder
+                .withPayload("invalid json").build())
+                .isCompletedExceptionally());
+    }
+
+    // Routing
+
+    @Test
+    void shouldIgnoreOsEventByAttributeWithoutReadingPayload() {
+        listener.handleOsServiceEvent(MessageBuilder.withPayload("not json")
+                .setHeader(SqsEventDispatcher.EVENT_TYPE, "ORDER_CREATED")
+                .build());
+
+        verify(failUseCase, never()).executeByServiceOrderId(any(), any());
+    }
+
+    @Test
+    void shouldIgnoreOsEventWithoutParsingPastEventType() {
+        // Truncated after eventType: only a full tree parse would fail
+        listener.handleOsServiceEvent("{\"eventType\":\"ORDER_UPDATED\",\"items\":[");
+
+        verify(failUseCase, never()).executeByServiceOrderId(any(), any());
+    }
+
+    @Test
+    void shouldRouteByAttributeOverPayloadEventType() {
+        when(failUseCase.executeByServiceOrderId(100L, "Order cancelled"))
+                .thenReturn(ExecutionTask.builder()
+                        .id(1L)
+                        .serviceOrderId(100L)
+                        .status(ExecutionStatus.failed())
+                        .createdAt(LocalDateTime.now())
+                        .build());
+
+        listener.handleOsServiceEvent(MessageBuilder
+                .withPayload("{\"eventType\":\"legacy\",\"orderId\":100}")
+                .setHeader(SqsEventDispatcher.EVENT_TYPE, "ServiceOrderCancelled")
+                .build());
+
+        verify(failUseCase).executeByServiceOrderId(100L, "Order cancelled");
+    }
+
     // OS events
 
     @Test
@@ -225,7 +385,7 @@ class SqsEventListenerTest {
                 """;
 
         when(failUseCase.executeByServiceOrderId(any(), any()))
-                .thenThrow(new RuntimeException("Not found"));
+                .thenThrow(new NotFoundException("Not found"));
 
         // Should not throw
         listener.handleOsServiceEvent(message);
@@ -246,11 +406,11 @@ class SqsEventListenerTest {
                 .status(ExecutionStatus.queued())
                 .createdAt(LocalDateTime.now())
                 .build();
-        when(createUseCase.execute(any(ExecutionTaskRequestDto.class)))
-                .thenReturn(task);
+        when(createUseCase.executeOnce(any(), any(ExecutionTaskRequestDto.class), any()))
+                .thenReturn(Optional.of(task));
 
         listener.handleBillingEvent(message);
 
-        verify(createUseCase).execute(any(ExecutionTaskRequestDto.class));
+        verify(createUseCase).executeOnce(any(), any(ExecutionTaskRequestDto.class), any());
     }
 }
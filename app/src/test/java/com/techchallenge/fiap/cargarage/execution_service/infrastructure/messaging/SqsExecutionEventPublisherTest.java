@@ -1,16 +1,21 @@
 package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -19,6 +24,9 @@ import com.techchallenge.fiap.cargarage.execution_service.application.entity.Exe
 import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
 
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 
@@ -34,13 +42,14 @@ class SqsExecutionEventPublisherTest {
 
     @BeforeEach
     void setUp() {
-        publisher = new SqsExecutionEventPublisher(sqsClient);
-        ReflectionTestUtils.setField(publisher, "executionEventsQueueUrl",
+        ExecutionEventMessageFactory messageFactory = new ExecutionEventMessageFactory();
+        ReflectionTestUtils.setField(messageFactory, "executionEventsQueueUrl",
                 "http://localhost:4566/000000000000/execution-service-events.fifo");
-        ReflectionTestUtils.setField(publisher, "executionCompletedQueueUrl",
+        ReflectionTestUtils.setField(messageFactory, "executionCompletedQueueUrl",
                 "http://localhost:4566/000000000000/execution-completed-queue");
-        ReflectionTestUtils.setField(publisher, "resourceUnavailableQueueUrl",
+        ReflectionTestUtils.setField(messageFactory, "resourceUnavailableQueueUrl",
                 "http://localhost:4566/000000000000/resource-unavailable-queue");
+        publisher = new SqsExecutionEventPublisher(sqsClient, messageFactory);
     }
 
     private ExecutionTask createTask(ExecutionStatus status) {
@@ -100,4 +109,38 @@ class SqsExecutionEventPublisherTest {
         assertThrows(RuntimeException.class,
                 () -> publisher.publishExecutionStarted(task));
     }
+
+    @Test
+    void shouldPublishStatusChangesInBatchesPerQueue() {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(SendMessageBatchResponse.builder().build());
+        List<ExecutionTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            tasks.add(createTask(ExecutionStatus.completed()));
+        }
+        tasks.add(createTask(ExecutionStatus.queued()));
+
+        publisher.publishStatusChanges(tasks);
+
+        // 12 FIFO events + 12 completed notifications, up to 10 per batch
+        ArgumentCaptor<SendMessageBatchRequest> batches =
+                ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(4)).sendMessageBatch(batches.capture());
+        assertEquals(List.of(10, 2, 10, 2), batches.getAllValues().stream()
+                .map(batch -> batch.entries().size()).toList());
+        verify(sqsClient, never()).sendMessage(any(SendMessageRequest.class));
+    }
+
+    @Test
+    void shouldThrowWhenBatchEntryIsRejected() {
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(SendMessageBatchResponse.builder()
+                        .failed(BatchResultErrorEntry.builder()
+                                .id("0").code("InternalError").senderFault(false).build())
+                        .build());
+
+        List<ExecutionTask> tasks = List.of(createTask(ExecutionStatus.inProgress()));
+
+        assertThrows(RuntimeException.class, () -> publisher.publishStatusChanges(tasks));
+    }
 }
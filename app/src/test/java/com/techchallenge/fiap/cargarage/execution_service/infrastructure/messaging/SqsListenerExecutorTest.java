@@ -0,0 +1,47 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class SqsListenerExecutorTest {
+
+    @Test
+    void directShouldRunOnCallingThread() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        SqsListenerExecutor.direct().run(() -> thread.set(Thread.currentThread()))
+                .join();
+
+        assertEquals(Thread.currentThread(), thread.get());
+    }
+
+    @Test
+    void virtualThreadsShouldRunOnVirtualThread() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        SqsListenerExecutor.virtualThreads()
+                .run(() -> thread.set(Thread.currentThread()))
+                .join();
+
+        assertTrue(thread.get().isVirtual());
+        assertTrue(thread.get().getName().startsWith("sqs-listener-"));
+        assertFalse(Thread.currentThread().isVirtual());
+    }
+
+    @Test
+    void shouldCompleteExceptionallyWhenHandlerFails() {
+        var future = SqsListenerExecutor.virtualThreads().run(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+    }
+}
@@ -0,0 +1,82 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.entity.ExecutionTaskEntity;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.database.repository.ExecutionTaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ExecutionTaskStatusGaugesTest {
+
+    @Autowired
+    private ExecutionTaskRepository repository;
+
+    private SimpleMeterRegistry registry;
+    private ExecutionTaskStatusGauges gauges;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        registry = new SimpleMeterRegistry();
+        gauges = new ExecutionTaskStatusGauges(repository, registry);
+    }
+
+    private void save(long serviceOrderId, String status) {
+        repository.save(ExecutionTaskEntity.builder()
+                .serviceOrderId(serviceOrderId)
+                .status(status)
+                .priority(0)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private double gauge(String status) {
+        return registry.get(ExecutionTaskStatusGauges.TASKS_GAUGE)
+                .tag("status", status)
+                .gauge()
+                .value();
+    }
+
+    @Test
+    void shouldRegisterGaugePerStatusBeforeFirstRefresh() {
+        assertEquals(4, registry.find(ExecutionTaskStatusGauges.TASKS_GAUGE).gauges().size());
+        assertEquals(0.0, gauge("QUEUED"));
+    }
+
+    @Test
+    void shouldPublishCountsByStatus() {
+        save(1L, "QUEUED");
+        save(2L, "QUEUED");
+        save(3L, "IN_PROGRESS");
+        save(4L, "FAILED");
+
+        gauges.refresh();
+
+        assertEquals(2.0, gauge("QUEUED"));
+        assertEquals(1.0, gauge("IN_PROGRESS"));
+        assertEquals(0.0, gauge("COMPLETED"));
+        assertEquals(1.0, gauge("FAILED"));
+    }
+
+    @Test
+    void shouldResetStatusesThatNoLongerHaveTasks() {
+        save(1L, "QUEUED");
+        gauges.refresh();
+        repository.deleteAll();
+
+        gauges.refresh();
+
+        assertEquals(0.0, gauge("QUEUED"));
+    }
+}
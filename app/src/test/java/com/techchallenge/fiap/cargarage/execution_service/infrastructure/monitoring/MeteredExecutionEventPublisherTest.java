@@ -0,0 +1,109 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredExecutionEventPublisherTest {
+
+    @Mock
+    private ExecutionEventPublisher delegate;
+
+    @Mock
+    private SagaLatencyMetrics sagaLatency;
+
+    private SimpleMeterRegistry registry;
+    private MeteredExecutionEventPublisher publisher;
+
+    private final ExecutionTask task = ExecutionTask.builder()
+            .id(1L)
+            .serviceOrderId(100L)
+            .status(ExecutionStatus.inProgress())
+            .createdAt(LocalDateTime.now())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        publisher = new MeteredExecutionEventPublisher(delegate, registry, sagaLatency);
+    }
+
+    private double count(String eventType, String outcome) {
+        return registry.get(MeteredExecutionEventPublisher.PUBLISHED_COUNTER)
+                .tag("event_type", eventType)
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    @Test
+    void shouldCountPublishedEventsByType() {
+        publisher.publishExecutionStarted(task);
+        publisher.publishExecutionStarted(task);
+        publisher.publishExecutionCompleted(task);
+
+        verify(delegate).publishExecutionCompleted(task);
+        verify(sagaLatency).recordCompleted(task);
+        assertEquals(2.0, count("ExecutionStarted", "success"));
+        assertEquals(1.0, count("ExecutionCompleted", "success"));
+    }
+
+    @Test
+    void shouldCountFailedPublishAndRethrow() {
+        doThrow(new IllegalStateException("queue down"))
+                .when(delegate).publishExecutionFailed(task);
+
+        assertThrows(IllegalStateException.class,
+                () -> publisher.publishExecutionFailed(task));
+
+        assertEquals(1.0, count("ExecutionFailed", "failure"));
+        verifyNoInteractions(sagaLatency);
+    }
+
+    @Test
+    void shouldCountBatchedStatusChangesByTypeAndDelegateOnce() {
+        ExecutionTask completed = task.withStatusUpdated(
+                ExecutionStatus.completed(), LocalDateTime.now());
+        List<ExecutionTask> tasks = List.of(task, completed, completed);
+
+        publisher.publishStatusChanges(tasks);
+
+        verify(delegate).publishStatusChanges(tasks);
+        verify(sagaLatency).recordStarted(task);
+        verify(sagaLatency, times(2)).recordCompleted(completed);
+        assertEquals(1.0, count("ExecutionStarted", "success"));
+        assertEquals(2.0, count("ExecutionCompleted", "success"));
+    }
+
+    @Test
+    void shouldCountEveryBatchedEventAsFailedWhenDelegateFails() {
+        List<ExecutionTask> tasks = List.of(task, task);
+        doThrow(new IllegalStateException("queue down"))
+                .when(delegate).publishStatusChanges(tasks);
+
+        assertThrows(IllegalStateException.class,
+                () -> publisher.publishStatusChanges(tasks));
+
+        assertEquals(2.0, count("ExecutionStarted", "failure"));
+        verifyNoInteractions(sagaLatency);
+    }
+}
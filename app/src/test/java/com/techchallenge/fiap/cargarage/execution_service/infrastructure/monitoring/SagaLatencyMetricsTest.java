@@ -0,0 +1,134 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.SagaLatencyDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SagaLatencyMetricsTest {
+
+    private final LocalDateTime paidAt = LocalDateTime.of(2026, 2, 12, 8, 0);
+
+    private SimpleMeterRegistry registry;
+    private SagaLatencyMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new SagaLatencyMetrics(registry, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ExecutionTask completedTask(int priority, LocalDateTime sagaStartedAt) {
+        return ExecutionTask.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status(ExecutionStatus.completed())
+                .priority(priority)
+                .sagaStartedAt(sagaStartedAt)
+                .createdAt(paidAt.plusMinutes(1))
+                .startedAt(paidAt.plusMinutes(31))
+                .completedAt(paidAt.plusMinutes(91))
+                .build();
+    }
+
+    private Timer timer(String stage, String priority) {
+        return registry.find(SagaLatencyMetrics.LATENCY_TIMER)
+                .tag("stage", stage)
+                .tag("priority", priority)
+                .timer();
+    }
+
+    @Test
+    void shouldRecordQueueWaitWhenStarted() {
+        metrics.recordStarted(completedTask(1, paidAt));
+
+        assertEquals(1800.0, timer(SagaLatencyMetrics.QUEUE_WAIT, "1")
+                .totalTime(TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    void shouldRecordExecutionAndTotalFromSagaStartWhenCompleted() {
+        metrics.recordCompleted(completedTask(2, paidAt));
+
+        assertEquals(3600.0, timer(SagaLatencyMetrics.EXECUTION, "2")
+                .totalTime(TimeUnit.SECONDS), 0.001);
+        assertEquals(5460.0, timer(SagaLatencyMetrics.TOTAL, "2")
+                .totalTime(TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    void shouldMeasureTotalFromCreationWithoutSagaStart() {
+        metrics.recordCompleted(completedTask(0, null));
+
+        assertEquals(5400.0, timer(SagaLatencyMetrics.TOTAL, "0")
+                .totalTime(TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    void shouldSkipTaskThatNeverStarted() {
+        ExecutionTask task = ExecutionTask.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status(ExecutionStatus.queued())
+                .createdAt(paidAt)
+                .build();
+
+        metrics.recordStarted(task);
+
+        assertNull(timer(SagaLatencyMetrics.QUEUE_WAIT, "0"));
+    }
+
+    @Test
+    void shouldRecordOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        metrics.recordCompleted(completedTask(1, paidAt));
+        assertNull(timer(SagaLatencyMetrics.TOTAL, "1"));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, timer(SagaLatencyMetrics.TOTAL, "1").count());
+    }
+
+    @Test
+    void shouldReportPercentilesByPriority() {
+        metrics.recordCompleted(completedTask(2, paidAt));
+        metrics.recordStarted(completedTask(0, paidAt));
+
+        List<SagaLatencyDto> snapshot = metrics.snapshot();
+
+        assertEquals(2, snapshot.size());
+        assertEquals(0, snapshot.get(0).priority());
+        assertTrue(snapshot.get(0).stages().containsKey(SagaLatencyMetrics.QUEUE_WAIT));
+        SagaLatencyDto.StageLatency total =
+                snapshot.get(1).stages().get(SagaLatencyMetrics.TOTAL);
+        assertEquals(1, total.count());
+        assertEquals(5460.0, total.maxSeconds(), 0.001);
+        assertEquals(List.of("p50", "p90", "p95", "p99"),
+                List.copyOf(total.percentilesSeconds().keySet()));
+    }
+}
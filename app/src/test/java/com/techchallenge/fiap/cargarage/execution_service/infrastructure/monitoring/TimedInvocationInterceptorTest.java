@@ -0,0 +1,116 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.BusinessException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.InvalidDataException;
+import com.techchallenge.fiap.cargarage.execution_service.application.exception.NotFoundException;
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FindExecutionTaskUseCase;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class TimedInvocationInterceptorTest {
+
+    @Mock
+    private ExecutionTaskGateway gateway;
+
+    @Mock
+    private ExecutionTaskDataSource dataSource;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private Timer useCaseTimer(String method, String outcome) {
+        return registry.get(TimedInvocationInterceptor.USE_CASE_TIMER)
+                .tag("class", "FindExecutionTaskUseCase")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    @Test
+    void shouldTimeSuccessfulUseCaseCall() {
+        ExecutionTask task = ExecutionTask.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status(ExecutionStatus.queued())
+                .createdAt(LocalDateTime.now())
+                .build();
+        when(gateway.findById(1L)).thenReturn(Optional.of(task));
+        FindExecutionTaskUseCase useCase = TimedInvocationInterceptor.timedUseCase(
+                new FindExecutionTaskUseCase(gateway), registry);
+
+        assertSame(task, useCase.findById(1L));
+
+        assertEquals(1, useCaseTimer("findById", "success").count());
+    }
+
+    @Test
+    void shouldTagUseCaseFailureWithOutcome() {
+        when(gateway.findById(999L)).thenReturn(Optional.empty());
+        FindExecutionTaskUseCase useCase = TimedInvocationInterceptor.timedUseCase(
+                new FindExecutionTaskUseCase(gateway), registry);
+
+        assertThrows(NotFoundException.class, () -> useCase.findById(999L));
+
+        assertEquals(1, useCaseTimer("findById", "not_found").count());
+    }
+
+    @Test
+    void shouldMapExceptionsToOutcomes() {
+        assertEquals("not_found",
+                TimedInvocationInterceptor.outcome(new NotFoundException("x")));
+        assertEquals("invalid",
+                TimedInvocationInterceptor.outcome(new InvalidDataException("x")));
+        assertEquals("rejected",
+                TimedInvocationInterceptor.outcome(new BusinessException("x")));
+        assertEquals("error",
+                TimedInvocationInterceptor.outcome(new IllegalStateException("x")));
+    }
+
+    @Test
+    void shouldTimeDataSourceCallsPerMethod() {
+        ExecutionTaskDto dto = ExecutionTaskDto.builder().id(1L).build();
+        when(dataSource.findById(1L)).thenReturn(Optional.of(dto));
+        ExecutionTaskDataSource timed =
+                TimedInvocationInterceptor.timedDataSource(dataSource, registry);
+
+        assertSame(dto, timed.findById(1L).orElseThrow());
+        timed.deleteById(2L);
+
+        verify(dataSource).deleteById(2L);
+        Timer findById = registry.get(TimedInvocationInterceptor.DATA_SOURCE_TIMER)
+                .tag("method", "findById")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(1, findById.count());
+        assertTrue(registry.find(TimedInvocationInterceptor.DATA_SOURCE_TIMER)
+                .tag("method", "deleteById")
+                .timer() != null);
+    }
+}
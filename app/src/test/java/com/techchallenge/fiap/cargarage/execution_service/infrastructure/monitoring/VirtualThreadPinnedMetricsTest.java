@@ -0,0 +1,27 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadPinnedMetricsTest {
+
+    @Test
+    void shouldRegisterPinnedTimer() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (VirtualThreadPinnedMetrics metrics =
+                new VirtualThreadPinnedMetrics(Duration.ofMillis(20))) {
+            metrics.bindTo(registry);
+            metrics.bindTo(registry);
+
+            assertNotNull(registry.find("jvm.threads.virtual.pinned").timer());
+            assertEquals(1, registry.getMeters().size());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExecutionTaskChangeBroadcasterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private ExecutionTaskChangeBroadcaster broadcaster;
+    private ExecutionTaskSubscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new ExecutionTaskChangeBroadcaster(registry);
+        subscription = mock(ExecutionTaskSubscription.class);
+        broadcaster.add(subscription);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ExecutionTask task() {
+        return ExecutionTask.builder()
+                .id(1L)
+                .serviceOrderId(100L)
+                .status(ExecutionStatus.inProgress())
+                .assignedTechnician("Tech A")
+                .updatedAt(now)
+                .build();
+    }
+
+    @Test
+    void shouldBroadcastCompactEventOutsideTransaction() {
+        broadcaster.taskChanged(task());
+
+        verify(subscription).start();
+        verify(subscription).offer(new ExecutionTaskChangeEventDto(
+                1L, 100L, "IN_PROGRESS", "Tech A", now));
+    }
+
+    @Test
+    void shouldBroadcastOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcaster.taskChanged(task());
+
+        verify(subscription, never()).offer(any());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        verify(subscription).offer(any());
+    }
+
+    @Test
+    void shouldNotBroadcastRolledBackChange() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        broadcaster.taskChanged(task());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(subscription, never()).offer(any());
+    }
+
+    @Test
+    void shouldBroadcastChangeFromOtherReplica() {
+        ExecutionTaskChangeEventDto event = new ExecutionTaskChangeEventDto(
+                2L, 101L, "COMPLETED", "Tech B", now);
+
+        broadcaster.onRemoteChange(event);
+
+        verify(subscription).offer(event);
+    }
+
+    @Test
+    void shouldOpenStreamAndTrackSubscribers() {
+        assertNotNull(broadcaster.subscribe(new ExecutionTaskStreamFilter(null, null, null)));
+
+        assertEquals(2, broadcaster.subscribers());
+        assertEquals(2.0, registry.get(ExecutionTaskChangeBroadcaster.SUBSCRIBERS_GAUGE)
+                .gauge().value());
+        broadcaster.closeAll();
+    }
+
+    @Test
+    void shouldRejectSubscribersBeyondLimit() {
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 2);
+        ExecutionTaskStreamFilter filter = new ExecutionTaskStreamFilter(null, null, null);
+        broadcaster.subscribe(filter);
+
+        assertThrows(TooManySubscribersException.class, () -> broadcaster.subscribe(filter));
+
+        assertEquals(2, broadcaster.subscribers());
+        assertEquals(1.0, registry.get(ExecutionTaskChangeBroadcaster.REJECTED_COUNTER)
+                .counter().count());
+        broadcaster.closeAll();
+    }
+}
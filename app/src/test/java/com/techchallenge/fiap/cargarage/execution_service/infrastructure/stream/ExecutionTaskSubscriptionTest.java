@@ -0,0 +1,90 @@
+package com.techchallenge.fiap.cargarage.execution_service.infrastructure.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+class ExecutionTaskSubscriptionTest {
+
+    private final SseEmitter emitter = mock(SseEmitter.class);
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private ExecutionTaskSubscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        subscription = subscription(new ExecutionTaskStreamFilter(null, null, null));
+    }
+
+    private ExecutionTaskSubscription subscription(ExecutionTaskStreamFilter filter) {
+        return new ExecutionTaskSubscription(emitter, filter, 2, Duration.ofSeconds(30),
+                dropped::incrementAndGet, s -> closed.countDown());
+    }
+
+    private ExecutionTaskChangeEventDto event(Long id, String status) {
+        return new ExecutionTaskChangeEventDto(id, 100L + id, status, "Tech A", LocalDateTime.now());
+    }
+
+    @Test
+    void shouldDropOldestEventWhenBufferIsFull() {
+        subscription.offer(event(1L, "QUEUED"));
+        subscription.offer(event(2L, "QUEUED"));
+        subscription.offer(event(3L, "QUEUED"));
+
+        assertEquals(2, subscription.pending());
+        assertEquals(1, dropped.get());
+    }
+
+    @Test
+    void shouldOnlyQueueMatchingEvents() {
+        ExecutionTaskSubscription filtered = subscription(
+                new ExecutionTaskStreamFilter("COMPLETED", 102L, null));
+
+        filtered.offer(event(1L, "COMPLETED"));
+        filtered.offer(event(2L, "IN_PROGRESS"));
+        filtered.offer(event(2L, "COMPLETED"));
+
+        assertEquals(1, filtered.pending());
+    }
+
+    @Test
+    void shouldSendQueuedEventsAndCompleteOnClose() throws Exception {
+        subscription.start();
+        subscription.offer(event(1L, "IN_PROGRESS"));
+
+        verify(emitter, timeout(1000)).send(any(SseEventBuilder.class));
+        subscription.close();
+
+        assertTrue(closed.await(1, TimeUnit.SECONDS));
+        verify(emitter, timeout(1000)).complete();
+    }
+
+    @Test
+    void shouldStopWhenClientDisconnects() throws Exception {
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEventBuilder.class));
+        subscription.start();
+
+        subscription.offer(event(1L, "IN_PROGRESS"));
+
+        assertTrue(closed.await(1, TimeUnit.SECONDS));
+        verify(emitter, never()).complete();
+    }
+}
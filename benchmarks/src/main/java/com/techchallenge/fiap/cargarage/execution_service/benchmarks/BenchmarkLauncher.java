@@ -0,0 +1,29 @@
+package com.techchallenge.fiap.cargarage.execution_service.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of benchmarks.jar.
+ *
+ * Delegates to the JMH command line and enables the GC profiler unless
+ * another profiler was requested, so every run reports allocation per
+ * operation ({@code gc.alloc.rate.norm}, B/op) next to the ns/op score.
+ */
+public final class BenchmarkLauncher {
+
+    private BenchmarkLauncher() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(List.of(args));
+        if (!jmhArgs.contains("-prof") && !jmhArgs.contains("-l")
+                && !jmhArgs.contains("-h")) {
+            jmhArgs.add("-prof");
+            jmhArgs.add("gc");
+        }
+        Main.main(jmhArgs.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,64 @@
+package com.techchallenge.fiap.cargarage.execution_service.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+
+/**
+ * ExecutionStatus parsing and transition checks, called for every row read
+ * from the database and every status change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionStatusBenchmark {
+
+    /** Canonical values as stored in the database, plus a client-style spelling. */
+    @Param({"QUEUED", "COMPLETED", "in_progress"})
+    public String raw;
+
+    private ExecutionStatus from;
+    private ExecutionStatus to;
+
+    @Setup
+    public void setUp() {
+        from = ExecutionStatus.queued();
+        to = ExecutionStatus.inProgress();
+    }
+
+    @Benchmark
+    public ExecutionStatus of() {
+        return ExecutionStatus.of(raw);
+    }
+
+    /** Status of a row read back and checked against the requested transition. */
+    @Benchmark
+    public boolean ofAndCanTransitionTo() {
+        return ExecutionStatus.of(raw).canTransitionTo(to);
+    }
+
+    @Benchmark
+    public boolean canTransitionTo() {
+        return from.canTransitionTo(to);
+    }
+
+    @Benchmark
+    public Object allowedPredecessors() {
+        return to.allowedPredecessors();
+    }
+}
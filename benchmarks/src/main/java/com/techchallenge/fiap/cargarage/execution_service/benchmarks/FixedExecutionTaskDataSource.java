@@ -0,0 +1,105 @@
+package com.techchallenge.fiap.cargarage.execution_service.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.CursorPageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskPersistenceDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusTransitionDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.PageRequestDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionTaskDataSource;
+
+/**
+ * Data source that answers every call with the same pre-built row, so the
+ * benchmarks measure only the mapping done around it.
+ * {@link #insertIfAbsent} always inserts so task creation always succeeds.
+ */
+final class FixedExecutionTaskDataSource implements ExecutionTaskDataSource {
+
+    private final ExecutionTaskDto row;
+    private final PageDto<ExecutionTaskDto> page;
+
+    FixedExecutionTaskDataSource(ExecutionTaskDto row) {
+        this.row = row;
+        this.page = new PageDto<>(List.of(row), 1, 0, 1);
+    }
+
+    @Override
+    public ExecutionTaskDto insert(ExecutionTaskPersistenceDto dto) {
+        return row;
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> insertIfAbsent(ExecutionTaskPersistenceDto dto) {
+        return Optional.of(row);
+    }
+
+    @Override
+    public List<Optional<ExecutionTaskDto>> insertAllIfAbsent(
+            List<ExecutionTaskPersistenceDto> dtos) {
+        return dtos.stream().map(dto -> Optional.of(row)).toList();
+    }
+
+    @Override
+    public ExecutionTaskDto update(Long id, ExecutionTaskPersistenceDto dto) {
+        return row;
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> transitionStatus(
+            Long id, ExecutionTaskStatusTransitionDto transition) {
+        return Optional.of(row);
+    }
+
+    @Override
+    public List<ExecutionTaskDto> transitionStatusAll(
+            Collection<Long> ids, ExecutionTaskStatusTransitionDto transition) {
+        return ids.stream().map(id -> row).toList();
+    }
+
+    @Override
+    public List<ExecutionTaskDto> claimNext(
+            String technician, int limit, LocalDateTime claimedAt) {
+        return List.of(row);
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> findById(Long id) {
+        return Optional.of(row);
+    }
+
+    @Override
+    public Optional<ExecutionTaskDto> findByServiceOrderId(Long serviceOrderId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findAll(PageRequestDto pageRequest) {
+        return page;
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findByStatus(String status, PageRequestDto pageRequest) {
+        return page;
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findAllByCursor(CursorPageRequestDto pageRequest) {
+        return page;
+    }
+
+    @Override
+    public PageDto<ExecutionTaskDto> findByStatusByCursor(
+            String status, CursorPageRequestDto pageRequest) {
+        return page;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        // no-op
+    }
+}
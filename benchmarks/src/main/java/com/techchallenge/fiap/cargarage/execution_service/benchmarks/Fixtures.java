@@ -0,0 +1,67 @@
+package com.techchallenge.fiap.cargarage.execution_service.benchmarks;
+
+import java.time.LocalDateTime;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionStatus;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+
+/**
+ * Representative payloads shared by the benchmarks: a fully populated task,
+ * as it looks mid-execution, and the Saga events consumed from SQS.
+ */
+final class Fixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 10, 30);
+
+    static final String PAYMENT_PROCESSED = "{\"eventType\":\"PaymentProcessed\","
+            + "\"serviceOrderId\":12345,\"customerId\":678,\"vehicleId\":910,"
+            + "\"vehicleLicensePlate\":\"ABC1D23\",\"amount\":1500.00,"
+            + "\"timestamp\":\"2026-01-15T10:30:00\"}";
+
+    static final String ORDER_CREATED = "{\"eventType\":\"ORDER_CREATED\","
+            + "\"orderId\":12345,\"customerId\":678,"
+            + "\"timestamp\":\"2026-01-15T10:30:00\"}";
+
+    private Fixtures() {
+    }
+
+    static ExecutionTaskDto taskDto() {
+        return ExecutionTaskDto.builder()
+                .id(1L)
+                .serviceOrderId(12345L)
+                .customerId(678L)
+                .vehicleId(910L)
+                .vehicleLicensePlate("ABC1D23")
+                .description("Execution for service order 12345")
+                .status("IN_PROGRESS")
+                .assignedTechnician("Tech A")
+                .notes("Replace brake pads")
+                .failureReason(null)
+                .priority(2)
+                .createdAt(NOW)
+                .updatedAt(NOW.plusMinutes(5))
+                .startedAt(NOW.plusMinutes(5))
+                .completedAt(null)
+                .build();
+    }
+
+    static ExecutionTask task() {
+        ExecutionTaskDto dto = taskDto();
+        return ExecutionTask.builder()
+                .id(dto.id())
+                .serviceOrderId(dto.serviceOrderId())
+                .customerId(dto.customerId())
+                .vehicleId(dto.vehicleId())
+                .vehicleLicensePlate(dto.vehicleLicensePlate())
+                .description(dto.description())
+                .status(ExecutionStatus.of(dto.status()))
+                .assignedTechnician(dto.assignedTechnician())
+                .notes(dto.notes())
+                .priority(dto.priority())
+                .createdAt(dto.createdAt())
+                .updatedAt(dto.updatedAt())
+                .startedAt(dto.startedAt())
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.techchallenge.fiap.cargarage.execution_service.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+
+/**
+ * ExecutionTaskGateway conversions between the persistence DTOs and the
+ * domain model.
+ *
+ * {@code toModel} is private, so it is measured through {@code findById};
+ * {@code insert} runs {@code toPersistenceDto} followed by {@code toModel},
+ * and the difference between both scores is the cost of
+ * {@code toPersistenceDto}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayMappingBenchmark {
+
+    private ExecutionTaskGateway gateway;
+    private ExecutionTask task;
+
+    @Setup
+    public void setUp() {
+        gateway = new ExecutionTaskGateway(
+                new FixedExecutionTaskDataSource(Fixtures.taskDto()));
+        task = Fixtures.task();
+    }
+
+    @Benchmark
+    public Optional<ExecutionTask> toModel() {
+        return gateway.findById(1L);
+    }
+
+    @Benchmark
+    public ExecutionTask toPersistenceDtoAndBack() {
+        return gateway.insert(task);
+    }
+}
@@ -0,0 +1,48 @@
+package com.techchallenge.fiap.cargarage.execution_service.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.dto.ExecutionTaskStatusDto;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.presenter.ExecutionTaskPresenter;
+
+/**
+ * ExecutionTaskPresenter: domain model to REST response DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PresenterBenchmark {
+
+    private ExecutionTask task;
+
+    @Setup
+    public void setUp() {
+        task = Fixtures.task();
+    }
+
+    @Benchmark
+    public ExecutionTaskDto toResponseDto() {
+        return ExecutionTaskPresenter.toResponseDto(task);
+    }
+
+    @Benchmark
+    public ExecutionTaskStatusDto toStatusDto() {
+        return ExecutionTaskPresenter.toStatusDto(task);
+    }
+}
@@ -0,0 +1,128 @@
+package com.techchallenge.fiap.cargarage.execution_service.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.techchallenge.fiap.cargarage.execution_service.application.entity.ExecutionTask;
+import com.techchallenge.fiap.cargarage.execution_service.application.gateway.ExecutionTaskGateway;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.ExecutionEventInboxDataSource;
+import com.techchallenge.fiap.cargarage.execution_service.application.interfaces.TransactionRunner;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.CreateExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.application.usecase.FailExecutionTaskUseCase;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.ExecutionEventPublisher;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.SqsEventDispatcher;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.SqsEventListener;
+import com.techchallenge.fiap.cargarage.execution_service.infrastructure.messaging.SqsListenerExecutor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Inbound Saga event handling: reading the event type with a full tree parse
+ * versus a streaming peek, an event that is recognised and ignored, and a
+ * PaymentProcessed event going all the way through CreateExecutionTaskUseCase
+ * (with an in-memory data source).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqsEventParsingBenchmark {
+
+    private SqsEventDispatcher dispatcher;
+    private SqsEventListener listener;
+
+    @Setup
+    public void setUp() {
+        ExecutionTaskGateway gateway = new ExecutionTaskGateway(
+                new FixedExecutionTaskDataSource(Fixtures.taskDto()));
+        CreateExecutionTaskUseCase createUseCase = new CreateExecutionTaskUseCase(
+                gateway, new EmptyInbox(), new DirectTransactionRunner(), task -> { });
+        FailExecutionTaskUseCase failUseCase = new FailExecutionTaskUseCase(
+                gateway, new NoOpEventPublisher(), new DirectTransactionRunner(), task -> { });
+        dispatcher = new SqsEventDispatcher(createUseCase, failUseCase,
+                new SimpleMeterRegistry());
+        listener = new SqsEventListener(createUseCase, failUseCase,
+                SqsListenerExecutor.direct(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public String parseEventType() throws JsonProcessingException {
+        JsonNode json = dispatcher.parse(Fixtures.PAYMENT_PROCESSED);
+        return dispatcher.eventType(json);
+    }
+
+    @Benchmark
+    public String peekEventType() throws JsonProcessingException {
+        return dispatcher.peekEventType(Fixtures.PAYMENT_PROCESSED);
+    }
+
+    @Benchmark
+    public void handleIgnoredOsEvent() {
+        listener.handleOsServiceEvent(Fixtures.ORDER_CREATED);
+    }
+
+    @Benchmark
+    public void handlePaymentProcessed() {
+        listener.handleBillingEvent(Fixtures.PAYMENT_PROCESSED);
+    }
+
+    private static final class NoOpEventPublisher implements ExecutionEventPublisher {
+
+        @Override
+        public void publishExecutionStarted(ExecutionTask task) {
+            // no-op
+        }
+
+        @Override
+        public void publishExecutionCompleted(ExecutionTask task) {
+            // no-op
+        }
+
+        @Override
+        public void publishExecutionFailed(ExecutionTask task) {
+            // no-op
+        }
+    }
+
+    private static final class EmptyInbox implements ExecutionEventInboxDataSource {
+
+        @Override
+        public boolean markReceived(String eventId, LocalDateTime receivedAt) {
+            return true;
+        }
+
+        @Override
+        public int deleteReceivedBefore(LocalDateTime cutoff) {
+            return 0;
+        }
+    }
+
+    private static final class DirectTransactionRunner implements TransactionRunner {
+
+        @Override
+        public <T> T execute(Supplier<T> action) {
+            return action.get();
+        }
+
+        @Override
+        public boolean isTransactionActive() {
+            return false;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 -- Initialize database for Execution Service
 -- This script runs when the PostgreSQL container starts
 -- It creates schema, tables and fake seed data for local testing.
+-- The schema is owned by the Flyway migrations in app/src/main/resources/db/migration;
+-- this script mirrors V1-V2 so the seed data can be inserted before the application
+-- starts. Flyway then baselines the database at V1 and applies the later migrations,
+-- including the monthly partitioning of execution_task (V3/V4).
 
 CREATE TABLE IF NOT EXISTS execution_task (
     id BIGSERIAL PRIMARY KEY,
@@ -17,12 +21,52 @@ CREATE TABLE IF NOT EXISTS execution_task (
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP,
     started_at TIMESTAMP,
-    completed_at TIMESTAMP
+    completed_at TIMESTAMP,
+    -- When the PaymentProcessed event that started the Saga was emitted
+    saga_started_at TIMESTAMP
 );
 
-CREATE INDEX IF NOT EXISTS idx_execution_task_service_order_id ON execution_task (service_order_id);
-CREATE INDEX IF NOT EXISTS idx_execution_task_status ON execution_task (status);
-CREATE INDEX IF NOT EXISTS idx_execution_task_customer_id ON execution_task (customer_id);
+-- Latest task of a service order
+CREATE INDEX IF NOT EXISTS idx_execution_task_service_order_id_id ON execution_task (service_order_id, id);
+-- Status-filtered pages ordered by priority then age; the partial index serves the active ones
+CREATE INDEX IF NOT EXISTS idx_execution_task_status_priority_created_at_id ON execution_task (status, priority DESC, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_active ON execution_task (status, priority DESC, created_at, id) WHERE status IN ('QUEUED', 'IN_PROGRESS');
+-- Keyset (cursor) pagination: one index per supported ordering, with and without status filter
+CREATE INDEX IF NOT EXISTS idx_execution_task_created_at_id ON execution_task (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_priority_id ON execution_task (priority DESC, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_status_created_at_id ON execution_task (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_execution_task_status_priority_id ON execution_task (status, priority DESC, id);
+-- At most one task per service order that is not FAILED (a failed task can be recreated);
+-- settles concurrent PaymentProcessed deliveries via INSERT ... ON CONFLICT DO NOTHING
+CREATE UNIQUE INDEX IF NOT EXISTS ux_execution_task_active_service_order ON execution_task (service_order_id) WHERE status <> 'FAILED';
+-- Work claiming (POST /execution-tasks/claim): QUEUED rows in claim order for
+-- SELECT ... ORDER BY priority DESC NULLS LAST, created_at, id LIMIT n FOR UPDATE SKIP LOCKED
+CREATE INDEX IF NOT EXISTS idx_execution_task_claim ON execution_task (priority DESC NULLS LAST, created_at, id) WHERE status = 'QUEUED';
+
+-- Transactional outbox: SQS messages written with the execution_task change
+-- and relayed asynchronously by ExecutionEventOutboxRelay
+CREATE TABLE IF NOT EXISTS execution_event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    queue_url VARCHAR(1024) NOT NULL,
+    message_body TEXT NOT NULL,
+    message_group_id VARCHAR(128),
+    deduplication_id VARCHAR(128),
+    message_attributes TEXT,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_execution_event_outbox_pending ON execution_event_outbox (id) WHERE sent_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_execution_event_outbox_sent_at ON execution_event_outbox (sent_at);
+
+-- Inbox: IDs of consumed Saga events (eventId or SQS message ID), so a redelivered
+-- PaymentProcessed is recognised with a single INSERT ... ON CONFLICT DO NOTHING
+CREATE TABLE IF NOT EXISTS execution_event_inbox (
+    event_id VARCHAR(128) PRIMARY KEY,
+    received_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_execution_event_inbox_received_at ON execution_event_inbox (received_at);
 
 -- Fake data: execution tasks
 INSERT INTO execution_task (